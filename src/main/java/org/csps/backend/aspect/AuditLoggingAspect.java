@@ -40,8 +40,8 @@ public class AuditLoggingAspect {
             String resourceType = auditable.resourceType();
             String description = "[" + LocalDateTime.now() + "] " + action.name() + " operation on " + resourceType;
 
-            auditLogService.logAction(adminId, action, resourceType, resourceId, description);
-            log.info("audit logged: {} {} by admin {}", action, resourceType, adminId);
+            auditLogService.enqueueAction(adminId, action, resourceType, resourceId, description);
+            log.debug("audit queued: {} {} by admin {}", action, resourceType, adminId);
         } catch (Exception e) {
             log.error("failed to log audit action: {}", e.getMessage(), e);
         }
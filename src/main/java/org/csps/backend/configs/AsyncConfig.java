@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration for async task execution
@@ -30,4 +31,96 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Thread pool executor for rebuilding finance dashboard sections
+     * One thread per dashboard section so a full rebuild runs all queries in parallel
+     * Falls back to the caller thread when saturated instead of dropping a rebuild
+     */
+    @Bean(name = "financeDashboardExecutor")
+    public Executor financeDashboardExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(5);
+        executor.setMaxPoolSize(5);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("finance-dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool executor for image uploads to the object store
+     * Bounded on both threads and queue so a burst of admin uploads cannot pile up part buffers on the heap
+     * Rejects when full instead of running on the request thread
+     */
+    @Bean(name = "storageUploadExecutor")
+    public Executor storageUploadExecutor(StorageConfig storageConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(storageConfig.getUploadThreads());
+        executor.setMaxPoolSize(storageConfig.getUploadThreads());
+        executor.setQueueCapacity(storageConfig.getUploadQueueCapacity());
+        executor.setThreadNamePrefix("storage-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool executor for generating resized image renditions
+     * Decoding is memory heavy, so only a couple of images are processed at once
+     * Rejects when full; a skipped image is picked up by the startup backfill
+     */
+    @Bean(name = "imageDerivativeExecutor")
+    public Executor imageDerivativeExecutor(ImageDerivativeConfig imageDerivativeConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageDerivativeConfig.getThreads());
+        executor.setMaxPoolSize(imageDerivativeConfig.getThreads());
+        executor.setQueueCapacity(imageDerivativeConfig.getQueueCapacity());
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool executor for claiming hot-stock allocations from the stored stock
+     * One thread is enough, claims are coalesced per item and each is a single short transaction
+     * Rejects when full; ledgers that miss a claim are topped up by the next flush
+     */
+    @Bean(name = "hotStockRefillExecutor")
+    public Executor hotStockRefillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("hot-stock-refill-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool executor for fetching the next rate-limit lease before the current one runs out
+     * Each fetch is one short transaction; rejects when full and the request that empties its lease fetches instead
+     */
+    @Bean(name = "rateLimitLeaseExecutor")
+    public Executor rateLimitLeaseExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("rate-limit-lease-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,22 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for gate-mode QR check-in on busy event sessions
+ * Scans are written in batches of at most batchSize every flushInterval, a scan waits at most ackTimeout for its batch
+ */
+@Configuration
+@ConfigurationProperties(prefix = "attendance-gate")
+@Data
+public class AttendanceGateConfig {
+
+    private Duration flushInterval = Duration.ofMillis(50);
+    private int batchSize = 200;
+    private Duration ackTimeout = Duration.ofSeconds(5);
+}
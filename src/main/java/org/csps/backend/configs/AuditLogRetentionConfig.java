@@ -0,0 +1,26 @@
+package org.csps.backend.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for audit log partitioning and retention
+ * audit_log is range-partitioned by month on timestamp; months older than retentionMonths
+ * are archived as gzipped NDJSON under archiveDir and then dropped from the table
+ */
+@Configuration
+@ConfigurationProperties(prefix = "audit-log.retention")
+@Data
+public class AuditLogRetentionConfig {
+
+    private boolean enabled = true;
+    /* convert audit_log to monthly partitions on startup, otherwise expired months are deleted in batches */
+    private boolean partitioningEnabled = true;
+    private int retentionMonths = 24;
+    /* empty partitions kept ready ahead of the current month */
+    private int premadeMonths = 3;
+    private String archiveDir = "archive/audit-log";
+    private int deleteBatchSize = 5000;
+}
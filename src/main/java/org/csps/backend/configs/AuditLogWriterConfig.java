@@ -0,0 +1,32 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for the background audit log writer
+ * Entries wait in a queue of at most queueCapacity and are inserted in batches of batchSize every flushInterval
+ * A full queue makes the caller wait up to offerTimeout, then overflowPolicy decides what happens to the entry
+ */
+@Configuration
+@ConfigurationProperties(prefix = "audit-log.writer")
+@Data
+public class AuditLogWriterConfig {
+
+    private int queueCapacity = 10000;
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private Duration offerTimeout = Duration.ofMillis(50);
+    private OverflowPolicy overflowPolicy = OverflowPolicy.WRITE_THROUGH;
+
+    public enum OverflowPolicy {
+        /* insert the entry on the caller thread, slower but nothing is lost */
+        WRITE_THROUGH,
+        /* discard the entry and count it in audit.log.dropped */
+        DROP
+    }
+}
@@ -0,0 +1,21 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for Idempotency-Key handling on checkout
+ * Claimed keys are kept, and their orders replayed, for ttl
+ */
+@Configuration
+@ConfigurationProperties(prefix = "checkout.idempotency")
+@Data
+public class CheckoutIdempotencyConfig {
+
+    private Duration ttl = Duration.ofMinutes(10);
+    private int maxKeyLength = 128;
+}
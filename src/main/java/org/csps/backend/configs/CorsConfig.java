@@ -21,6 +21,7 @@ public class CorsConfig {
                         .allowedOrigins(frontendUrl) //Your Vite port
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag") // conditional GETs revalidate against it
                         .allowCredentials(false); // Using Authorization header instead of cookies
             }
         };
@@ -0,0 +1,37 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.csps.backend.domain.enums.FinanceDashboardSection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for the finance dashboard snapshot cache
+ * Each dashboard section is cached with its own time-to-live
+ */
+@Configuration
+@ConfigurationProperties(prefix = "finance-dashboard.cache")
+@Data
+public class FinanceDashboardCacheConfig {
+
+    private boolean enabled = true;
+    private Duration inventoryTtl = Duration.ofSeconds(30);
+    private Duration recentOrdersTtl = Duration.ofSeconds(15);
+    private Duration recentMembershipsTtl = Duration.ofSeconds(30);
+    private Duration membershipRatioTtl = Duration.ofMinutes(5);
+    private Duration chartDataTtl = Duration.ofSeconds(60);
+
+    /* resolve the time-to-live of a single dashboard section */
+    public Duration ttlFor(FinanceDashboardSection section) {
+        return switch (section) {
+            case INVENTORY -> inventoryTtl;
+            case RECENT_ORDERS -> recentOrdersTtl;
+            case RECENT_MEMBERSHIPS -> recentMembershipsTtl;
+            case MEMBERSHIP_RATIO -> membershipRatioTtl;
+            case CHART_DATA -> chartDataTtl;
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for the in-memory hot-stock ledger used for flash-sale items
+ * Each replica claims stock from the stored column in allocation-size chunks, so replicas never sell the same units
+ * The flush interval bounds how long returned units and mode switches made on other replicas take to apply
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hot-stock")
+@Data
+public class HotStockConfig {
+
+    private int stripes = 8;
+    private Duration flushInterval = Duration.ofMillis(500);
+    /* units claimed per refill */
+    private int allocationSize = 50;
+    /* how long a caller outside a transaction waits for a refill; checkouts never wait, they are asked to retry */
+    private Duration refillWait = Duration.ofSeconds(1);
+    /* allocations with no sale for this long are handed back so other replicas can claim them */
+    private Duration idleReturn = Duration.ofSeconds(10);
+    /* allocations whose replica has not renewed them for this long are handed back to the stored stock */
+    private Duration allocationLease = Duration.ofSeconds(30);
+}
@@ -0,0 +1,23 @@
+package org.csps.backend.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for resized image renditions
+ * Renditions are generated on a pool of threads workers with at most queueCapacity images waiting
+ */
+@Configuration
+@ConfigurationProperties(prefix = "image-derivatives")
+@Data
+public class ImageDerivativeConfig {
+
+    private boolean enabled = true;
+    private float jpegQuality = 0.82f;
+    private int threads = 2;
+    private int queueCapacity = 64;
+    /* generate missing renditions for images uploaded before the pipeline existed */
+    private boolean backfillOnStartup = true;
+}
@@ -0,0 +1,23 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for the in-process merch catalog cache
+ * Catalog snapshots live until a merch mutation evicts them, stock counts are reloaded on a much shorter ttl
+ */
+@Configuration
+@ConfigurationProperties(prefix = "merch-catalog.cache")
+@Data
+public class MerchCatalogCacheConfig {
+
+    private boolean enabled = true;
+    /* safety net only; a mutation evicts on its own replica and moves the shared version the others check on every read */
+    private Duration catalogTtl = Duration.ofMinutes(10);
+    private Duration stockTtl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,43 @@
+package org.csps.backend.configs;
+
+import org.csps.backend.service.ObjectStore;
+import org.csps.backend.service.impl.LocalFileObjectStore;
+import org.csps.backend.service.impl.S3ObjectStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Picks where uploaded images are stored based on storage.backend
+ * AWS settings are only read, and required, when the S3 backend is selected
+ */
+@Configuration
+public class ObjectStoreConfig {
+
+    @Bean
+    public ObjectStore objectStore(StorageConfig storageConfig,
+            @Value("${AWS_ACCESS_KEY_ID:}") String accessKeyId,
+            @Value("${AWS_SECRET_ACCESS_KEY:}") String secretAccessKey,
+            @Value("${REGION_AWS:}") String region,
+            @Value("${S3_BUCKET_NAME:}") String bucketName) {
+        if (storageConfig.getBackend() == StorageConfig.Backend.LOCAL) {
+            return new LocalFileObjectStore(storageConfig.getLocalRoot());
+        }
+
+        if (accessKeyId == null || accessKeyId.isEmpty() || secretAccessKey == null || secretAccessKey.isEmpty() || bucketName == null || bucketName.isEmpty()) {
+            throw new IllegalArgumentException("AWS credentials and bucket name must be configured in application.properties");
+        }
+
+        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
+        S3Client s3Client = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
+                .build();
+        return new S3ObjectStore(s3Client, bucketName, storageConfig);
+    }
+}
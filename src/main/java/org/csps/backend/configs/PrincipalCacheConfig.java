@@ -0,0 +1,21 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for the authenticated principal cache used by the JWT filter
+ * A resolved role/authority set is reused for ttl, the cache never holds more than maxEntries accounts
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.principal-cache")
+@Data
+public class PrincipalCacheConfig {
+
+    private Duration ttl = Duration.ofMinutes(5);
+    private int maxEntries = 10000;
+}
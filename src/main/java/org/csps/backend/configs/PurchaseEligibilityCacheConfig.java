@@ -0,0 +1,21 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for the per-student purchase eligibility cache used by catalog reads
+ * An eligibility view is reused for ttl unless the student's cart, orders or membership change first
+ */
+@Configuration
+@ConfigurationProperties(prefix = "purchase-eligibility.cache")
+@Data
+public class PurchaseEligibilityCacheConfig {
+
+    private Duration ttl = Duration.ofSeconds(30);
+    private int maxEntries = 5000;
+}
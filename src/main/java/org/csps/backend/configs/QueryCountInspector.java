@@ -0,0 +1,34 @@
+package org.csps.backend.configs;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements issued on the current thread
+ * while a measurement is open, so hot paths such as checkout can report their query count.
+ * Registered through spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    /* start counting statements on this thread */
+    public static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    /* stop counting and return the number of statements issued since start() */
+    public static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? 0 : counter[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+}
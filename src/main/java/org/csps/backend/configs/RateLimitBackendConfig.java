@@ -0,0 +1,45 @@
+package org.csps.backend.configs;
+
+import org.csps.backend.security.InMemoryRateLimitLeaseStore;
+import org.csps.backend.security.JdbcRateLimitLeaseStore;
+import org.csps.backend.security.LeasedRateLimitBackend;
+import org.csps.backend.security.LocalRateLimitBackend;
+import org.csps.backend.security.RateLimitBackend;
+import org.csps.backend.security.RateLimitBucketStore;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Picks where rate-limit state lives based on rate-limiting.backend
+ * Use SHARED when more than one replica runs behind the load balancer
+ */
+@Configuration
+public class RateLimitBackendConfig {
+
+    @Bean
+    public RateLimitBackend rateLimitBackend(RateLimitingConfig rateLimitingConfig,
+            RateLimitBucketStore rateLimitBucketStore,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("rateLimitLeaseExecutor") Executor rateLimitLeaseExecutor,
+            MeterRegistry meterRegistry) {
+        if (rateLimitingConfig.getBackend() == RateLimitingConfig.Backend.LOCAL) {
+            return new LocalRateLimitBackend(rateLimitBucketStore);
+        }
+
+        return new LeasedRateLimitBackend(
+                rateLimitingConfig,
+                rateLimitingConfig.getSharedStore() == RateLimitingConfig.SharedStore.MEMORY
+                        ? new InMemoryRateLimitLeaseStore()
+                        : new JdbcRateLimitLeaseStore(jdbcTemplate, transactionTemplate),
+                rateLimitLeaseExecutor,
+                meterRegistry);
+    }
+}
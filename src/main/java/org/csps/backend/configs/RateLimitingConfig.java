@@ -1,19 +1,18 @@
 package org.csps.backend.configs;
 
 import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Bucket4j;
 import lombok.Data;
 
 /**
  * Configuration for rate limiting to prevent DDoS attacks
- * Uses Bucket4j library for token bucket algorithm
+ * Uses Bucket4j token buckets with a per-minute and a per-hour limit per user account, or per client IP
+ * for anonymous requests. Routes matching a policy get their own budget, everything else shares the default one
  */
 @Configuration
 @ConfigurationProperties(prefix = "rate-limiting")
@@ -23,23 +22,83 @@ public class RateLimitingConfig {
     private int requestsPerMinute = 100;
     private int requestsPerHour = 5000;
     private boolean enabled = true;
-    private String[] excludedPaths = {"/api/auth/login", "/api/auth/register", "/health"};
-    
-    /* cache for storing rate limit buckets per client */
-    private final ConcurrentHashMap<String, Bucket> cache = new ConcurrentHashMap<>();
-    
-    /* get or create bucket for a specific client (IP) */
-    public Bucket resolveBucket(String clientId) {
-        return cache.computeIfAbsent(clientId, key -> createNewBucket());
+    private String[] excludedPaths = {"/health"};
+
+    /* coarse per-IP budget checked before authentication, so requests with bad tokens are limited too;
+       generous because every signed-in student behind one campus NAT spends it */
+    private int ipRequestsPerMinute = 1000;
+    private int ipRequestsPerHour = 30000;
+
+    /* hard cap on live buckets across all shards, least recently used ones are evicted first */
+    private int maxBuckets = 100000;
+    /* buckets untouched for this long are dropped, a returning client starts with a full bucket; at least one hour */
+    private Duration idleTimeout = Duration.ofHours(1);
+    private int shards = 16;
+
+    /* LOCAL enforces the budget per node, SHARED enforces one budget across all replicas */
+    private Backend backend = Backend.LOCAL;
+    /* where the SHARED backend keeps its counters, MEMORY is a single-process stand-in */
+    private SharedStore sharedStore = SharedStore.JDBC;
+    /* most tokens a node leases from the shared store at once, capped at a tenth of a policy's per-minute limit */
+    private int leaseSize = 10;
+    /* fewest tokens a node leases at once, even when a tenth of the per-minute limit is less */
+    private int minLeaseSize = 5;
+    /* longest a request waits on a lease fetch another request started before it is let through */
+    private Duration leaseWait = Duration.ofMillis(500);
+
+    public enum Backend {
+        LOCAL, SHARED
     }
-    
-    /* create new token bucket with minute limit */
-    private Bucket createNewBucket() {
-        /* simple bandwidth: requestsPerMinute tokens per minute */
-        Bandwidth limit = Bandwidth.simple(requestsPerMinute, Duration.ofMinutes(1));
-        return Bucket4j.builder()
-            .addLimit(limit)
-            .build();
+
+    public enum SharedStore {
+        JDBC, MEMORY
+    }
+
+    /* route budgets, first match wins */
+    private List<RoutePolicy> policies = new ArrayList<>();
+
+    @Data
+    public static class RoutePolicy {
+        private String name;
+        private String pathPrefix;
+        /* HTTP method to match, any method when empty */
+        private String method;
+        private int requestsPerMinute;
+        private int requestsPerHour;
+
+        public boolean matches(String path, String requestMethod) {
+            return path.startsWith(pathPrefix)
+                    && (method == null || method.isBlank() || method.equalsIgnoreCase(requestMethod));
+        }
+    }
+
+    /* resolve the policy for a request, falling back to the default budget */
+    public RoutePolicy resolvePolicy(String path, String requestMethod) {
+        for (RoutePolicy policy : policies) {
+            if (policy.matches(path, requestMethod)) {
+                return policy;
+            }
+        }
+        return defaultPolicy();
+    }
+
+    /* the budget every request from one IP spends before authentication */
+    public RoutePolicy ipPolicy() {
+        RoutePolicy policy = new RoutePolicy();
+        policy.setName("ip");
+        policy.setPathPrefix("/");
+        policy.setRequestsPerMinute(ipRequestsPerMinute);
+        policy.setRequestsPerHour(ipRequestsPerHour);
+        return policy;
+    }
+
+    private RoutePolicy defaultPolicy() {
+        RoutePolicy policy = new RoutePolicy();
+        policy.setName("default");
+        policy.setPathPrefix("/");
+        policy.setRequestsPerMinute(requestsPerMinute);
+        policy.setRequestsPerHour(requestsPerHour);
+        return policy;
     }
     
     /* check if path should be excluded from rate limiting */
@@ -1,4 +1,5 @@
 package org.csps.backend.configs;
+import org.csps.backend.security.IpRateLimitingFilter;
 import org.csps.backend.security.JwtAuthenticationFilter;
 import org.csps.backend.security.RateLimitingFilter;
 import org.springframework.context.annotation.Bean;
@@ -22,10 +23,13 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtFilter;
     private final RateLimitingFilter rateLimitingFilter;
+    private final IpRateLimitingFilter ipRateLimitingFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtFilter, RateLimitingFilter rateLimitingFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtFilter, RateLimitingFilter rateLimitingFilter,
+            IpRateLimitingFilter ipRateLimitingFilter) {
         this.jwtFilter = jwtFilter;
         this.rateLimitingFilter = rateLimitingFilter;
+        this.ipRateLimitingFilter = ipRateLimitingFilter;
     }
 
     @Bean
@@ -35,6 +39,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(req -> req
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/api/auth/login", "/api/auth/refresh", "/api/auth/logout", "/api/recovery-token/**", "/health").permitAll()
+                /* pool, cache and rate limit metrics are operational detail, not for every signed-in student */
+                .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                 .anyRequest()
                 .authenticated()
             )
@@ -46,8 +52,11 @@ public class SecurityConfig {
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
                 })
             )
-            .addFilterBefore(rateLimitingFilter, UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            /* before authentication, so requests the JWT filter rejects still spend the coarse per-IP budget */
+            .addFilterBefore(ipRateLimitingFilter, JwtAuthenticationFilter.class)
+            /* after authentication, so signed-in clients are limited per account rather than per IP */
+            .addFilterAfter(rateLimitingFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
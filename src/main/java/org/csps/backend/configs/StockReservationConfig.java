@@ -0,0 +1,19 @@
+package org.csps.backend.configs;
+
+import org.csps.backend.domain.enums.StockReservationMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for how order checkout reserves and restores merch stock
+ * PESSIMISTIC locks the stock row, ATOMIC uses a conditional decrement
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stock-reservation")
+@Data
+public class StockReservationConfig {
+
+    private StockReservationMode mode = StockReservationMode.ATOMIC;
+}
@@ -0,0 +1,36 @@
+package org.csps.backend.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for image storage
+ * Uploads stream from the multipart part straight to the object store; files of multipartThreshold
+ * or more go up as S3 multipart uploads of partSize parts
+ * At most uploadThreads uploads run at once with uploadQueueCapacity waiting, the rest are turned away
+ */
+@Configuration
+@ConfigurationProperties(prefix = "storage")
+@Data
+public class StorageConfig {
+
+    /* S3 in deployments, LOCAL writes under localRoot for tests and offline development */
+    private Backend backend = Backend.S3;
+    private String localRoot = "storage";
+
+    private long multipartThreshold = 8L * 1024 * 1024;
+    /* S3 requires at least 5MB for every part but the last */
+    private int partSize = 5 * 1024 * 1024;
+
+    private int uploadThreads = 4;
+    private int uploadQueueCapacity = 16;
+    private Duration uploadTimeout = Duration.ofSeconds(60);
+
+    public enum Backend {
+        S3, LOCAL
+    }
+}
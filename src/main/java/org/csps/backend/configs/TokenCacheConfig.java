@@ -0,0 +1,18 @@
+package org.csps.backend.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * Configuration for the verified-claims cache shared by access and QR tokens
+ * Tokens are cached until they expire, a full cache drops expired tokens first, then the ones closest to expiring
+ */
+@Configuration
+@ConfigurationProperties(prefix = "security.token-cache")
+@Data
+public class TokenCacheConfig {
+
+    private int maxEntries = 4096;
+}
@@ -2,6 +2,7 @@ package org.csps.backend.controller;
 
 import java.util.List;
 
+import org.csps.backend.controller.support.ConditionalGet;
 import org.csps.backend.domain.dtos.response.AnnouncementResponseDTO;
 import org.csps.backend.domain.dtos.response.GlobalResponseBuilder;
 import org.csps.backend.service.AnnouncementService;
@@ -11,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,16 +22,19 @@ import lombok.RequiredArgsConstructor;
 public class AnnouncementController {
 
     private final AnnouncementService announcementService;
+    private final ConditionalGet conditionalGet;
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<GlobalResponseBuilder<List<AnnouncementResponseDTO>>> getAllAnnouncements() {
+    public ResponseEntity<GlobalResponseBuilder<List<AnnouncementResponseDTO>>> getAllAnnouncements(WebRequest webRequest) {
         try {
-            List<AnnouncementResponseDTO> announcements = announcementService.getAllAnnouncements();
+            return conditionalGet.respond(webRequest, announcementService.getAnnouncementsVersion(), () -> {
+                List<AnnouncementResponseDTO> announcements = announcementService.getAllAnnouncements();
 
-            String message = "Announcements retrieved successfully";
+                String message = "Announcements retrieved successfully";
 
-            return GlobalResponseBuilder.buildResponse(message, announcements, HttpStatus.OK);
+                return GlobalResponseBuilder.buildResponse(message, announcements, HttpStatus.OK);
+            });
         } catch (Exception e) {
             String errorMessage = "Failed to retrieve announcements";
             return GlobalResponseBuilder.buildResponse(errorMessage, null, HttpStatus.INTERNAL_SERVER_ERROR);
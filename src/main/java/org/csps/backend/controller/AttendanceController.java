@@ -89,6 +89,18 @@ public class AttendanceController {
         return GlobalResponseBuilder.buildResponse(message, updatedSession, HttpStatus.OK);
     }
 
+    /* admin: switch an ACTIVE session into or out of gate-mode check-in */
+    @PutMapping("/session/{sessionId}/gate")
+    @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
+    @Auditable(action = AuditAction.UPDATE, resourceType = "EventSession")
+    public ResponseEntity<GlobalResponseBuilder<EventSessionResponseDTO>> updateGateMode(
+            @PathVariable Long sessionId,
+            @RequestParam boolean enabled) {
+        EventSessionResponseDTO session = eventSessionService.updateGateMode(sessionId, enabled);
+        String message = enabled ? "Session gate mode enabled" : "Session gate mode disabled";
+        return GlobalResponseBuilder.buildResponse(message, session, HttpStatus.OK);
+    }
+
     /* student: retrieve QR token for a session */
     @GetMapping("/session/{sessionId}/qr-token")
     @PreAuthorize("hasRole('STUDENT')")
@@ -1,16 +1,16 @@
 package org.csps.backend.controller;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 import org.csps.backend.domain.dtos.response.AuditLogResponseDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.GlobalResponseBuilder;
-import org.csps.backend.domain.entities.AuditLog;
 import org.csps.backend.domain.enums.AuditAction;
-import org.csps.backend.mapper.AuditLogMapper;
 import org.csps.backend.service.AuditLogService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,9 +18,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Audit log reads are keyset pages, newest first: pass the returned nextCursor as cursor to continue.
+ */
 @RestController
 @RequestMapping("/api/audit-logs")
 @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
@@ -28,74 +32,95 @@ import lombok.RequiredArgsConstructor;
 public class AuditLogController {
 
     private final AuditLogService auditLogService;
-    private final AuditLogMapper auditLogMapper;
 
-    /* retrieve all audit logs for a specific admin */
+    /* retrieve a page of audit logs for a specific admin */
     @GetMapping("/admin/{adminId}")
     @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
-    public ResponseEntity<GlobalResponseBuilder<List<AuditLogResponseDTO>>> getAuditLogsByAdmin(
-            @PathVariable Long adminId) {
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<AuditLogResponseDTO>>> getAuditLogsByAdmin(
+            @PathVariable Long adminId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        List<AuditLog> auditLogs = auditLogService.getAuditLogsByAdmin(adminId);
-        List<AuditLogResponseDTO> response = auditLogMapper.toResponseDTOs(auditLogs);
+        CursorPageDTO<AuditLogResponseDTO> response = auditLogService.getAuditLogsByAdmin(adminId, cursor, limit);
 
-        String message = "Retrieved " + response.size() + " audit logs for admin " + adminId;
+        String message = "Retrieved " + response.getItems().size() + " audit logs for admin " + adminId;
         return GlobalResponseBuilder.buildResponse(message, response, HttpStatus.OK);
     }
 
-    /* retrieve all audit logs of a specific action type (CREATE, UPDATE, DELETE) */
+    /* retrieve a page of audit logs of a specific action type (CREATE, UPDATE, DELETE) */
     @GetMapping("/action/{action}")
     @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
-    public ResponseEntity<GlobalResponseBuilder<List<AuditLogResponseDTO>>> getAuditLogsByAction(
-            @PathVariable AuditAction action) {
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<AuditLogResponseDTO>>> getAuditLogsByAction(
+            @PathVariable AuditAction action,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        List<AuditLog> auditLogs = auditLogService.getAuditLogsByAction(action);
-        List<AuditLogResponseDTO> response = auditLogMapper.toResponseDTOs(auditLogs);
+        CursorPageDTO<AuditLogResponseDTO> response = auditLogService.getAuditLogsByAction(action, cursor, limit);
 
-        String message = "Retrieved " + response.size() + " audit logs for action " + action;
+        String message = "Retrieved " + response.getItems().size() + " audit logs for action " + action;
         return GlobalResponseBuilder.buildResponse(message, response, HttpStatus.OK);
     }
 
-    /* retrieve all audit logs related to a specific resource */
+    /* retrieve a page of audit logs related to a specific resource */
     @GetMapping("/resource/{resourceType}/{resourceId}")
     @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
-    public ResponseEntity<GlobalResponseBuilder<List<AuditLogResponseDTO>>> getAuditLogsByResource(
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<AuditLogResponseDTO>>> getAuditLogsByResource(
             @PathVariable String resourceType,
-            @PathVariable String resourceId) {
+            @PathVariable String resourceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        List<AuditLog> auditLogs = auditLogService.getAuditLogsByResource(resourceType, resourceId);
-        List<AuditLogResponseDTO> response = auditLogMapper.toResponseDTOs(auditLogs);
+        CursorPageDTO<AuditLogResponseDTO> response =
+                auditLogService.getAuditLogsByResource(resourceType, resourceId, cursor, limit);
 
-        String message = "Retrieved " + response.size() + " audit logs for " + resourceType + " " + resourceId;
+        String message = "Retrieved " + response.getItems().size() + " audit logs for " + resourceType + " " + resourceId;
         return GlobalResponseBuilder.buildResponse(message, response, HttpStatus.OK);
     }
 
-    /* retrieve all audit logs within a specified time range */
+    /* retrieve a page of audit logs within a specified time range */
     @GetMapping("/range")
     @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
-    public ResponseEntity<GlobalResponseBuilder<List<AuditLogResponseDTO>>> getAuditLogsByTimeRange(
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<AuditLogResponseDTO>>> getAuditLogsByTimeRange(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        List<AuditLog> auditLogs = auditLogService.getAuditLogsByTimeRange(startTime, endTime);
-        List<AuditLogResponseDTO> response = auditLogMapper.toResponseDTOs(auditLogs);
+        CursorPageDTO<AuditLogResponseDTO> response =
+                auditLogService.getAuditLogsByTimeRange(startTime, endTime, cursor, limit);
 
-        String message = "Retrieved " + response.size() + " audit logs between " + startTime + " and " + endTime;
+        String message = "Retrieved " + response.getItems().size() + " audit logs between " + startTime + " and " + endTime;
         return GlobalResponseBuilder.buildResponse(message, response, HttpStatus.OK);
     }
 
-    /* retrieve audit logs for a specific admin within a specified time range */
+    /* stream every audit log within a time range as newline-delimited JSON, oldest first */
+    @GetMapping("/range/export/ndjson")
+    @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogsByTimeRange(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime) {
+        StreamingResponseBody body = outputStream ->
+                auditLogService.exportAuditLogsNdjson(startTime, endTime, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /* retrieve a page of audit logs for a specific admin within a specified time range */
     @GetMapping("/admin/{adminId}/range")
     @PreAuthorize("hasRole('ADMIN_EXECUTIVE')")
-    public ResponseEntity<GlobalResponseBuilder<List<AuditLogResponseDTO>>> getAuditLogsByAdminAndTimeRange(
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<AuditLogResponseDTO>>> getAuditLogsByAdminAndTimeRange(
             @PathVariable Long adminId,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime startTime,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime) {
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime endTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
 
-        List<AuditLog> auditLogs = auditLogService.getAuditLogsByAdminAndTimeRange(adminId, startTime, endTime);
-        List<AuditLogResponseDTO> response = auditLogMapper.toResponseDTOs(auditLogs);
+        CursorPageDTO<AuditLogResponseDTO> response =
+                auditLogService.getAuditLogsByAdminAndTimeRange(adminId, startTime, endTime, cursor, limit);
 
-        String message = "Retrieved " + response.size() + " audit logs for admin " + adminId + " between " + startTime + " and " + endTime;
+        String message = "Retrieved " + response.getItems().size() + " audit logs for admin " + adminId + " between " + startTime + " and " + endTime;
         return GlobalResponseBuilder.buildResponse(message, response, HttpStatus.OK);
     }
 }
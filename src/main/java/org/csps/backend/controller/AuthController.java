@@ -12,6 +12,7 @@ import org.csps.backend.domain.dtos.response.StudentResponseDTO;
 import org.csps.backend.domain.entities.EmailVerification;
 import org.csps.backend.domain.entities.UserAccount;
 import org.csps.backend.security.JwtService;
+import org.csps.backend.security.PrincipalCache;
 import org.csps.backend.service.AdminService;
 import org.csps.backend.service.EmailVerificationService;
 import org.csps.backend.service.StudentService;
@@ -42,6 +43,7 @@ public class AuthController {
     private final UserService userService;
     private final EmailVerificationService emailVerificationService; // Inject EmailVerificationService
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
     private final StudentService studentService;
     private final AdminService adminService;
     private final PasswordEncoder passwordEncoder;
@@ -80,7 +82,10 @@ public class AuthController {
 
     // logout
     @PostMapping("/logout")
-    public ResponseEntity<GlobalResponseBuilder<String>> logout() {
+    public ResponseEntity<GlobalResponseBuilder<String>> logout(Authentication authentication) {
+        if (authentication != null && authentication.getCredentials() instanceof Long userId) {
+            principalCache.invalidate(userId);
+        }
         return GlobalResponseBuilder.buildResponse(
             "Logout successful",
             null,
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import org.csps.backend.annotation.Auditable;
+import org.csps.backend.controller.support.ConditionalGet;
 import org.csps.backend.domain.dtos.request.EventPostRequestDTO;
 import org.csps.backend.domain.dtos.request.EventUpdateRequestDTO;
 import org.csps.backend.domain.dtos.response.EventResponseDTO;
@@ -28,6 +29,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -41,16 +43,19 @@ public class EventController {
 
     private final EventService eventService;
     private final ObjectMapper objectMapper;
+    private final ConditionalGet conditionalGet;
 
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<GlobalResponseBuilder<List<EventResponseDTO>>> getAllEvents() {
-        List<EventResponseDTO> events = eventService.getAllEvents();
+    public ResponseEntity<GlobalResponseBuilder<List<EventResponseDTO>>> getAllEvents(WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            List<EventResponseDTO> events = eventService.getAllEvents();
 
-        String message = "Events retrieved successfully";
-        return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
-    } 
+            String message = "Events retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+        });
+    }
 
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
@@ -58,56 +63,71 @@ public class EventController {
         @RequestParam String query,
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-        @PageableDefault(size = 10, sort = "eventDate", direction = Sort.Direction.ASC) Pageable pageable
+        @PageableDefault(size = 10, sort = "eventDate", direction = Sort.Direction.ASC) Pageable pageable,
+        WebRequest webRequest
     ) {
-        Page<EventResponseDTO> results = eventService.searchEvent(query, startDate, endDate, pageable);
-        String message = "Events retrieved successfully";
-        return GlobalResponseBuilder.buildResponse(message, results, HttpStatus.OK);
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            Page<EventResponseDTO> results = eventService.searchEvent(query, startDate, endDate, pageable);
+            String message = "Events retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, results, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<GlobalResponseBuilder<EventResponseDTO>> getEventById(@PathVariable Long id) {
-        EventResponseDTO event = eventService.getEventById(id);
-        String message = "Event retrieved successfully";
-        return GlobalResponseBuilder.buildResponse(message, event, HttpStatus.OK);
+    public ResponseEntity<GlobalResponseBuilder<EventResponseDTO>> getEventById(@PathVariable Long id, WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            EventResponseDTO event = eventService.getEventById(id);
+            String message = "Event retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, event, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/image/{s3ImageKey}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<GlobalResponseBuilder<EventResponseDTO>> getEventByS3ImageKey(@PathVariable String s3ImageKey) {
-        EventResponseDTO event = eventService.getEventByS3ImageKey(s3ImageKey);
-        String message = "Event retrieved successfully";
-        return GlobalResponseBuilder.buildResponse(message, event, HttpStatus.OK);
+    public ResponseEntity<GlobalResponseBuilder<EventResponseDTO>> getEventByS3ImageKey(@PathVariable String s3ImageKey, WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            EventResponseDTO event = eventService.getEventByS3ImageKey(s3ImageKey);
+            String message = "Event retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, event, HttpStatus.OK);
+        });
     }
 
     @GetMapping("")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<GlobalResponseBuilder<List<EventResponseDTO>>> getEventByDate(@RequestParam LocalDate eventDate) {
-        List<EventResponseDTO> events = eventService.getEventByDate(eventDate);
+    public ResponseEntity<GlobalResponseBuilder<List<EventResponseDTO>>> getEventByDate(@RequestParam LocalDate eventDate, WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            List<EventResponseDTO> events = eventService.getEventByDate(eventDate);
 
-        String message = "Event retrieved successfully";    
-        return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+            String message = "Event retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/upcoming")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
     public ResponseEntity<GlobalResponseBuilder<Page<EventResponseDTO>>> getUpcomingEvents(
-        @PageableDefault(size = 5) Pageable pageable
+        @PageableDefault(size = 5) Pageable pageable,
+        WebRequest webRequest
     ) {
-        Page<EventResponseDTO> events = eventService.getUpcomingEventsPaginated(pageable);
-        String message = "Upcoming events retrieved successfully";
-        return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            Page<EventResponseDTO> events = eventService.getUpcomingEventsPaginated(pageable);
+            String message = "Upcoming events retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/by-month")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
     public ResponseEntity<GlobalResponseBuilder<List<EventResponseDTO>>> getEventsByMonth(
         @RequestParam int year,
-        @RequestParam int month) {
-        List<EventResponseDTO> events = eventService.getEventsByMonth(year, month);
-        String message = "Events for " + month + "/" + year + " retrieved successfully";
-        return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+        @RequestParam int month,
+        WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            List<EventResponseDTO> events = eventService.getEventsByMonth(year, month);
+            String message = "Events for " + month + "/" + year + " retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/my-history")
@@ -122,10 +142,12 @@ public class EventController {
 
     @GetMapping("/past")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<GlobalResponseBuilder<List<EventResponseDTO>>> getPastEvents() {
-        List<EventResponseDTO> events = eventService.getPastEvents();
-        String message = "Past events retrieved successfully";
-        return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+    public ResponseEntity<GlobalResponseBuilder<List<EventResponseDTO>>> getPastEvents(WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, eventService.getEventsVersion(), () -> {
+            List<EventResponseDTO> events = eventService.getPastEvents();
+            String message = "Past events retrieved successfully";
+            return GlobalResponseBuilder.buildResponse(message, events, HttpStatus.OK);
+        });
     }
 
     @PostMapping("/add")
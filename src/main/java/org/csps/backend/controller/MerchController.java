@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.List;
 
 import org.csps.backend.annotation.Auditable;
+import org.csps.backend.controller.support.ConditionalGet;
 import org.csps.backend.domain.dtos.request.MerchRequestDTO;
 import org.csps.backend.domain.dtos.request.MerchUpdateRequestDTO;
 import org.csps.backend.domain.dtos.request.MerchVariantRequestDTO;
@@ -31,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -46,6 +48,7 @@ public class MerchController {
 
     private final MerchService merchService;
     private final ObjectMapper objectMapper;
+    private final ConditionalGet conditionalGet;
 
     /**
      * Creates a merch item and, for tickets, optionally stores zero or many inline freebie configs.
@@ -96,26 +99,30 @@ public class MerchController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<List<MerchDetailedResponseDTO>> getAllMerch() {
-        return ResponseEntity.ok(merchService.getAllMerch());
+    public ResponseEntity<List<MerchDetailedResponseDTO>> getAllMerch(WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, merchService.getCatalogVersion(),
+                () -> ResponseEntity.ok(merchService.getAllMerch()));
     }
 
     @GetMapping("/summary")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<List<MerchSummaryResponseDTO>> getAllMerchSummaries() {
-        return ResponseEntity.ok(merchService.getAllMerchSummaries());
+    public ResponseEntity<List<MerchSummaryResponseDTO>> getAllMerchSummaries(WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, merchService.getCatalogVersion(),
+                () -> ResponseEntity.ok(merchService.getAllMerchSummaries()));
     }
 
     @GetMapping("/type/{type}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<List<MerchSummaryResponseDTO>> getMerchByType(@PathVariable MerchType type) {
-        return ResponseEntity.ok(merchService.getMerchByType(type));
+    public ResponseEntity<List<MerchSummaryResponseDTO>> getMerchByType(@PathVariable MerchType type, WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, merchService.getCatalogVersion(),
+                () -> ResponseEntity.ok(merchService.getMerchByType(type)));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
-    public ResponseEntity<MerchDetailedResponseDTO> getMerchById(@PathVariable Long id) {
-        return ResponseEntity.ok(merchService.getMerchById(id));
+    public ResponseEntity<MerchDetailedResponseDTO> getMerchById(@PathVariable Long id, WebRequest webRequest) {
+        return conditionalGet.respond(webRequest, merchService.getCatalogVersion(),
+                () -> ResponseEntity.ok(merchService.getMerchById(id)));
     }
 
     @PutMapping("/{merchId}")
@@ -1,5 +1,6 @@
 package org.csps.backend.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -12,7 +13,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -147,4 +151,24 @@ public class MerchCustomerController {
         List<MerchCustomerResponseDTO> customers = merchCustomerService.getAllCustomersByMerchId(merchId, includeFreebies);
         return ResponseEntity.ok(customers);
     }
+
+    /**
+     * Stream ALL customers for a specific merch as a CSV file.
+     * Rows are written as they are read from the database, so large lists start downloading immediately.
+     *
+     * @param merchId the merch ID to export customers for
+     * @return CSV attachment streamed to the client
+     */
+    @GetMapping("/{merchId}/export/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCustomersByMerchIdCsv(
+            @PathVariable Long merchId,
+            @RequestParam(defaultValue = "true") boolean includeFreebies) {
+        StreamingResponseBody body = outputStream ->
+                merchCustomerService.exportCustomersByMerchIdCsv(merchId, includeFreebies, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"merch-" + merchId + "-customers.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
 }
@@ -120,6 +120,20 @@ public class MerchVariantItemController {
         return GlobalResponseBuilder.buildResponse("Stock quantity updated successfully", responseDTO, HttpStatus.OK);
     }
 
+    /**
+     * Switch a merch variant item into or out of hot-stock mode.
+     * Only admins can change the mode.
+     */
+    @PatchMapping("/{id}/hot-stock")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Auditable(action = AuditAction.UPDATE, resourceType = "MerchVariantItem")
+    public ResponseEntity<GlobalResponseBuilder<MerchVariantItemResponseDTO>> updateHotStockMode(
+            @PathVariable Long id,
+            @RequestParam boolean enabled) {
+        MerchVariantItemResponseDTO responseDTO = merchVariantItemService.updateHotStockMode(id, enabled);
+        return GlobalResponseBuilder.buildResponse("Hot-stock mode updated successfully", responseDTO, HttpStatus.OK);
+    }
+
     /**
      * Update price for a merch variant item.
      * Only admins can update price.
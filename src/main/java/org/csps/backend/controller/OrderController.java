@@ -2,8 +2,10 @@ package org.csps.backend.controller;
 
 import org.csps.backend.domain.dtos.request.OrderPostRequestDTO;
 import org.csps.backend.domain.dtos.request.OrderSearchDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.GlobalResponseBuilder;
 import org.csps.backend.domain.dtos.response.OrderResponseDTO;
+import org.csps.backend.service.CheckoutIdempotencyService;
 import org.csps.backend.service.OrderService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +23,9 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
@@ -33,18 +37,23 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
     
     private final OrderService orderService;
+    private final CheckoutIdempotencyService checkoutIdempotencyService;
 
     /**
      * Create one or more orders.
      * Student can only create orders for themselves.
      * After creation, add items via /api/order-items endpoint.
+     * An optional Idempotency-Key header makes retries of the same submission
+     * return the original order instead of placing another one.
      */
     @PostMapping
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<GlobalResponseBuilder<OrderResponseDTO>> createOrder(
             @AuthenticationPrincipal String studentId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody OrderPostRequestDTO orderRequests) {
-        OrderResponseDTO responseDTO = orderService.createOrder(studentId, orderRequests);
+        OrderResponseDTO responseDTO = checkoutIdempotencyService.execute(studentId, idempotencyKey, orderRequests,
+                () -> orderService.createOrder(studentId, orderRequests));
         return GlobalResponseBuilder.buildResponse("Order created successfully", responseDTO, HttpStatus.CREATED);
     }
 
@@ -116,6 +125,21 @@ public class OrderController {
         return GlobalResponseBuilder.buildResponse("Orders retrieved successfully", results, HttpStatus.OK);
     }
 
+    /**
+     * Keyset form of /search for deep paging: newest first on (orderDate, orderId).
+     * Query params: the /search filters, cursor (nextCursor of the previous page), limit (default 20, max 200)
+     */
+    @GetMapping("/search/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<OrderResponseDTO>>> searchOrdersByCursor(
+            @ModelAttribute OrderSearchDTO searchDTO,
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<OrderResponseDTO> results = orderService.searchOrdersByCursor(searchDTO, cursor, limit, resolveStudentScope(authentication));
+        return GlobalResponseBuilder.buildResponse("Orders retrieved successfully", results, HttpStatus.OK);
+    }
+
     /**
      * Delete order.
      * Only admins can delete orders.
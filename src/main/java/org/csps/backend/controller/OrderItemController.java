@@ -5,6 +5,7 @@ import java.util.List;
 import org.csps.backend.annotation.Auditable;
 import org.csps.backend.domain.dtos.request.OrderItemRequestDTO;
 import org.csps.backend.domain.dtos.request.TicketFreebieAssignmentRequestDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.GlobalResponseBuilder;
 import org.csps.backend.domain.dtos.response.OrderItemResponseDTO;
 import org.csps.backend.domain.dtos.response.TicketFreebieAssignmentResponseDTO;
@@ -88,6 +89,18 @@ public class OrderItemController {
         return GlobalResponseBuilder.buildResponse("Order items retrieved successfully", page, HttpStatus.OK);
     }
 
+    /* keyset form of /status, most recently updated first; pass nextCursor back as cursor */
+    @GetMapping("/status/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STUDENT')")
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<OrderItemResponseDTO>>> getOrderItemsByStatusCursor(
+            @RequestParam OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        CursorPageDTO<OrderItemResponseDTO> page = orderItemService.getOrderItemsByStatusCursor(status, cursor, limit, resolveStudentScope(authentication));
+        return GlobalResponseBuilder.buildResponse("Order items retrieved successfully", page, HttpStatus.OK);
+    }
+
     @GetMapping("/my-items")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<GlobalResponseBuilder<Page<OrderItemResponseDTO>>> getMyOrderItems(
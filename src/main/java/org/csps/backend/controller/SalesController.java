@@ -1,6 +1,7 @@
 package org.csps.backend.controller;
 
 import org.csps.backend.domain.dtos.request.OrderSearchDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.GlobalResponseBuilder;
 import org.csps.backend.domain.dtos.response.sales.SalesStatsDTO;
 import org.csps.backend.domain.dtos.response.sales.TransactionDTO;
@@ -39,6 +40,13 @@ public class SalesController {
         return GlobalResponseBuilder.buildResponse("Sales statistics retrieved successfully", stats, HttpStatus.OK);
     }
 
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN_FINANCE') or hasRole('ADMIN_EXECUTIVE')")
+    public ResponseEntity<GlobalResponseBuilder<Integer>> rebuildSalesStats() {
+        int days = salesService.rebuildRevenueRollup();
+        return GlobalResponseBuilder.buildResponse("Sales statistics rebuilt successfully", days, HttpStatus.OK);
+    }
+
     @GetMapping("/transactions")
     @PreAuthorize("hasRole('ADMIN') or hasRole('ADMIN_FINANCE') or hasRole('ADMIN_EXECUTIVE')")
     public ResponseEntity<GlobalResponseBuilder<Page<TransactionDTO>>> getTransactions(
@@ -54,6 +62,17 @@ public class SalesController {
         return GlobalResponseBuilder.buildResponse("Transactions retrieved successfully", transactions, HttpStatus.OK);
     }
 
+    /* keyset form of /transactions for deep paging; pass nextCursor back as cursor */
+    @GetMapping("/transactions/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ADMIN_FINANCE') or hasRole('ADMIN_EXECUTIVE')")
+    public ResponseEntity<GlobalResponseBuilder<CursorPageDTO<TransactionDTO>>> getTransactionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "6") int limit,
+            @ModelAttribute OrderSearchDTO search) {
+        CursorPageDTO<TransactionDTO> transactions = salesService.getTransactionsByCursor(cursor, limit, search);
+        return GlobalResponseBuilder.buildResponse("Transactions retrieved successfully", transactions, HttpStatus.OK);
+    }
+
     @PostMapping("/transactions/{id}/approve")
     @PreAuthorize("hasRole('ADMIN_FINANCE') or hasRole('ADMIN_EXECUTIVE')")
     public ResponseEntity<GlobalResponseBuilder<TransactionDTO>> approveTransaction(
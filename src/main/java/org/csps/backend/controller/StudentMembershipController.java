@@ -1,5 +1,6 @@
 package org.csps.backend.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
@@ -14,7 +15,9 @@ import org.csps.backend.service.StudentMembershipService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import lombok.RequiredArgsConstructor;
 
@@ -212,6 +216,35 @@ public class StudentMembershipController {
         return ResponseEntity.ok(nonMembers);
     }
 
+    /**
+     * Stream ALL active members as a CSV file, written as rows are read from the database.
+     *
+     * @return CSV attachment streamed to the client
+     */
+    @GetMapping("/active/export/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportActiveMembersCsv() {
+        return csvAttachment("active-members.csv", studentMembershipService::exportActiveMembersCsv);
+    }
+
+    /**
+     * Stream ALL non-members as a CSV file, written as rows are read from the database.
+     *
+     * @return CSV attachment streamed to the client
+     */
+    @GetMapping("/inactive/export/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportNonMembersCsv() {
+        return csvAttachment("non-members.csv", studentMembershipService::exportNonMembersCsv);
+    }
+
+    private ResponseEntity<StreamingResponseBody> csvAttachment(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
     /**
      * Bulk create memberships for multiple students in a single academic year.
      * Deduplicates and skips non-existent students silently.
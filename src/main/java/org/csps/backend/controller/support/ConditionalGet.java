@@ -0,0 +1,46 @@
+package org.csps.backend.controller.support;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers GETs against a version tag computed before any data is loaded: a matching If-None-Match
+ * gets a 304 without running the loader, anything else gets the loaded response with a strong ETag.
+ * Versions must be the same on every replica: shared counters or hashes of the content, never per-instance state.
+ */
+@Component
+public class ConditionalGet {
+
+    /* clients must revalidate every use; the responses are per user, so shared caches must not keep them */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * @param version tag of what loader would return, e.g. from a service's version method
+     * @param loader  builds the full response; only invoked when the client's copy is stale
+     */
+    public <T> ResponseEntity<T> respond(WebRequest webRequest, String version, Supplier<ResponseEntity<T>> loader) {
+        String eTag = "\"" + version + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+
+        ResponseEntity<T> response = loader.get();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(eTag)
+                .cacheControl(REVALIDATE)
+                .body(response.getBody());
+    }
+}
@@ -0,0 +1,21 @@
+package org.csps.backend.domain.dtos.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-day totals aggregated in the database for the finance dashboard chart.
+ * Order queries leave membershipCount at 0 and membership queries leave the order fields at 0.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyFinanceTotalsDTO {
+    private LocalDate day;
+    private Long orderCount;
+    private Double merchRevenue;
+    private Long membershipCount;
+}
@@ -17,6 +17,7 @@ public class EventResponseDTO {
     private String eventLocation;
     private LocalDate eventDate;
     private String s3ImageKey;
+    private ImageVariantsDTO imageVariants;
     private LocalTime startTime;
     private LocalTime endTime;
     private EventType eventType;
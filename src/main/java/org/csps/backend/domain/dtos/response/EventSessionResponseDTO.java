@@ -16,4 +16,5 @@ public class EventSessionResponseDTO {
     private LocalTime endTime;
     private SessionStatus sessionStatus;
     private String qrTokenCode;
+    private Boolean gateMode;
 }
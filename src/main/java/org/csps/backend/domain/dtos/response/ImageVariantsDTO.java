@@ -0,0 +1,35 @@
+package org.csps.backend.domain.dtos.response;
+
+import org.csps.backend.domain.enums.ImageDerivative;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Storage keys of the resized renditions of an image. They are generated shortly after upload,
+ * so clients should fall back to s3ImageKey if a rendition is not there yet.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageVariantsDTO {
+
+    private String thumbnail;
+
+    private String card;
+
+    private String full;
+
+    public static ImageVariantsDTO of(String s3ImageKey) {
+        if (!ImageDerivative.hasDerivatives(s3ImageKey)) {
+            return null;
+        }
+        return new ImageVariantsDTO(
+                ImageDerivative.THUMBNAIL.keyFor(s3ImageKey),
+                ImageDerivative.CARD.keyFor(s3ImageKey),
+                ImageDerivative.FULL.keyFor(s3ImageKey));
+    }
+}
@@ -24,6 +24,7 @@ public class MerchDetailedResponseDTO {
     private MerchType merchType;
     private Double basePrice;
     private String s3ImageKey;
+    private ImageVariantsDTO imageVariants;
     private Boolean hasFreebie;
     private List<TicketFreebieConfigResponseDTO> freebieConfigs;
     private Boolean purchaseBlocked;
@@ -0,0 +1,18 @@
+package org.csps.backend.domain.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stored stock of one merch variant item, loaded on its own so the catalog cache can refresh
+ * stock counts without reloading the catalog.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MerchItemStockDTO {
+    private Long merchVariantItemId;
+    private Long merchId;
+    private Integer stockQuantity;
+}
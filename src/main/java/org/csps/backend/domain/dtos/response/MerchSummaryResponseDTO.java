@@ -23,6 +23,7 @@ public class MerchSummaryResponseDTO {
     private MerchType merchType;
     private Double basePrice;
     private String s3ImageKey;
+    private ImageVariantsDTO imageVariants;
     private Integer totalStockQuantity;
     private Boolean hasFreebie;
     private List<TicketFreebieConfigResponseDTO> freebieConfigs;
@@ -37,6 +38,7 @@ public class MerchSummaryResponseDTO {
         this.merchType = merchType;
         this.basePrice = basePrice;
         this.s3ImageKey = s3ImageKey;
+        this.imageVariants = ImageVariantsDTO.of(s3ImageKey);
         this.totalStockQuantity = totalStockQuantity;
         this.hasFreebie = hasFreebie;
     }
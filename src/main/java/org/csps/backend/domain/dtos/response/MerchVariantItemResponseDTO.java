@@ -17,4 +17,5 @@ public class MerchVariantItemResponseDTO {
     private Integer stockQuantity;
     private Double price;
     private String s3ImageKey;
+    private Boolean hotStock;
 }
@@ -26,6 +26,7 @@ public class MerchVariantResponseDTO {
     private Integer stockQuantity;
 
     private String s3ImageKey; 
+    private ImageVariantsDTO imageVariants;
 
     @JsonProperty("items")
     private List<MerchVariantItemResponseDTO> variantItems;
@@ -0,0 +1,17 @@
+package org.csps.backend.domain.dtos.response.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderRevenueDTO {
+    private LocalDateTime orderDate;
+    private Double revenue;       // recognized non-membership merch revenue of a single order
+}
@@ -1,9 +1,12 @@
 package org.csps.backend.domain.entities;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -20,10 +23,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
+/* composite indexes end in (timestamp, id) so every filter is served as a keyset range;
+   the table is range-partitioned by month on timestamp, see AuditLogRetentionServiceImpl */
 @Table(name = "audit_log", indexes = {
-    @Index(name = "idx_audit_admin_id", columnList = "admin_id"),
-    @Index(name = "idx_audit_action", columnList = "action"),
-    @Index(name = "idx_audit_timestamp", columnList = "timestamp")
+    @Index(name = "idx_audit_admin_timestamp", columnList = "admin_id, timestamp, id"),
+    @Index(name = "idx_audit_action_timestamp", columnList = "action, timestamp, id"),
+    @Index(name = "idx_audit_resource_timestamp", columnList = "resource_type, resource_id, timestamp, id"),
+    @Index(name = "idx_audit_timestamp_id", columnList = "timestamp, id")
 })
 @AllArgsConstructor
 @NoArgsConstructor
@@ -34,11 +40,16 @@ public class AuditLog {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    /* admin who performed the action */
-    @ManyToOne
-    @JoinColumn(name = "admin_id", nullable = false)
+    /* admin who performed the action; no foreign key since a partitioned table cannot have one
+       and the trail must outlive deleted admins */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "admin_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Admin admin;
 
+    /* raw admin id, still readable after the admin is deleted */
+    @Column(name = "admin_id", insertable = false, updatable = false)
+    private Long adminId;
+
     /* type of action performed: CREATE, UPDATE, DELETE */
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -0,0 +1,45 @@
+package org.csps.backend.domain.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Idempotency-Key claimed by a checkout. The row is inserted in the checkout's own transaction, so the
+ * primary key lets exactly one submission per student and key commit an order on any replica, and a
+ * failed checkout leaves no row behind.
+ */
+@Entity
+@Data
+@Table(name = "checkout_idempotency_key", indexes = {
+    @Index(name = "idx_checkout_idempotency_created_at", columnList = "created_at")
+})
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutIdempotencyKey {
+
+    /* student id and client key, e.g. "22-1234-567:5f0c..." */
+    @Id
+    @Column(name = "store_key", length = 191)
+    private String storeKey;
+
+    /* Base64 SHA-256 of the canonical order request */
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    /* set once the checkout has created its order, in the same transaction */
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
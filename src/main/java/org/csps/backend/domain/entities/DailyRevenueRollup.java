@@ -0,0 +1,42 @@
+package org.csps.backend.domain.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per calendar day holding the revenue that finance charts are built from.
+ * Rows are maintained incrementally by the approval, rejection/cancellation and membership
+ * creation paths so sales statistics never have to walk the full order history.
+ */
+@Entity
+@Data
+@Table(name = "daily_revenue_rollup")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyRevenueRollup {
+
+    @Id
+    private LocalDate revenueDate;
+
+    /* recognized (TO_BE_CLAIMED / CLAIMED) non-membership merch revenue for orders placed on this day */
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal merchRevenue;
+
+    /* current academic year memberships that joined on this day */
+    @Column(nullable = false)
+    private long membershipCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
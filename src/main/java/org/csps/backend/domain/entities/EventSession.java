@@ -59,6 +59,11 @@ public class EventSession {
     @Column(nullable = false, unique = true, length = 500)
     private String qrTokenCode;
 
+    /* check-ins are admitted through the in-memory gate while set; reopened on startup */
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean gateMode = false;
+
     @CreationTimestamp
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,50 @@
+package org.csps.backend.domain.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Units of a hot item one replica's ledger holds: added when the replica claims them from the stored stock
+ * or a cancellation puts them back, removed in the same transaction as the checkout that sells them or the
+ * flush that returns them. A replica renews heartbeatAt on every flush, so rows whose heartbeat stops
+ * belong to a crashed replica and their units can be handed back to the stored stock exactly.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "hot_stock_allocation", indexes = {
+    @Index(name = "idx_hot_stock_allocation_replica", columnList = "replica_id"),
+    @Index(name = "idx_hot_stock_allocation_heartbeat", columnList = "heartbeat_at")
+})
+public class HotStockAllocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long allocationId;
+
+    @Column(name = "replica_id", nullable = false, length = 36)
+    private String replicaId;
+
+    @Column(nullable = false)
+    private Long merchVariantItemId;
+
+    @Column(nullable = false)
+    private int units;
+
+    /* written by the database clock only, so replicas never compare their own clocks */
+    @Column(name = "heartbeat_at", columnDefinition = "DATETIME(3)", insertable = false, updatable = false)
+    private LocalDateTime heartbeatAt;
+}
@@ -1,6 +1,7 @@
 package org.csps.backend.domain.entities;
 
 import org.csps.backend.domain.enums.ClothingSizing;
+import org.hibernate.annotations.DynamicUpdate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -19,6 +20,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+/* only write changed columns, so editing e.g. the price never writes a stale stock count back */
+@DynamicUpdate
 @Data
 @Builder
 @AllArgsConstructor
@@ -46,4 +49,9 @@ public class MerchVariantItem {
     @Column(nullable = false)
     private Double price;
 
+    /* when set, stock is admitted from the in-memory hot-stock ledger and written back in batches */
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean hotStock = false;
+
 }
@@ -31,7 +31,11 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "orders", indexes = 
 {
-    @Index(name = "idx_student_id", columnList = "student_id")
+    @Index(name = "idx_student_id", columnList = "student_id"),
+    /* keyset pages seek on (order_date, order_id) newest first */
+    @Index(name = "idx_orders_date_id", columnList = "order_date, order_id"),
+    @Index(name = "idx_orders_student_date_id", columnList = "student_id, order_date, order_id"),
+    @Index(name = "idx_orders_status_date_id", columnList = "order_status, order_date, order_id")
 }
 )
 @NamedEntityGraph(
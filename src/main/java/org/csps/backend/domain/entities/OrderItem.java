@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -25,7 +26,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "order_item")
+@Table(name = "order_item", indexes = {
+    /* keyset pages seek on (updated_at, order_item_id) newest first */
+    @Index(name = "idx_order_item_updated_id", columnList = "updated_at, order_item_id"),
+    @Index(name = "idx_order_item_status_updated_id", columnList = "order_status, updated_at, order_item_id")
+})
 @Data
 @Builder
 @AllArgsConstructor
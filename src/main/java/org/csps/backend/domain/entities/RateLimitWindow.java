@@ -0,0 +1,46 @@
+package org.csps.backend.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shared rate-limit counters for one policy and client, used when several backend replicas
+ * must enforce a single budget. Rows are read and written by JdbcRateLimitLeaseStore; the
+ * entity only exists so the table is managed alongside the rest of the schema.
+ */
+@Entity
+@Data
+@Table(name = "rate_limit_window", indexes = {
+    @Index(name = "idx_rate_limit_hour_window", columnList = "hour_window")
+})
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RateLimitWindow {
+
+    /* policy name and client id, e.g. "checkout:203.0.113.7" */
+    @Id
+    @Column(name = "bucket_key", length = 191)
+    private String bucketKey;
+
+    /* epoch minute the minute counter belongs to */
+    @Column(name = "minute_window", nullable = false)
+    private long minuteWindow;
+
+    @Column(name = "minute_used", nullable = false)
+    private long minuteUsed;
+
+    /* epoch hour the hour counter belongs to */
+    @Column(name = "hour_window", nullable = false)
+    private long hourWindow;
+
+    @Column(name = "hour_used", nullable = false)
+    private long hourUsed;
+}
@@ -0,0 +1,31 @@
+package org.csps.backend.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Version counter of a read-mostly resource, shared by every backend replica so an ETag built
+ * from it means the same thing whichever instance answers. Rows are created by the first bump.
+ */
+@Entity
+@Data
+@Table(name = "resource_version")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResourceVersion {
+
+    /* VersionedResource name, e.g. "MERCH_CATALOG" */
+    @Id
+    @Column(name = "resource", length = 64)
+    private String resource;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
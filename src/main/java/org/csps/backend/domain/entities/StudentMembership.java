@@ -24,6 +24,7 @@ import lombok.NoArgsConstructor;
 @Table(indexes={
     @Index(name = "idx_membership_student_id", columnList = "student_id"),
     @Index(name = "idx_membership_active", columnList = "student_id, active"),
+    @Index(name = "idx_membership_active_student", columnList = "active, student_id"),
     @Index(name = "idx_membership_year", columnList = "year_start, year_end, student_id")
 },
 uniqueConstraints = {
@@ -2,6 +2,7 @@ package org.csps.backend.domain.entities;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -52,7 +53,32 @@ public class UserProfile {
     @Builder.Default
     private Boolean isProfileComplete = false;
 
+    /* lower-cased "first middle last|first last|last first" with tabs/newlines turned into spaces and space
+       runs collapsed, computed by MySQL so it can never drift from the name columns. A substring match on it
+       covers every name form the searches used to build per row. Not indexed: a leading-wildcard LIKE cannot
+       seek a B-tree, so the searches still scan user_profile, just without re-concatenating each row. */
+    @Column(name = "name_search_text", length = 2048, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(2048) GENERATED ALWAYS AS (LOWER("
+                    + "REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE("
+                    + "CONCAT_WS('|', CONCAT_WS(' ', first_name, middle_name, last_name), "
+                    + "CONCAT_WS(' ', first_name, last_name), CONCAT_WS(' ', last_name, first_name)), "
+                    + "'\\t', ' '), '\\n', ' '), '\\r', ' '), '  ', ' '), '  ', ' '), '  ', ' '))) STORED")
+    private String nameSearchText;
+
     // One-to-many relationship: One UserProfile can have multiple UserAccounts
     @OneToMany(mappedBy = "userProfile", fetch = FetchType.LAZY)
     private List<UserAccount> userAccounts;
+
+    /**
+     * Normalize a user-entered name term for a match against nameSearchText: trimmed, tab/newline/space
+     * runs collapsed to one space (the same characters the column collapses) and lower-cased.
+     * Every name search goes through this so the member, non-member, student and order pages agree.
+     * Returns null for blank input.
+     */
+    public static String normalizeNameSearchTerm(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().replaceAll("[ \\t\\n\\r]+", " ").toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,9 @@
+package org.csps.backend.domain.enums;
+
+public enum FinanceDashboardSection {
+    INVENTORY,
+    RECENT_ORDERS,
+    RECENT_MEMBERSHIPS,
+    MEMBERSHIP_RATIO,
+    CHART_DATA
+}
@@ -0,0 +1,40 @@
+package org.csps.backend.domain.enums;
+
+/**
+ * Resized JPEG renditions generated for every uploaded merch, variant and event image.
+ * Each is stored next to its original under a key derived from the original's key,
+ * e.g. merch/12/1f0c...png -> merch/12/1f0c...-card.jpg.
+ */
+public enum ImageDerivative {
+    THUMBNAIL("thumb", 160),
+    CARD("card", 480),
+    FULL("full", 1280);
+
+    private final String suffix;
+    private final int maxSize;
+
+    ImageDerivative(String suffix, int maxSize) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+    }
+
+    /* longest edge in pixels, smaller originals are never upscaled */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String keyFor(String originalKey) {
+        int extension = originalKey.lastIndexOf('.');
+        String base = extension > originalKey.lastIndexOf('/') ? originalKey.substring(0, extension) : originalKey;
+        return base + "-" + suffix + ".jpg";
+    }
+
+    /* placeholders and external URLs were never uploaded through S3Service, so they have no derivatives */
+    public static boolean hasDerivatives(String originalKey) {
+        return originalKey != null
+                && !originalKey.isBlank()
+                && !"placeholder".equals(originalKey)
+                && !originalKey.startsWith("http://")
+                && !originalKey.startsWith("https://");
+    }
+}
@@ -0,0 +1,8 @@
+package org.csps.backend.domain.enums;
+
+public enum StockReservationMode {
+    /* SELECT ... FOR UPDATE, check and write back - serializes buyers of the same item */
+    PESSIMISTIC,
+    /* conditional UPDATE ... WHERE stock >= quantity run just before commit - the row is locked only for the commit */
+    ATOMIC
+}
@@ -0,0 +1,6 @@
+package org.csps.backend.domain.enums;
+
+public enum VersionedResource {
+    MERCH_CATALOG,
+    EVENTS
+}
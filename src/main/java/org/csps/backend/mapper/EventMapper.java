@@ -2,12 +2,13 @@ package org.csps.backend.mapper;
 
 import org.csps.backend.domain.dtos.request.EventPostRequestDTO;
 import org.csps.backend.domain.dtos.response.EventResponseDTO;
+import org.csps.backend.domain.dtos.response.ImageVariantsDTO;
 import org.csps.backend.domain.entities.Event;
 import org.csps.backend.domain.entities.EventSession;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = ImageVariantsDTO.class)
 public interface EventMapper {
 
     @Mapping(source = "eventId", target = "eventId")
@@ -19,6 +20,7 @@ public interface EventMapper {
     @Mapping(source = "endTime", target = "endTime")
     @Mapping(source = "eventType", target = "eventType")
     @Mapping(source = "eventStatus", target = "eventStatus")
+    @Mapping(target = "imageVariants", expression = "java(ImageVariantsDTO.of(event.getS3ImageKey()))")
     EventResponseDTO toResponseDTO(Event event);
 
 
@@ -17,6 +17,7 @@ public interface EventSessionMapper {
     @Mapping(source = "endTime", target = "endTime")
     @Mapping(source = "sessionStatus", target = "sessionStatus")
     @Mapping(source = "qrTokenCode", target = "qrTokenCode")
+    @Mapping(source = "gateMode", target = "gateMode")
     EventSessionResponseDTO toResponseDTO(EventSession session);
     
     List<EventSessionResponseDTO> toResponseDTOList(List<EventSession> sessions);
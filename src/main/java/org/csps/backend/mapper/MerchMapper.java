@@ -1,6 +1,7 @@
 package org.csps.backend.mapper;
 
 import org.csps.backend.domain.dtos.request.MerchRequestDTO;
+import org.csps.backend.domain.dtos.response.ImageVariantsDTO;
 import org.csps.backend.domain.dtos.response.MerchDetailedResponseDTO;
 import org.csps.backend.domain.dtos.response.MerchSummaryResponseDTO;
 import org.csps.backend.domain.entities.Merch;
@@ -9,18 +10,20 @@ import org.csps.backend.domain.entities.MerchVariantItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", uses = {MerchVariantMapper.class})
+@Mapper(componentModel = "spring", uses = {MerchVariantMapper.class}, imports = ImageVariantsDTO.class)
 public interface MerchMapper {
     @Mapping(target = "variants", source = "merchVariantList")
     @Mapping(target = "freebieConfigs", ignore = true)
     @Mapping(target = "purchaseBlocked", ignore = true)
     @Mapping(target = "purchaseBlockMessage", ignore = true)
+    @Mapping(target = "imageVariants", expression = "java(ImageVariantsDTO.of(merch.getS3ImageKey()))")
     MerchDetailedResponseDTO toDetailedResponseDTO(Merch merch);
 
     @Mapping(target = "freebieConfigs", ignore = true)
     @Mapping(target = "purchaseBlocked", ignore = true)
     @Mapping(target = "purchaseBlockMessage", ignore = true)
     @Mapping(target = "totalStockQuantity", expression = "java(getTotalStockQuantity(merch))")
+    @Mapping(target = "imageVariants", expression = "java(ImageVariantsDTO.of(merch.getS3ImageKey()))")
     MerchSummaryResponseDTO toSummaryResponseDTO(Merch merch);
 
     @Mapping(target = "merchVariantList", source = "merchVariantRequestDto")
@@ -10,7 +10,8 @@ import org.mapstruct.Mapping;
 public interface MerchVariantItemMapper {
 
     // Map request DTO -> entity
-    
+    /* new items always start on the database stock path; hot-stock mode is switched separately */
+    @Mapping(target = "hotStock", ignore = true)
     MerchVariantItem toEntity(MerchVariantItemRequestDTO dto);
 
     // Map entity -> response DTO (include parent variant and merch info)
@@ -3,6 +3,7 @@ package org.csps.backend.mapper;
 import java.util.List;
 
 import org.csps.backend.domain.dtos.request.MerchVariantRequestDTO;
+import org.csps.backend.domain.dtos.response.ImageVariantsDTO;
 import org.csps.backend.domain.dtos.response.MerchVariantResponseDTO;
 import org.csps.backend.domain.entities.MerchVariant;
 import org.csps.backend.domain.entities.MerchVariantItem;
@@ -10,7 +11,7 @@ import org.csps.backend.domain.enums.ClothingSizing;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", uses={MerchVariantItemMapper.class})
+@Mapper(componentModel = "spring", uses={MerchVariantItemMapper.class}, imports = ImageVariantsDTO.class)
 public interface MerchVariantMapper {
 
     // Entity -> DTO
@@ -18,6 +19,7 @@ public interface MerchVariantMapper {
     @Mapping(target = "price", expression = "java(getFirstPrice(merchVariant))")
     @Mapping(target = "stockQuantity", expression = "java(getFirstStock(merchVariant))")
     @Mapping(target="variantItems", source="merchVariantItems")
+    @Mapping(target = "imageVariants", expression = "java(ImageVariantsDTO.of(merchVariant.getS3ImageKey()))")
     MerchVariantResponseDTO toResponseDTO(MerchVariant merchVariant);
 
     // DTO -> Entity (service layer typically handles creating MerchVariantItem list)
@@ -37,6 +37,7 @@ public interface UserMapper {
     @Mapping(target = "middleName", source = "middleName")
     @Mapping(target = "birthDate", source = "birthDate")
     @Mapping(target = "email", source = "email")
+    @Mapping(target = "nameSearchText", ignore = true) // generated by the database
     UserProfile toUserProfile(UserRequestDTO dto);
 
 
@@ -50,4 +50,8 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
     
     /* count attendance for a session */
     long countByEventSessionSessionId(Long sessionId);
+
+    /* participants already checked in to a session, used to seed a gate's duplicate set */
+    @Query("SELECT a.eventParticipant.participantId FROM AttendanceRecord a WHERE a.eventSession.sessionId = :sessionId")
+    List<Long> findParticipantIdsBySessionId(@Param("sessionId") Long sessionId);
 }
@@ -2,38 +2,101 @@ package org.csps.backend.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.csps.backend.domain.dtos.response.AuditLogResponseDTO;
 import org.csps.backend.domain.entities.AuditLog;
 import org.csps.backend.domain.enums.AuditAction;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+/**
+ * Audit log reads are keyset pages ordered newest first on (timestamp, id).
+ * Each page query seeks past the cursor with "timestamp <= :ts AND (timestamp < :ts OR id < :id)",
+ * which keeps a plain range on the composite index whose filter columns lead.
+ * Pass a pageable of the page size plus one to learn whether another page follows.
+ */
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
-    /* find all audit logs for a specific admin */
-    @Query("SELECT a FROM AuditLog a WHERE a.admin.adminId = :adminId")
-    List<AuditLog> findByAdminId(@Param("adminId") Long adminId);
+    String PROJECTION = """
+        SELECT new org.csps.backend.domain.dtos.response.AuditLogResponseDTO(
+            a.id, a.adminId, CONCAT(up.firstName, ' ', up.lastName),
+            a.action, a.resourceType, a.resourceId, a.description, a.timestamp)
+        FROM AuditLog a
+        LEFT JOIN a.admin ad
+        LEFT JOIN ad.userAccount ua
+        LEFT JOIN ua.userProfile up
+        """;
+
+    String AFTER_CURSOR = " AND a.timestamp <= :cursorTimestamp AND (a.timestamp < :cursorTimestamp OR a.id < :cursorId)";
+
+    String NEWEST_FIRST = " ORDER BY a.timestamp DESC, a.id DESC";
+
+    /* page of audit logs for a specific admin */
+    @Query(PROJECTION + " WHERE a.adminId = :adminId" + AFTER_CURSOR + NEWEST_FIRST)
+    List<AuditLogResponseDTO> findPageByAdminId(
+        @Param("adminId") Long adminId,
+        @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
 
-    /* find all audit logs for a specific action type */
-    List<AuditLog> findByAction(AuditAction action);
+    /* page of audit logs for a specific action type */
+    @Query(PROJECTION + " WHERE a.action = :action" + AFTER_CURSOR + NEWEST_FIRST)
+    List<AuditLogResponseDTO> findPageByAction(
+        @Param("action") AuditAction action,
+        @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
 
-    /* find all audit logs for a specific resource */
-    List<AuditLog> findByResourceTypeAndResourceId(String resourceType, String resourceId);
+    /* page of audit logs for a specific resource */
+    @Query(PROJECTION + " WHERE a.resourceType = :resourceType AND a.resourceId = :resourceId" + AFTER_CURSOR + NEWEST_FIRST)
+    List<AuditLogResponseDTO> findPageByResource(
+        @Param("resourceType") String resourceType,
+        @Param("resourceId") String resourceId,
+        @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
 
-    /* find all audit logs within a time range */
-    @Query("SELECT a FROM AuditLog a WHERE a.timestamp BETWEEN :startTime AND :endTime ORDER BY a.timestamp DESC")
-    List<AuditLog> findByTimestampBetween(
+    /* page of audit logs within a time range */
+    @Query(PROJECTION + " WHERE a.timestamp BETWEEN :startTime AND :endTime" + AFTER_CURSOR + NEWEST_FIRST)
+    List<AuditLogResponseDTO> findPageByTimestampBetween(
         @Param("startTime") LocalDateTime startTime,
-        @Param("endTime") LocalDateTime endTime
+        @Param("endTime") LocalDateTime endTime,
+        @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
     );
 
-    /* find all audit logs for a specific admin within a time range */
-    @Query("SELECT a FROM AuditLog a WHERE a.admin.adminId = :adminId AND a.timestamp BETWEEN :startTime AND :endTime ORDER BY a.timestamp DESC")
-    List<AuditLog> findByAdminIdAndTimestampBetween(
+    /* page of audit logs for a specific admin within a time range */
+    @Query(PROJECTION + " WHERE a.adminId = :adminId AND a.timestamp BETWEEN :startTime AND :endTime" + AFTER_CURSOR + NEWEST_FIRST)
+    List<AuditLogResponseDTO> findPageByAdminIdAndTimestampBetween(
         @Param("adminId") Long adminId,
+        @Param("startTime") LocalDateTime startTime,
+        @Param("endTime") LocalDateTime endTime,
+        @Param("cursorTimestamp") LocalDateTime cursorTimestamp,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable
+    );
+
+    /**
+     * Stream every audit log in a time range oldest first for export.
+     * Rows are DTO projections, so nothing accumulates in the persistence context.
+     * The driver streams rows one by one; no other statement may run on the connection until it is closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(PROJECTION + " WHERE a.timestamp BETWEEN :startTime AND :endTime ORDER BY a.timestamp, a.id")
+    Stream<AuditLogResponseDTO> streamByTimestampBetween(
         @Param("startTime") LocalDateTime startTime,
         @Param("endTime") LocalDateTime endTime
     );
@@ -6,7 +6,9 @@ import java.util.Optional;
 import org.csps.backend.domain.entities.CartItem;
 import org.csps.backend.domain.entities.composites.CartItemId;
 import org.csps.backend.domain.enums.MerchType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -32,6 +34,32 @@ public interface CartItemRepository extends JpaRepository<CartItem, CartItemId>
 
     Optional<CartItem> findByCartCartIdAndMerchVariantItemMerchVariantItemId(String cartId, Long merchVariantItemId);
 
+    /**
+     * Load the cart rows being checked out together with their merch hierarchy and freebie selections.
+     */
+    @EntityGraph(attributePaths = {
+        "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch",
+        "freebieSelections", "freebieSelections.ticketFreebieConfig"
+    }, type = EntityGraph.EntityGraphType.FETCH)
+    List<CartItem> findByCartItemIdCartIdAndCartItemIdMerchVariantItemIdIn(String cartId, List<Long> merchVariantItemIds);
+
+    /**
+     * Remove checked-out cart rows in one statement. Freebie selections have to be removed first
+     * with deleteFreebieSelectionsByCartIdAndMerchVariantItemIds since bulk deletes skip cascades.
+     */
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cartItemId.cartId = :cartId AND ci.cartItemId.merchVariantItemId IN :merchVariantItemIds")
+    int deleteByCartIdAndMerchVariantItemIds(
+        @Param("cartId") String cartId,
+        @Param("merchVariantItemIds") List<Long> merchVariantItemIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM cart_item_freebie_selection WHERE student_id = :cartId AND merch_variant_item_id IN (:merchVariantItemIds)",
+           nativeQuery = true)
+    int deleteFreebieSelectionsByCartIdAndMerchVariantItemIds(
+        @Param("cartId") String cartId,
+        @Param("merchVariantItemIds") List<Long> merchVariantItemIds);
+
     boolean existsByMerchVariantItemMerchVariantItemId(Long merchVariantItemId);
 
     boolean existsByMerchVariantItemMerchVariantMerchVariantId(Long merchVariantId);
@@ -0,0 +1,40 @@
+package org.csps.backend.repository;
+
+import java.time.LocalDateTime;
+
+import org.csps.backend.domain.entities.CheckoutIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CheckoutIdempotencyKeyRepository extends JpaRepository<CheckoutIdempotencyKey, String> {
+
+    /**
+     * Claim a key with a plain INSERT. A concurrent claim of the same key waits on the uncommitted row
+     * and fails with a duplicate key error once that checkout commits.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO checkout_idempotency_key (store_key, fingerprint, created_at)
+        VALUES (:storeKey, :fingerprint, :createdAt)
+    """, nativeQuery = true)
+    int claim(
+            @Param("storeKey") String storeKey,
+            @Param("fingerprint") String fingerprint,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("UPDATE CheckoutIdempotencyKey k SET k.orderId = :orderId WHERE k.storeKey = :storeKey")
+    int recordOrder(@Param("storeKey") String storeKey, @Param("orderId") Long orderId);
+
+    @Modifying
+    @Query("DELETE FROM CheckoutIdempotencyKey k WHERE k.storeKey = :storeKey AND k.createdAt < :cutoff")
+    int deleteExpired(@Param("storeKey") String storeKey, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM CheckoutIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteAllExpired(@Param("cutoff") LocalDateTime cutoff);
+}
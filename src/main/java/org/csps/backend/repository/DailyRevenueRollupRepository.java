@@ -0,0 +1,46 @@
+package org.csps.backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.csps.backend.domain.entities.DailyRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, LocalDate> {
+
+    List<DailyRevenueRollup> findAllByOrderByRevenueDateAsc();
+
+    /**
+     * Lock every rollup row and the gaps between them for the rest of the transaction, so
+     * {@link #addToDay} calls wait behind a rebuild instead of being overwritten by it.
+     */
+    @Query(value = "SELECT COUNT(*) FROM daily_revenue_rollup FOR UPDATE", nativeQuery = true)
+    long lockAllForRebuild();
+
+    /**
+     * Atomically add deltas to a day's rollup row, creating the row on first use.
+     * A single upsert keeps concurrent approvals on the same day from losing updates
+     * without taking a row lock up front.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO daily_revenue_rollup (revenue_date, merch_revenue, membership_count, updated_at)
+        VALUES (:revenueDate, :merchRevenue, :membershipCount, :updatedAt)
+        ON DUPLICATE KEY UPDATE
+            merch_revenue = merch_revenue + VALUES(merch_revenue),
+            membership_count = membership_count + VALUES(membership_count),
+            updated_at = VALUES(updated_at)
+    """, nativeQuery = true)
+    void addToDay(
+            @Param("revenueDate") LocalDate revenueDate,
+            @Param("merchRevenue") BigDecimal merchRevenue,
+            @Param("membershipCount") long membershipCount,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
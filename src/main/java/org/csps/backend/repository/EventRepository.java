@@ -77,4 +77,8 @@ public interface EventRepository extends JpaRepository<Event, Long> {
         @Param("endDate") LocalDate endDate,
         Pageable pageable
     );
+
+    /* image keys only, for the image derivative backfill */
+    @Query("SELECT e.s3ImageKey FROM Event e WHERE e.s3ImageKey IS NOT NULL")
+    List<String> findAllS3ImageKeys();
 }
@@ -6,6 +6,7 @@ import java.util.Optional;
 
 import org.csps.backend.domain.entities.EventSession;
 import org.csps.backend.domain.enums.SessionStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -23,4 +24,8 @@ public interface EventSessionRepository extends JpaRepository<EventSession, Long
     
     /* get active sessions for an event */
     List<EventSession> findByEventEventIdAndSessionStatus(Long eventId, SessionStatus status);
+
+    /* sessions whose check-in gate should be reopened on startup */
+    @EntityGraph(attributePaths = {"event"})
+    List<EventSession> findByGateModeTrue();
 }
@@ -0,0 +1,50 @@
+package org.csps.backend.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.csps.backend.domain.entities.HotStockAllocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface HotStockAllocationRepository extends JpaRepository<HotStockAllocation, Long> {
+
+    /* claims lock the allocation before the stock row, the same order flushes and recovery use */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM HotStockAllocation a WHERE a.allocationId = :id")
+    Optional<HotStockAllocation> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Add (positive) or remove (negative) units from one allocation.
+     * Returns 0 when the allocation is gone, i.e. it was returned to the stored stock after its replica
+     * stopped renewing it, or when it holds fewer units than a removal asks for.
+     */
+    @Modifying
+    @Query("UPDATE HotStockAllocation a SET a.units = a.units + :delta " +
+           "WHERE a.allocationId = :id AND a.units + :delta >= 0")
+    int applyUnits(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = "UPDATE hot_stock_allocation SET heartbeat_at = UTC_TIMESTAMP(3) WHERE replica_id = :replicaId",
+           nativeQuery = true)
+    int renewHeartbeat(@Param("replicaId") String replicaId);
+
+    /* allocations whose replica stopped renewing them, locked so two replicas never return the same units */
+    @Query(value = """
+        SELECT * FROM hot_stock_allocation
+        WHERE heartbeat_at IS NULL OR heartbeat_at < UTC_TIMESTAMP(3) - INTERVAL :leaseSeconds SECOND
+        ORDER BY allocation_id
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<HotStockAllocation> findExpiredForUpdate(@Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Query("DELETE FROM HotStockAllocation a WHERE a.allocationId = :id AND a.units = 0")
+    int deleteIfEmpty(@Param("id") Long id);
+}
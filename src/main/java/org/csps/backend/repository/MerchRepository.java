@@ -74,4 +74,8 @@ public interface MerchRepository extends JpaRepository<Merch, Long>{
         GROUP BY m.merchId, m.merchName, m.description, m.merchType, m.basePrice, m.s3ImageKey, m.hasFreebie
     """)
     List<MerchSummaryResponseDTO> findAllSummaryByType(@Param("type") MerchType type);
+
+    /* image keys only, for the image derivative backfill */
+    @Query("SELECT m.s3ImageKey FROM Merch m WHERE m.s3ImageKey IS NOT NULL")
+    List<String> findAllS3ImageKeys();
 }
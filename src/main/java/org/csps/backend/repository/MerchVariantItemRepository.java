@@ -3,13 +3,16 @@ package org.csps.backend.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.csps.backend.domain.dtos.response.MerchItemStockDTO;
 import org.csps.backend.domain.entities.MerchVariant;
 import org.csps.backend.domain.entities.MerchVariantItem;
 import org.csps.backend.domain.enums.ClothingSizing;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import jakarta.persistence.LockModeType;
 
@@ -22,6 +25,12 @@ public interface MerchVariantItemRepository extends JpaRepository<MerchVariantIt
     @EntityGraph(attributePaths = {"merchVariant", "merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
     List<MerchVariantItem> findByMerchVariantMerchVariantId(Long merchVariantId);
     
+    /**
+     * Load several items with their merch hierarchy in one query (batched checkout).
+     */
+    @EntityGraph(attributePaths = {"merchVariant", "merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
+    List<MerchVariantItem> findByMerchVariantItemIdIn(List<Long> merchVariantItemIds);
+    
     /**
      * Find item by variant and size.
      */
@@ -50,4 +59,49 @@ public interface MerchVariantItemRepository extends JpaRepository<MerchVariantIt
     @Query("SELECT mvi FROM MerchVariantItem mvi WHERE mvi.merchVariantItemId = :id")
     Optional<MerchVariantItem> findByIdWithLock(Long id);
 
+    /**
+     * Conditionally decrement stock in a single statement.
+     * Returns 0 when the item does not exist, has fewer than quantity units left or is in
+     * hot-stock mode, so concurrent buyers never oversell. The row stays locked until commit, so run it late.
+     */
+    @Modifying
+    @Query("UPDATE MerchVariantItem mvi SET mvi.stockQuantity = mvi.stockQuantity - :quantity " +
+           "WHERE mvi.merchVariantItemId = :id AND mvi.stockQuantity >= :quantity AND mvi.hotStock = false")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Add stock back in a single statement (cancellation / rejection restore).
+     * Hot-stock items are skipped; their restores go through the ledger.
+     */
+    @Modifying
+    @Query("UPDATE MerchVariantItem mvi SET mvi.stockQuantity = mvi.stockQuantity + :quantity " +
+           "WHERE mvi.merchVariantItemId = :id AND mvi.hotStock = false")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Apply a batched hot-stock ledger delta, positive or negative, regardless of mode.
+     */
+    @Modifying
+    @Query("UPDATE MerchVariantItem mvi SET mvi.stockQuantity = mvi.stockQuantity + :delta " +
+           "WHERE mvi.merchVariantItemId = :id")
+    int applyStockDelta(@Param("id") Long id, @Param("delta") int delta);
+
+    /* stored stock of every item, for the catalog cache's stock layer */
+    @Query("SELECT new org.csps.backend.domain.dtos.response.MerchItemStockDTO(" +
+           "mvi.merchVariantItemId, mvi.merchVariant.merch.merchId, mvi.stockQuantity) FROM MerchVariantItem mvi")
+    List<MerchItemStockDTO> findAllItemStock();
+
+    @Query("SELECT mvi.stockQuantity FROM MerchVariantItem mvi WHERE mvi.merchVariantItemId = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+
+    @Query("SELECT mvi.hotStock FROM MerchVariantItem mvi WHERE mvi.merchVariantItemId = :id")
+    Optional<Boolean> findHotStockById(@Param("id") Long id);
+
+    /**
+     * Ids of items whose stock is served from hot-stock ledgers, used to seed them on startup
+     * and polled to follow mode switches made on other replicas.
+     */
+    @Query("SELECT mvi.merchVariantItemId FROM MerchVariantItem mvi WHERE mvi.hotStock = true")
+    List<Long> findHotStockIds();
+
 }
@@ -26,4 +26,7 @@ public interface MerchVariantRepository extends  JpaRepository<MerchVariant, Lon
     boolean existsByMerchMerchIdAndColor(Long merchId, String color);
     boolean existsByMerchMerchIdAndDesign(Long merchId, String design);
 
+    /* image keys only, for the image derivative backfill */
+    @Query("SELECT mv.s3ImageKey FROM MerchVariant mv WHERE mv.s3ImageKey IS NOT NULL")
+    List<String> findAllS3ImageKeys();
 }
@@ -1,5 +1,6 @@
 package org.csps.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,8 +15,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /* keyset seek for newest-first (updatedAt, orderItemId) pages, same shape as the audit log pages */
+    String AFTER_CURSOR = " AND oi.updatedAt <= :cursorUpdatedAt AND (oi.updatedAt < :cursorUpdatedAt OR oi.orderItemId < :cursorId)";
+
+    String NEWEST_FIRST = " ORDER BY oi.updatedAt DESC, oi.orderItemId DESC";
     
     @EntityGraph(attributePaths = {"order", "order.student", "order.student.userAccount", "order.student.userAccount.userProfile", "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
     List<OrderItem> findByOrderOrderId(Long orderId);
@@ -44,6 +51,25 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @EntityGraph(attributePaths = {"order", "order.student", "order.student.userAccount", "order.student.userAccount.userProfile", "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
     Page<OrderItem> findByOrderStudentStudentIdAndOrderStatusOrderByUpdatedAtDesc(String studentId, OrderStatus status, Pageable pageable);
     
+    /* keyset page of order items in a status; pass a pageable of the page size plus one */
+    @EntityGraph(attributePaths = {"order", "order.student", "order.student.userAccount", "order.student.userAccount.userProfile", "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.orderStatus = :status" + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderItem> findPageByOrderStatus(
+        @Param("status") OrderStatus status,
+        @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable);
+
+    /* keyset page of one student's order items in a status */
+    @EntityGraph(attributePaths = {"order", "order.student", "order.student.userAccount", "order.student.userAccount.userProfile", "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.orderStatus = :status AND oi.order.student.studentId = :studentId" + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderItem> findPageByOrderStatusAndStudentId(
+        @Param("status") OrderStatus status,
+        @Param("studentId") String studentId,
+        @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable);
+
     /* eager load related entities to prevent N+1 queries in dashboard */
     @EntityGraph(attributePaths = {"order", "order.student", "order.student.userAccount", "order.student.userAccount.userProfile", "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
     List<OrderItem> findTop5ByOrderStatusInOrderByCreatedAtDesc(List<OrderStatus> statuses);
@@ -118,6 +144,19 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
         @Param("merchId") Long merchId,
         @Param("excludedStatuses") List<OrderStatus> excludedStatuses);
 
+    /**
+     * Batched form of existsByStudentIdAndMerchIdAndOrderStatusNotIn for checkout:
+     * returns which of the given merch ids the student already holds in an active order.
+     */
+    @Query("SELECT DISTINCT oi.merchVariantItem.merchVariant.merch.merchId FROM OrderItem oi " +
+           "WHERE oi.order.student.studentId = :studentId " +
+           "AND oi.merchVariantItem.merchVariant.merch.merchId IN :merchIds " +
+           "AND oi.orderStatus NOT IN :excludedStatuses")
+    List<Long> findMerchIdsByStudentIdAndOrderStatusNotIn(
+        @Param("studentId") String studentId,
+        @Param("merchIds") List<Long> merchIds,
+        @Param("excludedStatuses") List<OrderStatus> excludedStatuses);
+
     /**
      * Count total customers (order items) for a specific merch.
      * Used for quick summary without loading full page data.
@@ -147,4 +186,13 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     @EntityGraph(attributePaths = {"order", "order.student", "order.student.userAccount", "order.student.userAccount.userProfile", "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
     @Query("SELECT oi FROM OrderItem oi WHERE oi.merchVariantItem.merchVariant.merch.merchId = :merchId")
     List<OrderItem> findAllByMerchId(@Param("merchId") Long merchId);
+
+    /**
+     * One batch of a merch's order items for CSV export, seeking past afterId in id order.
+     * The export loads freebie assignments between batches, so it cannot hold a driver-streamed result set open.
+     */
+    @EntityGraph(attributePaths = {"order", "order.student", "order.student.userAccount", "order.student.userAccount.userProfile", "merchVariantItem", "merchVariantItem.merchVariant", "merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.merchVariantItem.merchVariant.merch.merchId = :merchId " +
+           "AND oi.orderItemId > :afterId ORDER BY oi.orderItemId")
+    List<OrderItem> findExportBatchByMerchId(@Param("merchId") Long merchId, @Param("afterId") Long afterId, Pageable pageable);
 }
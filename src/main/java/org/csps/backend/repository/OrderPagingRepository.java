@@ -0,0 +1,29 @@
+package org.csps.backend.repository;
+
+import java.util.List;
+
+import org.csps.backend.domain.entities.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Paged order reads that need each order's items. Pageable finders with a collection fetch make
+ * Hibernate load every matching order and page in memory, so these go through the two-phase pager.
+ */
+public interface OrderPagingRepository {
+
+    /**
+     * Page orders matching the specification with student, items and merch details loaded.
+     *
+     * @param spec     filter, or null for every order
+     * @param pageable page request; an unsorted request returns newest orders first
+     */
+    Page<Order> findPageWithItems(Specification<Order> spec, Pageable pageable);
+
+    /**
+     * Load one keyset slice of orders with the same graph, without a count query.
+     * The specification seeks past the previous page; the pageable carries the sort and limit.
+     */
+    List<Order> findSliceWithItems(Specification<Order> spec, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package org.csps.backend.repository;
+
+import java.util.List;
+
+import org.csps.backend.domain.entities.Order;
+import org.csps.backend.repository.support.TwoPhasePager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OrderPagingRepositoryImpl implements OrderPagingRepository {
+
+    private final TwoPhasePager twoPhasePager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Order> findPageWithItems(Specification<Order> spec, Pageable pageable) {
+        return twoPhasePager.findPage(Order.class, "orderId", "Order.withItemsAndDetails", spec, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findSliceWithItems(Specification<Order> spec, Pageable pageable) {
+        return twoPhasePager.findSlice(Order.class, "orderId", "Order.withItemsAndDetails", spec, pageable);
+    }
+}
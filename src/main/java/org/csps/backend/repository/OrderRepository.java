@@ -4,19 +4,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.csps.backend.domain.dtos.response.DailyFinanceTotalsDTO;
+import org.csps.backend.domain.dtos.response.sales.OrderRevenueDTO;
 import org.csps.backend.domain.entities.Order;
+import org.csps.backend.domain.enums.MerchType;
 import org.csps.backend.domain.enums.OrderStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderPagingRepository {
 
     @Override
     @EntityGraph(value = "Order.withItemsAndDetails", type = EntityGraph.EntityGraphType.FETCH)
@@ -25,43 +26,75 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
     @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.merchVariantItem mvi LEFT JOIN FETCH mvi.merchVariant mv LEFT JOIN FETCH mv.merch LEFT JOIN FETCH o.student s LEFT JOIN FETCH s.userAccount ua LEFT JOIN FETCH ua.userProfile WHERE o.student.studentId = :studentId")
     List<Order> findByStudentId(String studentId);
     
-    @EntityGraph(value = "Order.withItemsAndDetails", type = EntityGraph.EntityGraphType.FETCH)
-    @Query("SELECT o FROM Order o WHERE o.student.studentId = :studentId ORDER BY o.orderDate DESC")
-    Page<Order> findByStudentId(String studentId, Pageable pageable);
-
     @EntityGraph(value = "Order.withItemsAndDetails", type = EntityGraph.EntityGraphType.FETCH)
     Optional<Order> findByOrderIdAndStudentStudentId(Long orderId, String studentId);
 
     @EntityGraph(value = "Order.withItemsAndDetails", type = EntityGraph.EntityGraphType.FETCH)
     Optional<Order> findByOrderId(Long orderId);
 
-    @EntityGraph(value = "Order.withItemsAndDetails", type = EntityGraph.EntityGraphType.FETCH)
-    Page<Order> findAllByOrderByOrderDateDesc(Pageable pageable);
-    
-    /* efficient paginated query for transactions with eager loading to prevent N+1 queries */
-    @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile", "orderItems", "orderItems.merchVariantItem", "orderItems.merchVariantItem.merchVariant", "orderItems.merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
-    Page<Order> findAll(Pageable pageable);
+    /* paged reads that need order items go through findPageWithItems; a Pageable finder with a
+       collection fetch would make Hibernate page every matching order in memory */
 
-    @Override
-    @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile", "orderItems", "orderItems.merchVariantItem", "orderItems.merchVariantItem.merchVariant", "orderItems.merchVariantItem.merchVariant.merch"}, type = EntityGraph.EntityGraphType.FETCH)
-    Page<Order> findAll(Specification<Order> spec, Pageable pageable);
-    
     List<Order> findByOrderDateBetween(LocalDateTime start, LocalDateTime end);
     
     @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile"}, type = EntityGraph.EntityGraphType.FETCH)
     List<Order> findByOrderDateBetweenAndOrderStatus(LocalDateTime start, LocalDateTime end, OrderStatus status);
 
-    @EntityGraph(value = "Order.withItemsAndDetails", type = EntityGraph.EntityGraphType.FETCH)
-    List<Order> findByOrderDateBetweenAndOrderStatusIn(
-            LocalDateTime start,
-            LocalDateTime end,
-            List<OrderStatus> statuses);
+    /**
+     * Per-day order count and recognized merch revenue for orders placed in a date range.
+     * Membership lines and non-finance items are excluded from revenue but their orders still count,
+     * matching how the dashboard chart reported them when computed in memory. Lines without a merch
+     * still count as revenue; only a known membership merch is excluded.
+     */
+    @Query("""
+        SELECT new org.csps.backend.domain.dtos.response.DailyFinanceTotalsDTO(
+            CAST(o.orderDate AS LocalDate),
+            COUNT(DISTINCT o.orderId),
+            SUM(CASE WHEN oi.orderStatus IN :statuses AND (m IS NULL OR m.merchType <> :excludedType)
+                     THEN oi.priceAtPurchase * oi.quantity ELSE 0.0 END),
+            0L
+        )
+        FROM Order o
+        LEFT JOIN o.orderItems oi
+        LEFT JOIN oi.merchVariantItem mvi
+        LEFT JOIN mvi.merchVariant mv
+        LEFT JOIN mv.merch m
+        WHERE o.orderDate BETWEEN :start AND :end
+        AND o.orderStatus IN :statuses
+        GROUP BY CAST(o.orderDate AS LocalDate)
+    """)
+    List<DailyFinanceTotalsDTO> findDailyFinanceTotals(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("statuses") List<OrderStatus> statuses,
+            @Param("excludedType") MerchType excludedType);
     
     @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile"}, type = EntityGraph.EntityGraphType.FETCH)
     List<Order> findByOrderStatus(OrderStatus status);
 
     @EntityGraph(value = "Order.withItemsAndDetails", type = EntityGraph.EntityGraphType.FETCH)
     List<Order> findByOrderStatusIn(List<OrderStatus> statuses);
+
+    /**
+     * Sum recognized merch revenue per order without loading the order graph.
+     * Only items and orders in one of the given statuses count, and membership lines are excluded
+     * because membership revenue is reported separately. Used to backfill the daily revenue rollup.
+     */
+    @Query("""
+        SELECT new org.csps.backend.domain.dtos.response.sales.OrderRevenueDTO(
+            o.orderDate,
+            SUM(oi.priceAtPurchase * oi.quantity)
+        )
+        FROM OrderItem oi
+        JOIN oi.order o
+        WHERE o.orderStatus IN :statuses
+        AND oi.orderStatus IN :statuses
+        AND oi.merchVariantItem.merchVariant.merch.merchType <> :excludedType
+        GROUP BY o.orderId, o.orderDate
+    """)
+    List<OrderRevenueDTO> sumRevenueByOrder(
+            @Param("statuses") List<OrderStatus> statuses,
+            @Param("excludedType") MerchType excludedType);
 }
 
     
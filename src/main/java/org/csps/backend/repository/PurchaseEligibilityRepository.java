@@ -0,0 +1,52 @@
+package org.csps.backend.repository;
+
+import java.util.List;
+
+import org.csps.backend.domain.entities.Student;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.RepositoryDefinition;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read model behind PurchaseEligibilityService. It spans memberships, carts and orders rather than
+ * students, so it lives apart from StudentRepository and exposes no CRUD methods.
+ */
+@Repository
+@RepositoryDefinition(domainClass = Student.class, idClass = String.class)
+public interface PurchaseEligibilityRepository {
+
+    /**
+     * One row per fact that limits what a student may buy, read in a single round trip:
+     * an active membership, each merch in the cart, and each merch in an order that is not cancelled or rejected.
+     */
+    interface PurchaseEligibilityRow {
+        String getSource();
+        Long getMerchId();
+        String getMerchType();
+        String getOrderStatus();
+    }
+
+    @Query(value = """
+        (SELECT 'MEMBERSHIP' AS source, NULL AS merchId, NULL AS merchType, NULL AS orderStatus
+         FROM student_membership sm
+         WHERE sm.student_id = :studentId AND sm.active = true
+         LIMIT 1)
+        UNION ALL
+        SELECT 'CART', m.merch_id, m.merch_type, NULL
+        FROM cart_item ci
+        JOIN merch_variant_item mvi ON mvi.merch_variant_item_id = ci.merch_variant_item_id
+        JOIN merch_variant mv ON mv.merch_variant_id = mvi.merch_variant_id
+        JOIN merch m ON m.merch_id = mv.merch_id
+        WHERE ci.student_id = :studentId
+        UNION ALL
+        SELECT 'ORDER', m.merch_id, m.merch_type, oi.order_status
+        FROM order_item oi
+        JOIN orders o ON o.order_id = oi.order_id
+        JOIN merch_variant_item mvi ON mvi.merch_variant_item_id = oi.merch_variant_item_id
+        JOIN merch_variant mv ON mv.merch_variant_id = mvi.merch_variant_id
+        JOIN merch m ON m.merch_id = mv.merch_id
+        WHERE o.student_id = :studentId AND oi.order_status NOT IN ('CANCELLED', 'REJECTED')
+    """, nativeQuery = true)
+    List<PurchaseEligibilityRow> findPurchaseEligibilityRows(@Param("studentId") String studentId);
+}
@@ -0,0 +1,28 @@
+package org.csps.backend.repository;
+
+import java.util.Optional;
+
+import org.csps.backend.domain.entities.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+
+    @Query("SELECT rv.version FROM ResourceVersion rv WHERE rv.resource = :resource")
+    Optional<Long> findVersionByResource(@Param("resource") String resource);
+
+    /**
+     * Atomically move the resource to its next version, creating the row on first use.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO resource_version (resource, version)
+        VALUES (:resource, 1)
+        ON DUPLICATE KEY UPDATE version = version + 1
+    """, nativeQuery = true)
+    void increment(@Param("resource") String resource);
+}
@@ -4,17 +4,23 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.csps.backend.domain.dtos.response.DailyFinanceTotalsDTO;
 import org.csps.backend.domain.entities.StudentMembership;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface StudentMembershipRepository extends JpaRepository<StudentMembership, Long>, JpaSpecificationExecutor<StudentMembership> {
     
@@ -27,7 +33,28 @@ public interface StudentMembershipRepository extends JpaRepository<StudentMember
     @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile"}, type = EntityGraph.EntityGraphType.FETCH)
     Optional<StudentMembership> findByStudentStudentIdAndYearStartAndYearEnd(String studentId, int yearStart, int yearEnd);
 
-    List<StudentMembership> findByYearStartAndYearEnd(int yearStart, int yearEnd);
+    /* per-day membership counts for an academic year within a join date range (finance dashboard chart) */
+    @Query("""
+        SELECT new org.csps.backend.domain.dtos.response.DailyFinanceTotalsDTO(
+            CAST(sm.dateJoined AS LocalDate),
+            0L,
+            0.0D,
+            COUNT(sm)
+        )
+        FROM StudentMembership sm
+        WHERE sm.yearStart = :yearStart AND sm.yearEnd = :yearEnd
+        AND sm.dateJoined BETWEEN :start AND :end
+        GROUP BY CAST(sm.dateJoined AS LocalDate)
+    """)
+    List<DailyFinanceTotalsDTO> countJoinedPerDay(
+            @Param("yearStart") int yearStart,
+            @Param("yearEnd") int yearEnd,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /* join dates only - used to backfill the daily revenue rollup without loading memberships */
+    @Query("SELECT sm.dateJoined FROM StudentMembership sm WHERE sm.yearStart = :yearStart AND sm.yearEnd = :yearEnd")
+    List<LocalDateTime> findDateJoinedByYearStartAndYearEnd(@Param("yearStart") int yearStart, @Param("yearEnd") int yearEnd);
     
     /* eager load student and related user profile for dashboard use */
     @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile"}, type = EntityGraph.EntityGraphType.FETCH)
@@ -68,6 +95,16 @@ public interface StudentMembershipRepository extends JpaRepository<StudentMember
     @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile"}, type = EntityGraph.EntityGraphType.FETCH)
     List<StudentMembership> findByActiveTrue();
 
+    /**
+     * Stream all active memberships for CSV export, streamed row by row by the driver.
+     * Must be consumed inside a transaction and closed afterwards; no other statement may run on
+     * the connection while it is open, so every association read per row has to be in the fetch graph.
+     */
+    @EntityGraph(attributePaths = {"student", "student.userAccount", "student.userAccount.userProfile"}, type = EntityGraph.EntityGraphType.FETCH)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT sm FROM StudentMembership sm WHERE sm.active = true ORDER BY sm.membershipId")
+    Stream<StudentMembership> streamByActiveTrue();
+
     /**
      * Find memberships for a set of student IDs in a specific academic year range.
      * Used for bulk creation to detect existing memberships and avoid duplicates.
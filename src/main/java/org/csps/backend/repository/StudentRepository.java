@@ -2,16 +2,21 @@ package org.csps.backend.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.csps.backend.domain.entities.Student;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface StudentRepository extends JpaRepository<Student, String> {
     
@@ -22,10 +27,10 @@ public interface StudentRepository extends JpaRepository<Student, String> {
     /* search students by studentId or name with optional year level filter */
     @Query("SELECT s FROM Student s LEFT JOIN FETCH s.userAccount ua LEFT JOIN FETCH ua.userProfile up " +
            "WHERE (s.studentId LIKE CONCAT('%', :search, '%') OR " +
-           "up.firstName LIKE CONCAT('%', :search, '%') OR " +
-           "up.lastName LIKE CONCAT('%', :search, '%')) " +
+           "up.nameSearchText LIKE CONCAT('%', :nameSearch, '%')) " +
            "AND (:yearLevel IS NULL OR s.yearLevel = :yearLevel)")
-    Page<Student> searchStudents(@Param("search") String search, @Param("yearLevel") Byte yearLevel, Pageable pageable);
+    Page<Student> searchStudents(@Param("search") String search, @Param("nameSearch") String nameSearch,
+                                 @Param("yearLevel") Byte yearLevel, Pageable pageable);
     
     @Query("SELECT s FROM Student s LEFT JOIN FETCH s.userAccount ua LEFT JOIN FETCH ua.userProfile WHERE s.studentId = :studentId")
     Optional<Student> findByStudentId(@Param("studentId") String studentId);
@@ -39,20 +44,24 @@ public interface StudentRepository extends JpaRepository<Student, String> {
 
     /**
      * Find all students who do NOT have an active membership (non-members).
-     * Uses a NOT IN subquery to exclude students with at least one active StudentMembership.
+     * Uses a NOT EXISTS anti-join, probing idx_membership_active_student, to exclude students
+     * with at least one active StudentMembership.
      * Eager loads userAccount and userProfile via EntityGraph to avoid N+1 queries.
      *
      * @param pageable pagination details
      * @return paginated list of students without active memberships
      */
     @EntityGraph(attributePaths = {"userAccount", "userAccount.userProfile"})
-    @Query("SELECT s FROM Student s WHERE s.studentId NOT IN " +
-           "(SELECT sm.student.studentId FROM StudentMembership sm WHERE sm.active = true)")
+    @Query("SELECT s FROM Student s WHERE NOT EXISTS " +
+           "(SELECT 1 FROM StudentMembership sm WHERE sm.student = s AND sm.active = true)")
     Page<Student> findStudentsWithoutActiveMembership(Pageable pageable);
 
     /**
      * Search students who do NOT have an active membership (non-members).
      * Supports the same studentId/name filters used by membership search.
+     * Name filters match any part of "first middle last", "first last" or "last first" with whitespace
+     * collapsed, through the generated UserProfile.nameSearchText column, so the page stops
+     * re-concatenating every name. The leading wildcard still scans every profile.
      *
      * @param search generic partial match on student ID or name
      * @param studentName partial match on first name, last name, or full name
@@ -62,19 +71,12 @@ public interface StudentRepository extends JpaRepository<Student, String> {
      */
     @EntityGraph(attributePaths = {"userAccount", "userAccount.userProfile"})
     @Query("SELECT s FROM Student s JOIN s.userAccount ua JOIN ua.userProfile up " +
-           "WHERE s.studentId NOT IN " +
-           "(SELECT sm.student.studentId FROM StudentMembership sm WHERE sm.active = true) " +
+           "WHERE NOT EXISTS " +
+           "(SELECT 1 FROM StudentMembership sm WHERE sm.student = s AND sm.active = true) " +
            "AND (:search IS NULL OR " +
            "LOWER(s.studentId) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(up.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(up.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(CONCAT(up.firstName, CONCAT(' ', up.lastName))) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(CONCAT(up.lastName, CONCAT(' ', up.firstName))) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-           "AND (:studentName IS NULL OR " +
-           "LOWER(up.firstName) LIKE LOWER(CONCAT('%', :studentName, '%')) OR " +
-           "LOWER(up.lastName) LIKE LOWER(CONCAT('%', :studentName, '%')) OR " +
-           "LOWER(CONCAT(up.firstName, CONCAT(' ', up.lastName))) LIKE LOWER(CONCAT('%', :studentName, '%')) OR " +
-           "LOWER(CONCAT(up.lastName, CONCAT(' ', up.firstName))) LIKE LOWER(CONCAT('%', :studentName, '%'))) " +
+           "up.nameSearchText LIKE LOWER(CONCAT('%', :search, '%'))) " +
+           "AND (:studentName IS NULL OR up.nameSearchText LIKE LOWER(CONCAT('%', :studentName, '%'))) " +
            "AND (:studentId IS NULL OR LOWER(s.studentId) LIKE LOWER(CONCAT('%', :studentId, '%')))")
     Page<Student> searchStudentsWithoutActiveMembership(
             @Param("search") String search,
@@ -89,7 +91,18 @@ public interface StudentRepository extends JpaRepository<Student, String> {
      * @return full list of students without active memberships
      */
     @EntityGraph(attributePaths = {"userAccount", "userAccount.userProfile"})
-    @Query("SELECT s FROM Student s WHERE s.studentId NOT IN " +
-           "(SELECT sm.student.studentId FROM StudentMembership sm WHERE sm.active = true)")
+    @Query("SELECT s FROM Student s WHERE NOT EXISTS " +
+           "(SELECT 1 FROM StudentMembership sm WHERE sm.student = s AND sm.active = true)")
     List<Student> findAllStudentsWithoutActiveMembership();
+
+    /**
+     * Stream all students without an active membership for CSV export, streamed row by row by the driver.
+     * Must be consumed inside a transaction and closed afterwards; no other statement may run on
+     * the connection while it is open, so every association read per row has to be in the fetch graph.
+     */
+    @EntityGraph(attributePaths = {"userAccount", "userAccount.userProfile"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT s FROM Student s WHERE NOT EXISTS " +
+           "(SELECT 1 FROM StudentMembership sm WHERE sm.student = s AND sm.active = true) ORDER BY s.studentId")
+    Stream<Student> streamAllStudentsWithoutActiveMembership();
 }
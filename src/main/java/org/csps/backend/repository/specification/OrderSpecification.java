@@ -11,11 +11,10 @@ import org.csps.backend.domain.entities.Student;
 import org.csps.backend.domain.entities.UserAccount;
 import org.csps.backend.domain.entities.UserProfile;
 import org.csps.backend.domain.enums.OrderStatus;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
@@ -23,6 +22,9 @@ import jakarta.persistence.criteria.Predicate;
 
 @Component
 public class OrderSpecification {
+
+    /* keyset order for order pages; matches the (order_date, order_id) indexes */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "orderDate", "orderId");
     
     /**
      * build a dynamic specification for order filtering
@@ -44,23 +46,8 @@ public class OrderSpecification {
             Join<UserAccount, UserProfile> userProfileJoin = userAccountJoin.join("userProfile", JoinType.LEFT);
 
             if (Objects.nonNull(safeSearch.getStudentName()) && !safeSearch.getStudentName().isBlank()) {
-                String nameLike = "%" + normalizeWhitespace(safeSearch.getStudentName()) + "%";
-                Expression<String> fullName = normalizedExpression(
-                        cb,
-                        cb.concat(
-                                cb.concat(userProfileJoin.get("firstName"), " "),
-                                cb.concat(
-                                        cb.concat(cb.coalesce(userProfileJoin.get("middleName"), ""), " "),
-                                        userProfileJoin.get("lastName"))));
-                Expression<String> firstAndLastName = normalizedExpression(
-                        cb,
-                        cb.concat(
-                                cb.concat(userProfileJoin.get("firstName"), " "),
-                                userProfileJoin.get("lastName")));
-
-                predicates.add(cb.or(
-                        cb.like(fullName, nameLike),
-                        cb.like(firstAndLastName, nameLike)));
+                String nameLike = "%" + UserProfile.normalizeNameSearchTerm(safeSearch.getStudentName()) + "%";
+                predicates.add(cb.like(userProfileJoin.get("nameSearchText"), nameLike));
             }
 
             if ((Objects.isNull(enforcedStudentId) || enforcedStudentId.isBlank())
@@ -97,14 +84,15 @@ public class OrderSpecification {
         };
     }
 
-    private static Expression<String> normalizedExpression(CriteriaBuilder cb, Expression<String> expression) {
-        Expression<String> normalized = cb.lower(cb.trim(expression));
-        normalized = cb.function("replace", String.class, normalized, cb.literal("  "), cb.literal(" "));
-        normalized = cb.function("replace", String.class, normalized, cb.literal("  "), cb.literal(" "));
-        return normalized;
-    }
-
-    private static String normalizeWhitespace(String value) {
-        return value == null ? null : value.trim().replaceAll("\\s+", " ").toLowerCase();
+    /**
+     * seek past a keyset position for a newest-first (orderDate, orderId) page
+     * written as a range on orderDate plus a tie-break so the composite index can serve it
+     */
+    public static Specification<Order> before(LocalDateTime orderDate, Long orderId) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("orderDate"), orderDate),
+                cb.or(
+                        cb.lessThan(root.get("orderDate"), orderDate),
+                        cb.lessThan(root.get("orderId"), orderId)));
     }
 }
@@ -37,23 +37,9 @@ public class StudentMembershipSpecification {
             jakarta.persistence.criteria.CriteriaBuilder cb,
             Join<UserAccount, UserProfile> userProfileJoin,
             String searchValue) {
-        String normalizedSearch = "%" + searchValue.toLowerCase().trim() + "%";
-
-        return cb.or(
-                cb.like(cb.lower(userProfileJoin.get("firstName")), normalizedSearch),
-                cb.like(cb.lower(userProfileJoin.get("lastName")), normalizedSearch),
-                cb.like(
-                        cb.lower(
-                                cb.concat(
-                                        cb.concat(userProfileJoin.get("firstName"), " "),
-                                        userProfileJoin.get("lastName"))),
-                        normalizedSearch),
-                cb.like(
-                        cb.lower(
-                                cb.concat(
-                                        cb.concat(userProfileJoin.get("lastName"), " "),
-                                        userProfileJoin.get("firstName"))),
-                        normalizedSearch));
+        /* every name form (with and without the middle name, both orders) lives in the generated search text */
+        String normalizedSearch = "%" + UserProfile.normalizeNameSearchTerm(searchValue) + "%";
+        return cb.like(userProfileJoin.get("nameSearchText"), normalizedSearch);
     }
 
     /**
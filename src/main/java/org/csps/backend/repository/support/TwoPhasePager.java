@@ -0,0 +1,131 @@
+package org.csps.backend.repository.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Pages entities whose fetch graph includes a collection without letting Hibernate page in memory.
+ * Phase one selects only the ids of the requested page with LIMIT/OFFSET in the database, phase two
+ * loads the graph for just those ids and puts the rows back in page order.
+ */
+@Component
+@RequiredArgsConstructor
+public class TwoPhasePager {
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param type        the entity to page
+     * @param idAttribute name of the entity's id attribute, also used as the sort tie-breaker
+     * @param graphName   named entity graph applied to the second phase
+     * @param spec        filter, or null for every row
+     * @param pageable    page request; its sort is applied to the id query
+     */
+    public <T> Page<T> findPage(Class<T> type, String idAttribute, String graphName,
+            Specification<T> spec, Pageable pageable) {
+        List<Object> ids = findIds(type, idAttribute, spec, pageable);
+        List<T> content = ids.isEmpty() ? List.of() : loadGraphs(type, idAttribute, graphName, ids);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(type, idAttribute, spec));
+    }
+
+    /**
+     * Load the graphs for one slice without counting, for keyset pages where the specification
+     * already seeks past the previous page and the pageable only carries the sort and limit.
+     */
+    public <T> List<T> findSlice(Class<T> type, String idAttribute, String graphName,
+            Specification<T> spec, Pageable pageable) {
+        List<Object> ids = findIds(type, idAttribute, spec, pageable);
+        return ids.isEmpty() ? List.of() : loadGraphs(type, idAttribute, graphName, ids);
+    }
+
+    private <T> List<Object> findIds(Class<T> type, String idAttribute, Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<T> root = query.from(type);
+        query.select(root.get(idAttribute));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        /* always end on the id so rows with equal sort keys do not drift between pages */
+        Sort sort = pageable.getSort();
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, root, cb));
+        if (sort.getOrderFor(idAttribute) == null) {
+            orders.add(cb.desc(root.get(idAttribute)));
+        }
+        query.orderBy(orders);
+
+        TypedQuery<Object> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private <T> List<T> loadGraphs(Class<T> type, String idAttribute, String graphName, List<Object> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root).where(root.get(idAttribute).in(ids));
+
+        EntityGraph<?> graph = entityManager.getEntityGraph(graphName);
+        List<T> loaded = entityManager.createQuery(query)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, graph)
+                .getResultList();
+
+        /* the IN query returns rows in arbitrary order, so restore the order phase one chose */
+        PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Object, T> byId = new HashMap<>();
+        for (T entity : loaded) {
+            byId.put(util.getIdentifier(entity), entity);
+        }
+
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            T entity = byId.get(id);
+            /* a row deleted between the two phases is simply left out of the page */
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private <T> long count(Class<T> type, String idAttribute, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        query.select(cb.countDistinct(root.get(idAttribute)));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
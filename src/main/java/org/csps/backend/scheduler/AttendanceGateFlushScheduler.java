@@ -0,0 +1,43 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.service.AttendanceGateService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reopens check-in gates on startup and writes their queued check-ins
+ * every attendance-gate.flush-interval, plus a final flush on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceGateFlushScheduler {
+
+    private final AttendanceGateService attendanceGateService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenGates() {
+        try {
+            attendanceGateService.loadOpenGates();
+        } catch (Exception e) {
+            log.error("failed to reopen check-in gates: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@attendanceGateConfig.flushInterval.toMillis()}")
+    public void flushPendingCheckIns() {
+        attendanceGateService.flushPendingCheckIns();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        log.info("flushing gate check-ins before shutdown");
+        attendanceGateService.flushPendingCheckIns();
+    }
+}
@@ -0,0 +1,33 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.service.AuditLogService;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes queued audit log entries every audit-log.writer.flush-interval,
+ * plus a final flush on shutdown so no admin action goes unrecorded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogFlushScheduler {
+
+    private final AuditLogService auditLogService;
+
+    @Scheduled(fixedDelayString = "#{@auditLogWriterConfig.flushInterval.toMillis()}")
+    public void flushPendingAuditLogs() {
+        auditLogService.flushPendingAuditLogs();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        log.info("flushing audit log entries before shutdown");
+        auditLogService.flushPendingAuditLogs();
+    }
+}
@@ -0,0 +1,52 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.configs.AuditLogRetentionConfig;
+import org.csps.backend.service.AuditLogRetentionService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Partitions audit_log on startup and, every night, premakes upcoming monthly partitions
+ * and archives months older than audit-log.retention.retention-months.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogRetentionScheduler {
+
+    private final AuditLogRetentionService auditLogRetentionService;
+    private final AuditLogRetentionConfig auditLogRetentionConfig;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preparePartitions() {
+        if (!auditLogRetentionConfig.isEnabled()) {
+            return;
+        }
+        try {
+            auditLogRetentionService.preparePartitions();
+        } catch (Exception e) {
+            log.error("failed to prepare audit log partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${audit-log.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        if (!auditLogRetentionConfig.isEnabled()) {
+            return;
+        }
+        try {
+            auditLogRetentionService.preparePartitions();
+            int archived = auditLogRetentionService.archiveExpiredMonths();
+            if (archived > 0) {
+                log.info("archived and dropped {} months of audit logs", archived);
+            }
+        } catch (Exception e) {
+            log.error("audit log retention failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.service.CheckoutIdempotencyService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Periodically deletes claimed Idempotency-Keys whose time-to-live has passed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutIdempotencyScheduler {
+
+    private final CheckoutIdempotencyService checkoutIdempotencyService;
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        checkoutIdempotencyService.evictExpired();
+    }
+}
@@ -0,0 +1,55 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.service.HotStockService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Claims hot-stock allocations on startup, flushes returned units and follows mode switches
+ * every hot-stock.flush-interval, hands every allocation back on shutdown, and returns allocations
+ * left behind by crashed replicas on startup and every hot-stock.allocation-lease.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotStockFlushScheduler {
+
+    private final HotStockService hotStockService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHotItems() {
+        returnExpiredAllocations();
+        try {
+            hotStockService.loadHotItems();
+        } catch (Exception e) {
+            log.error("failed to claim hot-stock allocations: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@hotStockConfig.flushInterval.toMillis()}")
+    public void flushPendingStock() {
+        hotStockService.flushPendingStock();
+    }
+
+    @Scheduled(fixedDelayString = "#{@hotStockConfig.allocationLease.toMillis()}",
+               initialDelayString = "#{@hotStockConfig.allocationLease.toMillis()}")
+    public void returnExpiredAllocations() {
+        try {
+            hotStockService.returnExpiredAllocations();
+        } catch (Exception e) {
+            log.error("failed to return expired hot-stock allocations: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        log.info("returning hot-stock allocations before shutdown");
+        hotStockService.returnAllocations();
+    }
+}
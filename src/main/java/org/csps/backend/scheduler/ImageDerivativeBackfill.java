@@ -0,0 +1,35 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.configs.ImageDerivativeConfig;
+import org.csps.backend.service.ImageDerivativeService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates missing image renditions on startup, e.g. for images uploaded before the
+ * pipeline existed or ones skipped while the rendition queue was full.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeBackfill {
+
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageDerivativeConfig imageDerivativeConfig;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingDerivatives() {
+        if (!imageDerivativeConfig.isEnabled() || !imageDerivativeConfig.isBackfillOnStartup()) {
+            return;
+        }
+        try {
+            imageDerivativeService.backfillMissingDerivatives();
+        } catch (Exception e) {
+            log.error("failed to start image rendition backfill: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.security.RateLimitBackend;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Drops rate-limit state for clients that have gone quiet, including closed windows in the shared store.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitBucketSweepScheduler {
+
+    private final RateLimitBackend rateLimitBackend;
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        rateLimitBackend.evictIdle();
+    }
+}
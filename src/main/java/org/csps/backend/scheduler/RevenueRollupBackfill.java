@@ -0,0 +1,36 @@
+package org.csps.backend.scheduler;
+
+import org.csps.backend.repository.DailyRevenueRollupRepository;
+import org.csps.backend.service.RevenueRollupService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backfills the daily revenue rollup on startup when the table is still empty,
+ * e.g. the first deployment after the rollup was introduced.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueRollupBackfill {
+
+    private final DailyRevenueRollupRepository dailyRevenueRollupRepository;
+    private final RevenueRollupService revenueRollupService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (dailyRevenueRollupRepository.count() > 0) {
+                return;
+            }
+            log.info("daily revenue rollup is empty, backfilling from existing orders and memberships");
+            revenueRollupService.rebuildRollups();
+        } catch (Exception e) {
+            log.error("failed to backfill daily revenue rollup: {}", e.getMessage(), e);
+        }
+    }
+}
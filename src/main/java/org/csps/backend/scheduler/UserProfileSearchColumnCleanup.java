@@ -0,0 +1,45 @@
+package org.csps.backend.scheduler;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drops the name search columns that user_profile.name_search_text replaced. ddl-auto=update only
+ * adds columns, so databases that ran an earlier build keep them (and their indexes, which MySQL
+ * drops together with the column) until this runs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserProfileSearchColumnCleanup {
+
+    private static final List<String> SUPERSEDED_COLUMNS = List.of("name_search_key", "name_match_key");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropSupersededColumns() {
+        for (String column : SUPERSEDED_COLUMNS) {
+            try {
+                Integer present = jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM information_schema.COLUMNS "
+                                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'user_profile' AND COLUMN_NAME = ?",
+                        Integer.class, column);
+                if (present == null || present == 0) {
+                    continue;
+                }
+                jdbcTemplate.execute("ALTER TABLE user_profile DROP COLUMN " + column);
+                log.info("dropped superseded user_profile.{} column", column);
+            } catch (Exception e) {
+                log.error("failed to drop user_profile.{}: {}", column, e.getMessage(), e);
+            }
+        }
+    }
+}
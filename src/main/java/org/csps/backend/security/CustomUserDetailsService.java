@@ -26,7 +26,20 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // Fetch base user account
         UserAccount user = userAccountRepository.findByUsername(username);
-            
+        return buildPrincipal(user);
+    }
+
+    /**
+     * Resolve the principal for the account id carried in a JWT subject.
+     * Used by the JWT filter on a principal cache miss.
+     */
+    public UserPrincipal loadUserById(Long userAccountId) throws UsernameNotFoundException {
+        UserAccount user = userAccountRepository.findById(userAccountId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return buildPrincipal(user);
+    }
+
+    private UserPrincipal buildPrincipal(UserAccount user) {
         String domainId = null;
         String role = user.getRole().name();
         String position = null;
@@ -0,0 +1,41 @@
+package org.csps.backend.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.csps.backend.configs.RateLimitingConfig;
+
+/**
+ * Lease store kept in process memory with the same window rules as the JDBC store.
+ * Stand-in for the shared table in tests and single-node runs of the leased backend.
+ */
+public class InMemoryRateLimitLeaseStore implements RateLimitLeaseStore {
+
+    private final Map<String, long[]> windows = new HashMap<>();
+
+    /* counters layout: minute window, minute used, hour window, hour used */
+    @Override
+    public synchronized long acquire(String key, RateLimitingConfig.RoutePolicy policy, long requested, long nowMillis) {
+        long minute = RateLimitLeaseStore.minuteWindow(nowMillis);
+        long hour = RateLimitLeaseStore.hourWindow(nowMillis);
+        long[] counters = windows.computeIfAbsent(key, k -> new long[] {minute, 0, hour, 0});
+        if (counters[0] != minute) {
+            counters[0] = minute;
+            counters[1] = 0;
+        }
+        if (counters[2] != hour) {
+            counters[2] = hour;
+            counters[3] = 0;
+        }
+        long granted = RateLimitLeaseStore.grantable(policy, counters[1], counters[3], requested);
+        counters[1] += granted;
+        counters[3] += granted;
+        return granted;
+    }
+
+    @Override
+    public synchronized void purgeExpired(long nowMillis) {
+        long hour = RateLimitLeaseStore.hourWindow(nowMillis);
+        windows.values().removeIf(counters -> counters[2] < hour);
+    }
+}
@@ -0,0 +1,49 @@
+package org.csps.backend.security;
+
+import java.io.IOException;
+
+import org.csps.backend.configs.RateLimitingConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Coarse per-IP rate limit that runs before the JWT filter.
+ * The JWT filter answers a bad token with 401 without continuing the chain, so RateLimitingFilter never sees
+ * those requests; this budget is what limits a flood of them. Set well above the per-account limits since
+ * every signed-in student behind one NAT spends it too.
+ */
+@Component
+@RequiredArgsConstructor
+public class IpRateLimitingFilter extends OncePerRequestFilter {
+
+    private final RateLimitingConfig rateLimitingConfig;
+    private final RateLimitBackend rateLimitBackend;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!rateLimitingConfig.isEnabled() || rateLimitingConfig.isPathExcluded(request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitingConfig.RoutePolicy policy = rateLimitingConfig.ipPolicy();
+        RateLimitDecision decision = rateLimitBackend.tryConsume(policy, "ip:" + RateLimitingFilter.getClientIp(request));
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        meterRegistry.counter("rate_limiting.rejections", "policy", policy.getName()).increment();
+        RateLimitingFilter.reject(response, decision);
+    }
+}
@@ -0,0 +1,61 @@
+package org.csps.backend.security;
+
+import java.util.Map;
+
+import org.csps.backend.configs.RateLimitingConfig;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lease store backed by the rate_limit_window table so every replica spends the same budget.
+ * Each lease is one short transaction that locks the key's row, rolls closed windows over
+ * and adds the granted tokens to both counters.
+ */
+@RequiredArgsConstructor
+public class JdbcRateLimitLeaseStore implements RateLimitLeaseStore {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO rate_limit_window (bucket_key, minute_window, minute_used, hour_window, hour_used) "
+                    + "VALUES (?, ?, 0, ?, 0)";
+    private static final String LOCK_SQL =
+            "SELECT minute_window, minute_used, hour_window, hour_used FROM rate_limit_window "
+                    + "WHERE bucket_key = ? FOR UPDATE";
+    private static final String UPDATE_SQL =
+            "UPDATE rate_limit_window SET minute_window = ?, minute_used = ?, hour_window = ?, hour_used = ? "
+                    + "WHERE bucket_key = ?";
+    private static final String PURGE_SQL = "DELETE FROM rate_limit_window WHERE hour_window < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public long acquire(String key, RateLimitingConfig.RoutePolicy policy, long requested, long nowMillis) {
+        long minute = RateLimitLeaseStore.minuteWindow(nowMillis);
+        long hour = RateLimitLeaseStore.hourWindow(nowMillis);
+
+        Long granted = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(INSERT_SQL, key, minute, hour);
+            Map<String, Object> row = jdbcTemplate.queryForMap(LOCK_SQL, key);
+
+            /* counters of a closed window start over */
+            long minuteUsed = ((Number) row.get("minute_window")).longValue() == minute
+                    ? ((Number) row.get("minute_used")).longValue() : 0;
+            long hourUsed = ((Number) row.get("hour_window")).longValue() == hour
+                    ? ((Number) row.get("hour_used")).longValue() : 0;
+
+            long grant = RateLimitLeaseStore.grantable(policy, minuteUsed, hourUsed, requested);
+            if (grant > 0) {
+                jdbcTemplate.update(UPDATE_SQL, minute, minuteUsed + grant, hour, hourUsed + grant, key);
+            }
+            return grant;
+        });
+        return granted == null ? 0 : granted;
+    }
+
+    @Override
+    public void purgeExpired(long nowMillis) {
+        jdbcTemplate.update(PURGE_SQL, RateLimitLeaseStore.hourWindow(nowMillis));
+    }
+}
@@ -1,15 +1,13 @@
 package org.csps.backend.security;
 
-import org.csps.backend.domain.entities.UserAccount;
-import org.csps.backend.service.UserAccountService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,7 +18,7 @@ import lombok.RequiredArgsConstructor;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final UserAccountService userService;
+    private final PrincipalCache principalCache;
     private final CustomUserDetailsService customUserDetailsService;
 
     @Override
@@ -44,44 +42,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            final Long userId = jwtService.extractUsernameId(accessToken); // Parse userId from token
+            // Parse and verify the token once; expired or tampered tokens throw here
+            final Claims claims = jwtService.extractAllClaims(accessToken);
+            final Long userId = Long.valueOf(claims.getSubject());
 
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
             // Authenticate only if no authentication exists
             if (auth == null) {
-                // Load user from DB
-                UserAccount user = userService.findById(userId)
-                        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+                // Role and authorities come from the principal cache, the DB is only hit on a miss
+                PrincipalCache.CachedPrincipal principal =
+                        principalCache.get(userId, () -> customUserDetailsService.loadUserById(userId));
 
-                // Validate token
-                if (!jwtService.isTokenValid(accessToken, user)) {
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.getWriter().write("Invalid token");
-                    return;
-                }
-
-                // If token is valid
-                
-                // Load principal (with role + authorities)
-                UserPrincipal userPrincipal =
-                (UserPrincipal) customUserDetailsService.loadUserByUsername(user.getUsername());
-                
                 // Decide which domainId to use (Student/Admin)
                 Object domainId;
-                if ("STUDENT".equalsIgnoreCase(userPrincipal.getRole())) {
-                    domainId = jwtService.getStudentIdFromToken(accessToken);
-                } else if ("ADMIN".equalsIgnoreCase(userPrincipal.getRole())) {
-                    domainId = userPrincipal.getAdminId();
+                if ("STUDENT".equalsIgnoreCase(principal.role())) {
+                    domainId = claims.get("studentId", String.class);
+                } else if ("ADMIN".equalsIgnoreCase(principal.role())) {
+                    domainId = principal.adminId();
                 } else {
-                    throw new RuntimeException("Role not recognized: " + userPrincipal.getRole());
-                }                
+                    throw new RuntimeException("Role not recognized: " + principal.role());
+                }
                 // Build authentication object
                 UsernamePasswordAuthenticationToken authToken =
                 new UsernamePasswordAuthenticationToken(
                                 domainId,
                                 userId,
-                                userPrincipal.getAuthorities()
+                                principal.authorities()
                         );
 
                 // Attach request details and set authentication
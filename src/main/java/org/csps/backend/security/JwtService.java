@@ -4,46 +4,30 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.crypto.SecretKey;
-
 import org.csps.backend.domain.entities.UserAccount;
 import org.csps.backend.domain.enums.AdminPosition;
 import org.csps.backend.domain.enums.UserRole;
 import org.csps.backend.repository.AdminRepository;
 import org.csps.backend.repository.StudentRepository;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${csps.jwtToken.secretKey}")
-    private String secretKey; // Base64-encoded secret key
-
     private long jwtAccessTokenExpirationMs = 90000000; // Expiration time in ms
 
     private final StudentRepository studentRepository;
     private final AdminRepository adminRepository;
+    private final TokenVerifier tokenVerifier;
 
-    // Decode secret key into HMAC-SHA key
-    private SecretKey getSignInKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
-    }
-
-    // Extract all claims (payload) from JWT
+    // Extract all claims (payload) from JWT; verified once per distinct token, then served from cache
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return tokenVerifier.verify(token);
     }
 
     // Extract userAccountId (subject) from token
@@ -106,7 +90,7 @@ public class JwtService {
                 .subject(String.valueOf(user.getUserAccountId())) // subject = accountId
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtAccessTokenExpirationMs))
-                .signWith(getSignInKey())
+                .signWith(tokenVerifier.getSigningKey())
                 .compact();
     }
 
@@ -0,0 +1,214 @@
+package org.csps.backend.security;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.csps.backend.configs.RateLimitingConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Backend that shares one budget across replicas. Each node leases a block of tokens from the
+ * lease store and spends it locally, so the store is hit once per block rather than per request.
+ * A spent window is remembered until it closes, so rejected clients cost no store round trip either.
+ * Once half a block is spent the next one is fetched in the background, so a steady client rarely
+ * waits on the store, and no lock is held while the store is called.
+ *
+ * Tokens a node leased but did not spend before its window closed are lost, at most about a block
+ * and a half per node and key including the prefetched one. That makes the shared limit slightly
+ * stricter than configured, never looser.
+ */
+@Slf4j
+public class LeasedRateLimitBackend implements RateLimitBackend {
+
+    private final RateLimitingConfig rateLimitingConfig;
+    private final RateLimitLeaseStore leaseStore;
+    private final Executor prefetchExecutor;
+    private final Counter leaseRequests;
+    private final Counter backendErrors;
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    public LeasedRateLimitBackend(RateLimitingConfig rateLimitingConfig, RateLimitLeaseStore leaseStore,
+            Executor prefetchExecutor, MeterRegistry meterRegistry) {
+        this.rateLimitingConfig = rateLimitingConfig;
+        this.leaseStore = leaseStore;
+        this.prefetchExecutor = prefetchExecutor;
+        this.leaseRequests = meterRegistry.counter("rate_limiting.lease_requests");
+        this.backendErrors = meterRegistry.counter("rate_limiting.backend_errors");
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(RateLimitingConfig.RoutePolicy policy, String clientId) {
+        String key = policy.getName() + ":" + clientId;
+        long now = System.currentTimeMillis();
+        long minute = RateLimitLeaseStore.minuteWindow(now);
+        long size = leaseSize(policy);
+
+        Lease lease = leases.get(key);
+        if (lease == null) {
+            if (leases.size() >= rateLimitingConfig.getMaxBuckets()) {
+                makeRoom(minute);
+            }
+            lease = leases.computeIfAbsent(key, k -> new Lease());
+        }
+
+        while (true) {
+            CompletableFuture<Void> refill;
+            boolean fetchHere = false;
+            boolean prefetch = false;
+            long remaining = -1;
+            /* the monitor only guards the counters; store calls run outside it */
+            synchronized (lease) {
+                if (lease.minuteWindow != minute) {
+                    lease.minuteWindow = minute;
+                    lease.tokens = 0;
+                    lease.exhausted = false;
+                }
+                if (lease.tokens > 0) {
+                    remaining = --lease.tokens;
+                    if (remaining <= size / 2 && !lease.exhausted && lease.refill == null) {
+                        lease.refill = new CompletableFuture<>();
+                        prefetch = true;
+                    }
+                } else if (lease.exhausted) {
+                    break;
+                } else if (lease.refill == null) {
+                    lease.refill = new CompletableFuture<>();
+                    fetchHere = true;
+                }
+                refill = lease.refill;
+            }
+
+            if (remaining >= 0) {
+                if (prefetch) {
+                    prefetch(lease, key, policy, size, refill);
+                }
+                return RateLimitDecision.allowed(remaining);
+            }
+            if (fetchHere) {
+                if (!fetch(lease, key, policy, size, refill)) {
+                    /* an unreachable store must not take the API down with it, let the request through */
+                    return RateLimitDecision.allowed(0);
+                }
+                continue;
+            }
+            /* another request for this key is already fetching, take from its block */
+            if (!awaitRefill(key, refill)) {
+                return RateLimitDecision.allowed(0);
+            }
+        }
+
+        long nextMinuteMillis = (minute + 1) * 60_000L;
+        return RateLimitDecision.rejected(TimeUnit.MILLISECONDS.toNanos(nextMinuteMillis - now));
+    }
+
+    /* false when the fetch another request started is taking too long, the caller is let through */
+    private boolean awaitRefill(String key, CompletableFuture<Void> refill) {
+        try {
+            refill.get(rateLimitingConfig.getLeaseWait().toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException ex) {
+            backendErrors.increment();
+            log.warn("Rate limit lease store too slow, allowing request for {}", key);
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void prefetch(Lease lease, String key, RateLimitingConfig.RoutePolicy policy, long size,
+            CompletableFuture<Void> refill) {
+        try {
+            prefetchExecutor.execute(() -> fetch(lease, key, policy, size, refill));
+        } catch (RejectedExecutionException ex) {
+            /* the request that empties the block fetches the next one itself */
+            synchronized (lease) {
+                lease.refill = null;
+            }
+            refill.complete(null);
+        }
+    }
+
+    /* false when the store could not be reached */
+    private boolean fetch(Lease lease, String key, RateLimitingConfig.RoutePolicy policy, long size,
+            CompletableFuture<Void> refill) {
+        long fetchedAt = System.currentTimeMillis();
+        long granted = 0;
+        boolean reached = true;
+        try {
+            leaseRequests.increment();
+            granted = leaseStore.acquire(key, policy, size, fetchedAt);
+        } catch (RuntimeException ex) {
+            /* not only DataAccessException: a store that cannot even open its transaction throws a TransactionException */
+            backendErrors.increment();
+            log.warn("Rate limit lease store unavailable, allowing request for {}: {}", key, ex.getMessage());
+            reached = false;
+        } finally {
+            synchronized (lease) {
+                /* a block granted for a different window than the lease is in is dropped */
+                if (reached && lease.minuteWindow == RateLimitLeaseStore.minuteWindow(fetchedAt)) {
+                    lease.tokens += granted;
+                    lease.exhausted = granted == 0;
+                }
+                lease.refill = null;
+            }
+            refill.complete(null);
+        }
+        return reached;
+    }
+
+    @Override
+    public void evictIdle() {
+        long minute = RateLimitLeaseStore.minuteWindow(System.currentTimeMillis());
+        leases.values().removeIf(lease -> lease.minuteWindow < minute);
+        try {
+            leaseStore.purgeExpired(System.currentTimeMillis());
+        } catch (RuntimeException ex) {
+            backendErrors.increment();
+            log.warn("Failed to purge expired rate limit windows: {}", ex.getMessage());
+        }
+    }
+
+    /* a slice of the per-minute budget, small enough that a few replicas cannot hoard it,
+       but never below the minimum or tight policies would go to the store on every request */
+    private long leaseSize(RateLimitingConfig.RoutePolicy policy) {
+        long slice = Math.max(rateLimitingConfig.getMinLeaseSize(), policy.getRequestsPerMinute() / 10);
+        return Math.max(1, Math.min(Math.min(slice, rateLimitingConfig.getLeaseSize()), policy.getRequestsPerMinute()));
+    }
+
+    /* drop leases from closed windows first, then the oldest ones */
+    private void makeRoom(long minute) {
+        leases.values().removeIf(lease -> lease.minuteWindow < minute);
+        int overflow = leases.size() - rateLimitingConfig.getMaxBuckets() + 1;
+        if (overflow <= 0) {
+            return;
+        }
+
+        leases.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().minuteWindow))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(leases::remove);
+    }
+
+    private static final class Lease {
+        private long minuteWindow = -1;
+        private long tokens;
+        /* the store had nothing left for this window */
+        private boolean exhausted;
+        /* the store call in flight for this key, at most one at a time */
+        private CompletableFuture<Void> refill;
+    }
+}
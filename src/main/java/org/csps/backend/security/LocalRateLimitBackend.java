@@ -0,0 +1,28 @@
+package org.csps.backend.security;
+
+import org.csps.backend.configs.RateLimitingConfig;
+
+import io.github.bucket4j.ConsumptionProbe;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Node-local backend: each replica enforces the full budget on its own buckets.
+ */
+@RequiredArgsConstructor
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private final RateLimitBucketStore rateLimitBucketStore;
+
+    @Override
+    public RateLimitDecision tryConsume(RateLimitingConfig.RoutePolicy policy, String clientId) {
+        ConsumptionProbe probe = rateLimitBucketStore.resolveBucket(policy, clientId).tryConsumeAndReturnRemaining(1);
+        return probe.isConsumed()
+                ? RateLimitDecision.allowed(probe.getRemainingTokens())
+                : RateLimitDecision.rejected(probe.getNanosToWaitForRefill());
+    }
+
+    @Override
+    public void evictIdle() {
+        rateLimitBucketStore.evictIdle();
+    }
+}
@@ -0,0 +1,121 @@
+package org.csps.backend.security;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.csps.backend.configs.PrincipalCacheConfig;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bounded, TTL-based cache of resolved principals keyed by user account id,
+ * so an authenticated request needs no database lookup while its entry is fresh.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    private final PrincipalCacheConfig principalCacheConfig;
+
+    /* invalidation counters striped by account id, so a load racing an invalidation of its account can tell */
+    private static final int GENERATION_STRIPES = 256;
+
+    private final Map<Long, CachedEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Role data the JWT filter needs to build an authentication, detached from any entity.
+     */
+    public record CachedPrincipal(String role, Long adminId, List<GrantedAuthority> authorities) {
+
+        static CachedPrincipal from(UserPrincipal userPrincipal) {
+            return new CachedPrincipal(
+                    userPrincipal.getRole(),
+                    userPrincipal.getAdminId(),
+                    List.copyOf(userPrincipal.getAuthorities()));
+        }
+    }
+
+    private record CachedEntry(CachedPrincipal principal, Instant expiresAt) {
+    }
+
+    /**
+     * Return the cached principal for the account, resolving and caching it with loader on a miss.
+     */
+    public CachedPrincipal get(Long userAccountId, Supplier<UserPrincipal> loader) {
+        Instant now = Instant.now();
+        CachedEntry entry = entries.get(userAccountId);
+        if (entry != null && entry.expiresAt().isAfter(now)) {
+            return entry.principal();
+        }
+
+        int stripe = stripe(userAccountId);
+        long loadedGeneration = generations.get(stripe);
+        CachedPrincipal principal = CachedPrincipal.from(loader.get());
+        if (entries.size() >= principalCacheConfig.getMaxEntries()) {
+            makeRoom(now);
+        }
+        CachedEntry loaded = new CachedEntry(principal, now.plus(principalCacheConfig.getTtl()));
+        entries.put(userAccountId, loaded);
+        /* an invalidation during the load means the principal may predate the change - use it once but don't keep it */
+        if (generations.get(stripe) != loadedGeneration) {
+            entries.remove(userAccountId, loaded);
+        }
+        return principal;
+    }
+
+    /**
+     * Drop the account's cached principal now and again once the surrounding transaction completes,
+     * so a request racing the change cannot re-cache the old role or account.
+     */
+    public void invalidate(Long userAccountId) {
+        if (userAccountId == null) {
+            return;
+        }
+
+        evict(userAccountId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userAccountId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long userAccountId) {
+        /* bump first: a load that publishes after this point sees the new generation and withdraws itself */
+        generations.incrementAndGet(stripe(userAccountId));
+        entries.remove(userAccountId);
+    }
+
+    private int stripe(Long userAccountId) {
+        return Math.floorMod(userAccountId.hashCode(), GENERATION_STRIPES);
+    }
+
+    /* drop expired principals first, then the ones closest to expiring */
+    private void makeRoom(Instant now) {
+        entries.entrySet().removeIf(entry -> !entry.getValue().expiresAt().isAfter(now));
+        int overflow = entries.size() - principalCacheConfig.getMaxEntries() + 1;
+        if (overflow <= 0) {
+            return;
+        }
+
+        entries.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().expiresAt()))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+}
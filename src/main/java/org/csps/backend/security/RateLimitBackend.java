@@ -0,0 +1,20 @@
+package org.csps.backend.security;
+
+import org.csps.backend.configs.RateLimitingConfig;
+
+/**
+ * Where rate-limit state lives. The local backend keeps exact Bucket4j buckets per node;
+ * the leased backend shares one budget across replicas through a RateLimitLeaseStore.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Spend one request from the client's budget under the given route policy.
+     */
+    RateLimitDecision tryConsume(RateLimitingConfig.RoutePolicy policy, String clientId);
+
+    /**
+     * Drop state for clients that have gone quiet.
+     */
+    void evictIdle();
+}
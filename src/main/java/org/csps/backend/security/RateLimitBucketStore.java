@@ -0,0 +1,152 @@
+package org.csps.backend.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.csps.backend.configs.RateLimitingConfig;
+import org.springframework.stereotype.Component;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Memory-bounded store of rate-limit buckets keyed by policy and client.
+ * Buckets live in lock-striped, access-ordered shards: a shard over its share of maxBuckets
+ * drops its least recently used bucket, and buckets idle past idleTimeout are evicted.
+ * idleTimeout may not be shorter than the hourly refill period: an evicted client comes back with a full
+ * bucket, which is only harmless once the bucket would have refilled on its own.
+ */
+@Component
+public class RateLimitBucketStore {
+
+    private static final Duration MINUTE_PERIOD = Duration.ofMinutes(1);
+    /* the longest bandwidth period, and so the shortest idle timeout that cannot reset a budget early */
+    private static final Duration HOUR_PERIOD = Duration.ofHours(1);
+
+    private final RateLimitingConfig rateLimitingConfig;
+    private final Shard[] shards;
+    private final int bucketsPerShard;
+    private final Counter evictions;
+
+    public RateLimitBucketStore(RateLimitingConfig rateLimitingConfig, MeterRegistry meterRegistry) {
+        if (rateLimitingConfig.getIdleTimeout().compareTo(HOUR_PERIOD) < 0) {
+            throw new IllegalStateException("rate-limiting.idle-timeout must be at least " + HOUR_PERIOD
+                    + " so evicting an idle bucket cannot reset its hourly budget, got " + rateLimitingConfig.getIdleTimeout());
+        }
+        this.rateLimitingConfig = rateLimitingConfig;
+        int shardCount = Math.max(1, rateLimitingConfig.getShards());
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.bucketsPerShard = Math.max(1, rateLimitingConfig.getMaxBuckets() / shardCount);
+        this.evictions = meterRegistry.counter("rate_limiting.evictions");
+        Gauge.builder("rate_limiting.buckets", this, RateLimitBucketStore::size).register(meterRegistry);
+    }
+
+    /**
+     * Get or create the bucket for a client under the given route policy.
+     */
+    public Bucket resolveBucket(RateLimitingConfig.RoutePolicy policy, String clientId) {
+        String key = policy.getName() + ":" + clientId;
+        Shard shard = shards[Math.floorMod(key.hashCode(), shards.length)];
+        long now = System.nanoTime();
+
+        shard.lock.lock();
+        try {
+            TrackedBucket tracked = shard.buckets.get(key);
+            if (tracked == null || isIdle(tracked, now)) {
+                tracked = new TrackedBucket(newBucket(policy), now);
+                shard.buckets.put(key, tracked);
+                trim(shard, now);
+            }
+            tracked.lastAccessNanos = now;
+            return tracked.bucket;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every bucket that has been idle longer than idleTimeout.
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                evictIdleEldest(shard, now);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.buckets.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /* composite limit: both the per-minute and the per-hour budget must have a token */
+    private Bucket newBucket(RateLimitingConfig.RoutePolicy policy) {
+        return Bucket.builder()
+                .addLimit(Bandwidth.simple(policy.getRequestsPerMinute(), MINUTE_PERIOD))
+                .addLimit(Bandwidth.simple(policy.getRequestsPerHour(), HOUR_PERIOD))
+                .build();
+    }
+
+    private boolean isIdle(TrackedBucket tracked, long now) {
+        return now - tracked.lastAccessNanos > rateLimitingConfig.getIdleTimeout().toNanos();
+    }
+
+    /* access order puts the most idle buckets first, so idle and overflow eviction both stop at the first keeper */
+    private void trim(Shard shard, long now) {
+        evictIdleEldest(shard, now);
+        Iterator<TrackedBucket> eldest = shard.buckets.values().iterator();
+        while (shard.buckets.size() > bucketsPerShard && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void evictIdleEldest(Shard shard, long now) {
+        Iterator<TrackedBucket> eldest = shard.buckets.values().iterator();
+        while (eldest.hasNext()) {
+            if (!isIdle(eldest.next(), now)) {
+                return;
+            }
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, TrackedBucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class TrackedBucket {
+        private final Bucket bucket;
+        private long lastAccessNanos;
+
+        private TrackedBucket(Bucket bucket, long lastAccessNanos) {
+            this.bucket = bucket;
+            this.lastAccessNanos = lastAccessNanos;
+        }
+    }
+}
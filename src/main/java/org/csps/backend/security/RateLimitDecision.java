@@ -0,0 +1,18 @@
+package org.csps.backend.security;
+
+/**
+ * Outcome of spending one request against a rate-limit budget.
+ *
+ * @param remaining tokens left in the tightest window, best effort for leased backends
+ * @param nanosToWait time until a rejected client may retry, 0 when allowed
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long nanosToWait) {
+
+    public static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, remaining, 0);
+    }
+
+    public static RateLimitDecision rejected(long nanosToWait) {
+        return new RateLimitDecision(false, 0, nanosToWait);
+    }
+}
@@ -0,0 +1,36 @@
+package org.csps.backend.security;
+
+import org.csps.backend.configs.RateLimitingConfig;
+
+/**
+ * Shared fixed-window counters that replicas lease blocks of tokens from.
+ * Windows are aligned to the epoch minute and hour, so every replica agrees on them.
+ */
+public interface RateLimitLeaseStore {
+
+    /**
+     * Take up to requested tokens from both the minute and the hour window of the key.
+     *
+     * @return the tokens granted, 0 when either window is spent
+     */
+    long acquire(String key, RateLimitingConfig.RoutePolicy policy, long requested, long nowMillis);
+
+    /**
+     * Delete counters whose hour window has closed.
+     */
+    void purgeExpired(long nowMillis);
+
+    static long minuteWindow(long nowMillis) {
+        return nowMillis / 60_000L;
+    }
+
+    static long hourWindow(long nowMillis) {
+        return nowMillis / 3_600_000L;
+    }
+
+    /* tokens a key may still take given the counters of the current windows */
+    static long grantable(RateLimitingConfig.RoutePolicy policy, long minuteUsed, long hourUsed, long requested) {
+        long left = Math.min(policy.getRequestsPerMinute() - minuteUsed, policy.getRequestsPerHour() - hourUsed);
+        return Math.max(0, Math.min(requested, left));
+    }
+}
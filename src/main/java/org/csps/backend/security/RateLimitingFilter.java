@@ -1,12 +1,16 @@
 package org.csps.backend.security;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import org.csps.backend.configs.RateLimitingConfig;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,14 +19,19 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * Rate limiting filter to prevent DDoS attacks
- * Uses Bucket4j token bucket algorithm
- * Applies limits per client IP address
+ * Budgets live in a RateLimitBackend, node-local Bucket4j buckets or a store shared by all replicas
+ * Applies per-minute and per-hour limits per route policy, keyed by user account for authenticated requests
+ * and by client IP only for anonymous ones, so students behind one campus NAT do not share a budget.
+ * Runs after the JWT filter so the authentication is already resolved; requests the JWT filter turns away
+ * never get here, IpRateLimitingFilter limits those before authentication.
  */
 @Component
 @RequiredArgsConstructor
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     private final RateLimitingConfig rateLimitingConfig;
+    private final RateLimitBackend rateLimitBackend;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -40,28 +49,46 @@ public class RateLimitingFilter extends OncePerRequestFilter {
             return;
         }
 
-        /* get client IP for rate limiting */
-        String clientId = getClientIp(request);
+        /* get the client and the route budget it is spending */
+        String clientId = getClientId(request);
+        RateLimitingConfig.RoutePolicy policy =
+                rateLimitingConfig.resolvePolicy(request.getRequestURI(), request.getMethod());
         
-        /* get or create bucket for this client */
-        Bucket bucket = rateLimitingConfig.resolveBucket(clientId);
-        
-        /* consume a token from bucket */
-        if (bucket.tryConsume(1)) {
+        /* consume a token from this client's budget under the policy */
+        RateLimitDecision decision = rateLimitBackend.tryConsume(policy, clientId);
+        if (decision.allowed()) {
             /* token available - request allowed */
-            response.addHeader("X-Rate-Limit-Limit", String.valueOf(rateLimitingConfig.getRequestsPerMinute()));
+            response.addHeader("X-Rate-Limit-Limit", String.valueOf(policy.getRequestsPerMinute()));
+            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(decision.remaining()));
             filterChain.doFilter(request, response);
         } else {
             /* no token available - reject request with 429 Too Many Requests */
-            response.addHeader("X-Rate-Limit-Retry-After-Seconds", "60");
-            response.setStatus(429); /* HTTP 429 Too Many Requests */
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"Too many requests. Please retry after 60 seconds.\"}");
+            meterRegistry.counter("rate_limiting.rejections", "policy", policy.getName()).increment();
+            reject(response, decision);
+        }
+    }
+
+    static void reject(HttpServletResponse response, RateLimitDecision decision) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.nanosToWait()) + 1);
+        response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(retryAfterSeconds));
+        response.setStatus(429); /* HTTP 429 Too Many Requests */
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"Too many requests. Please retry after " + retryAfterSeconds + " seconds.\"}");
+    }
+
+    /* the JWT filter puts the user account id in the credentials of the authentication it builds */
+    private String getClientId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)
+                && authentication.getCredentials() instanceof Long userAccountId) {
+            return "user:" + userAccountId;
         }
+        return "ip:" + getClientIp(request);
     }
 
     /* extract client IP from request, considering proxies */
-    private String getClientIp(HttpServletRequest request) {
+    static String getClientIp(HttpServletRequest request) {
         String clientIp = request.getHeader("X-Forwarded-For");
         
         if (clientIp == null || clientIp.isEmpty() || "unknown".equalsIgnoreCase(clientIp)) {
@@ -76,6 +103,11 @@ public class RateLimitingFilter extends OncePerRequestFilter {
         if (clientIp != null && clientIp.contains(",")) {
             clientIp = clientIp.split(",")[0].trim();
         }
+
+        /* a forged header must not produce keys longer than any real address */
+        if (clientIp != null && clientIp.length() > 64) {
+            clientIp = clientIp.substring(0, 64);
+        }
         
         return clientIp;
     }
@@ -0,0 +1,104 @@
+package org.csps.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.SecretKey;
+
+import org.csps.backend.configs.TokenCacheConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Shared HMAC key, parser and verified-claims cache for access and QR tokens.
+ * The key and parser are built once; each distinct token string is verified once and its claims
+ * are then served, until the token expires, from a size-bounded map keyed by the token's SHA-256 digest.
+ * Reads take no lock; a full map first drops expired tokens, then the ones closest to expiring.
+ */
+@Component
+public class TokenVerifier {
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int maxEntries;
+    private final Map<String, CachedClaims> verifiedClaims = new ConcurrentHashMap<>();
+
+    /* claims with the token's expiry in epoch millis, Long.MAX_VALUE for tokens without one */
+    private record CachedClaims(Claims claims, long expiresAtMillis) {
+    }
+
+    public TokenVerifier(@Value("${csps.jwtToken.secretKey}") String secretKey, TokenCacheConfig tokenCacheConfig) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.maxEntries = Math.max(1, tokenCacheConfig.getMaxEntries());
+    }
+
+    /* key used to sign every token issued by this backend */
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Verify the token's signature and expiry and return its claims.
+     * Throws the parser's JwtException for tampered, malformed or expired tokens; failures are never cached.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        CachedClaims cached = verifiedClaims.get(digest);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return cached.claims();
+            }
+            /* expired since it was cached, let the parser produce the usual ExpiredJwtException */
+            verifiedClaims.remove(digest, cached);
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        if (verifiedClaims.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        verifiedClaims.put(digest, new CachedClaims(claims, expiration == null ? Long.MAX_VALUE : expiration.getTime()));
+        return claims;
+    }
+
+    /* drop expired tokens first, then the ones closest to expiring; frees a tenth of the map so a stream of
+       new tokens sorts the entries once per batch rather than on every insert */
+    private void makeRoom(long now) {
+        verifiedClaims.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+        int overflow = verifiedClaims.size() - maxEntries + Math.max(1, maxEntries / 10);
+        if (overflow <= 0) {
+            return;
+        }
+
+        verifiedClaims.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtMillis()))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(verifiedClaims::remove);
+    }
+
+    /* raw tokens are bearer credentials, so only their digest is kept in memory */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
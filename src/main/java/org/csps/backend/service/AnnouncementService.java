@@ -6,4 +6,9 @@ import org.csps.backend.domain.dtos.response.AnnouncementResponseDTO;
 
 public interface AnnouncementService {
     List<AnnouncementResponseDTO> getAllAnnouncements();
+
+    /**
+     * Version of the announcement feed, moved whenever a refresh returns different posts.
+     */
+    String getAnnouncementsVersion();
 }
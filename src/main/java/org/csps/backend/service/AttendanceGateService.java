@@ -0,0 +1,47 @@
+package org.csps.backend.service;
+
+import org.csps.backend.domain.dtos.response.AttendanceRecordResponseDTO;
+
+/**
+ * Gates live in the memory of the node that opened them, other nodes check in through the database.
+ * Each batch re-reads its sessions' status and gate flag under a shared lock, so ending a session or
+ * closing its gate on any node stops every node's gate from admitting further check-ins.
+ */
+public interface AttendanceGateService {
+
+    /**
+     * Whether check-ins for the session are currently admitted through an open gate.
+     */
+    boolean isOpen(Long sessionId);
+
+    /**
+     * Check a student in through the session's gate: roster and duplicate checks run in memory
+     * and the record is written with the next batch. Returns once that batch has committed,
+     * so an acknowledged check-in is never lost. Fails when the session stopped being ACTIVE
+     * before the batch was written, even if the gate had admitted the student.
+     *
+     * @return null when the session has no open gate and the caller should use the database path
+     */
+    AttendanceRecordResponseDTO checkIn(Long sessionId, String studentId, String qrToken);
+
+    /**
+     * Open a gate for an ACTIVE session, preloading its roster and existing check-ins.
+     */
+    void open(Long sessionId);
+
+    /**
+     * Close the session's gate. Joins the caller's transaction when there is one;
+     * check-ins the gate already admitted are still written by the next flush while the session stays ACTIVE.
+     */
+    void close(Long sessionId);
+
+    /**
+     * Reopen gates for every session still flagged in gate mode, e.g. after a restart.
+     */
+    void loadOpenGates();
+
+    /**
+     * Write queued check-ins to the database in JDBC batches.
+     */
+    void flushPendingCheckIns();
+}
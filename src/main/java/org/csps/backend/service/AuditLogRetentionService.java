@@ -0,0 +1,18 @@
+package org.csps.backend.service;
+
+public interface AuditLogRetentionService {
+
+    /**
+     * Convert audit_log to monthly range partitions if it is not partitioned yet,
+     * and keep empty partitions ready for the coming months.
+     */
+    void preparePartitions();
+
+    /**
+     * Archive every month older than the retention horizon to a gzipped NDJSON file,
+     * then drop it from audit_log.
+     *
+     * @return the number of months archived
+     */
+    int archiveExpiredMonths();
+}
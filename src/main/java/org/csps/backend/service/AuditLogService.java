@@ -1,8 +1,10 @@
 package org.csps.backend.service;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.List;
 
+import org.csps.backend.domain.dtos.response.AuditLogResponseDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.entities.AuditLog;
 import org.csps.backend.domain.enums.AuditAction;
 
@@ -13,28 +15,44 @@ public interface AuditLogService {
        logic: creates and persists a new audit log entry to track admin operations */
     AuditLog logAction(Long adminId, AuditAction action, String resourceType, String resourceId, String description);
 
-    /* parameters: admin ID
-       return type: list of AuditLog entities
-       logic: retrieves all audit logs for a specific admin */
-    List<AuditLog> getAuditLogsByAdmin(Long adminId);
-
-    /* parameters: action type
-       return type: list of AuditLog entities
-       logic: retrieves all audit logs of a specific action type (CREATE, UPDATE, DELETE) */
-    List<AuditLog> getAuditLogsByAction(AuditAction action);
-
-    /* parameters: resource type and resource ID
-       return type: list of AuditLog entities
-       logic: retrieves all audit logs related to a specific resource */
-    List<AuditLog> getAuditLogsByResource(String resourceType, String resourceId);
-
-    /* parameters: start time and end time
-       return type: list of AuditLog entities
-       logic: retrieves all audit logs within a specified time range */
-    List<AuditLog> getAuditLogsByTimeRange(LocalDateTime startTime, LocalDateTime endTime);
-
-    /* parameters: admin ID, start time, end time
-       return type: list of AuditLog entities
-       logic: retrieves audit logs for a specific admin within a specified time range */
-    List<AuditLog> getAuditLogsByAdminAndTimeRange(Long adminId, LocalDateTime startTime, LocalDateTime endTime);
+    /* parameters: admin ID, action type, resource type, resource ID, description
+       return type: void
+       logic: queues an audit log entry for the background writer once the surrounding transaction commits,
+              a full queue waits briefly and then falls back to the configured overflow policy */
+    void enqueueAction(Long adminId, AuditAction action, String resourceType, String resourceId, String description);
+
+    /* parameters: none
+       return type: void
+       logic: inserts every queued audit log entry in JDBC batches */
+    void flushPendingAuditLogs();
+
+    /* parameters: admin ID, cursor from the previous page (null for the first), page size
+       return type: keyset page of audit log DTOs, newest first
+       logic: retrieves one page of audit logs for a specific admin */
+    CursorPageDTO<AuditLogResponseDTO> getAuditLogsByAdmin(Long adminId, String cursor, int limit);
+
+    /* parameters: action type, cursor, page size
+       return type: keyset page of audit log DTOs, newest first
+       logic: retrieves one page of audit logs of a specific action type (CREATE, UPDATE, DELETE) */
+    CursorPageDTO<AuditLogResponseDTO> getAuditLogsByAction(AuditAction action, String cursor, int limit);
+
+    /* parameters: resource type, resource ID, cursor, page size
+       return type: keyset page of audit log DTOs, newest first
+       logic: retrieves one page of audit logs related to a specific resource */
+    CursorPageDTO<AuditLogResponseDTO> getAuditLogsByResource(String resourceType, String resourceId, String cursor, int limit);
+
+    /* parameters: start time, end time, cursor, page size
+       return type: keyset page of audit log DTOs, newest first
+       logic: retrieves one page of audit logs within a specified time range */
+    CursorPageDTO<AuditLogResponseDTO> getAuditLogsByTimeRange(LocalDateTime startTime, LocalDateTime endTime, String cursor, int limit);
+
+    /* parameters: admin ID, start time, end time, cursor, page size
+       return type: keyset page of audit log DTOs, newest first
+       logic: retrieves one page of audit logs for a specific admin within a specified time range */
+    CursorPageDTO<AuditLogResponseDTO> getAuditLogsByAdminAndTimeRange(Long adminId, LocalDateTime startTime, LocalDateTime endTime, String cursor, int limit);
+
+    /* parameters: start time, end time, output stream
+       return type: void
+       logic: streams every audit log in the time range oldest first as newline-delimited JSON */
+    void exportAuditLogsNdjson(LocalDateTime startTime, LocalDateTime endTime, OutputStream outputStream);
 }
@@ -0,0 +1,25 @@
+package org.csps.backend.service;
+
+import java.util.function.Supplier;
+
+import org.csps.backend.domain.dtos.request.OrderPostRequestDTO;
+import org.csps.backend.domain.dtos.response.OrderResponseDTO;
+
+public interface CheckoutIdempotencyService {
+
+    /**
+     * Run a checkout at most once per student and Idempotency-Key, across every replica.
+     * A duplicate submission waits for the in-flight attempt, then gets its order replayed
+     * instead of placing a second one. Failed attempts are not remembered so the client can
+     * retry them with the same key.
+     *
+     * @param idempotencyKey client supplied key; when blank the checkout simply runs
+     */
+    OrderResponseDTO execute(String studentId, String idempotencyKey, OrderPostRequestDTO request,
+            Supplier<OrderResponseDTO> checkout);
+
+    /**
+     * Delete claimed keys older than the configured time-to-live.
+     */
+    void evictExpired();
+}
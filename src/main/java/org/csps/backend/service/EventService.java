@@ -31,4 +31,7 @@ public interface EventService {
 
     /* Search Events by name, date range, and location */
     Page<EventResponseDTO> searchEvent(String query, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    /* Version of the event reads, moved by every event mutation and by the date for upcoming/past filters */
+    String getEventsVersion();
 }
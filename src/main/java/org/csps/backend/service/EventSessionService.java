@@ -24,6 +24,9 @@ public interface EventSessionService {
     
     /* update session status */
     EventSessionResponseDTO updateSessionStatus(Long sessionId, String status);
+
+    /* switch an ACTIVE session into or out of gate-mode check-in */
+    EventSessionResponseDTO updateGateMode(Long sessionId, boolean enabled);
     
     /* get QR token for a session (for authenticated student check-in) */
     String getQRTokenForSession(Long sessionId);
@@ -1,7 +1,14 @@
 package org.csps.backend.service;
 
 import org.csps.backend.domain.dtos.response.FinanceDashboardDTO;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 
 public interface FinanceDashboardService {
     FinanceDashboardDTO getFinanceDashboardData();
+
+    /**
+     * Drop cached dashboard sections affected by a mutation.
+     * Inside a transaction the eviction is deferred until commit.
+     */
+    void invalidateSections(FinanceDashboardSection... sections);
 }
\ No newline at end of file
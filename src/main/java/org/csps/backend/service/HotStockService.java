@@ -0,0 +1,73 @@
+package org.csps.backend.service;
+
+import org.csps.backend.domain.entities.MerchVariantItem;
+
+public interface HotStockService {
+
+    /**
+     * Whether reservations for the item are currently admitted from the in-memory ledger.
+     */
+    boolean isHot(Long merchVariantItemId);
+
+    /**
+     * Stock a shopper can still take: for hot items the unclaimed stored stock plus this replica's
+     * allocation, the stored column otherwise.
+     */
+    int availableStock(MerchVariantItem merchVariantItem);
+
+    /**
+     * Same as availableStock(MerchVariantItem) when only the id and stored stock are at hand.
+     */
+    int availableStock(Long merchVariantItemId, int storedStock);
+
+    /**
+     * Take quantity units from this replica's allocation without touching the database; the units
+     * left the stored stock when they were claimed. When the allocation runs short a caller outside a
+     * transaction waits up to hot-stock.refill-wait for a new claim, while a checkout fails at once with a
+     * retry message, since the claim needs a pooled connection of its own. Removes the units from this
+     * replica's allocation row when the transaction commits and hands them back to the ledger if it rolls back.
+     *
+     * @return false when the item has no live ledger and the caller should use the database path
+     */
+    boolean reserve(Long merchVariantItemId, int quantity);
+
+    /**
+     * Put quantity units back into the item's ledger once the surrounding transaction commits.
+     *
+     * @return false when the item has no live ledger and the caller should use the database path
+     */
+    boolean release(Long merchVariantItemId, int quantity);
+
+    /**
+     * Switch an item into hot-stock mode and claim this replica's first allocation from the stored stock.
+     */
+    void enable(Long merchVariantItemId);
+
+    /**
+     * Switch an item out of hot-stock mode, returning this replica's allocation to the stored stock.
+     * Other replicas return theirs on their next flush.
+     */
+    void disable(Long merchVariantItemId);
+
+    /**
+     * Claim allocations for every item flagged as hot, e.g. after a restart.
+     */
+    void loadHotItems();
+
+    /**
+     * Follow mode switches made on other replicas, hand idle allocations back and write units owed
+     * to the stored stock in one batch.
+     */
+    void flushPendingStock();
+
+    /**
+     * Return every unsold allocation to the stored stock, e.g. before shutdown.
+     */
+    void returnAllocations();
+
+    /**
+     * Hand the units of allocations not renewed for hot-stock.allocation-lease back to the stored stock,
+     * i.e. those left behind by a replica that crashed.
+     */
+    void returnExpiredAllocations();
+}
@@ -0,0 +1,22 @@
+package org.csps.backend.service;
+
+import java.io.IOException;
+
+public interface ImageDerivativeService {
+
+    /**
+     * Queue generation of every rendition of an uploaded image on the bounded derivative pool,
+     * once the surrounding transaction commits.
+     */
+    void scheduleDerivatives(String originalKey);
+
+    /**
+     * Read the original from the object store and write every rendition next to it.
+     */
+    void generateDerivatives(String originalKey) throws IOException;
+
+    /**
+     * Generate renditions for stored merch, variant and event images that do not have them yet.
+     */
+    void backfillMissingDerivatives();
+}
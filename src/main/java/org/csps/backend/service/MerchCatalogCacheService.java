@@ -0,0 +1,41 @@
+package org.csps.backend.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.csps.backend.domain.dtos.response.MerchDetailedResponseDTO;
+import org.csps.backend.domain.dtos.response.MerchSummaryResponseDTO;
+
+public interface MerchCatalogCacheService {
+
+    /**
+     * Active merch summaries from the cached snapshot, loading it with the loader on a miss.
+     * Returns fresh copies carrying current stock totals that the caller may enrich per request.
+     */
+    List<MerchSummaryResponseDTO> getSummaries(Supplier<List<MerchSummaryResponseDTO>> loader);
+
+    /**
+     * Active merch with variants and items from the cached snapshot, loading it with the loader on a miss.
+     * Returns fresh copies carrying current item stock that the caller may enrich per request.
+     */
+    List<MerchDetailedResponseDTO> getDetailedMerch(Supplier<List<MerchDetailedResponseDTO>> loader);
+
+    /**
+     * Drop the catalog snapshots and stock counts after a merch, variant or item change.
+     * Inside a transaction the eviction is deferred until commit.
+     */
+    void invalidateCatalog();
+
+    /**
+     * Drop only the stock counts after an admin stock edit.
+     * Checkout reservations do not call this; the stock ttl bounds how stale their counts get.
+     * Inside a transaction the eviction is deferred until commit.
+     */
+    void invalidateStock();
+
+    /**
+     * Window of the stock ttl the current time falls in. Stock moves with every checkout, so the
+     * catalog ETag carries this short-lived tag for it instead of bumping the catalog version.
+     */
+    long stockEpoch();
+}
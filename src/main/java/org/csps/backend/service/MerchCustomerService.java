@@ -7,6 +7,7 @@ import org.csps.backend.domain.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -74,4 +75,14 @@ public interface MerchCustomerService {
      * @return complete list of MerchCustomerResponseDTO
      */
     List<MerchCustomerResponseDTO> getAllCustomersByMerchId(Long merchId, boolean includeFreebies);
+
+    /**
+     * Write ALL customers for a specific merch as CSV directly to the given stream.
+     * Rows are read from a database cursor in chunks so memory stays flat for any list size.
+     *
+     * @param merchId the merch ID to look up customers for
+     * @param includeFreebies whether to add the freebie assignment column
+     * @param outputStream destination of the CSV bytes; left open for the caller
+     */
+    void exportCustomersByMerchIdCsv(Long merchId, boolean includeFreebies, OutputStream outputStream);
 }
@@ -56,6 +56,13 @@ public interface MerchService {
      */
     List<MerchSummaryResponseDTO> getMerchByType(MerchType merchType);
 
+    /**
+     * Version of what the merch reads return to the current caller, without touching the database.
+     * Combines the catalog version, a stock tag that rolls over every stock ttl and the caller's
+     * purchase eligibility version.
+     */
+    String getCatalogVersion();
+
 
 
     /**
@@ -40,6 +40,11 @@ public interface MerchVariantItemService {
      */
     MerchVariantItemResponseDTO updatePrice(Long merchVariantItemId, Double newPrice);
     
+    /**
+     * Switch an item into or out of hot-stock mode for flash-sale launches.
+     */
+    MerchVariantItemResponseDTO updateHotStockMode(Long merchVariantItemId, boolean enabled);
+    
     /**
      * Delete a specific item.
      */
@@ -0,0 +1,24 @@
+package org.csps.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Blob storage behind S3Service: Amazon S3 in deployments, a local directory in tests.
+ */
+public interface ObjectStore {
+
+    /**
+     * Store contentLength bytes read from content under key, without buffering the whole object.
+     */
+    void put(String key, String contentType, InputStream content, long contentLength) throws IOException;
+
+    /**
+     * Open the object stored under key; the caller closes the stream.
+     */
+    InputStream get(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+}
@@ -3,7 +3,9 @@ package org.csps.backend.service;
 import java.util.List;
 
 import org.csps.backend.domain.dtos.request.OrderItemRequestDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.OrderItemResponseDTO;
+import org.csps.backend.domain.entities.Order;
 import org.csps.backend.domain.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +16,13 @@ public interface OrderItemService {
      * Create a new order item.
      */
     OrderItemResponseDTO createOrderItem(OrderItemRequestDTO orderItemRequestDTO);
+
+    /**
+     * Create every line of a checkout in one pass: items are loaded together, stock is reserved
+     * in ascending item id order and the lines are saved with saveAll. A repeated item stays a separate line.
+     * The returned responses follow request order and already carry their freebie assignments.
+     */
+    List<OrderItemResponseDTO> createOrderItems(Order order, List<OrderItemRequestDTO> orderItemRequests);
     
     /**
      * Get order item by ID.
@@ -27,6 +36,12 @@ public interface OrderItemService {
      * @return
      */
     Page<OrderItemResponseDTO> getOrderItemsByStatus(OrderStatus status, Pageable pageable, String studentId);
+
+    /**
+     * Keyset page of order items in a status, most recently updated first.
+     * Pass the returned nextCursor back as cursor to continue.
+     */
+    CursorPageDTO<OrderItemResponseDTO> getOrderItemsByStatusCursor(OrderStatus status, String cursor, int limit, String studentId);
     
     /**
      * Get all order items for a specific order.
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.csps.backend.domain.dtos.request.OrderPostRequestDTO;
 import org.csps.backend.domain.dtos.request.OrderSearchDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.OrderResponseDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -50,6 +51,12 @@ public interface OrderService {
      */
     Page<OrderResponseDTO> searchOrders(OrderSearchDTO searchDTO, Pageable pageable, String studentId);
 
+    /**
+     * Keyset form of searchOrders, newest first on (orderDate, orderId).
+     * Pass the returned nextCursor back as cursor to continue.
+     */
+    CursorPageDTO<OrderResponseDTO> searchOrdersByCursor(OrderSearchDTO searchDTO, String cursor, int limit, String studentId);
+
     /**
      * Delete order and all its items.
      */
@@ -0,0 +1,55 @@
+package org.csps.backend.service;
+
+import java.util.Set;
+
+import org.csps.backend.domain.enums.MerchType;
+
+public interface PurchaseEligibilityService {
+
+    /**
+     * What a student already holds that limits further purchases: membership status,
+     * the merch in their cart, and the merch in their orders that are not cancelled or rejected.
+     */
+    record Eligibility(
+            boolean activeMembership,
+            boolean pendingMembershipOrder,
+            Set<Long> cartMerchIds,
+            Set<MerchType> cartMerchTypes,
+            Set<Long> activeOrderMerchIds) {
+
+        /* membership is hidden once the student has one, has one in the cart, or is waiting on an order for one */
+        public boolean hidesMembership() {
+            return activeMembership || pendingMembershipOrder || cartMerchTypes.contains(MerchType.MEMBERSHIP);
+        }
+
+        /* a ticket can be bought once, so any cart entry or live order for it blocks another */
+        public boolean blocksTicket(Long merchId) {
+            return cartMerchIds.contains(merchId) || activeOrderMerchIds.contains(merchId);
+        }
+
+        public boolean hasTypeInCart(MerchType merchType) {
+            return cartMerchTypes.contains(merchType);
+        }
+    }
+
+    /**
+     * Eligibility for catalog reads, served from a short per-student cache.
+     */
+    Eligibility getEligibility(String studentId);
+
+    /**
+     * Eligibility read straight from the database, for guards that must see the latest state.
+     */
+    Eligibility loadEligibility(String studentId);
+
+    /**
+     * Hash of the eligibility getEligibility returns, for tagging responses that include purchase state.
+     * It is derived from the content, so every replica gives the same tag for the same state.
+     */
+    String version(String studentId);
+
+    /**
+     * Drop the student's cached eligibility after their cart, orders or membership change.
+     */
+    void invalidate(String studentId);
+}
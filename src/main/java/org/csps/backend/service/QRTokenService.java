@@ -5,16 +5,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.crypto.SecretKey;
-
 import org.csps.backend.security.JwtService;
-import org.springframework.beans.factory.annotation.Value;
+import org.csps.backend.security.TokenVerifier;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -22,17 +18,10 @@ import lombok.RequiredArgsConstructor;
 public class QRTokenService {
 
     private final JwtService jwtService;
-
-    @Value("${csps.jwtToken.secretKey}")
-    private String secretKey;
+    private final TokenVerifier tokenVerifier;
 
     private static final long QR_TOKEN_EXPIRATION_MS = 86400000; // 24 hours
 
-    /* decode secret key for HMAC-SHA */
-    private SecretKey getSignInKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
-    }
-
     /* generate QR token with session id and student id extracted from JWT token */
     public String generateQRToken(Long sessionId, String studentToken) {
         Map<String, Object> claims = new HashMap<>();
@@ -51,18 +40,14 @@ public class QRTokenService {
                 .subject("qr-token")
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + QR_TOKEN_EXPIRATION_MS))
-                .signWith(getSignInKey())
+                .signWith(tokenVerifier.getSigningKey())
                 .compact();
     }
 
-    /* validate QR token signature and extract claims */
+    /* validate QR token signature and extract claims; repeated checks on one token reuse the verified claims */
     public Claims validateAndExtractClaims(String qrToken) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSignInKey())
-                    .build()
-                    .parseSignedClaims(qrToken)
-                    .getPayload();
+            return tokenVerifier.verify(qrToken);
         } catch (Exception ex) {
             return null; // Token is invalid or expired
         }
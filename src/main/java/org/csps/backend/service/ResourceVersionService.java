@@ -0,0 +1,17 @@
+package org.csps.backend.service;
+
+import org.csps.backend.domain.enums.VersionedResource;
+
+public interface ResourceVersionService {
+
+    /**
+     * Current version of the resource; read it before loading the data it tags.
+     */
+    long currentVersion(VersionedResource resource);
+
+    /**
+     * Move the resource to a new version once the surrounding transaction completes,
+     * or immediately when there is none. Repeated bumps in one transaction move it once.
+     */
+    void bump(VersionedResource resource);
+}
@@ -0,0 +1,52 @@
+package org.csps.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.csps.backend.domain.entities.DailyRevenueRollup;
+import org.csps.backend.domain.entities.Order;
+import org.csps.backend.domain.entities.OrderItem;
+
+public interface RevenueRollupService {
+
+    /**
+     * Recognized non-membership merch revenue an order currently contributes to finance figures.
+     * Capture this before mutating an order and pass it to {@link #recordOrderRevenueChange}.
+     */
+    BigDecimal calculateRecognizedRevenue(Order order);
+
+    /**
+     * The share of {@link #calculateRecognizedRevenue(Order)} that a single line contributes.
+     */
+    BigDecimal calculateRecognizedRevenue(OrderItem item);
+
+    /**
+     * Apply the difference between an order's current recognized revenue and its previous value
+     * to the rollup row of the order's date.
+     */
+    void recordOrderRevenueChange(Order order, BigDecimal previousRevenue);
+
+    /**
+     * Add delta (negative to remove) to a day's merch revenue, for changes that no longer have
+     * a live order to diff against, such as deletions.
+     */
+    void recordRevenueDelta(LocalDate day, BigDecimal delta);
+
+    /**
+     * Add (or with a negative delta, remove) current academic year memberships joined at the given times.
+     */
+    void recordMembershipChange(List<LocalDateTime> joinDates, int delta);
+
+    List<DailyRevenueRollup> getDailyRollups();
+
+    /**
+     * Discard the rollup table and rebuild it from existing orders and memberships.
+     * Concurrent incremental updates wait for the rebuild to commit; call it outside any
+     * surrounding transaction so its snapshot starts after the lock is taken.
+     *
+     * @return number of day rows written
+     */
+    int rebuildRollups();
+}
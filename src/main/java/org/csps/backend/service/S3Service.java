@@ -1,64 +1,61 @@
 package org.csps.backend.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.UUID;
-
-import org.springframework.beans.factory.annotation.Value;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.csps.backend.configs.StorageConfig;
+import org.csps.backend.domain.enums.ImageDerivative;
+import org.csps.backend.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class S3Service {
 
-    private final String bucketName;
-    private final S3Client s3Client;
-
-
-
-    public S3Service(
-            @Value("${AWS_ACCESS_KEY_ID}") String accessKeyId,
-            @Value("${AWS_SECRET_ACCESS_KEY}") String secretAccessKey,
-            @Value("${REGION_AWS}") String region,
-            @Value("${S3_BUCKET_NAME:}") String bucketName) {
-        
-        this.bucketName = bucketName;
-        
-        if (accessKeyId == null || accessKeyId.isEmpty() || secretAccessKey == null || secretAccessKey.isEmpty() || bucketName == null || bucketName.isEmpty()) {
-            throw new IllegalArgumentException("AWS credentials and bucket name must be configured in application.properties");
-        }
-        
-        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
-        this.s3Client = S3Client.builder()
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                .build();
-    }
+    private final ObjectStore objectStore;
+    private final StorageConfig storageConfig;
+    @Qualifier("storageUploadExecutor")
+    private final Executor storageUploadExecutor;
 
     /**
      * Upload file to S3
+     * Streams the multipart part with its known length on the bounded upload pool; nothing is copied onto the heap
      */
     public String uploadFile(MultipartFile file, Object entityId, String entityName) throws IOException {
         String fileName = generateFileName(entityId, file.getOriginalFilename(), entityName);
-        
-        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(bucketName)
-                .key(fileName)
-                .contentType(file.getContentType())
-                .contentDisposition("inline")   // <<< makes browser view instead of download
-                .build();
 
-        s3Client.putObject(putObjectRequest,
-                RequestBody.fromBytes(file.getBytes()));
+        /* a FutureTask, unlike a CompletableFuture, interrupts the worker when cancelled */
+        FutureTask<Void> upload = new FutureTask<>(() -> {
+            try (InputStream content = file.getInputStream()) {
+                objectStore.put(fileName, file.getContentType(), content, file.getSize());
+            }
+            /* cancelled while the put was finishing: the request already failed, so the object must not stay */
+            if (Thread.currentThread().isInterrupted()) {
+                objectStore.delete(fileName);
+            }
+            return null;
+        });
+        try {
+            storageUploadExecutor.execute(upload);
+        } catch (RejectedExecutionException e) {
+            throw new InvalidRequestException("Too many uploads in progress, please try again shortly");
+        }
 
+        awaitUpload(upload, fileName);
         return fileName;
     }
 
@@ -67,24 +64,62 @@ public class S3Service {
      * Download file from S3
      */
     public byte[] downloadFile(String fileName) throws IOException {
-        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                .bucket(bucketName)
-                .key(fileName)
-                .build();
-
-        return s3Client.getObject(getObjectRequest).readAllBytes();
+        try (InputStream content = objectStore.get(fileName)) {
+            return content.readAllBytes();
+        }
     }
 
     /**
-     * Delete file from S3
+     * Delete file from S3 together with its resized renditions
      */
     public void deleteFile(String fileName) {
-        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                .bucket(bucketName)
-                .key(fileName)
-                .build();
+        try {
+            objectStore.delete(fileName);
+            if (ImageDerivative.hasDerivatives(fileName)) {
+                for (ImageDerivative derivative : ImageDerivative.values()) {
+                    objectStore.delete(derivative.keyFor(fileName));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* the multipart part lives only as long as the request, so the request thread waits for its upload */
+    private void awaitUpload(FutureTask<Void> upload, String fileName) throws IOException {
+        try {
+            upload.get(storageConfig.getUploadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            discardUpload(upload, fileName);
+            throw new IOException("Timed out uploading " + fileName, e);
+        } catch (InterruptedException e) {
+            discardUpload(upload, fileName);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while uploading " + fileName, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Failed to upload " + fileName, cause);
+        }
+    }
 
-        s3Client.deleteObject(deleteObjectRequest);
+    /**
+     * Stop an upload the caller has given up on and remove whatever it stored. A queued upload never starts;
+     * a running one is interrupted, which makes S3ObjectStore abort a multipart upload. The delete covers
+     * a single PUT that completed before the interrupt landed.
+     */
+    private void discardUpload(FutureTask<Void> upload, String fileName) {
+        upload.cancel(true);
+        try {
+            objectStore.delete(fileName);
+        } catch (IOException | RuntimeException e) {
+            log.warn("failed to delete abandoned upload {}: {}", fileName, e.getMessage());
+        }
     }
 
     /**
@@ -1,6 +1,7 @@
 package org.csps.backend.service;
 
 import org.csps.backend.domain.dtos.request.OrderSearchDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.sales.SalesStatsDTO;
 import org.csps.backend.domain.dtos.response.sales.TransactionDTO;
 import org.csps.backend.domain.enums.SalesPeriod;
@@ -9,8 +10,17 @@ import org.springframework.data.domain.Pageable;
 
 public interface SalesService {
     SalesStatsDTO getSalesStats(SalesPeriod period);
+
+    /**
+     * Rebuild the daily revenue rollup from existing orders and memberships.
+     * @return number of day rows written
+     */
+    int rebuildRevenueRollup();
     
     Page<TransactionDTO> getTransactions(Pageable pageable, OrderSearchDTO searchDTO);
+
+    /* keyset form of getTransactions, newest first on (orderDate, orderId) */
+    CursorPageDTO<TransactionDTO> getTransactionsByCursor(String cursor, int limit, OrderSearchDTO searchDTO);
     
     TransactionDTO approveTransaction(Long id);
     
@@ -0,0 +1,23 @@
+package org.csps.backend.service;
+
+import org.csps.backend.domain.entities.MerchVariantItem;
+
+public interface StockReservationService {
+
+    /**
+     * Take quantity units of a merch variant item out of stock for an order line.
+     * Hot-stock items are admitted from the in-memory ledger; otherwise the strategy
+     * (row lock or conditional decrement) follows stock-reservation.mode.
+     *
+     * In ATOMIC mode the decrement runs just before the surrounding transaction commits, so a shortage
+     * found then fails the commit instead of this call.
+     *
+     * @return the reserved item; in ATOMIC mode its stockQuantity is the value read before the decrement
+     */
+    MerchVariantItem reserve(Long merchVariantItemId, int quantity);
+
+    /**
+     * Put quantity units back into stock after a cancellation or rejection.
+     */
+    void release(Long merchVariantItemId, int quantity);
+}
@@ -1,5 +1,6 @@
 package org.csps.backend.service;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,7 +49,7 @@ public interface StudentMembershipService {
 
     /**
      * Get all students who do NOT have an active membership (non-members), paginated.
-     * Uses a NOT IN subquery to exclude students with active memberships.
+     * Uses a NOT EXISTS anti-join to exclude students with active memberships.
      *
      * @param pageable pagination details
      * @return paginated list of inactive non-member DTOs
@@ -96,6 +97,20 @@ public interface StudentMembershipService {
      */
     List<StudentResponseDTO> getAllNonMembers();
 
+    /**
+     * Write ALL active members as CSV directly to the given stream, reading from a database cursor.
+     *
+     * @param outputStream destination of the CSV bytes; left open for the caller
+     */
+    void exportActiveMembersCsv(OutputStream outputStream);
+
+    /**
+     * Write ALL non-members as CSV directly to the given stream, reading from a database cursor.
+     *
+     * @param outputStream destination of the CSV bytes; left open for the caller
+     */
+    void exportNonMembersCsv(OutputStream outputStream);
+
     /**
      * Bulk create memberships for multiple students in a single academic year.
      * Duplicates and non-existent students are silently skipped.
@@ -5,11 +5,20 @@ import java.util.Map;
 
 import org.csps.backend.domain.dtos.request.TicketFreebieAssignmentRequestDTO;
 import org.csps.backend.domain.dtos.response.TicketFreebieAssignmentResponseDTO;
+import org.csps.backend.domain.entities.OrderItem;
 
 public interface TicketFreebieAssignmentService {
     /** Initialize or update ticket freebie assignments when a new order item is created. */
     List<TicketFreebieAssignmentResponseDTO> initializeAssignments(Long orderItemId, List<TicketFreebieAssignmentRequestDTO> requests);
 
+    /**
+     * Initialize assignments for order items created together in one checkout, loading their
+     * freebie configs in a single query. Returns the assignment view of every given item keyed by id.
+     */
+    Map<Long, List<TicketFreebieAssignmentResponseDTO>> initializeAssignments(
+            List<OrderItem> newOrderItems,
+            Map<Long, List<TicketFreebieAssignmentRequestDTO>> requestsByOrderItemId);
+
     /** Get the effective freebie assignment view for an order item. */
     List<TicketFreebieAssignmentResponseDTO> getAssignmentsByOrderItemId(Long orderItemId);
 
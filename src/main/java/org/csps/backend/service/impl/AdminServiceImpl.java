@@ -24,6 +24,7 @@ import org.csps.backend.repository.AdminRepository;
 import org.csps.backend.repository.StudentRepository;
 import org.csps.backend.repository.UserAccountRepository;
 import org.csps.backend.repository.UserProfileRepository;
+import org.csps.backend.security.PrincipalCache;
 import org.csps.backend.service.AdminService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -43,6 +44,7 @@ public class AdminServiceImpl implements AdminService {
     private final StudentRepository studentRepository;
     private final UserProfileRepository userProfileRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
 
     private final UserMapper userMapper;
@@ -170,6 +172,9 @@ public class AdminServiceImpl implements AdminService {
         Admin admin = adminRepository.findById(adminId)
                 .orElseThrow(() -> new AdminNotFoundException("Admin not found"));
         adminRepository.delete(admin);
+        if (admin.getUserAccount() != null) {
+            principalCache.invalidate(admin.getUserAccount().getUserAccountId());
+        }
         return adminMapper.toResponseDTO(admin);
     }
 
@@ -188,6 +193,7 @@ public class AdminServiceImpl implements AdminService {
         String defaultPassword = String.format("%s%s", adminPasswordFormat, position);
         adminUserAccount.setPassword(passwordEncoder.encode(defaultPassword));
         userAccountRepository.save(adminUserAccount);
+        principalCache.invalidate(adminUserAccount.getUserAccountId());
 
         return adminMapper.toResponseDTO(admin);
     }
@@ -237,6 +243,7 @@ public class AdminServiceImpl implements AdminService {
         
         // Save the admin
         admin = adminRepository.save(admin);
+        principalCache.invalidate(adminUserAccount.getUserAccountId());
         
         return adminMapper.toResponseDTO(admin);
     }
@@ -281,6 +288,7 @@ public class AdminServiceImpl implements AdminService {
         
         // Delete the admin user account (student account remains untouched)
         userAccountRepository.delete(adminUserAccount);
+        principalCache.invalidate(adminUserAccount.getUserAccountId());
         
         return adminMapper.toResponseDTO(admin);
     }
@@ -1,7 +1,13 @@
 package org.csps.backend.service.impl;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.csps.backend.domain.dtos.response.AnnouncementResponseDTO;
 import org.csps.backend.service.AnnouncementService;
@@ -9,6 +15,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -29,8 +36,57 @@ public class AnnouncementServiceImpl implements AnnouncementService {
     @Value("${metagraph.api.graphapikey}")
     private String graphApiKey;
 
+    @Value("${announcements.cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    /* the feed is fetched at most once per ttl; its version is a hash of the content, so every replica agrees on it */
+    private record Snapshot(List<AnnouncementResponseDTO> announcements, String version, Instant expiresAt) {}
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
     @Override
     public List<AnnouncementResponseDTO> getAllAnnouncements() {
+        return new ArrayList<>(currentSnapshot().announcements());
+    }
+
+    @Override
+    public String getAnnouncementsVersion() {
+        return "announcements-" + currentSnapshot().version();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.expiresAt().isAfter(Instant.now())) {
+            return current;
+        }
+
+        refreshLock.lock();
+        try {
+            current = snapshot;
+            if (current != null && current.expiresAt().isAfter(Instant.now())) {
+                return current;
+            }
+
+            List<AnnouncementResponseDTO> fetched = List.copyOf(fetchAnnouncements());
+            current = new Snapshot(fetched, contentHash(fetched), Instant.now().plus(cacheTtl));
+            snapshot = current;
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private String contentHash(List<AnnouncementResponseDTO> announcements) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(announcements));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash announcements", e);
+        }
+    }
+
+    private List<AnnouncementResponseDTO> fetchAnnouncements() {
         try {
             
             // Build the Facebook Graph API URL
@@ -0,0 +1,429 @@
+package org.csps.backend.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.csps.backend.configs.AttendanceGateConfig;
+import org.csps.backend.domain.dtos.response.AttendanceRecordResponseDTO;
+import org.csps.backend.domain.entities.EventParticipant;
+import org.csps.backend.domain.entities.EventSession;
+import org.csps.backend.domain.enums.SessionStatus;
+import org.csps.backend.exception.DuplicateCheckInException;
+import org.csps.backend.exception.EventSessionNotFoundException;
+import org.csps.backend.exception.InvalidRequestException;
+import org.csps.backend.exception.SessionNotActiveException;
+import org.csps.backend.exception.StudentNotParticipantException;
+import org.csps.backend.repository.AttendanceRecordRepository;
+import org.csps.backend.repository.EventParticipantRepository;
+import org.csps.backend.repository.EventSessionRepository;
+import org.csps.backend.service.AttendanceGateService;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceGateServiceImpl implements AttendanceGateService {
+
+    private static final String INSERT_ATTENDANCE_SQL =
+            "INSERT INTO attendance_record (event_participant_id, session_id, checked_in_at, qr_token_used, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_ATTENDANCE_IDS_SQL =
+            "SELECT attendance_id, event_participant_id FROM attendance_record " +
+            "WHERE session_id = :sessionId AND event_participant_id IN (:participantIds)";
+    /* shared lock: a status or gate change on any node waits for the batch, or the batch sees the change */
+    private static final String SELECT_SESSION_STATE_SQL =
+            "SELECT session_id, session_status, gate_mode FROM event_session " +
+            "WHERE session_id IN (:sessionIds) FOR SHARE";
+    /* matches hibernate.jdbc.time_zone, which every JPA read of attendance_record goes through */
+    private static final TimeZone UTC = TimeZone.getTimeZone(ZoneOffset.UTC);
+
+    private final EventSessionRepository eventSessionRepository;
+    private final EventParticipantRepository eventParticipantRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final AttendanceGateConfig attendanceGateConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final Map<Long, Gate> gates = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingCheckIn> pendingCheckIns = new LinkedBlockingQueue<>();
+    /* serialises gate switches so a session never has two gates */
+    private final ReentrantLock modeLock = new ReentrantLock();
+    /* the scheduler and the shutdown hook may both flush */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Override
+    public boolean isOpen(Long sessionId) {
+        return sessionId != null && gates.containsKey(sessionId);
+    }
+
+    @Override
+    public AttendanceRecordResponseDTO checkIn(Long sessionId, String studentId, String qrToken) {
+        Gate gate = gates.get(sessionId);
+        if (gate == null) {
+            return null;
+        }
+
+        GateParticipant participant = gate.roster.get(studentId);
+        if (participant == null) {
+            /* joined after the gate opened */
+            participant = transactionTemplate.execute(status -> eventParticipantRepository
+                    .findByEventEventIdAndStudent_StudentId(gate.eventId, studentId)
+                    .map(GateParticipant::from)
+                    .orElse(null));
+            if (participant == null) {
+                throw new StudentNotParticipantException("Student " + studentId + " is not registered for this event");
+            }
+            gate.roster.putIfAbsent(studentId, participant);
+        }
+
+        if (!gate.checkedIn.add(participant.participantId())) {
+            throw new DuplicateCheckInException("Already checked in for this session. One check-in per session please.");
+        }
+
+        PendingCheckIn pending = new PendingCheckIn(gate, participant, studentId, LocalDateTime.now(), qrToken,
+                new CompletableFuture<>());
+        pendingCheckIns.add(pending);
+        return awaitResult(pending);
+    }
+
+    @Override
+    public void open(Long sessionId) {
+        modeLock.lock();
+        try {
+            if (gates.containsKey(sessionId)) {
+                throw new InvalidRequestException("Session is already in gate mode");
+            }
+
+            Gate gate = transactionTemplate.execute(status -> {
+                EventSession session = eventSessionRepository.findById(sessionId)
+                        .orElseThrow(() -> new EventSessionNotFoundException("Session not found with ID: " + sessionId));
+                if (session.getSessionStatus() != SessionStatus.ACTIVE) {
+                    throw new SessionNotActiveException("Session is not currently active. Status: " + session.getSessionStatus());
+                }
+                session.setGateMode(true);
+                eventSessionRepository.save(session);
+                return loadGate(session);
+            });
+            gates.put(sessionId, gate);
+            log.info("event session {} opened in gate mode with {} participants", sessionId, gate.roster.size());
+        } finally {
+            modeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close(Long sessionId) {
+        modeLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                EventSession session = eventSessionRepository.findById(sessionId)
+                        .orElseThrow(() -> new EventSessionNotFoundException("Session not found with ID: " + sessionId));
+                session.setGateMode(false);
+                eventSessionRepository.save(session);
+            });
+            if (gates.remove(sessionId) != null) {
+                log.info("event session {} closed gate mode", sessionId);
+            }
+        } finally {
+            modeLock.unlock();
+        }
+    }
+
+    @Override
+    public void loadOpenGates() {
+        for (EventSession session : eventSessionRepository.findByGateModeTrue()) {
+            Long sessionId = session.getSessionId();
+            try {
+                if (session.getSessionStatus() != SessionStatus.ACTIVE) {
+                    close(sessionId);
+                    continue;
+                }
+                Gate gate = transactionTemplate.execute(status -> loadGate(session));
+                gates.put(sessionId, gate);
+            } catch (Exception e) {
+                log.error("failed to reopen gate for event session {}: {}", sessionId, e.getMessage(), e);
+            }
+        }
+        if (!gates.isEmpty()) {
+            log.info("reopened check-in gates for {} event sessions", gates.size());
+        }
+    }
+
+    @Override
+    public void flushPendingCheckIns() {
+        flushLock.lock();
+        try {
+            List<PendingCheckIn> batch = new ArrayList<>(attendanceGateConfig.getBatchSize());
+            while (pendingCheckIns.drainTo(batch, attendanceGateConfig.getBatchSize()) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private Gate loadGate(EventSession session) {
+        Map<String, GateParticipant> roster = new ConcurrentHashMap<>();
+        for (EventParticipant participant : eventParticipantRepository.findByEventEventId(session.getEvent().getEventId())) {
+            roster.put(participant.getStudent().getStudentId(), GateParticipant.from(participant));
+        }
+
+        Set<Long> checkedIn = ConcurrentHashMap.newKeySet();
+        checkedIn.addAll(attendanceRecordRepository.findParticipantIdsBySessionId(session.getSessionId()));
+        return new Gate(session.getSessionId(), session.getSessionName(), session.getEvent().getEventId(), roster, checkedIn);
+    }
+
+    /* one transaction per batch; any failure falls back to row-by-row inserts so one bad row cannot sink the rest */
+    private void writeBatch(List<PendingCheckIn> batch) {
+        Map<PendingCheckIn, Long> attendanceIds;
+        try {
+            attendanceIds = transactionTemplate.execute(status -> {
+                List<PendingCheckIn> admitted = admitted(batch);
+                if (admitted.isEmpty()) {
+                    return Map.of();
+                }
+                jdbcTemplate.batchUpdate(INSERT_ATTENDANCE_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bindCheckIn(ps, admitted.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return admitted.size();
+                    }
+                });
+                return findAttendanceIds(admitted);
+            });
+        } catch (RuntimeException e) {
+            if (!(e instanceof DuplicateKeyException)) {
+                log.warn("gate batch of {} check-ins failed, retrying row by row: {}", batch.size(), e.getMessage());
+            }
+            attendanceIds = writeRowByRow(batch);
+        }
+
+        for (PendingCheckIn pending : batch) {
+            if (pending.result().isDone()) {
+                /* already rejected because its session ended or its row failed */
+                continue;
+            }
+            Long attendanceId = attendanceIds.get(pending);
+            if (attendanceId == null) {
+                /* checked in through the database path or on another node */
+                pending.result().completeExceptionally(
+                        new DuplicateCheckInException("Already checked in for this session. One check-in per session please."));
+            } else {
+                pending.result().complete(toResponseDTO(pending, attendanceId));
+            }
+        }
+    }
+
+    /* each row in its own transaction; a row that fails for any reason but a duplicate also drops its gate */
+    private Map<PendingCheckIn, Long> writeRowByRow(List<PendingCheckIn> batch) {
+        Map<PendingCheckIn, Long> attendanceIds = new HashMap<>();
+        for (PendingCheckIn pending : batch) {
+            if (pending.result().isDone()) {
+                continue;
+            }
+            try {
+                attendanceIds.putAll(transactionTemplate.execute(status -> {
+                    List<PendingCheckIn> admitted = admitted(List.of(pending));
+                    if (admitted.isEmpty()) {
+                        return Map.<PendingCheckIn, Long>of();
+                    }
+                    jdbcTemplate.update(INSERT_ATTENDANCE_SQL, ps -> bindCheckIn(ps, pending));
+                    return findAttendanceIds(admitted);
+                }));
+            } catch (DuplicateKeyException e) {
+                /* left out of the result and reported as a duplicate */
+            } catch (RuntimeException e) {
+                log.error("failed to write gate check-in of participant {} for event session {}: {}",
+                        pending.participant().participantId(), pending.gate().sessionId, e.getMessage(), e);
+                fail(pending, new InvalidRequestException("Check-in could not be recorded, please scan again"));
+                /* later scans take the database path, which reports errors to the scanner directly */
+                dropGate(pending.gate(), "a check-in could not be written");
+            }
+        }
+        return attendanceIds;
+    }
+
+    /**
+     * Re-read the state of the batch's sessions from the database, since gates are per node and a session
+     * may have been ended or switched out of gate mode on another one. Check-ins for a session that is no
+     * longer ACTIVE are rejected; a session that left gate mode but is still ACTIVE keeps its check-ins
+     * and only loses this node's gate. Must run inside the batch transaction.
+     */
+    private List<PendingCheckIn> admitted(List<PendingCheckIn> batch) {
+        Map<Long, List<PendingCheckIn>> bySession = batch.stream()
+                .collect(Collectors.groupingBy(pending -> pending.gate().sessionId));
+        Map<Long, SessionStatus> statuses = new HashMap<>();
+        Set<Long> gateModeOff = new HashSet<>();
+        namedParameterJdbcTemplate.query(SELECT_SESSION_STATE_SQL,
+                new MapSqlParameterSource("sessionIds", bySession.keySet()), rs -> {
+                    long sessionId = rs.getLong("session_id");
+                    statuses.put(sessionId, SessionStatus.valueOf(rs.getString("session_status")));
+                    if (!rs.getBoolean("gate_mode")) {
+                        gateModeOff.add(sessionId);
+                    }
+                });
+
+        List<PendingCheckIn> admitted = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, List<PendingCheckIn>> entry : bySession.entrySet()) {
+            Gate gate = entry.getValue().get(0).gate();
+            SessionStatus status = statuses.get(entry.getKey());
+            if (status != SessionStatus.ACTIVE) {
+                dropGate(gate, "the session is " + status);
+                RuntimeException cause = status == null
+                        ? new EventSessionNotFoundException("Session not found with ID: " + entry.getKey())
+                        : new SessionNotActiveException("Session is not currently active. Status: " + status);
+                entry.getValue().forEach(pending -> fail(pending, cause));
+                continue;
+            }
+            if (gateModeOff.contains(entry.getKey())) {
+                dropGate(gate, "gate mode was switched off");
+            }
+            admitted.addAll(entry.getValue());
+        }
+        return admitted;
+    }
+
+    private void dropGate(Gate gate, String reason) {
+        if (gates.remove(gate.sessionId, gate)) {
+            log.warn("dropped check-in gate for event session {}: {}", gate.sessionId, reason);
+        }
+    }
+
+    private Map<PendingCheckIn, Long> findAttendanceIds(List<PendingCheckIn> written) {
+        Map<PendingCheckIn, Long> attendanceIds = new HashMap<>();
+        Map<Long, List<PendingCheckIn>> bySession = written.stream()
+                .collect(Collectors.groupingBy(pending -> pending.gate().sessionId));
+
+        for (Map.Entry<Long, List<PendingCheckIn>> entry : bySession.entrySet()) {
+            Map<Long, PendingCheckIn> byParticipant = entry.getValue().stream()
+                    .collect(Collectors.toMap(pending -> pending.participant().participantId(), pending -> pending));
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("sessionId", entry.getKey())
+                    .addValue("participantIds", byParticipant.keySet());
+            namedParameterJdbcTemplate.query(SELECT_ATTENDANCE_IDS_SQL, params, rs -> {
+                PendingCheckIn pending = byParticipant.get(rs.getLong("event_participant_id"));
+                if (pending != null) {
+                    attendanceIds.put(pending, rs.getLong("attendance_id"));
+                }
+            });
+        }
+        return attendanceIds;
+    }
+
+    private static void bindCheckIn(PreparedStatement ps, PendingCheckIn pending) throws SQLException {
+        ps.setLong(1, pending.participant().participantId());
+        ps.setLong(2, pending.gate().sessionId);
+        ps.setTimestamp(3, Timestamp.valueOf(pending.checkedInAt()), Calendar.getInstance(UTC));
+        ps.setString(4, pending.qrToken());
+        ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()), Calendar.getInstance(UTC));
+    }
+
+    /* let the participant scan again, the record was never written */
+    private void fail(PendingCheckIn pending, RuntimeException cause) {
+        pending.gate().checkedIn.remove(pending.participant().participantId());
+        pending.result().completeExceptionally(cause);
+    }
+
+    private AttendanceRecordResponseDTO awaitResult(PendingCheckIn pending) {
+        try {
+            return pending.result().get(attendanceGateConfig.getAckTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new InvalidRequestException("Check-in is still being recorded, please check the attendance list before scanning again");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidRequestException("Interrupted while recording check-in");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new InvalidRequestException("Check-in could not be recorded, please scan again");
+        }
+    }
+
+    private static AttendanceRecordResponseDTO toResponseDTO(PendingCheckIn pending, Long attendanceId) {
+        AttendanceRecordResponseDTO dto = new AttendanceRecordResponseDTO();
+        dto.setAttendanceId(attendanceId);
+        dto.setParticipantId(pending.participant().participantId());
+        dto.setStudentId(pending.studentId());
+        dto.setStudentName(pending.participant().firstName());
+        dto.setSessionId(pending.gate().sessionId);
+        dto.setSessionName(pending.gate().sessionName);
+        dto.setCheckedInAt(pending.checkedInAt());
+        return dto;
+    }
+
+    /**
+     * In-memory view of an ACTIVE session at the entrance: who may check in and who already has.
+     */
+    private static final class Gate {
+        private final Long sessionId;
+        private final String sessionName;
+        private final Long eventId;
+        private final Map<String, GateParticipant> roster;
+        private final Set<Long> checkedIn;
+
+        private Gate(Long sessionId, String sessionName, Long eventId,
+                     Map<String, GateParticipant> roster, Set<Long> checkedIn) {
+            this.sessionId = sessionId;
+            this.sessionName = sessionName;
+            this.eventId = eventId;
+            this.roster = roster;
+            this.checkedIn = checkedIn;
+        }
+    }
+
+    private record GateParticipant(long participantId, String firstName) {
+
+        static GateParticipant from(EventParticipant participant) {
+            var userAccount = participant.getStudent().getUserAccount();
+            String firstName = userAccount != null && userAccount.getUserProfile() != null
+                    ? userAccount.getUserProfile().getFirstName()
+                    : null;
+            return new GateParticipant(participant.getParticipantId(), firstName);
+        }
+    }
+
+    private record PendingCheckIn(
+            Gate gate,
+            GateParticipant participant,
+            String studentId,
+            LocalDateTime checkedInAt,
+            String qrToken,
+            CompletableFuture<AttendanceRecordResponseDTO> result) {
+    }
+}
@@ -1,6 +1,7 @@
 package org.csps.backend.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.List;
 
 import org.csps.backend.domain.dtos.request.AttendanceRecordSearchDTO;
@@ -20,14 +21,16 @@ import org.csps.backend.repository.AttendanceRecordRepository;
 import org.csps.backend.repository.EventParticipantRepository;
 import org.csps.backend.repository.EventSessionRepository;
 import org.csps.backend.repository.specification.AttendanceRecordSpecification;
+import org.csps.backend.service.AttendanceGateService;
 import org.csps.backend.service.AttendanceRecordService;
 import org.csps.backend.service.QRTokenService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.transaction.Transactional;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -39,26 +42,39 @@ public class AttendanceRecordServiceImpl implements AttendanceRecordService {
     private final EventParticipantRepository eventParticipantRepository;
     private final AttendanceRecordMapper attendanceRecordMapper;
     private final QRTokenService qrTokenService;
+    private final AttendanceGateService attendanceGateService;
+    private final TransactionTemplate transactionTemplate;
 
+    /* not transactional itself: a gate check-in waits for its batch and must not hold a connection meanwhile */
     @Override
-    @Transactional
     public AttendanceRecordResponseDTO checkInWithQR(Long sessionId, String qrToken) {
-        /* 1. validate QR token signature and extract claims */
-        if (!qrTokenService.isQRTokenValid(qrToken)) {
+        /* 1. validate QR token signature and extract claims once for all checks below */
+        Claims claims = qrTokenService.validateAndExtractClaims(qrToken);
+        if (claims == null) {
             throw new InvalidQRTokenException("QR code is invalid or has been tampered with");
         }
 
         /* 2. check if QR token is expired */
-        if (qrTokenService.isQRTokenExpired(qrToken)) {
+        if (claims.getExpiration().before(new Date())) {
             throw new InvalidQRTokenException("QR code is expired, please scan a new one or ask for assistance");
         }
 
         /* 3. extract student id from QR token */
-        String studentId = qrTokenService.extractStudentId(qrToken);
+        String studentId = claims.get("studentId", String.class);
         if (studentId == null) {
             throw new InvalidQRTokenException("QR code does not contain valid student information");
         }
 
+        /* sessions in gate mode check in from memory and write in batches */
+        AttendanceRecordResponseDTO gateRecord = attendanceGateService.checkIn(sessionId, studentId, qrToken);
+        if (gateRecord != null) {
+            return gateRecord;
+        }
+
+        return transactionTemplate.execute(status -> recordCheckIn(sessionId, studentId, qrToken));
+    }
+
+    private AttendanceRecordResponseDTO recordCheckIn(Long sessionId, String studentId, String qrToken) {
         /* 4. get and verify session exists */
         EventSession session = eventSessionRepository.findById(sessionId)
             .orElseThrow(() -> new EventSessionNotFoundException("Session not found with ID: " + sessionId));
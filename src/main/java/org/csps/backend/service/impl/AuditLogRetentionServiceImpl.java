@@ -0,0 +1,277 @@
+package org.csps.backend.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.csps.backend.configs.AuditLogRetentionConfig;
+import org.csps.backend.service.AuditLogRetentionService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps audit_log range-partitioned by month on timestamp, partition pYYYYMM holding that month
+ * and pmax catching anything beyond the premade months. Expired months are archived and then
+ * dropped with DROP PARTITION, which is a metadata change instead of a large DELETE.
+ *
+ * Every job runs on one connection holding a MySQL named lock, so replicas never reorganise
+ * or archive the table at the same time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogRetentionServiceImpl implements AuditLogRetentionService {
+
+    private static final String LOCK_NAME = "audit_log_retention";
+    private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String MAX_PARTITION = "pmax";
+    /* Connector/J buffers a whole result set unless told to stream, so a month is read in bounded keyset chunks */
+    private static final int ARCHIVE_CHUNK_SIZE = 1000;
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_log' AND PARTITION_NAME IS NOT NULL";
+    private static final String FOREIGN_KEYS_SQL =
+            "SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_log' AND REFERENCED_TABLE_NAME IS NOT NULL";
+    private static final String ARCHIVE_COLUMNS =
+            "SELECT id, admin_id, action, resource_type, resource_id, description, timestamp FROM audit_log";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRetentionConfig auditLogRetentionConfig;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void preparePartitions() {
+        if (!auditLogRetentionConfig.isPartitioningEnabled()) {
+            return;
+        }
+        withLock(jdbc -> {
+            TreeSet<YearMonth> months = partitionMonths(jdbc);
+            if (months == null) {
+                partitionTable(jdbc);
+            } else {
+                addPremadePartitions(jdbc, months);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int archiveExpiredMonths() {
+        YearMonth horizon = YearMonth.now().minusMonths(auditLogRetentionConfig.getRetentionMonths());
+        Integer archived = withLock(jdbc -> {
+            TreeSet<YearMonth> months = partitionMonths(jdbc);
+            int count = 0;
+            if (months != null) {
+                for (YearMonth month : months) {
+                    if (month.isBefore(horizon)) {
+                        archiveMonth(jdbc, month, " PARTITION (" + partitionName(month) + ")");
+                        jdbc.execute("ALTER TABLE audit_log DROP PARTITION " + partitionName(month));
+                        count++;
+                    }
+                }
+            } else {
+                for (YearMonth month : unpartitionedMonths(jdbc)) {
+                    if (month.isBefore(horizon)) {
+                        archiveMonth(jdbc, month, "");
+                        deleteMonth(jdbc, month);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    /* null when another replica holds the lock */
+    private <T> T withLock(Function<JdbcTemplate, T> job) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer locked = jdbc.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                log.info("audit log retention is running elsewhere, skipping");
+                return null;
+            }
+            try {
+                return job.apply(jdbc);
+            } finally {
+                jdbc.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+        });
+    }
+
+    /* months that have a partition, or null when the table is not partitioned */
+    private TreeSet<YearMonth> partitionMonths(JdbcTemplate jdbc) {
+        List<String> names = jdbc.queryForList(PARTITIONS_SQL, String.class);
+        if (names.isEmpty()) {
+            return null;
+        }
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            if (!MAX_PARTITION.equals(name)) {
+                months.add(YearMonth.parse(name, PARTITION_FORMAT));
+            }
+        }
+        return months;
+    }
+
+    /* one-off rebuild: the partition column must be part of the primary key and foreign keys must go */
+    private void partitionTable(JdbcTemplate jdbc) {
+        log.info("converting audit_log to monthly partitions, this rebuilds the table once");
+        for (String foreignKey : jdbc.queryForList(FOREIGN_KEYS_SQL, String.class)) {
+            jdbc.execute("ALTER TABLE audit_log DROP FOREIGN KEY `" + foreignKey + "`");
+        }
+        jdbc.execute("ALTER TABLE audit_log DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp)");
+
+        Timestamp oldest = jdbc.queryForObject("SELECT MIN(timestamp) FROM audit_log", Timestamp.class);
+        YearMonth first = oldest == null ? YearMonth.now() : YearMonth.from(oldest.toLocalDateTime());
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(lastPremadeMonth()); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        jdbc.execute("ALTER TABLE audit_log PARTITION BY RANGE COLUMNS(timestamp) (" + partitionDefinitions(months) + ")");
+        log.info("audit_log partitioned into {} monthly partitions", months.size());
+    }
+
+    /* split the empty pmax so upcoming months get their own partitions */
+    private void addPremadePartitions(JdbcTemplate jdbc, TreeSet<YearMonth> existing) {
+        YearMonth last = existing.isEmpty() ? YearMonth.now().minusMonths(1) : existing.last();
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(lastPremadeMonth()); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        if (months.isEmpty()) {
+            return;
+        }
+        jdbc.execute("ALTER TABLE audit_log REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" + partitionDefinitions(months) + ")");
+        log.info("added {} audit_log partitions up to {}", months.size(), lastPremadeMonth());
+    }
+
+    private YearMonth lastPremadeMonth() {
+        return YearMonth.now().plusMonths(auditLogRetentionConfig.getPremadeMonths());
+    }
+
+    private static String partitionDefinitions(List<YearMonth> months) {
+        StringBuilder definitions = new StringBuilder();
+        for (YearMonth month : months) {
+            definitions.append("PARTITION ").append(partitionName(month))
+                    .append(" VALUES LESS THAN ('").append(month.plusMonths(1).atDay(1)).append("'), ");
+        }
+        return definitions.append("PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN (MAXVALUE)").toString();
+    }
+
+    private static String partitionName(YearMonth month) {
+        return month.format(PARTITION_FORMAT);
+    }
+
+    private List<YearMonth> unpartitionedMonths(JdbcTemplate jdbc) {
+        Timestamp oldest = jdbc.queryForObject("SELECT MIN(timestamp) FROM audit_log", Timestamp.class);
+        List<YearMonth> months = new ArrayList<>();
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(YearMonth.now()); month = month.plusMonths(1)) {
+                months.add(month);
+            }
+        }
+        return months;
+    }
+
+    private static String monthRange(YearMonth month) {
+        return " WHERE timestamp >= '" + month.atDay(1) + "' AND timestamp < '" + month.plusMonths(1).atDay(1) + "'";
+    }
+
+    /* written to a temp file and moved into place, so a crash never leaves a truncated archive behind a dropped month;
+       a rerun after a partial delete writes a second file instead of replacing the first */
+    private void archiveMonth(JdbcTemplate jdbc, YearMonth month, String partition) {
+        Path directory = Paths.get(auditLogRetentionConfig.getArchiveDir());
+        Path target = directory.resolve("audit_log-" + month + ".ndjson.gz");
+        if (Files.exists(target)) {
+            target = directory.resolve("audit_log-" + month + "-" + System.currentTimeMillis() + ".ndjson.gz");
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "audit_log-" + month, ".tmp");
+            String firstChunk = ARCHIVE_COLUMNS + partition + monthRange(month) + " ORDER BY timestamp, id LIMIT ?";
+            String nextChunk = ARCHIVE_COLUMNS + partition + monthRange(month)
+                    + " AND (timestamp > ? OR (timestamp = ? AND id > ?)) ORDER BY timestamp, id LIMIT ?";
+            long rows = 0;
+            try (OutputStream file = Files.newOutputStream(temp);
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(file), StandardCharsets.UTF_8))) {
+                List<ArchiveRow> chunk = jdbc.query(firstChunk, AuditLogRetentionServiceImpl::archiveRow, ARCHIVE_CHUNK_SIZE);
+                while (!chunk.isEmpty()) {
+                    for (ArchiveRow row : chunk) {
+                        writer.write(objectMapper.writeValueAsString(row.json()));
+                        writer.write('\n');
+                    }
+                    rows += chunk.size();
+                    if (chunk.size() < ARCHIVE_CHUNK_SIZE) {
+                        break;
+                    }
+                    ArchiveRow last = chunk.get(chunk.size() - 1);
+                    chunk = jdbc.query(nextChunk, AuditLogRetentionServiceImpl::archiveRow,
+                            last.timestamp(), last.timestamp(), last.id(), ARCHIVE_CHUNK_SIZE);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("archived {} audit log rows for {} to {}", rows, month, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to archive audit logs for " + month, e);
+        }
+    }
+
+    /* the raw timestamp is kept beside the JSON so the next chunk's bound round-trips exactly */
+    private record ArchiveRow(Map<String, Object> json, Timestamp timestamp, long id) {}
+
+    private static ArchiveRow archiveRow(ResultSet rs, int rowNum) throws SQLException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        Timestamp timestamp = rs.getTimestamp("timestamp");
+        row.put("id", rs.getLong("id"));
+        row.put("adminId", rs.getLong("admin_id"));
+        row.put("action", rs.getString("action"));
+        row.put("resourceType", rs.getString("resource_type"));
+        row.put("resourceId", rs.getString("resource_id"));
+        row.put("description", rs.getString("description"));
+        row.put("timestamp", timestamp.toLocalDateTime().toString());
+        return new ArchiveRow(row, timestamp, rs.getLong("id"));
+    }
+
+    /* short batches keep each delete's locks and undo small on a table that is still being written */
+    private void deleteMonth(JdbcTemplate jdbc, YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        int deleted;
+        do {
+            deleted = jdbc.update("DELETE FROM audit_log WHERE timestamp >= ? AND timestamp < ? ORDER BY timestamp, id LIMIT ?",
+                    start, end, auditLogRetentionConfig.getDeleteBatchSize());
+        } while (deleted > 0);
+    }
+}
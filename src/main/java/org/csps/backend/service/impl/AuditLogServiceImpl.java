@@ -1,35 +1,116 @@
 package org.csps.backend.service.impl;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
-import org.csps.backend.domain.entities.Admin;
+import org.csps.backend.configs.AuditLogWriterConfig;
+import org.csps.backend.domain.dtos.response.AuditLogResponseDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.entities.AuditLog;
 import org.csps.backend.domain.enums.AuditAction;
+import org.csps.backend.exception.InvalidRequestException;
 import org.csps.backend.repository.AdminRepository;
 import org.csps.backend.repository.AuditLogRepository;
 import org.csps.backend.service.AuditLogService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class AuditLogServiceImpl implements AuditLogService {
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    private static final String INSERT_AUDIT_LOG_SQL =
+            "INSERT INTO audit_log (admin_id, action, resource_type, resource_id, description, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    /* matches hibernate.jdbc.time_zone, which every JPA read of audit_log goes through */
+    private static final TimeZone UTC = TimeZone.getTimeZone(ZoneOffset.UTC);
+
     private final AuditLogRepository auditLogRepository;
     private final AdminRepository adminRepository;
+    private final AuditLogWriterConfig auditLogWriterConfig;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    /* writes may run from an afterCommit callback, so they always get their own transaction */
+    private final TransactionTemplate writeTransaction;
+
+    private final BlockingQueue<PendingAuditLog> pendingAuditLogs;
+    /* the scheduler and the shutdown hook may both flush */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Timer writeLatency;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter writtenThrough;
+    private final Counter failed;
+
+    public AuditLogServiceImpl(AuditLogRepository auditLogRepository,
+                               AdminRepository adminRepository,
+                               AuditLogWriterConfig auditLogWriterConfig,
+                               JdbcTemplate jdbcTemplate,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.auditLogRepository = auditLogRepository;
+        this.adminRepository = adminRepository;
+        this.auditLogWriterConfig = auditLogWriterConfig;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pendingAuditLogs = new ArrayBlockingQueue<>(Math.max(1, auditLogWriterConfig.getQueueCapacity()));
+
+        Gauge.builder("audit.log.queue.depth", pendingAuditLogs, BlockingQueue::size).register(meterRegistry);
+        this.writeLatency = meterRegistry.timer("audit.log.write.latency");
+        this.written = meterRegistry.counter("audit.log.written");
+        this.dropped = meterRegistry.counter("audit.log.dropped");
+        this.writtenThrough = meterRegistry.counter("audit.log.write_through");
+        this.failed = meterRegistry.counter("audit.log.failed");
+    }
 
     @Override
     public AuditLog logAction(Long adminId, AuditAction action, String resourceType, String resourceId, String description) {
-        /* fetch admin entity and create audit log entry with current timestamp */
-        Admin admin = adminRepository.findById(adminId)
-            .orElseThrow(() -> new RuntimeException("Admin not found with id: " + adminId));
-
+        /* reference the admin by id, the insert only needs the foreign key */
         AuditLog auditLog = AuditLog.builder()
-            .admin(admin)
+            .admin(adminRepository.getReferenceById(adminId))
             .action(action)
             .resourceType(resourceType)
             .resourceId(resourceId)
@@ -40,33 +121,186 @@ public class AuditLogServiceImpl implements AuditLogService {
         return auditLogRepository.save(auditLog);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void enqueueAction(Long adminId, AuditAction action, String resourceType, String resourceId, String description) {
+        PendingAuditLog pending = new PendingAuditLog(adminId, action, resourceType, resourceId, description, LocalDateTime.now());
+
+        /* an operation that rolls back leaves no audit entry, same as when the insert joined its transaction */
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(pending);
+                }
+            });
+        } else {
+            offer(pending);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void flushPendingAuditLogs() {
+        flushLock.lock();
+        try {
+            List<PendingAuditLog> batch = new ArrayList<>(auditLogWriterConfig.getBatchSize());
+            while (pendingAuditLogs.drainTo(batch, auditLogWriterConfig.getBatchSize()) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<AuditLog> getAuditLogsByAdmin(Long adminId) {
-        return auditLogRepository.findByAdminId(adminId);
+    public CursorPageDTO<AuditLogResponseDTO> getAuditLogsByAdmin(Long adminId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(auditLogRepository.findPageByAdminId(
+                adminId, after.timestamp(), after.id(), KeysetCursor.probe(limit)), limit);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AuditLog> getAuditLogsByAction(AuditAction action) {
-        return auditLogRepository.findByAction(action);
+    public CursorPageDTO<AuditLogResponseDTO> getAuditLogsByAction(AuditAction action, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(auditLogRepository.findPageByAction(
+                action, after.timestamp(), after.id(), KeysetCursor.probe(limit)), limit);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AuditLog> getAuditLogsByResource(String resourceType, String resourceId) {
-        return auditLogRepository.findByResourceTypeAndResourceId(resourceType, resourceId);
+    public CursorPageDTO<AuditLogResponseDTO> getAuditLogsByResource(String resourceType, String resourceId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(auditLogRepository.findPageByResource(
+                resourceType, resourceId, after.timestamp(), after.id(), KeysetCursor.probe(limit)), limit);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AuditLog> getAuditLogsByTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
-        return auditLogRepository.findByTimestampBetween(startTime, endTime);
+    public CursorPageDTO<AuditLogResponseDTO> getAuditLogsByTimeRange(LocalDateTime startTime, LocalDateTime endTime, String cursor, int limit) {
+        validateTimeRange(startTime, endTime);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(auditLogRepository.findPageByTimestampBetween(
+                startTime, endTime, after.timestamp(), after.id(), KeysetCursor.probe(limit)), limit);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AuditLog> getAuditLogsByAdminAndTimeRange(Long adminId, LocalDateTime startTime, LocalDateTime endTime) {
-        return auditLogRepository.findByAdminIdAndTimestampBetween(adminId, startTime, endTime);
+    public CursorPageDTO<AuditLogResponseDTO> getAuditLogsByAdminAndTimeRange(Long adminId, LocalDateTime startTime, LocalDateTime endTime, String cursor, int limit) {
+        validateTimeRange(startTime, endTime);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toPage(auditLogRepository.findPageByAdminIdAndTimestampBetween(
+                adminId, startTime, endTime, after.timestamp(), after.id(), KeysetCursor.probe(limit)), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAuditLogsNdjson(LocalDateTime startTime, LocalDateTime endTime, OutputStream outputStream) {
+        validateTimeRange(startTime, endTime);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<AuditLogResponseDTO> auditLogs = auditLogRepository.streamByTimestampBetween(startTime, endTime)) {
+            int written = 0;
+            for (AuditLogResponseDTO auditLog : (Iterable<AuditLogResponseDTO>) auditLogs::iterator) {
+                writer.write(objectMapper.writeValueAsString(auditLog));
+                writer.write('\n');
+                if (++written % EXPORT_CHUNK_SIZE == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CursorPageDTO<AuditLogResponseDTO> toPage(List<AuditLogResponseDTO> rows, int limit) {
+        return KeysetCursor.page(rows, limit, row -> new KeysetCursor(row.getTimestamp(), row.getId()));
+    }
+
+    private static void validateTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null || startTime.isAfter(endTime)) {
+            throw new InvalidRequestException("startTime must not be after endTime");
+        }
+    }
+
+    /* a full queue holds the caller for offerTimeout, then the overflow policy applies */
+    private void offer(PendingAuditLog pending) {
+        try {
+            if (pendingAuditLogs.offer(pending, auditLogWriterConfig.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (auditLogWriterConfig.getOverflowPolicy() == AuditLogWriterConfig.OverflowPolicy.DROP) {
+            dropped.increment();
+            log.warn("audit queue full, dropped {} {} on {} by admin {}",
+                    pending.action(), pending.resourceType(), pending.resourceId(), pending.adminId());
+            return;
+        }
+
+        writtenThrough.increment();
+        writeRowByRow(List.of(pending));
+    }
+
+    /* one transaction per batch; a rejected batch is retried row by row so one bad entry cannot sink the rest */
+    private void writeBatch(List<PendingAuditLog> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            writeTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_AUDIT_LOG_SQL, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bindAuditLog(ps, batch.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }));
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("audit batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            writeRowByRow(batch);
+        } finally {
+            sample.stop(writeLatency);
+        }
+    }
+
+    private void writeRowByRow(List<PendingAuditLog> entries) {
+        for (PendingAuditLog pending : entries) {
+            try {
+                writeTransaction.executeWithoutResult(status ->
+                        jdbcTemplate.update(INSERT_AUDIT_LOG_SQL, ps -> bindAuditLog(ps, pending)));
+                written.increment();
+            } catch (DataAccessException e) {
+                failed.increment();
+                log.error("failed to write audit log {} {} on {} by admin {}: {}",
+                        pending.action(), pending.resourceType(), pending.resourceId(), pending.adminId(), e.getMessage());
+            }
+        }
+    }
+
+    private static void bindAuditLog(PreparedStatement ps, PendingAuditLog pending) throws SQLException {
+        ps.setLong(1, pending.adminId());
+        ps.setString(2, pending.action().name());
+        ps.setString(3, pending.resourceType());
+        ps.setString(4, pending.resourceId());
+        ps.setString(5, pending.description());
+        ps.setTimestamp(6, Timestamp.valueOf(pending.timestamp()), Calendar.getInstance(UTC));
+    }
+
+    private record PendingAuditLog(
+            Long adminId,
+            AuditAction action,
+            String resourceType,
+            String resourceId,
+            String description,
+            LocalDateTime timestamp) {
     }
 }
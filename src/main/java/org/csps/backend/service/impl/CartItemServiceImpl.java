@@ -22,7 +22,6 @@ import org.csps.backend.domain.entities.TicketFreebieConfig;
 import org.csps.backend.domain.entities.composites.CartItemId;
 import org.csps.backend.domain.enums.ClothingSizing;
 import org.csps.backend.domain.enums.MerchType;
-import org.csps.backend.domain.enums.OrderStatus;
 import org.csps.backend.domain.enums.TicketFreebieCategory;
 import org.csps.backend.exception.CartItemNotFoundException;
 import org.csps.backend.exception.CartNotFoundException;
@@ -32,9 +31,11 @@ import org.csps.backend.mapper.CartItemMapper;
 import org.csps.backend.repository.CartItemRepository;
 import org.csps.backend.repository.CartRepository;
 import org.csps.backend.repository.MerchVariantItemRepository;
-import org.csps.backend.repository.OrderItemRepository;
 import org.csps.backend.repository.TicketFreebieConfigRepository;
 import org.csps.backend.service.CartItemService;
+import org.csps.backend.service.HotStockService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.PurchaseEligibilityService.Eligibility;
 import org.csps.backend.service.TicketFreebieConfigService;
 import org.springframework.stereotype.Service;
 
@@ -51,10 +52,11 @@ public class CartItemServiceImpl implements CartItemService {
     private final CartItemRepository cartItemRepository;
     private final MerchVariantItemRepository merchVariantItemRepository;
     private final CartRepository cartRepository;
-    private final OrderItemRepository orderItemRepository;
     private final TicketFreebieConfigRepository ticketFreebieConfigRepository;
     private final CartItemMapper cartItemMapper;
     private final TicketFreebieConfigService ticketFreebieConfigService;
+    private final HotStockService hotStockService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
 
     @Override
     @Transactional
@@ -78,8 +80,9 @@ public class CartItemServiceImpl implements CartItemService {
         MerchVariantItem merchVariantItem = merchVariantItemRepository.findById(merchVariantItemId)
                 .orElseThrow(() -> new MerchVariantNotFoundException("Merch variant item not found"));
 
-        if (quantity > merchVariantItem.getStockQuantity()) {
-            throw new InvalidRequestException("Insufficient stock. Available: " + merchVariantItem.getStockQuantity()
+        int availableStock = hotStockService.availableStock(merchVariantItem);
+        if (quantity > availableStock) {
+            throw new InvalidRequestException("Insufficient stock. Available: " + availableStock
                     + ", Requested: " + quantity);
         }
 
@@ -103,7 +106,9 @@ public class CartItemServiceImpl implements CartItemService {
                     .quantity(1)
                     .build();
             applySelections(cartItem, normalizedSelections);
-            return enrichResponse(cartItemMapper.toResponseDTO(cartItemRepository.save(cartItem)), cartItem);
+            CartItem savedCartItem = cartItemRepository.save(cartItem);
+            purchaseEligibilityService.invalidate(studentId);
+            return enrichResponse(cartItemMapper.toResponseDTO(savedCartItem), savedCartItem);
         }
 
         CartItemId cartItemId = new CartItemId(studentId, merchVariantItemId);
@@ -116,13 +121,14 @@ public class CartItemServiceImpl implements CartItemService {
                         .build());
 
         int totalQuantity = cartItem.getQuantity() + quantity;
-        if (totalQuantity > merchVariantItem.getStockQuantity()) {
+        if (totalQuantity > availableStock) {
             throw new InvalidRequestException("Total quantity (" + totalQuantity + ") exceeds available stock ("
-                    + merchVariantItem.getStockQuantity() + ")");
+                    + availableStock + ")");
         }
 
         cartItem.setQuantity(totalQuantity);
         cartItem = cartItemRepository.save(cartItem);
+        purchaseEligibilityService.invalidate(studentId);
         return enrichResponse(cartItemMapper.toResponseDTO(cartItem), cartItem);
     }
 
@@ -150,6 +156,7 @@ public class CartItemServiceImpl implements CartItemService {
             throw new CartItemNotFoundException("Cart item not found");
         }
         cartItemRepository.deleteById(cartItemId);
+        purchaseEligibilityService.invalidate(studentId);
     }
 
     @Override
@@ -171,12 +178,14 @@ public class CartItemServiceImpl implements CartItemService {
 
         if (quantity == 0) {
             cartItemRepository.delete(cartItem);
+            purchaseEligibilityService.invalidate(studentId);
             return null;
         }
 
-        if (quantity > cartItem.getMerchVariantItem().getStockQuantity()) {
+        int availableStock = hotStockService.availableStock(cartItem.getMerchVariantItem());
+        if (quantity > availableStock) {
             throw new InvalidRequestException("Insufficient stock. Available: "
-                    + cartItem.getMerchVariantItem().getStockQuantity() + ", Requested: " + quantity);
+                    + availableStock + ", Requested: " + quantity);
         }
 
         cartItem.setQuantity(quantity);
@@ -261,6 +270,7 @@ public class CartItemServiceImpl implements CartItemService {
                 .orElseThrow(() -> new CartNotFoundException("Cart not found"));
         cart.getItems().clear();
         cartRepository.save(cart);
+        purchaseEligibilityService.invalidate(studentId);
     }
 
     private void applySelections(CartItem cartItem, List<ValidatedCartSelection> selections) {
@@ -311,28 +321,21 @@ public class CartItemServiceImpl implements CartItemService {
             throw new InvalidRequestException("Quantity for ticket and membership items must be exactly 1");
         }
 
+        /* a write guard, so it reads fresh rows rather than the catalog's cached view */
+        Eligibility eligibility = purchaseEligibilityService.loadEligibility(studentId);
         MerchType merchType = merchVariantItem.getMerchVariant().getMerch().getMerchType();
         if (merchType == MerchType.TICKET) {
-            Long merchId = merchVariantItem.getMerchVariant().getMerch().getMerchId();
-            if (cartItemRepository.existsByStudentIdAndMerchId(studentId, merchId)
-                    || hasActiveOrderForMerch(studentId, merchId)) {
+            if (eligibility.blocksTicket(merchVariantItem.getMerchVariant().getMerch().getMerchId())) {
                 throw new InvalidRequestException(ITEM_ALREADY_IN_CART_OR_ORDER);
             }
             return;
         }
 
-        if (cartItemRepository.existsByStudentIdAndMerchType(studentId, merchType)) {
+        if (eligibility.hasTypeInCart(merchType)) {
             throw new InvalidRequestException(ITEM_ALREADY_ADDED);
         }
     }
 
-    private boolean hasActiveOrderForMerch(String studentId, Long merchId) {
-        return orderItemRepository.existsByStudentIdAndMerchIdAndOrderStatusNotIn(
-                studentId,
-                merchId,
-                List.of(OrderStatus.CANCELLED, OrderStatus.REJECTED));
-    }
-
     private CartItemResponseDTO enrichResponse(CartItemResponseDTO response, CartItem cartItem) {
         MerchVariantItem merchVariantItem = cartItem.getMerchVariantItem();
         if (merchVariantItem == null || merchVariantItem.getMerchVariant() == null
@@ -8,6 +8,7 @@ import org.csps.backend.mapper.CartMapper;
 import org.csps.backend.repository.CartRepository;
 import org.csps.backend.service.CartItemService;
 import org.csps.backend.service.CartService;
+import org.csps.backend.service.PurchaseEligibilityService;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
@@ -20,6 +21,7 @@ public class CartServiceImpl implements CartService {
     private final CartRepository cartRepository;
     private final CartMapper cartMapper;
     private final CartItemService cartItemService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
 
     @Override
     public CartResponseDTO getCartByStudentId(String studentId) {
@@ -93,5 +95,6 @@ public class CartServiceImpl implements CartService {
 
         cart.getItems().clear();
         cartRepository.save(cart);
+        purchaseEligibilityService.invalidate(studentId);
     }
 }
@@ -0,0 +1,158 @@
+package org.csps.backend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.csps.backend.configs.CheckoutIdempotencyConfig;
+import org.csps.backend.domain.dtos.request.OrderItemRequestDTO;
+import org.csps.backend.domain.dtos.request.OrderPostRequestDTO;
+import org.csps.backend.domain.dtos.request.TicketFreebieSelectionRequestDTO;
+import org.csps.backend.domain.dtos.response.OrderResponseDTO;
+import org.csps.backend.domain.entities.CheckoutIdempotencyKey;
+import org.csps.backend.exception.InvalidRequestException;
+import org.csps.backend.repository.CheckoutIdempotencyKeyRepository;
+import org.csps.backend.service.CheckoutIdempotencyService;
+import org.csps.backend.service.OrderService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Keys are rows of checkout_idempotency_key, claimed in the checkout's own transaction,
+ * so a retry routed to another replica finds the key just like one that comes back to the same instance.
+ */
+@Service
+@Slf4j
+public class CheckoutIdempotencyServiceImpl implements CheckoutIdempotencyService {
+
+    private final CheckoutIdempotencyConfig checkoutIdempotencyConfig;
+    private final CheckoutIdempotencyKeyRepository checkoutIdempotencyKeyRepository;
+    private final OrderService orderService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate checkoutTransaction;
+
+    public CheckoutIdempotencyServiceImpl(CheckoutIdempotencyConfig checkoutIdempotencyConfig,
+                                          CheckoutIdempotencyKeyRepository checkoutIdempotencyKeyRepository,
+                                          OrderService orderService,
+                                          MeterRegistry meterRegistry,
+                                          PlatformTransactionManager transactionManager) {
+        this.checkoutIdempotencyConfig = checkoutIdempotencyConfig;
+        this.checkoutIdempotencyKeyRepository = checkoutIdempotencyKeyRepository;
+        this.orderService = orderService;
+        this.meterRegistry = meterRegistry;
+        this.checkoutTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public OrderResponseDTO execute(String studentId, String idempotencyKey, OrderPostRequestDTO request,
+            Supplier<OrderResponseDTO> checkout) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return checkout.get();
+        }
+        String normalizedKey = idempotencyKey.trim();
+        if (normalizedKey.length() > checkoutIdempotencyConfig.getMaxKeyLength()) {
+            throw new InvalidRequestException("Idempotency-Key must be at most "
+                    + checkoutIdempotencyConfig.getMaxKeyLength() + " characters");
+        }
+
+        /* keys are scoped per student so one student can never replay another's order */
+        String storeKey = studentId + ":" + normalizedKey;
+        /* fingerprint before running: checkout fills in quantities on the request objects */
+        String fingerprint = fingerprint(request);
+
+        try {
+            return checkoutTransaction.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                checkoutIdempotencyKeyRepository.deleteExpired(storeKey, now.minus(checkoutIdempotencyConfig.getTtl()));
+                try {
+                    checkoutIdempotencyKeyRepository.claim(storeKey, fingerprint, now);
+                } catch (DataIntegrityViolationException e) {
+                    throw new KeyAlreadyClaimedException();
+                }
+
+                /* the checkout joins this transaction, so a failed order also frees the key for a retry */
+                OrderResponseDTO response = checkout.get();
+                checkoutIdempotencyKeyRepository.recordOrder(storeKey, response.getOrderId());
+                return response;
+            });
+        } catch (KeyAlreadyClaimedException e) {
+            return replay(studentId, storeKey, fingerprint);
+        } catch (PessimisticLockingFailureException e) {
+            throw new InvalidRequestException("A checkout with this Idempotency-Key is still being processed");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void evictExpired() {
+        int evicted = checkoutIdempotencyKeyRepository.deleteAllExpired(
+                LocalDateTime.now().minus(checkoutIdempotencyConfig.getTtl()));
+        if (evicted > 0) {
+            meterRegistry.counter("checkout.idempotency.evictions").increment(evicted);
+        }
+    }
+
+    /* the claim failed only after the original checkout committed, so its order is there to replay */
+    private OrderResponseDTO replay(String studentId, String storeKey, String fingerprint) {
+        CheckoutIdempotencyKey claimed = checkoutIdempotencyKeyRepository.findById(storeKey)
+                .orElseThrow(() -> new InvalidRequestException("A checkout with this Idempotency-Key just expired, please retry"));
+        if (!claimed.getFingerprint().equals(fingerprint)) {
+            throw new InvalidRequestException("Idempotency-Key was already used for a different order request");
+        }
+
+        meterRegistry.counter("checkout.idempotency.replays").increment();
+        return orderService.getOrderById(claimed.getOrderId(), studentId);
+    }
+
+    /* SHA-256 of the request in canonical form: line order and selection order do not change it */
+    private static String fingerprint(OrderPostRequestDTO request) {
+        List<String> lines = new ArrayList<>();
+        if (request != null && request.getOrderItems() != null) {
+            for (OrderItemRequestDTO item : request.getOrderItems()) {
+                if (item == null) {
+                    continue;
+                }
+                List<String> selections = new ArrayList<>();
+                if (item.getFreebieSelections() != null) {
+                    for (TicketFreebieSelectionRequestDTO selection : item.getFreebieSelections()) {
+                        if (selection != null) {
+                            selections.add(selection.getTicketFreebieConfigId() + "/" + selection.getSelectedSize()
+                                    + "/" + selection.getSelectedColor() + "/" + selection.getSelectedDesign());
+                        }
+                    }
+                }
+                selections.sort(null);
+                lines.add(item.getMerchVariantItemId() + "|" + item.getQuantity() + "|" + String.join(",", selections));
+            }
+        }
+        lines.sort(null);
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /* signals a duplicate claim out of the checkout transaction so it rolls back before the replay */
+    private static final class KeyAlreadyClaimedException extends RuntimeException {
+
+        private KeyAlreadyClaimedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.csps.backend.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Small RFC 4180 writer shared by the streaming CSV exports.
+ * Rows go straight to the response stream; nothing is buffered beyond the writer's buffer.
+ */
+final class CsvExportWriter {
+
+    private final Writer writer;
+
+    CsvExportWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        /* UTF-8 byte order mark, so Excel reads accented names as UTF-8 */
+        write("\uFEFF");
+    }
+
+    void writeRow(Object... values) {
+        for (int index = 0; index < values.length; index++) {
+            if (index > 0) {
+                write(",");
+            }
+            write(escape(values[index]));
+        }
+        write("\r\n");
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        String text = value.toString();
+        /* keep user-entered text from being evaluated as a spreadsheet formula */
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -11,11 +11,14 @@ import org.csps.backend.domain.dtos.response.EventResponseDTO;
 import org.csps.backend.domain.entities.Event;
 import org.csps.backend.domain.enums.EventStatus;
 import org.csps.backend.domain.enums.EventType;
+import org.csps.backend.domain.enums.VersionedResource;
 import org.csps.backend.exception.EventNotFoundException;
 import org.csps.backend.exception.InvalidRequestException;
 import org.csps.backend.mapper.EventMapper;
 import org.csps.backend.repository.EventRepository;
 import org.csps.backend.service.EventService;
+import org.csps.backend.service.ImageDerivativeService;
+import org.csps.backend.service.ResourceVersionService;
 import org.csps.backend.service.S3Service;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -34,6 +37,8 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
     private final S3Service s3Service;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ResourceVersionService resourceVersionService;
 
     @Override
     @Transactional
@@ -94,9 +99,11 @@ public class EventServiceImpl implements EventService {
         // upload image to S3 if provided
         if (eventImage != null && !eventImage.isEmpty()) {
             String s3ImageKey = s3Service.uploadFile(eventImage, savedEvent.getEventId(), "event");
+            imageDerivativeService.scheduleDerivatives(s3ImageKey);
             savedEvent.setS3ImageKey(s3ImageKey);
             eventRepository.save(savedEvent);
         }
+        resourceVersionService.bump(VersionedResource.EVENTS);
 
         // convert the entity into response dto
         EventResponseDTO eventResponseDTO = eventMapper.toResponseDTO(savedEvent);
@@ -137,6 +144,7 @@ public class EventServiceImpl implements EventService {
 
         // delete the event
         eventRepository.delete(event);
+        resourceVersionService.bump(VersionedResource.EVENTS);
 
         // convert the entity into response dto
         EventResponseDTO eventResponseDTO = eventMapper.toResponseDTO(event);
@@ -211,11 +219,13 @@ public class EventServiceImpl implements EventService {
         // handle image upload if provided
         if (eventImage != null && !eventImage.isEmpty()) {
             String s3ImageKey = s3Service.uploadFile(eventImage, event.getEventId(), "event");
+            imageDerivativeService.scheduleDerivatives(s3ImageKey);
             event.setS3ImageKey(s3ImageKey);
         }
 
         // save the event
         eventRepository.save(event);
+        resourceVersionService.bump(VersionedResource.EVENTS);
 
         // convert the entity into response dto
         EventResponseDTO eventResponseDTO = eventMapper.toResponseDTO(event);
@@ -297,11 +307,13 @@ public class EventServiceImpl implements EventService {
         // handle image upload if provided
         if (eventImage != null && !eventImage.isEmpty()) {
             String s3ImageKey = s3Service.uploadFile(eventImage, event.getEventId(), "event");
+            imageDerivativeService.scheduleDerivatives(s3ImageKey);
             event.setS3ImageKey(s3ImageKey);
         }
 
         // save the event
         eventRepository.save(event);
+        resourceVersionService.bump(VersionedResource.EVENTS);
 
         // convert the entity into response dto
         EventResponseDTO eventResponseDTO = eventMapper.toResponseDTO(event);
@@ -395,4 +407,10 @@ public class EventServiceImpl implements EventService {
         Page<Event> searchResults = eventRepository.searchEvents(query.trim(), startDate, endDate, pageable);
         return searchResults.map(eventMapper::toResponseDTO);
     }
+
+    @Override
+    public String getEventsVersion() {
+        // upcoming and past move with the calendar even when no event changes
+        return "events-" + resourceVersionService.currentVersion(VersionedResource.EVENTS) + "-" + LocalDate.now();
+    }
 }
@@ -19,6 +19,7 @@ import org.csps.backend.repository.EventParticipantRepository;
 import org.csps.backend.repository.EventRepository;
 import org.csps.backend.repository.EventSessionRepository;
 import org.csps.backend.security.JwtService;
+import org.csps.backend.service.AttendanceGateService;
 import org.csps.backend.service.EventSessionService;
 import org.csps.backend.service.QRTokenService;
 import org.springframework.stereotype.Service;
@@ -36,6 +37,7 @@ public class EventSessionServiceImpl implements EventSessionService {
     private final EventSessionMapper eventSessionMapper;
     private final QRTokenService qrTokenService;
     private final JwtService jwtService;
+    private final AttendanceGateService attendanceGateService;
 
     @Override
     @Transactional
@@ -108,12 +110,27 @@ public class EventSessionServiceImpl implements EventSessionService {
             SessionStatus newStatus = SessionStatus.valueOf(status.toUpperCase());
             session.setSessionStatus(newStatus);
             eventSessionRepository.save(session);
+            /* a gate only admits check-ins while its session is ACTIVE */
+            if (newStatus != SessionStatus.ACTIVE && Boolean.TRUE.equals(session.getGateMode())) {
+                attendanceGateService.close(sessionId);
+            }
         } catch (IllegalArgumentException ex) {
             throw new IllegalArgumentException("Invalid session status: " + status);
         }
         return eventSessionMapper.toResponseDTO(session);
     }
 
+    /* not transactional: the gate service switches the flag in its own transaction */
+    @Override
+    public EventSessionResponseDTO updateGateMode(Long sessionId, boolean enabled) {
+        if (enabled) {
+            attendanceGateService.open(sessionId);
+        } else {
+            attendanceGateService.close(sessionId);
+        }
+        return getSessionById(sessionId);
+    }
+
     @Override
     public String getQRTokenForSession(Long sessionId) {
         /* verify session exists and return stored QR token */
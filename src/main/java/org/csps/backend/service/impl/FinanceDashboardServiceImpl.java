@@ -4,20 +4,30 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.TextStyle;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.csps.backend.configs.FinanceDashboardCacheConfig;
 import org.csps.backend.domain.dtos.response.ChartDataDTO;
+import org.csps.backend.domain.dtos.response.DailyFinanceTotalsDTO;
 import org.csps.backend.domain.dtos.response.FinanceDashboardDTO;
 import org.csps.backend.domain.dtos.response.InventorySummaryDTO;
 import org.csps.backend.domain.dtos.response.MembershipRatioDTO;
 import org.csps.backend.domain.dtos.response.OrderSummaryDTO;
 import org.csps.backend.domain.dtos.response.StudentMembershipDTO;
-import org.csps.backend.domain.entities.Order;
 import org.csps.backend.domain.entities.OrderItem;
-import org.csps.backend.domain.entities.StudentMembership;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.domain.enums.MerchType;
 import org.csps.backend.domain.enums.OrderStatus;
 import org.csps.backend.repository.MerchVariantItemRepository;
@@ -26,8 +36,15 @@ import org.csps.backend.repository.OrderRepository;
 import org.csps.backend.repository.StudentMembershipRepository;
 import org.csps.backend.repository.StudentRepository;
 import org.csps.backend.service.FinanceDashboardService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import lombok.RequiredArgsConstructor;
 
@@ -35,6 +52,9 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class FinanceDashboardServiceImpl implements FinanceDashboardService {
 
+    /* value of a dashboard section together with the monotonic time it was loaded */
+    private record CachedSection(Object value, long loadedAtNanos) {}
+
     private static final BigDecimal MEMBERSHIP_REVENUE_PER_MEMBER = BigDecimal.valueOf(100);
     private static final List<OrderStatus> FINANCE_REVENUE_STATUSES =
             List.of(OrderStatus.TO_BE_CLAIMED, OrderStatus.CLAIMED);
@@ -44,6 +64,17 @@ public class FinanceDashboardServiceImpl implements FinanceDashboardService {
     private final StudentMembershipRepository studentMembershipRepository;
     private final StudentRepository studentRepository;
     private final OrderRepository orderRepository;
+    private final FinanceDashboardCacheConfig cacheConfig;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    @Qualifier("financeDashboardExecutor")
+    private final Executor financeDashboardExecutor;
+
+    private final Map<FinanceDashboardSection, CachedSection> cachedSections = new ConcurrentHashMap<>();
+    private final Map<FinanceDashboardSection, CompletableFuture<Object>> inFlightRebuilds = new ConcurrentHashMap<>();
+    private final Map<FinanceDashboardSection, AtomicLong> generations = Arrays.stream(FinanceDashboardSection.values())
+            .collect(Collectors.toMap(Function.identity(), section -> new AtomicLong(), (a, b) -> a,
+                    () -> new EnumMap<>(FinanceDashboardSection.class)));
 
     @Value("${csps.currentAcademicYear.start}")
     private int currentYearStart;
@@ -53,17 +84,126 @@ public class FinanceDashboardServiceImpl implements FinanceDashboardService {
 
     @Override
     public FinanceDashboardDTO getFinanceDashboardData() {
+        /* every section resolves independently - fresh hits return immediately, misses rebuild in parallel */
+        CompletableFuture<List<InventorySummaryDTO>> inventory =
+                resolveSection(FinanceDashboardSection.INVENTORY, this::getInventorySummary);
+        CompletableFuture<List<OrderSummaryDTO>> recentOrders =
+                resolveSection(FinanceDashboardSection.RECENT_ORDERS, this::getRecentOrders);
+        CompletableFuture<List<StudentMembershipDTO>> recentMemberships =
+                resolveSection(FinanceDashboardSection.RECENT_MEMBERSHIPS, this::getRecentMemberships);
+        CompletableFuture<MembershipRatioDTO> membershipRatio =
+                resolveSection(FinanceDashboardSection.MEMBERSHIP_RATIO, this::getMembershipRatio);
+        CompletableFuture<ChartDataDTO> chartData =
+                resolveSection(FinanceDashboardSection.CHART_DATA, this::getChartData);
+
         FinanceDashboardDTO dto = new FinanceDashboardDTO();
 
-        dto.setInventory(getInventorySummary());
-        dto.setRecentOrders(getRecentOrders());
-        dto.setRecentMemberships(getRecentMemberships());
-        dto.setMembershipRatio(getMembershipRatio());
-        dto.setChartData(getChartData());
+        dto.setInventory(await(inventory));
+        dto.setRecentOrders(await(recentOrders));
+        dto.setRecentMemberships(await(recentMemberships));
+        dto.setMembershipRatio(await(membershipRatio));
+        dto.setChartData(await(chartData));
 
         return dto;
     }
 
+    @Override
+    public void invalidateSections(FinanceDashboardSection... targets) {
+        if (targets == null || targets.length == 0) {
+            return;
+        }
+
+        /* evict only once the mutation is visible, otherwise a concurrent rebuild could re-cache stale rows */
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictSections(targets);
+                }
+            });
+            return;
+        }
+
+        evictSections(targets);
+    }
+
+    private void evictSections(FinanceDashboardSection... targets) {
+        for (FinanceDashboardSection section : targets) {
+            generations.get(section).incrementAndGet();
+            if (cachedSections.remove(section) != null) {
+                meterRegistry.counter("finance.dashboard.cache.evictions", "section", section.name()).increment();
+            }
+        }
+    }
+
+    /**
+     * Serve a section from the snapshot when present. Expired entries are still served while a single
+     * background rebuild refreshes them; missing entries (first load or invalidated) are rebuilt and awaited.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> resolveSection(FinanceDashboardSection section, Supplier<T> loader) {
+        if (!cacheConfig.isEnabled()) {
+            return (CompletableFuture<T>) rebuildSection(section, loader);
+        }
+
+        CachedSection cached = cachedSections.get(section);
+        if (cached != null) {
+            meterRegistry.counter("finance.dashboard.cache.hits", "section", section.name()).increment();
+            if (System.nanoTime() - cached.loadedAtNanos() > cacheConfig.ttlFor(section).toNanos()) {
+                rebuildSection(section, loader);
+            }
+            return CompletableFuture.completedFuture((T) cached.value());
+        }
+
+        meterRegistry.counter("finance.dashboard.cache.misses", "section", section.name()).increment();
+        return (CompletableFuture<T>) rebuildSection(section, loader);
+    }
+
+    /* single-flight rebuild: concurrent callers for the same section share one in-flight load */
+    private CompletableFuture<Object> rebuildSection(FinanceDashboardSection section, Supplier<?> loader) {
+        CompletableFuture<Object> existing = inFlightRebuilds.get(section);
+        if (existing != null) {
+            return existing;
+        }
+
+        CompletableFuture<Object> rebuild = new CompletableFuture<>();
+        existing = inFlightRebuilds.putIfAbsent(section, rebuild);
+        if (existing != null) {
+            return existing;
+        }
+
+        long generation = generations.get(section).get();
+        financeDashboardExecutor.execute(() -> {
+            try {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                Object value = transactionTemplate.execute(status -> loader.get());
+                sample.stop(meterRegistry.timer("finance.dashboard.cache.rebuild", "section", section.name()));
+
+                /* an invalidation during the load means the value may predate the mutation - hand it out but don't keep it */
+                if (cacheConfig.isEnabled() && generations.get(section).get() == generation) {
+                    cachedSections.put(section, new CachedSection(value, System.nanoTime()));
+                }
+                rebuild.complete(value);
+            } catch (Throwable e) {
+                rebuild.completeExceptionally(e);
+            } finally {
+                inFlightRebuilds.remove(section, rebuild);
+            }
+        });
+        return rebuild;
+    }
+
+    private <T> T await(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
     private List<InventorySummaryDTO> getInventorySummary() {
         // Get top 5 items with lowest stock
         return merchVariantItemRepository.findTop5ByOrderByStockQuantityAsc().stream()
@@ -143,27 +283,38 @@ public class FinanceDashboardServiceImpl implements FinanceDashboardService {
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
 
-        List<Order> orders = orderRepository.findByOrderDateBetweenAndOrderStatusIn(
-                startDateTime,
-                endDateTime,
-                FINANCE_REVENUE_STATUSES);
-        List<StudentMembership> currentYearMemberships =
-                studentMembershipRepository.findByYearStartAndYearEnd(currentYearStart, currentYearEnd);
+        /* grouped in the database - at most 7 rows per query regardless of order volume */
+        Map<LocalDate, DailyFinanceTotalsDTO> orderTotals = orderRepository.findDailyFinanceTotals(
+                        startDateTime,
+                        endDateTime,
+                        FINANCE_REVENUE_STATUSES,
+                        MerchType.MEMBERSHIP)
+                .stream()
+                .collect(Collectors.toMap(DailyFinanceTotalsDTO::getDay, Function.identity()));
+        Map<LocalDate, DailyFinanceTotalsDTO> membershipTotals = studentMembershipRepository.countJoinedPerDay(
+                        currentYearStart,
+                        currentYearEnd,
+                        startDateTime,
+                        endDateTime)
+                .stream()
+                .collect(Collectors.toMap(DailyFinanceTotalsDTO::getDay, Function.identity()));
 
-        List<String> days = startDate.datesUntil(endDate.plusDays(1))
+        List<LocalDate> dates = startDate.datesUntil(endDate.plusDays(1)).toList();
+
+        List<String> days = dates.stream()
                 .map(date -> date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
                 .collect(Collectors.toList());
 
-        List<Integer> weeklyOrders = startDate.datesUntil(endDate.plusDays(1))
-                .map(date -> (int) orders.stream()
-                        .filter(order -> order.getOrderDate() != null)
-                        .filter(order -> order.getOrderDate().toLocalDate().equals(date))
-                        .count())
+        List<Integer> weeklyOrders = dates.stream()
+                .map(date -> {
+                    DailyFinanceTotalsDTO totals = orderTotals.get(date);
+                    return totals == null || totals.getOrderCount() == null ? 0 : totals.getOrderCount().intValue();
+                })
                 .collect(Collectors.toList());
 
-        List<Double> weeklyRevenue = startDate.datesUntil(endDate.plusDays(1))
-                .map(date -> calculateMerchRevenueForDate(orders, date)
-                        .add(calculateMembershipRevenueForDate(currentYearMemberships, date))
+        List<Double> weeklyRevenue = dates.stream()
+                .map(date -> merchRevenueOf(orderTotals.get(date))
+                        .add(membershipRevenueOf(membershipTotals.get(date)))
                         .doubleValue())
                 .collect(Collectors.toList());
 
@@ -181,47 +332,20 @@ public class FinanceDashboardServiceImpl implements FinanceDashboardService {
         return "IN_STOCK";
     }
 
-    private BigDecimal calculateMerchRevenueForDate(List<Order> orders, LocalDate targetDate) {
-        return orders.stream()
-                .filter(order -> order.getOrderDate() != null)
-                .filter(order -> order.getOrderDate().toLocalDate().equals(targetDate))
-                .map(this::calculateFinanceMerchRevenue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private BigDecimal calculateMembershipRevenueForDate(List<StudentMembership> memberships, LocalDate targetDate) {
-        long membershipCount = memberships.stream()
-                .filter(membership -> membership.getDateJoined() != null)
-                .filter(membership -> membership.getDateJoined().toLocalDate().equals(targetDate))
-                .count();
-
-        return MEMBERSHIP_REVENUE_PER_MEMBER.multiply(BigDecimal.valueOf(membershipCount));
-    }
-
-    private BigDecimal calculateFinanceMerchRevenue(Order order) {
-        if (order == null || order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
+    private BigDecimal merchRevenueOf(DailyFinanceTotalsDTO totals) {
+        if (totals == null || totals.getMerchRevenue() == null) {
             return BigDecimal.ZERO;
         }
 
-        return order.getOrderItems().stream()
-                .filter(this::isFinanceRevenueItem)
-                .filter(item -> !isMembershipItem(item))
-                .map(this::calculateLineTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return BigDecimal.valueOf(totals.getMerchRevenue());
     }
 
-    private boolean isFinanceRevenueItem(OrderItem item) {
-        return item != null
-                && item.getOrderStatus() != null
-                && FINANCE_REVENUE_STATUSES.contains(item.getOrderStatus());
-    }
+    private BigDecimal membershipRevenueOf(DailyFinanceTotalsDTO totals) {
+        if (totals == null || totals.getMembershipCount() == null) {
+            return BigDecimal.ZERO;
+        }
 
-    private boolean isMembershipItem(OrderItem item) {
-        return item != null
-                && item.getMerchVariantItem() != null
-                && item.getMerchVariantItem().getMerchVariant() != null
-                && item.getMerchVariantItem().getMerchVariant().getMerch() != null
-                && item.getMerchVariantItem().getMerchVariant().getMerch().getMerchType() == MerchType.MEMBERSHIP;
+        return MEMBERSHIP_REVENUE_PER_MEMBER.multiply(BigDecimal.valueOf(totals.getMembershipCount()));
     }
 
     private BigDecimal calculateLineTotal(OrderItem item) {
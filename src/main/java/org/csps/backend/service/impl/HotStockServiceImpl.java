@@ -0,0 +1,775 @@
+package org.csps.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.csps.backend.configs.HotStockConfig;
+import org.csps.backend.domain.entities.HotStockAllocation;
+import org.csps.backend.domain.entities.MerchVariantItem;
+import org.csps.backend.exception.InvalidRequestException;
+import org.csps.backend.repository.HotStockAllocationRepository;
+import org.csps.backend.repository.MerchVariantItemRepository;
+import org.csps.backend.service.HotStockService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hot items are sold from per-replica allocations: each replica claims up to hot-stock.allocation-size units
+ * from the stored stock column in a short transaction and sells them from striped in-memory counters.
+ * The stored column therefore always holds the units no replica has claimed, so replicas never sell the
+ * same unit twice and a sale never locks the item's stock row. Each ledger mirrors its units in a
+ * hot_stock_allocation row that only this replica writes: checkouts remove the units they sell from it in their
+ * own transaction, so after a crash the row holds exactly the unsold units and any replica hands them back
+ * once the crashed one stops renewing its heartbeat. A replica that was only presumed dead finds its rows
+ * gone on its next write and drops the ledger instead of selling units that are back in the stored stock.
+ * Rows are always locked before stock rows.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotStockServiceImpl implements HotStockService {
+
+    private final MerchVariantItemRepository merchVariantItemRepository;
+    private final HotStockAllocationRepository hotStockAllocationRepository;
+    private final HotStockConfig hotStockConfig;
+    private final TransactionTemplate transactionTemplate;
+    @Qualifier("hotStockRefillExecutor")
+    private final Executor hotStockRefillExecutor;
+
+    /* fresh per process, so a restarted node never renews the allocations its previous run left behind */
+    private final String replicaId = UUID.randomUUID().toString();
+
+    private final Map<Long, StockLedger> ledgers = new ConcurrentHashMap<>();
+    /* ledgers switched out of hot mode that still have in-flight reservations or units to return */
+    private final Queue<StockLedger> retiredLedgers = new ConcurrentLinkedQueue<>();
+    /* serialises flushes with mode switches so a ledger is never flushed while it is being written back */
+    private final ReentrantLock modeLock = new ReentrantLock();
+
+    @Override
+    public boolean isHot(Long merchVariantItemId) {
+        return merchVariantItemId != null && ledgers.containsKey(merchVariantItemId);
+    }
+
+    @Override
+    public int availableStock(MerchVariantItem merchVariantItem) {
+        return availableStock(merchVariantItem.getMerchVariantItemId(), merchVariantItem.getStockQuantity());
+    }
+
+    @Override
+    public int availableStock(Long merchVariantItemId, int storedStock) {
+        /* unclaimed stock plus this replica's allocation; other replicas' unsold allocations are not visible */
+        StockLedger ledger = ledgers.get(merchVariantItemId);
+        return ledger != null && !ledger.isClosed() ? storedStock + ledger.available() : storedStock;
+    }
+
+    @Override
+    public boolean reserve(Long merchVariantItemId, int quantity) {
+        StockLedger ledger = ledgers.get(merchVariantItemId);
+        if (ledger == null) {
+            return false;
+        }
+
+        ledger.inFlight.incrementAndGet();
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean taken = ledger.tryTake(quantity);
+        if (!taken && !inTransaction) {
+            taken = awaitRefill(ledger, quantity) && ledger.tryTake(quantity);
+        }
+        if (!taken) {
+            ledger.inFlight.decrementAndGet();
+            if (ledger.isClosed()) {
+                return false;
+            }
+            // A checkout already holds a pooled connection for its transaction and the claim needs a second
+            // one, so a burst of checkouts waiting here could hold the whole pool while their claims queue for
+            // a connection. They get a retry instead while the claim runs.
+            if (inTransaction && requestRefill(ledger, quantity) != null) {
+                throw new InvalidRequestException("Stock for this item is being topped up, please try again");
+            }
+            throw new InvalidRequestException("Insufficient stock. Available: " + ledger.available()
+                    + ", Requested: " + quantity);
+        }
+
+        ledger.lastTakeNanos = System.nanoTime();
+        try {
+            recordAllocationChange(ledger, -quantity);
+        } catch (RuntimeException e) {
+            ledger.settleTake(quantity, false);
+            throw e;
+        }
+        /* top up ahead of demand so buyers rarely run dry */
+        if (ledger.available() < lowWatermark()) {
+            requestRefill(ledger, 0);
+        }
+        onCompletion(committed -> ledger.settleTake(quantity, committed));
+        return true;
+    }
+
+    @Override
+    public boolean release(Long merchVariantItemId, int quantity) {
+        StockLedger ledger = ledgers.get(merchVariantItemId);
+        if (ledger == null) {
+            return false;
+        }
+
+        ledger.inFlight.incrementAndGet();
+        try {
+            recordAllocationChange(ledger, quantity);
+        } catch (RuntimeException e) {
+            ledger.settleRelease(quantity, false);
+            throw e;
+        }
+        onCompletion(committed -> ledger.settleRelease(quantity, committed));
+        return true;
+    }
+
+    @Override
+    public void enable(Long merchVariantItemId) {
+        modeLock.lock();
+        try {
+            if (ledgers.containsKey(merchVariantItemId)) {
+                throw new InvalidRequestException("MerchVariantItem is already in hot-stock mode");
+            }
+
+            StockLedger ledger = new StockLedger(merchVariantItemId, hotStockConfig.getStripes());
+            int claimed;
+            try {
+                claimed = transactionTemplate.execute(status -> {
+                    MerchVariantItem item = merchVariantItemRepository.findByIdWithLock(merchVariantItemId)
+                            .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found with id: " + merchVariantItemId));
+                    if (Boolean.TRUE.equals(item.getHotStock())) {
+                        throw new InvalidRequestException("MerchVariantItem is already in hot-stock mode");
+                    }
+
+                    int take = Math.min(hotStockConfig.getAllocationSize(), Math.max(0, item.getStockQuantity()));
+                    item.setHotStock(true);
+                    item.setStockQuantity(item.getStockQuantity() - take);
+                    merchVariantItemRepository.save(item);
+                    ledger.allocationId = openAllocation(merchVariantItemId, take);
+
+                    // Installed empty while the row lock is held: database-path buyers queued on the lock
+                    // see the flag once it commits and reroute to this ledger, which is granted the first
+                    // allocation only after the claim has committed.
+                    ledgers.put(merchVariantItemId, ledger);
+                    return take;
+                });
+            } catch (RuntimeException e) {
+                if (ledgers.remove(merchVariantItemId, ledger)) {
+                    ledger.close();
+                    retiredLedgers.add(ledger);
+                }
+                throw e;
+            }
+            ledger.grant(claimed);
+            log.info("merch variant item {} switched into hot-stock mode with an allocation of {}", merchVariantItemId, claimed);
+        } finally {
+            modeLock.unlock();
+        }
+    }
+
+    @Override
+    public void disable(Long merchVariantItemId) {
+        modeLock.lock();
+        try {
+            /* this replica may not have picked up a switch made elsewhere yet, the stored flag decides */
+            StockLedger ledger = ledgers.get(merchVariantItemId);
+            AtomicInteger drained = new AtomicInteger();
+            AtomicLong returned = new AtomicLong();
+            /* set when this replica's allocation was already handed back while it looked dead */
+            AtomicBoolean allocationGone = new AtomicBoolean();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    MerchVariantItem item = merchVariantItemRepository.findByIdWithLock(merchVariantItemId)
+                            .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found with id: " + merchVariantItemId));
+                    if (!Boolean.TRUE.equals(item.getHotStock())) {
+                        throw new InvalidRequestException("MerchVariantItem is not in hot-stock mode");
+                    }
+
+                    /* this replica's allocation goes back now, other replicas return theirs on their next flush */
+                    int handedBack = 0;
+                    if (ledger != null) {
+                        drained.set(ledger.close());
+                        returned.set(ledger.pendingReturn.getAndSet(0));
+                        ledgers.remove(merchVariantItemId);
+                        handedBack = drained.get() + Math.toIntExact(returned.get());
+                        if (handedBack > 0 && hotStockAllocationRepository.applyUnits(ledger.allocationId, -handedBack) == 0) {
+                            allocationGone.set(true);
+                            handedBack = 0;
+                        }
+                    }
+                    item.setHotStock(false);
+                    item.setStockQuantity(item.getStockQuantity() + handedBack);
+                    merchVariantItemRepository.save(item);
+                });
+                if (allocationGone.get()) {
+                    ledger.revoke();
+                }
+            } catch (RuntimeException e) {
+                if (ledger != null && ledger.isClosed() && !allocationGone.get()) {
+                    /* the write-back failed, keep selling the drained allocation from a fresh ledger */
+                    StockLedger reopened = new StockLedger(merchVariantItemId, hotStockConfig.getStripes());
+                    reopened.allocationId = ledger.allocationId;
+                    reopened.grant(drained.get());
+                    reopened.pendingReturn.set(returned.get());
+                    ledgers.put(merchVariantItemId, reopened);
+                }
+                throw e;
+            } finally {
+                if (ledger != null && ledger.isClosed()) {
+                    retiredLedgers.add(ledger);
+                }
+            }
+            log.info("merch variant item {} switched out of hot-stock mode", merchVariantItemId);
+        } finally {
+            modeLock.unlock();
+        }
+    }
+
+    @Override
+    public void loadHotItems() {
+        modeLock.lock();
+        try {
+            followModeSwitches();
+            if (!ledgers.isEmpty()) {
+                log.info("claiming hot-stock allocations for {} merch variant items", ledgers.size());
+            }
+        } finally {
+            modeLock.unlock();
+        }
+    }
+
+    @Override
+    public void flushPendingStock() {
+        modeLock.lock();
+        try {
+            renewAllocations();
+            followModeSwitches();
+            returnIdleAllocations();
+            flushLedgers();
+        } finally {
+            modeLock.unlock();
+        }
+    }
+
+    @Override
+    public void returnAllocations() {
+        modeLock.lock();
+        try {
+            for (Long merchVariantItemId : List.copyOf(ledgers.keySet())) {
+                retire(merchVariantItemId);
+            }
+            flushLedgers();
+        } finally {
+            modeLock.unlock();
+        }
+    }
+
+    @Override
+    public void returnExpiredAllocations() {
+        long leaseSeconds = Math.max(1, hotStockConfig.getAllocationLease().toSeconds());
+        Integer returned = transactionTemplate.execute(status -> {
+            List<HotStockAllocation> expired = hotStockAllocationRepository.findExpiredForUpdate(leaseSeconds);
+            /* one statement per item, in id order, after the allocation rows like every other writer */
+            Map<Long, Integer> returnByItem = new TreeMap<>();
+            for (HotStockAllocation allocation : expired) {
+                if (allocation.getUnits() > 0) {
+                    returnByItem.merge(allocation.getMerchVariantItemId(), allocation.getUnits(), Integer::sum);
+                }
+            }
+            returnByItem.forEach(merchVariantItemRepository::applyStockDelta);
+            hotStockAllocationRepository.deleteAllInBatch(expired);
+            return returnByItem.values().stream().mapToInt(Integer::intValue).sum();
+        });
+
+        if (returned != null && returned > 0) {
+            log.warn("returned {} hot-stock units left behind by replicas that stopped renewing their allocations", returned);
+        }
+    }
+
+    /* keep this replica's allocations from being handed back as stranded */
+    private void renewAllocations() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> hotStockAllocationRepository.renewHeartbeat(replicaId));
+        } catch (RuntimeException e) {
+            log.warn("failed to renew hot-stock allocations: {}", e.getMessage());
+        }
+    }
+
+    /* record a ledger's allocation row; runs inside the caller's transaction */
+    private Long openAllocation(Long merchVariantItemId, int units) {
+        HotStockAllocation allocation = hotStockAllocationRepository.save(HotStockAllocation.builder()
+                .replicaId(replicaId)
+                .merchVariantItemId(merchVariantItemId)
+                .units(units)
+                .build());
+        hotStockAllocationRepository.renewHeartbeat(replicaId);
+        return allocation.getAllocationId();
+    }
+
+    /* seed ledgers for items switched into hot mode and retire those switched out, here or on another replica */
+    private void followModeSwitches() {
+        Set<Long> hotIds = new HashSet<>(merchVariantItemRepository.findHotStockIds());
+        for (Long merchVariantItemId : List.copyOf(ledgers.keySet())) {
+            if (!hotIds.contains(merchVariantItemId)) {
+                retire(merchVariantItemId);
+            }
+        }
+        for (Long merchVariantItemId : hotIds) {
+            if (!ledgers.containsKey(merchVariantItemId)) {
+                StockLedger ledger = new StockLedger(merchVariantItemId, hotStockConfig.getStripes());
+                try {
+                    ledger.allocationId = transactionTemplate.execute(status -> openAllocation(merchVariantItemId, 0));
+                } catch (RuntimeException e) {
+                    log.warn("failed to open a hot-stock allocation for merch variant item {}: {}", merchVariantItemId, e.getMessage());
+                    continue;
+                }
+                ledgers.put(merchVariantItemId, ledger);
+                requestRefill(ledger, 0);
+            }
+        }
+    }
+
+    private void retire(Long merchVariantItemId) {
+        StockLedger ledger = ledgers.remove(merchVariantItemId);
+        if (ledger != null) {
+            ledger.pendingReturn.addAndGet(ledger.close());
+            retiredLedgers.add(ledger);
+        }
+    }
+
+    /* hand unsold units of quiet items back so a replica that is still selling can claim them */
+    private void returnIdleAllocations() {
+        long idleBefore = System.nanoTime() - hotStockConfig.getIdleReturn().toNanos();
+        for (StockLedger ledger : ledgers.values()) {
+            if (ledger.lastTakeNanos - idleBefore < 0) {
+                ledger.pendingReturn.addAndGet(ledger.drain());
+            } else if (ledger.available() < lowWatermark()) {
+                requestRefill(ledger, 0);
+            }
+        }
+    }
+
+    private void flushLedgers() {
+        /* allocation rows first, then one statement per item, each in id order, so concurrent flushers,
+           claims and checkouts lock rows consistently */
+        Map<Long, StockLedger> ledgersByAllocation = new TreeMap<>();
+        Map<Long, Long> returnByAllocation = new TreeMap<>();
+
+        List<StockLedger> candidates = new ArrayList<>(ledgers.values());
+        candidates.addAll(retiredLedgers);
+        for (StockLedger ledger : candidates) {
+            long units = ledger.pendingReturn.getAndSet(0);
+            if (units != 0) {
+                ledgersByAllocation.put(ledger.allocationId, ledger);
+                returnByAllocation.merge(ledger.allocationId, units, Long::sum);
+            }
+        }
+
+        if (!returnByAllocation.isEmpty()) {
+            List<StockLedger> allocationsGone = new ArrayList<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    allocationsGone.clear();
+                    Map<Long, Long> returnByItem = new TreeMap<>();
+                    returnByAllocation.forEach((allocationId, units) -> {
+                        StockLedger ledger = ledgersByAllocation.get(allocationId);
+                        if (hotStockAllocationRepository.applyUnits(allocationId, -Math.toIntExact(units)) == 0) {
+                            /* already handed back while this replica looked dead */
+                            allocationsGone.add(ledger);
+                            return;
+                        }
+                        returnByItem.merge(ledger.merchVariantItemId, units, Long::sum);
+                    });
+                    returnByItem.forEach((merchVariantItemId, units) ->
+                            merchVariantItemRepository.applyStockDelta(merchVariantItemId, Math.toIntExact(units)));
+                });
+            } catch (RuntimeException e) {
+                returnByAllocation.forEach((allocationId, units) ->
+                        ledgersByAllocation.get(allocationId).pendingReturn.addAndGet(units));
+                log.error("failed to return hot-stock units for {} allocations: {}", returnByAllocation.size(), e.getMessage(), e);
+                return;
+            }
+            allocationsGone.forEach(this::revoke);
+        }
+
+        List<StockLedger> settled = new ArrayList<>();
+        retiredLedgers.removeIf(ledger -> ledger.isSettled() && settled.add(ledger));
+        for (StockLedger ledger : settled) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> hotStockAllocationRepository.deleteIfEmpty(ledger.allocationId));
+            } catch (RuntimeException e) {
+                log.warn("failed to remove settled hot-stock allocation {}: {}", ledger.allocationId, e.getMessage());
+            }
+        }
+    }
+
+    private static final int ALLOCATION_GONE = -1;
+
+    private int lowWatermark() {
+        return Math.max(1, hotStockConfig.getAllocationSize() / 2);
+    }
+
+    /* wait for a claim of at least quantity units; false when there is nothing to claim or it takes too long */
+    private boolean awaitRefill(StockLedger ledger, int quantity) {
+        CompletableFuture<Void> refill = requestRefill(ledger, quantity);
+        if (refill == null) {
+            return false;
+        }
+
+        try {
+            refill.get(hotStockConfig.getRefillWait().toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /*
+     * claim more units on the refill executor, sharing a claim that is already running; the claim gets its
+     * own connection and transaction instead of joining the caller's checkout, whose rollback must not
+     * hand claimed units back to the stored stock while the ledger keeps them
+     */
+    private CompletableFuture<Void> requestRefill(StockLedger ledger, int minimum) {
+        if (ledger.isClosed() || System.nanoTime() - ledger.exhaustedAtNanos < hotStockConfig.getFlushInterval().toNanos()) {
+            return null;
+        }
+
+        CompletableFuture<Void> running = ledger.refill.get();
+        if (running != null) {
+            return running;
+        }
+        CompletableFuture<Void> refill = new CompletableFuture<>();
+        if (!ledger.refill.compareAndSet(null, refill)) {
+            return ledger.refill.get();
+        }
+
+        try {
+            hotStockRefillExecutor.execute(() -> {
+                try {
+                    claim(ledger, Math.max(hotStockConfig.getAllocationSize(), minimum));
+                    refill.complete(null);
+                } catch (RuntimeException e) {
+                    log.warn("failed to claim hot-stock units for merch variant item {}: {}",
+                            ledger.merchVariantItemId, e.getMessage());
+                    refill.completeExceptionally(e);
+                } finally {
+                    ledger.refill.compareAndSet(refill, null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ledger.refill.compareAndSet(refill, null);
+            refill.completeExceptionally(e);
+        }
+        return refill;
+    }
+
+    private void claim(StockLedger ledger, int wanted) {
+        Integer claimed = transactionTemplate.execute(status -> {
+            if (hotStockAllocationRepository.findByIdWithLock(ledger.allocationId).isEmpty()) {
+                return ALLOCATION_GONE;
+            }
+            MerchVariantItem item = merchVariantItemRepository.findByIdWithLock(ledger.merchVariantItemId).orElse(null);
+            /* switched out of hot mode elsewhere; the next flush retires this ledger */
+            if (item == null || !Boolean.TRUE.equals(item.getHotStock())) {
+                return 0;
+            }
+
+            int take = Math.min(wanted, Math.max(0, item.getStockQuantity()));
+            if (take > 0) {
+                item.setStockQuantity(item.getStockQuantity() - take);
+                merchVariantItemRepository.save(item);
+                hotStockAllocationRepository.applyUnits(ledger.allocationId, take);
+            }
+            return take;
+        });
+
+        if (claimed != null && claimed == ALLOCATION_GONE) {
+            revoke(ledger);
+            return;
+        }
+        int units = claimed == null ? 0 : claimed;
+        if (units < wanted) {
+            /* back off claiming for a flush interval once the stored stock runs dry */
+            ledger.exhaustedAtNanos = System.nanoTime();
+        }
+        ledger.grant(units);
+    }
+
+    /* the allocation was handed back while this replica looked dead; the next flush seeds a fresh ledger */
+    private void revoke(StockLedger ledger) {
+        ledger.revoke();
+        ledgers.remove(ledger.merchVariantItemId, ledger);
+    }
+
+    /* move units in or out of the ledger's allocation row together with the caller's transaction */
+    private void recordAllocationChange(StockLedger ledger, int delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingAllocationChanges().add(ledger, delta);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> applyAllocationChange(ledger, delta));
+    }
+
+    private void applyAllocationChange(StockLedger ledger, int delta) {
+        if (delta == 0 || hotStockAllocationRepository.applyUnits(ledger.allocationId, delta) > 0) {
+            return;
+        }
+
+        /* the units the ledger holds are back in the stored stock: a sale must not commit, a restore goes there too */
+        revoke(ledger);
+        if (delta < 0) {
+            throw new InvalidRequestException("Stock for this item is being reallocated, please try again");
+        }
+        merchVariantItemRepository.applyStockDelta(ledger.merchVariantItemId, delta);
+    }
+
+    /* one set of allocation changes per transaction, registered on the first hot reservation or restore */
+    private PendingAllocationChanges pendingAllocationChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingAllocationChanges pending && pending.owner == this) {
+                return pending;
+            }
+        }
+
+        PendingAllocationChanges pending = new PendingAllocationChanges(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * Allocation row changes of one transaction, applied in beforeCommit so each row is locked only for
+     * the commit. A sale whose allocation was handed back fails the commit and rolls the order back.
+     */
+    private static final class PendingAllocationChanges implements TransactionSynchronization {
+
+        private final HotStockServiceImpl owner;
+        /* ascending allocation id order so concurrent commits lock shared rows in the same sequence */
+        private final Map<Long, StockLedger> ledgers = new TreeMap<>();
+        private final Map<Long, Integer> deltas = new TreeMap<>();
+
+        private PendingAllocationChanges(HotStockServiceImpl owner) {
+            this.owner = owner;
+        }
+
+        private void add(StockLedger ledger, int delta) {
+            ledgers.putIfAbsent(ledger.allocationId, ledger);
+            deltas.merge(ledger.allocationId, delta, Integer::sum);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            deltas.forEach((allocationId, delta) -> owner.applyAllocationChange(ledgers.get(allocationId), delta));
+        }
+    }
+
+    /* run the callback once the surrounding transaction finishes, or straight away without one */
+    private void onCompletion(Consumer<Boolean> callback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    callback.accept(status == STATUS_COMMITTED);
+                }
+            });
+            return;
+        }
+
+        callback.accept(true);
+    }
+
+    /**
+     * One replica's allocation of a hot item, split across striped counters so concurrent buyers rarely
+     * contend on the same cache line. Admission is a CAS on a stripe; only settlement after commit or
+     * rollback, grants and closing the ledger synchronise on it.
+     */
+    private static final class StockLedger {
+
+        private static final int CLOSED = Integer.MIN_VALUE;
+
+        private final Long merchVariantItemId;
+        /* the hot_stock_allocation row mirroring this ledger's units */
+        private volatile Long allocationId;
+        private final AtomicInteger[] stripes;
+        /* units this replica owes back to the stored stock, written by the next flush */
+        private final AtomicLong pendingReturn = new AtomicLong();
+        /* reservations taken or restores queued whose transaction has not finished yet */
+        private final AtomicInteger inFlight = new AtomicInteger();
+        /* claim currently running for this ledger, shared by every buyer that waits on it */
+        private final AtomicReference<CompletableFuture<Void>> refill = new AtomicReference<>();
+        private volatile boolean closed;
+        /* the allocation was handed back to the stored stock, so every unit still arriving is dropped */
+        private volatile boolean revoked;
+        private volatile long lastTakeNanos = System.nanoTime();
+        private volatile long exhaustedAtNanos = System.nanoTime() - Long.MAX_VALUE / 2;
+
+        private StockLedger(Long merchVariantItemId, int stripeCount) {
+            this.merchVariantItemId = merchVariantItemId;
+            this.stripes = new AtomicInteger[Math.max(1, stripeCount)];
+            for (int index = 0; index < stripes.length; index++) {
+                stripes[index] = new AtomicInteger();
+            }
+        }
+
+        private boolean isClosed() {
+            return closed;
+        }
+
+        private int available() {
+            int total = 0;
+            for (AtomicInteger stripe : stripes) {
+                total += Math.max(0, stripe.get());
+            }
+            return total;
+        }
+
+        private boolean tryTake(int quantity) {
+            int home = ThreadLocalRandom.current().nextInt(stripes.length);
+            for (int offset = 0; offset < stripes.length; offset++) {
+                if (takeExactly(stripes[(home + offset) % stripes.length], quantity)) {
+                    return true;
+                }
+            }
+
+            /* no single stripe holds enough: gather from several and hand it all back if the total falls short */
+            int missing = quantity;
+            int gathered = 0;
+            for (int offset = 0; offset < stripes.length && missing > 0; offset++) {
+                int taken = takeUpTo(stripes[(home + offset) % stripes.length], missing);
+                missing -= taken;
+                gathered += taken;
+            }
+            if (missing == 0) {
+                return true;
+            }
+            if (gathered > 0) {
+                restore(gathered);
+            }
+            return false;
+        }
+
+        /* claimed units arrive after their claim committed; a ledger closed meanwhile returns them */
+        private synchronized void grant(int quantity) {
+            if (quantity > 0) {
+                restore(quantity);
+            }
+        }
+
+        private synchronized void settleTake(int quantity, boolean committed) {
+            /* a committed sale was already taken out of the stored stock when its allocation was claimed */
+            if (!committed) {
+                restore(quantity);
+            }
+            inFlight.decrementAndGet();
+        }
+
+        private synchronized void settleRelease(int quantity, boolean committed) {
+            if (committed) {
+                restore(quantity);
+            }
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * Stop admitting reservations and drain the stripes.
+         *
+         * @return the unsold units, which the caller must give back to the stored stock
+         */
+        private synchronized int close() {
+            closed = true;
+            int remaining = 0;
+            for (AtomicInteger stripe : stripes) {
+                remaining += Math.max(0, stripe.getAndSet(CLOSED));
+            }
+            return remaining;
+        }
+
+        private synchronized void revoke() {
+            revoked = true;
+            close();
+            pendingReturn.set(0);
+        }
+
+        /* empty the stripes but keep admitting; later grants and restores refill them */
+        private synchronized int drain() {
+            if (closed) {
+                return 0;
+            }
+            int remaining = 0;
+            for (AtomicInteger stripe : stripes) {
+                remaining += Math.max(0, stripe.getAndSet(0));
+            }
+            return remaining;
+        }
+
+        private synchronized void restore(int quantity) {
+            if (revoked) {
+                return;
+            }
+            if (!closed) {
+                stripes[ThreadLocalRandom.current().nextInt(stripes.length)].addAndGet(quantity);
+            } else {
+                pendingReturn.addAndGet(quantity);
+            }
+        }
+
+        private boolean isSettled() {
+            return closed && inFlight.get() == 0 && pendingReturn.get() == 0;
+        }
+
+        private static boolean takeExactly(AtomicInteger stripe, int quantity) {
+            while (true) {
+                int current = stripe.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (stripe.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        private static int takeUpTo(AtomicInteger stripe, int wanted) {
+            while (true) {
+                int current = stripe.get();
+                if (current <= 0) {
+                    return 0;
+                }
+                int taken = Math.min(current, wanted);
+                if (stripe.compareAndSet(current, current - taken)) {
+                    return taken;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.csps.backend.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.csps.backend.configs.ImageDerivativeConfig;
+import org.csps.backend.domain.enums.ImageDerivative;
+import org.csps.backend.repository.EventRepository;
+import org.csps.backend.repository.MerchRepository;
+import org.csps.backend.repository.MerchVariantRepository;
+import org.csps.backend.service.ImageDerivativeService;
+import org.csps.backend.service.ObjectStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates THUMBNAIL, CARD and FULL JPEG renditions of uploaded images with the JDK's ImageIO.
+ * The original is decoded once, subsampled while reading so a large photo never expands to
+ * its full bitmap, and each smaller rendition is scaled from the previous one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+
+    private static final String JPEG = "image/jpeg";
+
+    private final ObjectStore objectStore;
+    private final ImageDerivativeConfig imageDerivativeConfig;
+    private final MerchRepository merchRepository;
+    private final MerchVariantRepository merchVariantRepository;
+    private final EventRepository eventRepository;
+    @Qualifier("imageDerivativeExecutor")
+    private final Executor imageDerivativeExecutor;
+
+    @Override
+    public void scheduleDerivatives(String originalKey) {
+        if (!imageDerivativeConfig.isEnabled() || !ImageDerivative.hasDerivatives(originalKey)) {
+            return;
+        }
+
+        /* the image only counts once the entity pointing at it is committed */
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(originalKey);
+                }
+            });
+        } else {
+            submit(originalKey);
+        }
+    }
+
+    @Override
+    public void generateDerivatives(String originalKey) throws IOException {
+        BufferedImage image;
+        try (InputStream original = objectStore.get(originalKey)) {
+            image = decode(original);
+        }
+
+        /* largest first, each smaller rendition is scaled from the one before */
+        ImageDerivative[] derivatives = {ImageDerivative.FULL, ImageDerivative.CARD, ImageDerivative.THUMBNAIL};
+        for (ImageDerivative derivative : derivatives) {
+            image = resize(image, derivative.getMaxSize());
+            byte[] jpeg = encode(image);
+            objectStore.put(derivative.keyFor(originalKey), JPEG, new ByteArrayInputStream(jpeg), jpeg.length);
+        }
+    }
+
+    @Override
+    public void backfillMissingDerivatives() {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.addAll(merchRepository.findAllS3ImageKeys());
+        keys.addAll(merchVariantRepository.findAllS3ImageKeys());
+        keys.addAll(eventRepository.findAllS3ImageKeys());
+
+        /* one task walks the list so the backfill never floods the queue ahead of fresh uploads */
+        imageDerivativeExecutor.execute(() -> {
+            int generated = 0;
+            for (String key : keys) {
+                if (!ImageDerivative.hasDerivatives(key)) {
+                    continue;
+                }
+                try {
+                    if (!objectStore.exists(ImageDerivative.THUMBNAIL.keyFor(key))) {
+                        generateDerivatives(key);
+                        generated++;
+                    }
+                } catch (Exception e) {
+                    log.warn("failed to backfill image renditions for {}: {}", key, e.getMessage());
+                }
+            }
+            if (generated > 0) {
+                log.info("backfilled image renditions for {} images", generated);
+            }
+        });
+    }
+
+    private void submit(String originalKey) {
+        try {
+            imageDerivativeExecutor.execute(() -> {
+                try {
+                    generateDerivatives(originalKey);
+                } catch (Exception e) {
+                    log.error("failed to generate image renditions for {}: {}", originalKey, e.getMessage(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("image rendition queue full, {} will be picked up by the next backfill", originalKey);
+        }
+    }
+
+    private static BufferedImage decode(InputStream original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original)) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                /* keep at least twice the largest rendition so the final downscale stays sharp */
+                int step = Math.max(1, longestEdge / (ImageDerivative.FULL.getMaxSize() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /* halve in steps for large reductions, a single bilinear pass would alias */
+    private static BufferedImage resize(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight
+                || current.getType() != BufferedImage.TYPE_INT_RGB) {
+            current = draw(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    /* JPEG has no alpha, transparent areas are flattened onto white */
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(imageDerivativeConfig.getJpegQuality());
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
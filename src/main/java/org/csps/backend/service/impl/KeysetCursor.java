@@ -0,0 +1,72 @@
+package org.csps.backend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
+import org.csps.backend.exception.InvalidRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last row of a newest-first keyset page, sent to clients as an opaque token.
+ * A missing cursor starts above every stored row.
+ */
+record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    /* above any DATETIME MySQL can store */
+    private static final KeysetCursor START = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new KeysetCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid page cursor");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /* one row beyond the page size tells whether another page follows */
+    static Pageable probe(int limit) {
+        return PageRequest.of(0, clamp(limit) + 1);
+    }
+
+    static Pageable probe(int limit, Sort sort) {
+        return PageRequest.of(0, clamp(limit) + 1, sort);
+    }
+
+    static int clamp(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /* trim the probe row and point the next cursor at the last row kept */
+    static <T> CursorPageDTO<T> page(List<T> rows, int limit, Function<T, KeysetCursor> position) {
+        int size = clamp(limit);
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? position.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(List.copyOf(items), nextCursor, hasMore);
+    }
+}
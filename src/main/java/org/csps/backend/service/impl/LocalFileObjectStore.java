@@ -0,0 +1,55 @@
+package org.csps.backend.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.csps.backend.exception.InvalidRequestException;
+import org.csps.backend.service.ObjectStore;
+
+/**
+ * Object store on the local filesystem, keys map to paths under root.
+ * Stand-in for S3 in tests and offline development.
+ */
+public class LocalFileObjectStore implements ObjectStore {
+
+    private final Path root;
+
+    public LocalFileObjectStore(String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void put(String key, String contentType, InputStream content, long contentLength) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    /* keys come from generated names, but never let one escape the root */
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new InvalidRequestException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
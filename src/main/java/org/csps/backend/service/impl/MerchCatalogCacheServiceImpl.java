@@ -0,0 +1,272 @@
+package org.csps.backend.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.csps.backend.configs.MerchCatalogCacheConfig;
+import org.csps.backend.domain.dtos.response.MerchDetailedResponseDTO;
+import org.csps.backend.domain.dtos.response.MerchItemStockDTO;
+import org.csps.backend.domain.dtos.response.MerchSummaryResponseDTO;
+import org.csps.backend.domain.dtos.response.MerchVariantItemResponseDTO;
+import org.csps.backend.domain.dtos.response.MerchVariantResponseDTO;
+import org.csps.backend.domain.enums.VersionedResource;
+import org.csps.backend.repository.MerchVariantItemRepository;
+import org.csps.backend.service.HotStockService;
+import org.csps.backend.service.MerchCatalogCacheService;
+import org.csps.backend.service.ResourceVersionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Catalog snapshots are immutable lists published through atomic references, so readers never take a lock
+ * unless the snapshot is missing. Stock is a separate, shorter-lived layer laid over copies of the snapshot
+ * on every read, with hot-stock ledger counts applied live.
+ */
+@Service
+@RequiredArgsConstructor
+public class MerchCatalogCacheServiceImpl implements MerchCatalogCacheService {
+
+    /* snapshot together with the monotonic time it was loaded and the shared version read before loading it */
+    private record Snapshot<T>(T value, long loadedAtNanos, long version) {}
+
+    /* stock per item and summed per merch as seen by one read */
+    private record StockView(Map<Long, Integer> byItem, Map<Long, Integer> byMerch) {}
+
+    private final MerchVariantItemRepository merchVariantItemRepository;
+    private final HotStockService hotStockService;
+    private final MerchCatalogCacheConfig cacheConfig;
+    private final MeterRegistry meterRegistry;
+    private final ResourceVersionService resourceVersionService;
+
+    private final AtomicReference<Snapshot<List<MerchSummaryResponseDTO>>> summaries = new AtomicReference<>();
+    private final AtomicReference<Snapshot<List<MerchDetailedResponseDTO>>> detailed = new AtomicReference<>();
+    private final AtomicReference<Snapshot<List<MerchItemStockDTO>>> stock = new AtomicReference<>();
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private final AtomicLong stockGeneration = new AtomicLong();
+    /* only misses load; concurrent misses for the same layer share one load */
+    private final ReentrantLock catalogLoadLock = new ReentrantLock();
+    private final ReentrantLock stockLoadLock = new ReentrantLock();
+
+    @Override
+    public List<MerchSummaryResponseDTO> getSummaries(Supplier<List<MerchSummaryResponseDTO>> loader) {
+        if (!cacheConfig.isEnabled()) {
+            return new ArrayList<>(loader.get());
+        }
+
+        List<MerchSummaryResponseDTO> snapshot = resolve(summaries, catalogGeneration, catalogLoadLock,
+                cacheConfig.getCatalogTtl(), this::catalogVersion, "summaries", () -> List.copyOf(loader.get()));
+        StockView stockView = currentStock();
+
+        List<MerchSummaryResponseDTO> copies = new ArrayList<>(snapshot.size());
+        for (MerchSummaryResponseDTO cached : snapshot) {
+            copies.add(copySummary(cached, stockView));
+        }
+        return copies;
+    }
+
+    @Override
+    public List<MerchDetailedResponseDTO> getDetailedMerch(Supplier<List<MerchDetailedResponseDTO>> loader) {
+        if (!cacheConfig.isEnabled()) {
+            return new ArrayList<>(loader.get());
+        }
+
+        List<MerchDetailedResponseDTO> snapshot = resolve(detailed, catalogGeneration, catalogLoadLock,
+                cacheConfig.getCatalogTtl(), this::catalogVersion, "detailed", () -> List.copyOf(loader.get()));
+        StockView stockView = currentStock();
+
+        List<MerchDetailedResponseDTO> copies = new ArrayList<>(snapshot.size());
+        for (MerchDetailedResponseDTO cached : snapshot) {
+            copies.add(copyDetailed(cached, stockView));
+        }
+        return copies;
+    }
+
+    @Override
+    public void invalidateCatalog() {
+        /* every catalog mutation passes through here, so it also moves the ETag version */
+        resourceVersionService.bump(VersionedResource.MERCH_CATALOG);
+        afterCommit(() -> {
+            evict(catalogGeneration, "catalog", summaries, detailed);
+            evict(stockGeneration, "stock", stock);
+        });
+    }
+
+    @Override
+    public void invalidateStock() {
+        afterCommit(() -> evict(stockGeneration, "stock", stock));
+    }
+
+    @Override
+    public long stockEpoch() {
+        /* wall clock rather than load time, so every replica hands out the same tag in the same window */
+        return System.currentTimeMillis() / Math.max(1, cacheConfig.getStockTtl().toMillis());
+    }
+
+    /* evict only once the mutation is visible, otherwise a concurrent load could re-cache stale rows */
+    private void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+            return;
+        }
+
+        eviction.run();
+    }
+
+    @SafeVarargs
+    private void evict(AtomicLong generation, String layer, AtomicReference<? extends Snapshot<?>>... refs) {
+        /* bump first: a load that publishes after this point sees the new generation and withdraws itself */
+        generation.incrementAndGet();
+        for (AtomicReference<? extends Snapshot<?>> ref : refs) {
+            ref.set(null);
+        }
+        meterRegistry.counter("merch.catalog.cache.evictions", "layer", layer).increment();
+    }
+
+    /*
+     * Eviction only reaches the replica that made the change, so the catalog layers also compare the
+     * shared resource_version they were loaded under with the current one. The ETag is read from the same
+     * counter before the body is built, so a replica can never serve its old snapshot under a newer tag.
+     */
+    private long catalogVersion() {
+        return resourceVersionService.currentVersion(VersionedResource.MERCH_CATALOG);
+    }
+
+    private <T> T resolve(AtomicReference<Snapshot<T>> ref, AtomicLong generation, ReentrantLock loadLock,
+            Duration ttl, LongSupplier sharedVersion, String section, Supplier<T> loader) {
+        long version = sharedVersion.getAsLong();
+        Snapshot<T> snapshot = ref.get();
+        if (isFresh(snapshot, ttl, version)) {
+            meterRegistry.counter("merch.catalog.cache.hits", "section", section).increment();
+            return snapshot.value();
+        }
+
+        meterRegistry.counter("merch.catalog.cache.misses", "section", section).increment();
+        loadLock.lock();
+        try {
+            snapshot = ref.get();
+            if (isFresh(snapshot, ttl, version)) {
+                return snapshot.value();
+            }
+
+            long loadedGeneration = generation.get();
+            Snapshot<T> loaded = new Snapshot<>(loader.get(), System.nanoTime(), version);
+            ref.set(loaded);
+            /* an invalidation during the load means the rows may predate the mutation - hand them out but don't keep them */
+            if (generation.get() != loadedGeneration) {
+                ref.compareAndSet(loaded, null);
+            }
+            return loaded.value();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /* a snapshot loaded under an older shared version predates a change made on another replica */
+    private boolean isFresh(Snapshot<?> snapshot, Duration ttl, long version) {
+        return snapshot != null
+                && snapshot.version() >= version
+                && System.nanoTime() - snapshot.loadedAtNanos() <= ttl.toNanos();
+    }
+
+    private StockView currentStock() {
+        List<MerchItemStockDTO> rows = resolve(stock, stockGeneration, stockLoadLock,
+                cacheConfig.getStockTtl(), () -> 0L, "stock", () -> List.copyOf(merchVariantItemRepository.findAllItemStock()));
+
+        /* hot-stock ledgers move without touching the stored column, so they are read live */
+        Map<Long, Integer> byItem = new HashMap<>(rows.size() * 2);
+        Map<Long, Integer> byMerch = new HashMap<>();
+        for (MerchItemStockDTO row : rows) {
+            int stored = row.getStockQuantity() == null ? 0 : row.getStockQuantity();
+            int available = hotStockService.availableStock(row.getMerchVariantItemId(), stored);
+            byItem.put(row.getMerchVariantItemId(), available);
+            byMerch.merge(row.getMerchId(), available, Integer::sum);
+        }
+        return new StockView(byItem, byMerch);
+    }
+
+    private MerchSummaryResponseDTO copySummary(MerchSummaryResponseDTO cached, StockView stockView) {
+        return MerchSummaryResponseDTO.builder()
+                .merchId(cached.getMerchId())
+                .merchName(cached.getMerchName())
+                .description(cached.getDescription())
+                .merchType(cached.getMerchType())
+                .basePrice(cached.getBasePrice())
+                .s3ImageKey(cached.getS3ImageKey())
+                .imageVariants(cached.getImageVariants())
+                .totalStockQuantity(stockView.byMerch().getOrDefault(cached.getMerchId(), cached.getTotalStockQuantity()))
+                .hasFreebie(cached.getHasFreebie())
+                .freebieConfigs(cached.getFreebieConfigs())
+                .build();
+    }
+
+    private MerchDetailedResponseDTO copyDetailed(MerchDetailedResponseDTO cached, StockView stockView) {
+        List<MerchVariantResponseDTO> variants = null;
+        if (cached.getVariants() != null) {
+            variants = new ArrayList<>(cached.getVariants().size());
+            for (MerchVariantResponseDTO variant : cached.getVariants()) {
+                variants.add(copyVariant(variant, stockView));
+            }
+        }
+
+        return MerchDetailedResponseDTO.builder()
+                .merchId(cached.getMerchId())
+                .merchName(cached.getMerchName())
+                .description(cached.getDescription())
+                .merchType(cached.getMerchType())
+                .basePrice(cached.getBasePrice())
+                .s3ImageKey(cached.getS3ImageKey())
+                .imageVariants(cached.getImageVariants())
+                .hasFreebie(cached.getHasFreebie())
+                .freebieConfigs(cached.getFreebieConfigs())
+                .variants(variants)
+                .build();
+    }
+
+    private MerchVariantResponseDTO copyVariant(MerchVariantResponseDTO cached, StockView stockView) {
+        List<MerchVariantItemResponseDTO> items = null;
+        if (cached.getVariantItems() != null) {
+            items = new ArrayList<>(cached.getVariantItems().size());
+            for (MerchVariantItemResponseDTO item : cached.getVariantItems()) {
+                items.add(MerchVariantItemResponseDTO.builder()
+                        .merchVariantItemId(item.getMerchVariantItemId())
+                        .size(item.getSize())
+                        .stockQuantity(stockView.byItem().getOrDefault(item.getMerchVariantItemId(), item.getStockQuantity()))
+                        .price(item.getPrice())
+                        .s3ImageKey(item.getS3ImageKey())
+                        .hotStock(item.getHotStock())
+                        .build());
+            }
+        }
+
+        /* the variant reports its first item's stock, as the mapper does */
+        Integer variantStock = items == null || items.isEmpty() ? cached.getStockQuantity() : items.get(0).getStockQuantity();
+        return MerchVariantResponseDTO.builder()
+                .merchVariantId(cached.getMerchVariantId())
+                .color(cached.getColor())
+                .design(cached.getDesign())
+                .price(cached.getPrice())
+                .stockQuantity(variantStock)
+                .s3ImageKey(cached.getS3ImageKey())
+                .imageVariants(cached.getImageVariants())
+                .variantItems(items)
+                .build();
+    }
+}
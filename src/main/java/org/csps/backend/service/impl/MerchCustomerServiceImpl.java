@@ -1,10 +1,16 @@
 package org.csps.backend.service.impl;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 
 import org.csps.backend.domain.dtos.request.BulkMerchPaymentRequestDTO;
 import org.csps.backend.domain.dtos.request.BulkPaymentEntryDTO;
@@ -15,6 +21,7 @@ import org.csps.backend.domain.entities.MerchVariantItem;
 import org.csps.backend.domain.entities.Order;
 import org.csps.backend.domain.entities.OrderItem;
 import org.csps.backend.domain.entities.Student;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.domain.enums.MerchType;
 import org.csps.backend.domain.enums.OrderStatus;
 import org.csps.backend.exception.InvalidRequestException;
@@ -27,13 +34,20 @@ import org.csps.backend.repository.MerchVariantItemRepository;
 import org.csps.backend.repository.OrderItemRepository;
 import org.csps.backend.repository.OrderRepository;
 import org.csps.backend.repository.StudentRepository;
+import org.csps.backend.service.FinanceDashboardService;
+import org.csps.backend.service.MerchCatalogCacheService;
 import org.csps.backend.service.MerchCustomerService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.RevenueRollupService;
+import org.csps.backend.service.StockReservationService;
 import org.csps.backend.service.TicketFreebieAssignmentService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -48,6 +62,15 @@ public class MerchCustomerServiceImpl implements MerchCustomerService {
     private final CartItemRepository cartItemRepository;
     private final OrderMapper orderMapper;
     private final TicketFreebieAssignmentService ticketFreebieAssignmentService;
+    private final RevenueRollupService revenueRollupService;
+    private final FinanceDashboardService financeDashboardService;
+    private final StockReservationService stockReservationService;
+    private final MerchCatalogCacheService merchCatalogCacheService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
+    private final EntityManager entityManager;
+
+    /* rows handed to the writer between flushes; also the cursor fetch size on the repository query */
+    private static final int EXPORT_CHUNK_SIZE = 500;
 
     @Override
     public Page<MerchCustomerResponseDTO> getCustomersByMerchId(Long merchId, Pageable pageable, boolean includeFreebies) {
@@ -145,6 +168,7 @@ public class MerchCustomerServiceImpl implements MerchCustomerService {
             }
 
             List<Order> savedOrders = orderRepository.saveAll(ordersToSave);
+            students.forEach(student -> purchaseEligibilityService.invalidate(student.getStudentId()));
             List<OrderItem> orderItemsToSave = new java.util.ArrayList<>();
 
             for (int index = 0; index < savedOrders.size(); index++) {
@@ -159,14 +183,33 @@ public class MerchCustomerServiceImpl implements MerchCustomerService {
             }
 
             List<OrderItem> savedItems = orderItemRepository.saveAll(orderItemsToSave);
+            /* bulk payments are recorded as already approved, so they count towards revenue immediately */
+            Map<LocalDate, BigDecimal> revenueByDay = new TreeMap<>();
             for (OrderItem savedItem : savedItems) {
                 if (savedItem.getMerchVariantItem().getMerchVariant().getMerch().getMerchType() == MerchType.TICKET) {
                     ticketFreebieAssignmentService.initializeAssignments(savedItem.getOrderItemId(), List.of());
                 }
-            }
 
-            merchVariantItem.setStockQuantity(merchVariantItem.getStockQuantity() - totalStockNeeded);
-            merchVariantItemRepository.save(merchVariantItem);
+                if (savedItem.getOrder().getOrderDate() != null) {
+                    revenueByDay.merge(savedItem.getOrder().getOrderDate().toLocalDate(),
+                            revenueRollupService.calculateRecognizedRevenue(savedItem), BigDecimal::add);
+                }
+            }
+            /* one upsert per day for the whole batch rather than one per student */
+            revenueByDay.forEach(revenueRollupService::recordRevenueDelta);
+
+            if (Boolean.TRUE.equals(merchVariantItem.getHotStock())) {
+                /* the stored column lags the ledger for hot items, take the units from the ledger instead */
+                stockReservationService.reserve(merchVariantItem.getMerchVariantItemId(), totalStockNeeded);
+            } else {
+                merchVariantItem.setStockQuantity(merchVariantItem.getStockQuantity() - totalStockNeeded);
+                merchVariantItemRepository.save(merchVariantItem);
+                merchCatalogCacheService.invalidateStock();
+            }
+            financeDashboardService.invalidateSections(
+                    FinanceDashboardSection.INVENTORY,
+                    FinanceDashboardSection.RECENT_ORDERS,
+                    FinanceDashboardSection.CHART_DATA);
 
             return savedOrders.stream().map(orderMapper::toResponseDTO).toList();
         } catch (Exception e) {
@@ -197,6 +240,81 @@ public class MerchCustomerServiceImpl implements MerchCustomerService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCustomersByMerchIdCsv(Long merchId, boolean includeFreebies, OutputStream outputStream) {
+        validateMerchExists(merchId);
+        CsvExportWriter csv = new CsvExportWriter(outputStream);
+        if (includeFreebies) {
+            csv.writeRow("Order Item ID", "Student ID", "Student Name", "Year Level", "Merch", "Color", "Design",
+                    "Size", "Quantity", "Total Price", "Status", "Order Date", "Has Freebie", "Freebies");
+        } else {
+            csv.writeRow("Order Item ID", "Student ID", "Student Name", "Year Level", "Merch", "Color", "Design",
+                    "Size", "Quantity", "Total Price", "Status", "Order Date", "Has Freebie");
+        }
+        /* first byte goes out before the first batch is even read */
+        csv.flush();
+
+        /* keyset batches rather than a cursor: each chunk also loads its freebie assignments */
+        long afterId = 0L;
+        List<OrderItem> chunk;
+        do {
+            chunk = orderItemRepository.findExportBatchByMerchId(merchId, afterId, PageRequest.of(0, EXPORT_CHUNK_SIZE));
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getOrderItemId();
+                writeCustomerChunk(csv, chunk, includeFreebies);
+            }
+        } while (chunk.size() == EXPORT_CHUNK_SIZE);
+    }
+
+    private void writeCustomerChunk(CsvExportWriter csv, List<OrderItem> chunk, boolean includeFreebies) {
+        Map<Long, List<TicketFreebieAssignmentResponseDTO>> assignmentsByOrderItemId =
+                loadAssignments(chunk, includeFreebies);
+        for (OrderItem orderItem : chunk) {
+            MerchCustomerResponseDTO customer = mapToMerchCustomerDTO(
+                    orderItem,
+                    assignmentsByOrderItemId.get(orderItem.getOrderItemId()),
+                    includeFreebies);
+            if (includeFreebies) {
+                csv.writeRow(customer.getOrderItemId(), customer.getStudentId(), customer.getStudentName(),
+                        customer.getYearLevel(), customer.getMerchName(), customer.getColor(), customer.getDesign(),
+                        customer.getSize(), customer.getQuantity(), customer.getTotalPrice(), customer.getOrderStatus(),
+                        customer.getOrderDate(), customer.getHasFreebie(), describeAssignments(customer.getFreebieAssignments()));
+            } else {
+                csv.writeRow(customer.getOrderItemId(), customer.getStudentId(), customer.getStudentName(),
+                        customer.getYearLevel(), customer.getMerchName(), customer.getColor(), customer.getDesign(),
+                        customer.getSize(), customer.getQuantity(), customer.getTotalPrice(), customer.getOrderStatus(),
+                        customer.getOrderDate(), customer.getHasFreebie());
+            }
+        }
+        csv.flush();
+        /* drop the chunk's order items and their fetched graph from the persistence context */
+        entityManager.clear();
+    }
+
+    private String describeAssignments(List<TicketFreebieAssignmentResponseDTO> freebieAssignments) {
+        if (freebieAssignments == null || freebieAssignments.isEmpty()) {
+            return null;
+        }
+
+        StringJoiner joiner = new StringJoiner("; ");
+        for (TicketFreebieAssignmentResponseDTO assignment : freebieAssignments) {
+            StringJoiner details = new StringJoiner("/");
+            if (assignment.getSelectedSize() != null) {
+                details.add(assignment.getSelectedSize().name());
+            }
+            if (assignment.getSelectedColor() != null) {
+                details.add(assignment.getSelectedColor());
+            }
+            if (assignment.getSelectedDesign() != null) {
+                details.add(assignment.getSelectedDesign());
+            }
+            String detailText = details.length() > 0 ? " " + details : "";
+            joiner.add(assignment.getFreebieName() + detailText + " (" + assignment.getFulfillmentStatus() + ")");
+        }
+        return joiner.toString();
+    }
+
     private MerchCustomerResponseDTO mapToMerchCustomerDTO(
             OrderItem orderItem,
             List<TicketFreebieAssignmentResponseDTO> freebieAssignments,
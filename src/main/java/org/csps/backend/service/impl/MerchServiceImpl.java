@@ -2,7 +2,6 @@ package org.csps.backend.service.impl;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.csps.backend.domain.dtos.request.MerchRequestDTO;
 import org.csps.backend.domain.dtos.request.MerchUpdateRequestDTO;
@@ -11,19 +10,23 @@ import org.csps.backend.domain.dtos.request.MerchVariantRequestDTO;
 import org.csps.backend.domain.dtos.response.MerchDetailedResponseDTO;
 import org.csps.backend.domain.dtos.response.MerchSummaryResponseDTO;
 import org.csps.backend.domain.entities.Merch;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.domain.enums.MerchType;
-import org.csps.backend.domain.enums.OrderStatus;
+import org.csps.backend.domain.enums.VersionedResource;
 import org.csps.backend.exception.InvalidRequestException;
 import org.csps.backend.exception.MerchAlreadyExistException;
 import org.csps.backend.exception.MerchNotFoundException;
 import org.csps.backend.mapper.MerchMapper;
-import org.csps.backend.repository.CartItemRepository;
 import org.csps.backend.repository.MerchRepository;
-import org.csps.backend.repository.OrderItemRepository;
-import org.csps.backend.repository.StudentMembershipRepository;
+import org.csps.backend.service.FinanceDashboardService;
+import org.csps.backend.service.ImageDerivativeService;
+import org.csps.backend.service.MerchCatalogCacheService;
 import org.csps.backend.service.MerchService;
 import org.csps.backend.service.MerchVariantItemService;
 import org.csps.backend.service.MerchVariantService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.PurchaseEligibilityService.Eligibility;
+import org.csps.backend.service.ResourceVersionService;
 import org.csps.backend.service.S3Service;
 import org.csps.backend.service.StudentService;
 import org.csps.backend.service.TicketFreebieConfigService;
@@ -43,13 +46,15 @@ public class MerchServiceImpl implements MerchService {
     private final MerchRepository merchRepository;
     private final MerchMapper merchMapper;
     private final S3Service s3Service;
+    private final ImageDerivativeService imageDerivativeService;
     private final MerchVariantService merchVariantService;
     private final MerchVariantItemService merchVariantItemService;
-    private final StudentMembershipRepository studentMembershipRepository;
-    private final CartItemRepository cartItemRepository;
-    private final OrderItemRepository orderItemRepository;
     private final StudentService studentService;
     private final TicketFreebieConfigService ticketFreebieConfigService;
+    private final FinanceDashboardService financeDashboardService;
+    private final MerchCatalogCacheService merchCatalogCacheService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
+    private final ResourceVersionService resourceVersionService;
 
     @Override
     @Transactional
@@ -95,10 +100,12 @@ public class MerchServiceImpl implements MerchService {
 
         if (request.getMerchImage() != null && !request.getMerchImage().isEmpty()) {
             String s3ImageKey = s3Service.uploadFile(request.getMerchImage(), savedMerch.getMerchId(), "merch");
+            imageDerivativeService.scheduleDerivatives(s3ImageKey);
             savedMerch.setS3ImageKey(s3ImageKey);
             savedMerch = merchRepository.save(savedMerch);
         }
 
+        merchCatalogCacheService.invalidateCatalog();
         Merch finalMerch = merchRepository.findById(savedMerch.getMerchId())
                 .orElseThrow(() -> new MerchNotFoundException("Merch not found"));
         return enrichDetailedResponse(merchMapper.toDetailedResponseDTO(finalMerch));
@@ -107,20 +114,13 @@ public class MerchServiceImpl implements MerchService {
     @Override
     @Transactional(readOnly = true)
     public List<MerchDetailedResponseDTO> getAllMerch() {
-        List<MerchDetailedResponseDTO> allMerch = merchRepository.findAll().stream()
-                .map(merchMapper::toDetailedResponseDTO)
-                .map(this::enrichDetailedResponse)
-                .collect(Collectors.toList());
+        /* the cache hands out copies, so the per-student purchase state is applied on top of them */
+        List<MerchDetailedResponseDTO> allMerch = merchCatalogCacheService.getDetailedMerch(this::loadDetailedCatalog);
+        Eligibility eligibility = currentEligibility();
+        allMerch.forEach(merch -> applyPurchaseState(merch, eligibility));
 
-        String studentId = studentService.getCurrentStudentId();
-        if (studentId != null) {
-            boolean shouldExcludeMembership = studentMembershipRepository.hasActiveMembership(studentId)
-                    || cartItemRepository.existsByStudentIdAndMerchType(studentId, MerchType.MEMBERSHIP)
-                    || orderItemRepository.existsByStudentIdAndMerchTypeAndStatus(studentId, MerchType.MEMBERSHIP, OrderStatus.PENDING);
-
-            if (shouldExcludeMembership) {
-                allMerch.removeIf(m -> m.getMerchType() == MerchType.MEMBERSHIP);
-            }
+        if (eligibility != null && eligibility.hidesMembership()) {
+            allMerch.removeIf(m -> m.getMerchType() == MerchType.MEMBERSHIP);
         }
         return allMerch;
     }
@@ -128,21 +128,14 @@ public class MerchServiceImpl implements MerchService {
     @Override
     @Transactional(readOnly = true)
     public List<MerchSummaryResponseDTO> getAllMerchSummaries() {
-        List<MerchSummaryResponseDTO> summaries = merchRepository.findAllSummaries().stream()
-            .map(this::enrichSummaryResponse)
-            .toList();
-
-        String studentId = studentService.getCurrentStudentId();
-        if (studentId != null) {
-            boolean shouldExcludeMembership = studentMembershipRepository.hasActiveMembership(studentId)
-                    || cartItemRepository.existsByStudentIdAndMerchType(studentId, MerchType.MEMBERSHIP)
-                    || orderItemRepository.existsByStudentIdAndMerchTypeAndStatus(studentId, MerchType.MEMBERSHIP, OrderStatus.PENDING);
-
-            if (shouldExcludeMembership) {
-                return summaries.stream()
-                    .filter(m -> m.getMerchType() != MerchType.MEMBERSHIP)
-                    .toList();
-            }
+        List<MerchSummaryResponseDTO> summaries = merchCatalogCacheService.getSummaries(this::loadSummaryCatalog);
+        Eligibility eligibility = currentEligibility();
+        summaries.forEach(summary -> applyPurchaseState(summary, eligibility));
+
+        if (eligibility != null && eligibility.hidesMembership()) {
+            return summaries.stream()
+                .filter(m -> m.getMerchType() != MerchType.MEMBERSHIP)
+                .toList();
         }
         return summaries;
     }
@@ -162,19 +155,30 @@ public class MerchServiceImpl implements MerchService {
             throw new InvalidRequestException("Merch type is required");
         }
 
-        String studentId = studentService.getCurrentStudentId();
-        if (studentId != null && merchType == MerchType.MEMBERSHIP) {
-            boolean shouldExcludeMembership = studentMembershipRepository.hasActiveMembership(studentId)
-                    || cartItemRepository.existsByStudentIdAndMerchType(studentId, MerchType.MEMBERSHIP)
-                    || orderItemRepository.existsByStudentIdAndMerchTypeAndStatus(studentId, MerchType.MEMBERSHIP, OrderStatus.PENDING);
-            if (shouldExcludeMembership) {
-                return List.of();
-            }
+        Eligibility eligibility = currentEligibility();
+        if (merchType == MerchType.MEMBERSHIP && eligibility != null && eligibility.hidesMembership()) {
+            return List.of();
         }
 
-        return merchRepository.findAllSummaryByType(merchType).stream()
-            .map(this::enrichSummaryResponse)
+        /* a type filter over the cached summaries instead of a per-type GROUP BY */
+        List<MerchSummaryResponseDTO> summaries = merchCatalogCacheService.getSummaries(this::loadSummaryCatalog).stream()
+            .filter(summary -> summary.getMerchType() == merchType)
             .toList();
+        summaries.forEach(summary -> applyPurchaseState(summary, eligibility));
+        return summaries;
+    }
+
+    @Override
+    public String getCatalogVersion() {
+        long catalogVersion = resourceVersionService.currentVersion(VersionedResource.MERCH_CATALOG);
+        /* stock counts in the body are at most one stock ttl old, so their tag changes once per ttl */
+        String version = "merch-" + catalogVersion + "-" + merchCatalogCacheService.stockEpoch();
+        String studentId = studentService.getCurrentStudentId();
+        if (studentId == null) {
+            return version;
+        }
+        /* purchase state differs per student, so the student is part of the tag */
+        return version + "-" + studentId + "-" + purchaseEligibilityService.version(studentId);
     }
 
     @Override
@@ -201,6 +205,7 @@ public class MerchServiceImpl implements MerchService {
 
         Merch updated = merchRepository.save(foundMerch);
         ticketFreebieConfigService.syncConfigsForMerch(updated, request.getHasFreebie(), request.getFreebieConfigs());
+        merchCatalogCacheService.invalidateCatalog();
         return enrichDetailedResponse(merchMapper.toDetailedResponseDTO(updated));
     }
 
@@ -229,6 +234,7 @@ public class MerchServiceImpl implements MerchService {
 
         Merch updated = merchRepository.save(foundMerch);
         ticketFreebieConfigService.syncConfigsForMerch(updated, updated.getHasFreebie(), request.getFreebieConfigs());
+        merchCatalogCacheService.invalidateCatalog();
         return enrichDetailedResponse(merchMapper.toDetailedResponseDTO(updated));
     }
 
@@ -239,6 +245,8 @@ public class MerchServiceImpl implements MerchService {
                 .orElseThrow(() -> new MerchNotFoundException("Merch not found with id: " + merchId));
         merch.setIsActive(false);
         merchRepository.save(merch);
+        financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+        merchCatalogCacheService.invalidateCatalog();
     }
 
     @Override
@@ -260,6 +268,8 @@ public class MerchServiceImpl implements MerchService {
 
         merch.setIsActive(true);
         Merch reverted = merchRepository.save(merch);
+        financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+        merchCatalogCacheService.invalidateCatalog();
         return enrichDetailedResponse(merchMapper.toDetailedResponseDTO(reverted));
     }
 
@@ -306,47 +316,61 @@ public class MerchServiceImpl implements MerchService {
 
     private MerchDetailedResponseDTO enrichDetailedResponse(MerchDetailedResponseDTO response) {
         response.setFreebieConfigs(ticketFreebieConfigService.getConfigsByTicketMerchId(response.getMerchId()));
-        enrichPurchaseState(response.getMerchId(), response.getMerchType(), response::setPurchaseBlocked, response::setPurchaseBlockMessage);
+        applyPurchaseState(response, currentEligibility());
         return response;
     }
 
-    private MerchSummaryResponseDTO enrichSummaryResponse(MerchSummaryResponseDTO response) {
-        response.setFreebieConfigs(ticketFreebieConfigService.getConfigsByTicketMerchId(response.getMerchId()));
-        enrichPurchaseState(response.getMerchId(), response.getMerchType(), response::setPurchaseBlocked, response::setPurchaseBlockMessage);
-        return response;
+    /* student-independent catalog loads for the cache; purchase state is applied per request */
+    private List<MerchSummaryResponseDTO> loadSummaryCatalog() {
+        List<MerchSummaryResponseDTO> summaries = merchRepository.findAllSummaries();
+        summaries.forEach(summary -> summary.setFreebieConfigs(
+                ticketFreebieConfigService.getConfigsByTicketMerchId(summary.getMerchId())));
+        return summaries;
+    }
+
+    private List<MerchDetailedResponseDTO> loadDetailedCatalog() {
+        List<MerchDetailedResponseDTO> allMerch = merchRepository.findAll().stream()
+                .map(merchMapper::toDetailedResponseDTO)
+                .toList();
+        allMerch.forEach(merch -> merch.setFreebieConfigs(
+                ticketFreebieConfigService.getConfigsByTicketMerchId(merch.getMerchId())));
+        return allMerch;
+    }
+
+    /* one eligibility read per request, shared by every item in the response; null when no student is signed in */
+    private Eligibility currentEligibility() {
+        String studentId = studentService.getCurrentStudentId();
+        return studentId == null ? null : purchaseEligibilityService.getEligibility(studentId);
+    }
+
+    private void applyPurchaseState(MerchSummaryResponseDTO response, Eligibility eligibility) {
+        enrichPurchaseState(response.getMerchId(), response.getMerchType(), eligibility, response::setPurchaseBlocked, response::setPurchaseBlockMessage);
+    }
+
+    private void applyPurchaseState(MerchDetailedResponseDTO response, Eligibility eligibility) {
+        enrichPurchaseState(response.getMerchId(), response.getMerchType(), eligibility, response::setPurchaseBlocked, response::setPurchaseBlockMessage);
     }
 
     private void enrichPurchaseState(
             Long merchId,
             MerchType merchType,
+            Eligibility eligibility,
             java.util.function.Consumer<Boolean> purchaseBlockedConsumer,
             java.util.function.Consumer<String> purchaseBlockMessageConsumer) {
-        String studentId = studentService.getCurrentStudentId();
-        if (studentId == null || merchType == null) {
+        if (eligibility == null || merchType == null) {
             purchaseBlockedConsumer.accept(Boolean.FALSE);
             purchaseBlockMessageConsumer.accept(null);
             return;
         }
 
         boolean purchaseBlocked = false;
-        String purchaseBlockMessage = null;
-
         if (merchType == MerchType.TICKET) {
-            purchaseBlocked = cartItemRepository.existsByStudentIdAndMerchId(studentId, merchId)
-                    || orderItemRepository.existsByStudentIdAndMerchIdAndOrderStatusNotIn(
-                            studentId,
-                            merchId,
-                            List.of(OrderStatus.CANCELLED, OrderStatus.REJECTED));
-            purchaseBlockMessage = purchaseBlocked ? ITEM_ALREADY_IN_CART_OR_ORDER : null;
+            purchaseBlocked = eligibility.blocksTicket(merchId);
         } else if (merchType == MerchType.MEMBERSHIP) {
-            boolean hasMembershipConflict = studentMembershipRepository.hasActiveMembership(studentId)
-                    || cartItemRepository.existsByStudentIdAndMerchType(studentId, MerchType.MEMBERSHIP)
-                    || orderItemRepository.existsByStudentIdAndMerchTypeAndStatus(studentId, MerchType.MEMBERSHIP, OrderStatus.PENDING);
-            purchaseBlocked = hasMembershipConflict;
-            purchaseBlockMessage = hasMembershipConflict ? ITEM_ALREADY_IN_CART_OR_ORDER : null;
+            purchaseBlocked = eligibility.hidesMembership();
         }
 
         purchaseBlockedConsumer.accept(purchaseBlocked);
-        purchaseBlockMessageConsumer.accept(purchaseBlockMessage);
+        purchaseBlockMessageConsumer.accept(purchaseBlocked ? ITEM_ALREADY_IN_CART_OR_ORDER : null);
     }
 }
@@ -10,6 +10,7 @@ import org.csps.backend.domain.entities.Merch;
 import org.csps.backend.domain.entities.MerchVariant;
 import org.csps.backend.domain.entities.MerchVariantItem;
 import org.csps.backend.domain.enums.ClothingSizing;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.domain.enums.MerchType;
 import org.csps.backend.exception.InvalidRequestException;
 import org.csps.backend.exception.MerchVariantNotFoundException;
@@ -18,6 +19,9 @@ import org.csps.backend.repository.CartItemRepository;
 import org.csps.backend.repository.MerchVariantItemRepository;
 import org.csps.backend.repository.MerchVariantRepository;
 import org.csps.backend.repository.OrderItemRepository;
+import org.csps.backend.service.FinanceDashboardService;
+import org.csps.backend.service.HotStockService;
+import org.csps.backend.service.MerchCatalogCacheService;
 import org.csps.backend.service.MerchVariantItemService;
 import org.csps.backend.service.TicketFreebieConfigService;
 import org.springframework.cache.annotation.CacheEvict;
@@ -36,6 +40,9 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
     private final TicketFreebieConfigService ticketFreebieConfigService;
     private final CartItemRepository cartItemRepository;
     private final OrderItemRepository orderItemRepository;
+    private final FinanceDashboardService financeDashboardService;
+    private final HotStockService hotStockService;
+    private final MerchCatalogCacheService merchCatalogCacheService;
 
     @Override
     @Transactional
@@ -90,6 +97,8 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
                 .build();
 
         MerchVariantItem saved = itemRepository.save(item);
+        financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+        merchCatalogCacheService.invalidateCatalog();
         return itemMapper.toResponseDto(saved);
     }
 
@@ -167,6 +176,8 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
 
         // Batch save all items in a single query
         List<MerchVariantItem> saved = itemRepository.saveAll(itemsToSave);
+        financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+        merchCatalogCacheService.invalidateCatalog();
         
         return saved.stream()
                 .map(itemMapper::toResponseDto)
@@ -181,7 +192,7 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
         }
 
         return itemRepository.findByMerchVariantMerchVariantId(merchVariantId).stream()
-                .map(itemMapper::toResponseDto)
+                .map(this::toResponseDto)
                 .toList();
     }
 
@@ -194,7 +205,7 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
         MerchVariantItem item = itemRepository.findByMerchVariantAndSize(variant, size)
                 .orElseThrow(() -> new InvalidRequestException("Item with size " + size + " not found for this variant"));
 
-        return itemMapper.toResponseDto(item);
+        return toResponseDto(item);
     }
 
     @Override
@@ -206,9 +217,14 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
 
         MerchVariantItem item = itemRepository.findById(merchVariantItemId)
                 .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found with id: " + merchVariantItemId));
+        if (Boolean.TRUE.equals(item.getHotStock())) {
+            throw new InvalidRequestException("Switch the item out of hot-stock mode before editing its stock");
+        }
 
         item.setStockQuantity(newQuantity);
         MerchVariantItem updated = itemRepository.save(item);
+        financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+        merchCatalogCacheService.invalidateStock();
         return itemMapper.toResponseDto(updated);
     }
 
@@ -224,7 +240,8 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
 
         item.setPrice(newPrice);
         MerchVariantItem updated = itemRepository.save(item);
-        return itemMapper.toResponseDto(updated);
+        merchCatalogCacheService.invalidateCatalog();
+        return toResponseDto(updated);
     }
 
 
@@ -240,8 +257,27 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
         if (orderItemRepository.existsByMerchVariantItemMerchVariantItemId(merchVariantItemId)) {
             throw new InvalidRequestException("Cannot delete item that is referenced by order items");
         }
+        if (Boolean.TRUE.equals(item.getHotStock())) {
+            throw new InvalidRequestException("Switch the item out of hot-stock mode before deleting it");
+        }
 
         itemRepository.delete(item);
+        financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+        merchCatalogCacheService.invalidateCatalog();
+    }
+
+    @Override
+    public MerchVariantItemResponseDTO updateHotStockMode(Long merchVariantItemId, boolean enabled) {
+        /* not transactional: the hot-stock service commits the mode switch before the ledger is used */
+        if (enabled) {
+            hotStockService.enable(merchVariantItemId);
+        } else {
+            hotStockService.disable(merchVariantItemId);
+        }
+        financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+        /* the cached items carry the hot-stock flag */
+        merchCatalogCacheService.invalidateCatalog();
+        return getItemById(merchVariantItemId);
     }
 
     @Override
@@ -249,11 +285,18 @@ public class MerchVariantItemServiceImpl implements MerchVariantItemService {
         MerchVariantItem item = itemRepository.findById(merchVariantItemId)
                 .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found with id: " + merchVariantItemId));
 
-        return itemMapper.toResponseDto(item);
+        return toResponseDto(item);
     }
 
     @Override
     public List<TicketFreebieConfigResponseDTO> getFreebiesByMerchVariantItemId(Long merchVariantItemId) {
         return ticketFreebieConfigService.getConfigsByMerchVariantItemId(merchVariantItemId);
     }
+
+    /* hot items report the unclaimed stored stock plus this replica's allocation */
+    private MerchVariantItemResponseDTO toResponseDto(MerchVariantItem item) {
+        MerchVariantItemResponseDTO dto = itemMapper.toResponseDto(item);
+        dto.setStockQuantity(hotStockService.availableStock(item));
+        return dto;
+    }
 }
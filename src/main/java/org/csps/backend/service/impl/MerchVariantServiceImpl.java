@@ -17,6 +17,8 @@ import org.csps.backend.repository.CartItemRepository;
 import org.csps.backend.repository.MerchRepository;
 import org.csps.backend.repository.MerchVariantRepository;
 import org.csps.backend.repository.OrderItemRepository;
+import org.csps.backend.service.ImageDerivativeService;
+import org.csps.backend.service.MerchCatalogCacheService;
 import org.csps.backend.service.MerchVariantItemService;
 import org.csps.backend.service.MerchVariantService;
 import org.csps.backend.service.S3Service;
@@ -40,7 +42,9 @@ public class MerchVariantServiceImpl implements MerchVariantService {
     private final OrderItemRepository orderItemRepository;
     private final CartItemRepository cartItemRepository;
     private final S3Service s3Service;
+    private final ImageDerivativeService imageDerivativeService;
     private final MerchVariantItemService merchVariantItemService;
+    private final MerchCatalogCacheService merchCatalogCacheService;
 
     @Override
     @Transactional
@@ -104,10 +108,12 @@ public class MerchVariantServiceImpl implements MerchVariantService {
         // Upload the image only after variant item validation/persistence succeeds.
         if (dto.getVariantImage() != null && !dto.getVariantImage().isEmpty()) {
             String s3ImageKey = s3Service.uploadFile(dto.getVariantImage(), saved.getMerchVariantId(), "merchVariant");
+            imageDerivativeService.scheduleDerivatives(s3ImageKey);
             saved.setS3ImageKey(s3ImageKey);
             saved = merchVariantRepository.save(saved);
         }
 
+        merchCatalogCacheService.invalidateCatalog();
         return merchVariantMapper.toResponseDTO(saved);
     }
 
@@ -174,10 +180,12 @@ public class MerchVariantServiceImpl implements MerchVariantService {
         
         // Upload new image to S3
         String s3ImageKey = s3Service.uploadFile(file, merchVariantId, "merchVariant");
+        imageDerivativeService.scheduleDerivatives(s3ImageKey);
         
         // Update variant with new S3 key
         variant.setS3ImageKey(s3ImageKey);
         merchVariantRepository.save(variant);
+        merchCatalogCacheService.invalidateCatalog();
         
         return s3ImageKey;
     }
@@ -196,6 +204,7 @@ public class MerchVariantServiceImpl implements MerchVariantService {
         }
         
         merchVariantRepository.delete(variant);
+        merchCatalogCacheService.invalidateCatalog();
 
         if (variant.getS3ImageKey() != null 
             && !variant.getS3ImageKey().isEmpty() 
@@ -1,14 +1,27 @@
 package org.csps.backend.service.impl;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.csps.backend.domain.dtos.request.OrderItemRequestDTO;
 import org.csps.backend.domain.dtos.request.TicketFreebieAssignmentRequestDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.OrderItemResponseDTO;
+import org.csps.backend.domain.dtos.response.TicketFreebieAssignmentResponseDTO;
 import org.csps.backend.domain.entities.MerchVariantItem;
 import org.csps.backend.domain.entities.Order;
 import org.csps.backend.domain.entities.OrderItem;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.domain.enums.MerchType;
 import org.csps.backend.domain.enums.OrderStatus;
 import org.csps.backend.exception.InvalidOrderStatusTransitionException;
@@ -20,9 +33,13 @@ import org.csps.backend.repository.MerchVariantItemRepository;
 import org.csps.backend.repository.OrderItemRepository;
 import org.csps.backend.repository.OrderRepository;
 import org.csps.backend.repository.TicketFreebieAssignmentRepository;
+import org.csps.backend.service.FinanceDashboardService;
 import org.csps.backend.service.OrderItemService;
 import org.csps.backend.service.OrderLifecycleService;
 import org.csps.backend.service.OrderNotificationService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.RevenueRollupService;
+import org.csps.backend.service.StockReservationService;
 import org.csps.backend.service.StudentMembershipService;
 import org.csps.backend.service.TicketFreebieAssignmentService;
 import org.springframework.data.domain.Page;
@@ -40,13 +57,17 @@ public class OrderItemServiceImpl implements OrderItemService {
 
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
-    private final MerchVariantItemRepository merchVariantItemRepository;
     private final OrderItemMapper orderItemMapper;
     private final OrderNotificationService orderNotificationService;
     private final OrderLifecycleService orderLifecycleService;
     private final TicketFreebieAssignmentService ticketFreebieAssignmentService;
     private final TicketFreebieAssignmentRepository ticketFreebieAssignmentRepository;
     private final StudentMembershipService studentMembershipService;
+    private final RevenueRollupService revenueRollupService;
+    private final FinanceDashboardService financeDashboardService;
+    private final StockReservationService stockReservationService;
+    private final MerchVariantItemRepository merchVariantItemRepository;
+    private final PurchaseEligibilityService purchaseEligibilityService;
 
     @Override
     @Transactional
@@ -58,16 +79,14 @@ public class OrderItemServiceImpl implements OrderItemService {
         Order order = orderRepository.findById(orderItemRequestDTO.getOrderId())
             .orElseThrow(() -> new OrderNotFoundException("Order not found"));
 
-        MerchVariantItem merchVariantItem = merchVariantItemRepository.findByIdWithLock(orderItemRequestDTO.getMerchVariantItemId())
-                .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found"));
-
         if (orderItemRequestDTO.getQuantity() == null || orderItemRequestDTO.getQuantity() <= 0) {
             throw new InvalidRequestException("Quantity must be greater than 0");
         }
-        if (orderItemRequestDTO.getQuantity() > merchVariantItem.getStockQuantity()) {
-            throw new InvalidRequestException("Insufficient stock. Available: " + merchVariantItem.getStockQuantity()
-                    + ", Requested: " + orderItemRequestDTO.getQuantity());
-        }
+
+        /* stock is taken here; any failure below rolls the reservation back with the transaction */
+        MerchVariantItem merchVariantItem = stockReservationService.reserve(
+                orderItemRequestDTO.getMerchVariantItemId(),
+                orderItemRequestDTO.getQuantity());
 
         Double priceSnapshot = merchVariantItem.getPrice();
         if (priceSnapshot == null || priceSnapshot < 0) {
@@ -85,9 +104,8 @@ public class OrderItemServiceImpl implements OrderItemService {
                 .build();
 
             OrderItem savedOrderItem = orderItemRepository.save(orderItem);
-
-            merchVariantItem.setStockQuantity(merchVariantItem.getStockQuantity() - orderItemRequestDTO.getQuantity());
-            merchVariantItemRepository.save(merchVariantItem);
+            financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+            invalidateEligibility(order);
 
             if (merchVariantItem.getMerchVariant() != null
                 && merchVariantItem.getMerchVariant().getMerch() != null
@@ -105,6 +123,93 @@ public class OrderItemServiceImpl implements OrderItemService {
         }
     }
 
+    @Override
+    @Transactional
+    public List<OrderItemResponseDTO> createOrderItems(Order order, List<OrderItemRequestDTO> orderItemRequests) {
+        if (order == null || order.getOrderId() == null) {
+            throw new InvalidRequestException("Order is required");
+        }
+        if (orderItemRequests == null || orderItemRequests.isEmpty()) {
+            throw new InvalidRequestException("At least one order item request is required");
+        }
+
+        /* a repeated merch variant item stays a separate line, as it did before lines were batched */
+        Set<Long> seenItemIds = new HashSet<>();
+        for (OrderItemRequestDTO request : orderItemRequests) {
+            if (request == null || request.getMerchVariantItemId() == null) {
+                throw new InvalidRequestException("MerchVariantItem ID is required");
+            }
+            if (request.getQuantity() == null || request.getQuantity() <= 0) {
+                throw new InvalidRequestException("Quantity must be greater than 0");
+            }
+            seenItemIds.add(request.getMerchVariantItemId());
+        }
+
+        /* one query for every line; the reservations below then resolve items from the persistence context */
+        Map<Long, MerchVariantItem> itemsById = merchVariantItemRepository.findByMerchVariantItemIdIn(List.copyOf(seenItemIds)).stream()
+                .collect(Collectors.toMap(MerchVariantItem::getMerchVariantItemId, Function.identity()));
+        if (itemsById.size() != seenItemIds.size()) {
+            throw new InvalidRequestException("MerchVariantItem not found");
+        }
+        validateTicketPurchaseEligibility(order, orderItemRequests.stream()
+                .map(request -> itemsById.get(request.getMerchVariantItemId()))
+                .toList());
+
+        // Reserve in ascending id order so two checkouts sharing items always take row locks
+        // in the same sequence and cannot deadlock each other. Lines are saved and returned in request order.
+        List<Integer> reservationOrder = IntStream.range(0, orderItemRequests.size()).boxed()
+                .sorted(Comparator.comparing(index -> orderItemRequests.get(index).getMerchVariantItemId()))
+                .toList();
+        MerchVariantItem[] reservedItems = new MerchVariantItem[orderItemRequests.size()];
+        for (int index : reservationOrder) {
+            OrderItemRequestDTO request = orderItemRequests.get(index);
+            MerchVariantItem merchVariantItem = stockReservationService.reserve(
+                    request.getMerchVariantItemId(),
+                    request.getQuantity());
+
+            Double priceSnapshot = merchVariantItem.getPrice();
+            if (priceSnapshot == null || priceSnapshot < 0) {
+                throw new InvalidRequestException("MerchVariantItem price must be configured before creating an order item");
+            }
+            reservedItems[index] = merchVariantItem;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderItem> orderItemsToSave = new ArrayList<>(orderItemRequests.size());
+        for (int index = 0; index < orderItemRequests.size(); index++) {
+            orderItemsToSave.add(OrderItem.builder()
+                .order(order)
+                .merchVariantItem(reservedItems[index])
+                .quantity(orderItemRequests.get(index).getQuantity())
+                .priceAtPurchase(reservedItems[index].getPrice())
+                .updatedAt(now)
+                .build());
+        }
+
+        try {
+            List<OrderItem> savedOrderItems = orderItemRepository.saveAll(orderItemsToSave);
+            financeDashboardService.invalidateSections(FinanceDashboardSection.INVENTORY);
+
+            Map<Long, List<TicketFreebieAssignmentRequestDTO>> assignmentRequests = new LinkedHashMap<>();
+            for (int index = 0; index < savedOrderItems.size(); index++) {
+                assignmentRequests.put(savedOrderItems.get(index).getOrderItemId(), resolveAssignmentRequests(orderItemRequests.get(index)));
+            }
+            Map<Long, List<TicketFreebieAssignmentResponseDTO>> assignments =
+                ticketFreebieAssignmentService.initializeAssignments(savedOrderItems, assignmentRequests);
+
+            return savedOrderItems.stream()
+                .map(orderItem -> {
+                    OrderItemResponseDTO response = orderItemMapper.toResponseDTO(orderItem);
+                    response.setFreebieAssignments(assignments.get(orderItem.getOrderItemId()));
+                    return response;
+                })
+                .toList();
+        } catch (Exception e) {
+            throw e instanceof InvalidRequestException ? (InvalidRequestException) e
+                : new InvalidRequestException("Failed to create order items: " + e.getMessage());
+        }
+    }
+
     @Override
     public OrderItemResponseDTO getOrderItemById(Long id, String studentId) {
         if (id == null || id <= 0) {
@@ -135,6 +240,26 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItems.map(orderItemMapper::toResponseDTO).map(this::enrichResponse);
     }
 
+    @Override
+    public CursorPageDTO<OrderItemResponseDTO> getOrderItemsByStatusCursor(OrderStatus status, String cursor, int limit, String studentId) {
+        if (status == null) {
+            throw new InvalidRequestException("Order status is required");
+        }
+
+        String studentScope = normalizeStudentScope(studentId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<OrderItem> orderItems = studentScope == null
+            ? orderItemRepository.findPageByOrderStatus(status, after.timestamp(), after.id(), KeysetCursor.probe(limit))
+            : orderItemRepository.findPageByOrderStatusAndStudentId(status, studentScope, after.timestamp(), after.id(), KeysetCursor.probe(limit));
+
+        CursorPageDTO<OrderItem> page = KeysetCursor.page(orderItems, limit,
+            orderItem -> new KeysetCursor(orderItem.getUpdatedAt(), orderItem.getOrderItemId()));
+        return new CursorPageDTO<>(
+            page.getItems().stream().map(orderItemMapper::toResponseDTO).map(this::enrichResponse).toList(),
+            page.getNextCursor(),
+            page.isHasMore());
+    }
+
     @Override
     public List<OrderItemResponseDTO> getOrderItemsByOrderId(Long orderId, String studentId) {
         if (orderId == null || orderId <= 0) {
@@ -234,6 +359,8 @@ public class OrderItemServiceImpl implements OrderItemService {
         }
 
         try {
+            BigDecimal previousRevenue = revenueRollupService.calculateRecognizedRevenue(order);
+
             orderItem.setOrderStatus(status);
             orderItem.setUpdatedAt(LocalDateTime.now());
 
@@ -242,6 +369,10 @@ public class OrderItemServiceImpl implements OrderItemService {
 
             OrderItem updatedOrderItem = orderItemRepository.save(orderItem);
             syncParentOrderStatus(order);
+            invalidateEligibility(order);
+            revenueRollupService.recordOrderRevenueChange(order, previousRevenue);
+            financeDashboardService.invalidateSections(
+                    FinanceDashboardSection.RECENT_ORDERS, FinanceDashboardSection.CHART_DATA);
 
             activateMembershipWhenAccepted(updatedOrderItem, effectiveStatus);
 
@@ -267,11 +398,24 @@ public class OrderItemServiceImpl implements OrderItemService {
         if (id == null || id <= 0) {
             throw new InvalidRequestException("Invalid order item ID");
         }
-        if (!orderItemRepository.existsById(id)) {
-            throw new OrderItemNotFoundException("Order item not found");
-        }
+        OrderItem orderItem = orderItemRepository.findById(id)
+                .orElseThrow(() -> new OrderItemNotFoundException("Order item not found"));
+        BigDecimal recognizedRevenue = revenueRollupService.calculateRecognizedRevenue(orderItem);
         ticketFreebieAssignmentRepository.deleteByOrderItemOrderItemId(id);
         orderItemRepository.deleteById(id);
+        if (orderItem.getOrder() != null && orderItem.getOrder().getOrderDate() != null) {
+            revenueRollupService.recordRevenueDelta(orderItem.getOrder().getOrderDate().toLocalDate(), recognizedRevenue.negate());
+        }
+        financeDashboardService.invalidateSections(
+                FinanceDashboardSection.RECENT_ORDERS, FinanceDashboardSection.CHART_DATA);
+        invalidateEligibility(orderItem.getOrder());
+    }
+
+    /* a line's status decides whether it still blocks the student from buying the same ticket or membership */
+    private void invalidateEligibility(Order order) {
+        if (order != null && order.getStudent() != null) {
+            purchaseEligibilityService.invalidate(order.getStudent().getStudentId());
+        }
     }
 
     private OrderItemResponseDTO enrichResponse(OrderItemResponseDTO response) {
@@ -306,6 +450,37 @@ public class OrderItemServiceImpl implements OrderItemService {
         return List.of();
     }
 
+    /* batched form of the single-item check below: one query for all ticket lines of a checkout */
+    private void validateTicketPurchaseEligibility(Order order, List<MerchVariantItem> merchVariantItems) {
+        if (order == null || order.getStudent() == null) {
+            return;
+        }
+
+        List<Long> ticketMerchIds = new ArrayList<>();
+        for (MerchVariantItem merchVariantItem : merchVariantItems) {
+            if (merchVariantItem.getMerchVariant() == null || merchVariantItem.getMerchVariant().getMerch() == null
+                    || merchVariantItem.getMerchVariant().getMerch().getMerchType() != MerchType.TICKET) {
+                continue;
+            }
+            Long merchId = merchVariantItem.getMerchVariant().getMerch().getMerchId();
+            if (ticketMerchIds.contains(merchId)) {
+                throw new InvalidRequestException(ITEM_ALREADY_IN_CART_OR_ORDER);
+            }
+            ticketMerchIds.add(merchId);
+        }
+        if (ticketMerchIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> alreadyOrdered = orderItemRepository.findMerchIdsByStudentIdAndOrderStatusNotIn(
+                order.getStudent().getStudentId(),
+                ticketMerchIds,
+                List.of(OrderStatus.CANCELLED, OrderStatus.REJECTED));
+        if (!alreadyOrdered.isEmpty()) {
+            throw new InvalidRequestException(ITEM_ALREADY_IN_CART_OR_ORDER);
+        }
+    }
+
     private void validateTicketPurchaseEligibility(Order order, MerchVariantItem merchVariantItem) {
         if (order == null || order.getStudent() == null || merchVariantItem == null
                 || merchVariantItem.getMerchVariant() == null || merchVariantItem.getMerchVariant().getMerch() == null) {
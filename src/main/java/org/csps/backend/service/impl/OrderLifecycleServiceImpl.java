@@ -1,17 +1,21 @@
 package org.csps.backend.service.impl;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-import org.csps.backend.domain.entities.MerchVariantItem;
 import org.csps.backend.domain.entities.Order;
 import org.csps.backend.domain.entities.OrderItem;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.domain.enums.OrderStatus;
 import org.csps.backend.exception.InvalidOrderStatusTransitionException;
 import org.csps.backend.exception.InvalidRequestException;
-import org.csps.backend.repository.MerchVariantItemRepository;
 import org.csps.backend.repository.OrderItemRepository;
 import org.csps.backend.repository.OrderRepository;
+import org.csps.backend.service.FinanceDashboardService;
 import org.csps.backend.service.OrderLifecycleService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.RevenueRollupService;
+import org.csps.backend.service.StockReservationService;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
@@ -23,7 +27,10 @@ public class OrderLifecycleServiceImpl implements OrderLifecycleService {
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final MerchVariantItemRepository merchVariantItemRepository;
+    private final RevenueRollupService revenueRollupService;
+    private final FinanceDashboardService financeDashboardService;
+    private final StockReservationService stockReservationService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
 
     @Override
     @Transactional
@@ -37,6 +44,7 @@ public class OrderLifecycleServiceImpl implements OrderLifecycleService {
         }
 
         LocalDateTime now = LocalDateTime.now();
+        BigDecimal previousRevenue = revenueRollupService.calculateRecognizedRevenue(order);
 
         if (order.getOrderItems() != null) {
             for (OrderItem item : order.getOrderItems()) {
@@ -45,13 +53,9 @@ public class OrderLifecycleServiceImpl implements OrderLifecycleService {
                 }
 
                 if (shouldRestoreStock(item.getOrderStatus())) {
-                    MerchVariantItem lockedItem = merchVariantItemRepository.findByIdWithLock(
-                            item.getMerchVariantItem().getMerchVariantItemId())
-                            .orElseThrow(() -> new InvalidRequestException(
-                                    "MerchVariantItem not found during stock restoration"));
-
-                    lockedItem.setStockQuantity(lockedItem.getStockQuantity() + item.getQuantity());
-                    merchVariantItemRepository.save(lockedItem);
+                    stockReservationService.release(
+                            item.getMerchVariantItem().getMerchVariantItemId(),
+                            item.getQuantity());
                 }
 
                 if (item.getOrderStatus() != targetStatus) {
@@ -64,7 +68,17 @@ public class OrderLifecycleServiceImpl implements OrderLifecycleService {
 
         order.setOrderStatus(targetStatus);
         order.setUpdatedAt(now);
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        revenueRollupService.recordOrderRevenueChange(savedOrder, previousRevenue);
+        financeDashboardService.invalidateSections(
+                FinanceDashboardSection.INVENTORY,
+                FinanceDashboardSection.RECENT_ORDERS,
+                FinanceDashboardSection.CHART_DATA);
+        /* cancelled and rejected lines no longer block buying the same ticket or membership */
+        if (savedOrder.getStudent() != null) {
+            purchaseEligibilityService.invalidate(savedOrder.getStudent().getStudentId());
+        }
+        return savedOrder;
     }
 
     private boolean shouldRestoreStock(OrderStatus currentStatus) {
@@ -1,47 +1,61 @@
 package org.csps.backend.service.impl;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.csps.backend.configs.QueryCountInspector;
 import org.csps.backend.domain.dtos.request.OrderItemRequestDTO;
 import org.csps.backend.domain.dtos.request.OrderPostRequestDTO;
 import org.csps.backend.domain.dtos.request.OrderSearchDTO;
 import org.csps.backend.domain.dtos.request.TicketFreebieSelectionRequestDTO;
-import org.csps.backend.domain.dtos.response.CartItemFreebieSelectionItemResponseDTO;
-import org.csps.backend.domain.dtos.response.CartItemResponseDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.OrderItemResponseDTO;
 import org.csps.backend.domain.dtos.response.OrderResponseDTO;
+import org.csps.backend.domain.entities.CartItem;
+import org.csps.backend.domain.entities.CartItemFreebieSelection;
 import org.csps.backend.domain.entities.Order;
 import org.csps.backend.domain.entities.Student;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
+import org.csps.backend.domain.enums.MerchType;
 import org.csps.backend.domain.enums.OrderStatus;
-import org.csps.backend.exception.CartItemNotFoundException;
 import org.csps.backend.exception.InvalidOrderStatusTransitionException;
 import org.csps.backend.exception.InvalidRequestException;
 import org.csps.backend.exception.OrderNotFoundException;
 import org.csps.backend.exception.StudentNotFoundException;
 import org.csps.backend.mapper.OrderMapper;
+import org.csps.backend.repository.CartItemRepository;
 import org.csps.backend.repository.OrderItemRepository;
 import org.csps.backend.repository.OrderRepository;
 import org.csps.backend.repository.StudentRepository;
 import org.csps.backend.repository.TicketFreebieAssignmentRepository;
 import org.csps.backend.repository.specification.OrderSpecification;
-import org.csps.backend.service.CartItemService;
+import org.csps.backend.service.FinanceDashboardService;
 import org.csps.backend.service.OrderItemService;
 import org.csps.backend.service.OrderLifecycleService;
 import org.csps.backend.service.OrderService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.RevenueRollupService;
 import org.csps.backend.service.TicketFreebieAssignmentService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
@@ -50,13 +64,28 @@ public class OrderServiceImpl implements OrderService {
     private final StudentRepository studentRepository;
     private final OrderItemService orderItemService;
     private final OrderLifecycleService orderLifecycleService;
-    private final CartItemService cartItemService;
+    private final CartItemRepository cartItemRepository;
     private final TicketFreebieAssignmentService ticketFreebieAssignmentService;
     private final TicketFreebieAssignmentRepository ticketFreebieAssignmentRepository;
+    private final FinanceDashboardService financeDashboardService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
+    private final RevenueRollupService revenueRollupService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional
     public OrderResponseDTO createOrder(String studentId, OrderPostRequestDTO orderRequests) {
+        QueryCountInspector.start();
+        try {
+            return checkout(studentId, orderRequests);
+        } finally {
+            int statements = QueryCountInspector.stop();
+            meterRegistry.summary("checkout.queries").record(statements);
+            log.debug("checkout for student {} issued {} SQL statements before commit", studentId, statements);
+        }
+    }
+
+    private OrderResponseDTO checkout(String studentId, OrderPostRequestDTO orderRequests) {
         if (studentId == null || studentId.isEmpty()) {
             throw new InvalidRequestException("Student ID is required");
         }
@@ -82,26 +111,28 @@ public class OrderServiceImpl implements OrderService {
                 savedOrder.getOrderId(),
                 orderRequests.getOrderItems());
 
+        List<OrderItemResponseDTO> orderItemResponses = orderItemService.createOrderItems(savedOrder, orderItemRequests);
         double totalPrice = 0.0;
         int totalQuantity = 0;
-        for (OrderItemRequestDTO itemRequest : orderItemRequests) {
-            OrderItemResponseDTO orderItemResponse = orderItemService.createOrderItem(itemRequest);
+        for (OrderItemResponseDTO orderItemResponse : orderItemResponses) {
             totalPrice += orderItemResponse.getTotalPrice();
-            totalQuantity += itemRequest.getQuantity() == null ? 0 : itemRequest.getQuantity();
-
-            try {
-                cartItemService.removeCartItem(studentId, itemRequest.getMerchVariantItemId());
-            } catch (CartItemNotFoundException ignored) {
-            }
+            totalQuantity += orderItemResponse.getQuantity() == null ? 0 : orderItemResponse.getQuantity();
         }
 
+        /* checked-out rows leave the cart in one statement each for selections and items */
+        List<Long> orderedItemIds = orderItemRequests.stream().map(OrderItemRequestDTO::getMerchVariantItemId).toList();
+        cartItemRepository.deleteFreebieSelectionsByCartIdAndMerchVariantItemIds(studentId, orderedItemIds);
+        cartItemRepository.deleteByCartIdAndMerchVariantItemIds(studentId, orderedItemIds);
+        purchaseEligibilityService.invalidate(studentId);
+
         savedOrder.setTotalPrice(totalPrice);
         savedOrder.setQuantity(totalQuantity);
         orderRepository.save(savedOrder);
 
-        Order reloadedOrder = orderRepository.findByOrderIdAndStudentStudentId(savedOrder.getOrderId(), studentId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
-        return enrichOrderResponse(orderMapper.toResponseDTO(reloadedOrder));
+        /* the order and its lines are all in hand, so the response is built without reloading them */
+        OrderResponseDTO response = orderMapper.toResponseDTO(savedOrder);
+        response.setOrderItems(orderItemResponses);
+        return response;
     }
 
     @Override
@@ -114,7 +145,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Page<OrderResponseDTO> getAllOrdersPaginated(Pageable pageable) {
-        return orderRepository.findAll(pageable)
+        return orderRepository.findPageWithItems(null, pageable)
                 .map(orderMapper::toResponseDTO)
                 .map(this::enrichOrderResponse);
     }
@@ -135,11 +166,19 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Page<OrderResponseDTO> getAllOrdersPaginatedSortByDate(Pageable pageable) {
-        return orderRepository.findAllByOrderByOrderDateDesc(pageable)
+        return orderRepository.findPageWithItems(null, newestFirst(pageable))
                 .map(orderMapper::toResponseDTO)
                 .map(this::enrichOrderResponse);
     }
 
+    /* order date first, then whatever the caller asked for, as the old derived finders did */
+    private Pageable newestFirst(Pageable pageable) {
+        Sort sort = Sort.by(Sort.Direction.DESC, "orderDate").and(pageable.getSort());
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
     @Override
     public List<OrderResponseDTO> getOrdersByStudentId(String studentId) {
         if (studentId == null || studentId.isEmpty()) {
@@ -164,7 +203,7 @@ public class OrderServiceImpl implements OrderService {
             throw new StudentNotFoundException("Student not found");
         }
 
-        return orderRepository.findByStudentId(studentId, pageable)
+        return orderRepository.findPageWithItems(OrderSpecification.withFilters(null, studentId), newestFirst(pageable))
                 .map(orderMapper::toResponseDTO)
                 .map(this::enrichOrderResponse);
     }
@@ -178,6 +217,8 @@ public class OrderServiceImpl implements OrderService {
 
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found"));
+        /* captured before the lines go, the rollup has no order left to diff against afterwards */
+        BigDecimal recognizedRevenue = revenueRollupService.calculateRecognizedRevenue(order);
 
         if (order.getOrderItems() != null && !order.getOrderItems().isEmpty()) {
             List<Long> orderItemIds = order.getOrderItems().stream()
@@ -191,17 +232,41 @@ public class OrderServiceImpl implements OrderService {
         }
 
         orderRepository.delete(order);
+        if (order.getOrderDate() != null) {
+            revenueRollupService.recordRevenueDelta(order.getOrderDate().toLocalDate(), recognizedRevenue.negate());
+        }
+        if (order.getStudent() != null) {
+            purchaseEligibilityService.invalidate(order.getStudent().getStudentId());
+        }
+        financeDashboardService.invalidateSections(
+                FinanceDashboardSection.RECENT_ORDERS, FinanceDashboardSection.CHART_DATA);
     }
 
     @Override
     public Page<OrderResponseDTO> searchOrders(OrderSearchDTO searchDTO, Pageable pageable, String studentId) {
         OrderSearchDTO normalizedSearch = normalizeAndValidateSearch(searchDTO);
         Specification<Order> spec = OrderSpecification.withFilters(normalizedSearch, studentId);
-        return orderRepository.findAll(spec, pageable)
+        return orderRepository.findPageWithItems(spec, pageable)
                 .map(orderMapper::toResponseDTO)
                 .map(this::enrichOrderResponse);
     }
 
+    @Override
+    public CursorPageDTO<OrderResponseDTO> searchOrdersByCursor(OrderSearchDTO searchDTO, String cursor, int limit, String studentId) {
+        OrderSearchDTO normalizedSearch = normalizeAndValidateSearch(searchDTO);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<Order> spec = OrderSpecification.withFilters(normalizedSearch, studentId)
+                .and(OrderSpecification.before(after.timestamp(), after.id()));
+
+        List<Order> orders = orderRepository.findSliceWithItems(spec, KeysetCursor.probe(limit, OrderSpecification.NEWEST_FIRST));
+        CursorPageDTO<Order> page = KeysetCursor.page(orders, limit,
+                order -> new KeysetCursor(order.getOrderDate(), order.getOrderId()));
+        return new CursorPageDTO<>(
+                page.getItems().stream().map(orderMapper::toResponseDTO).map(this::enrichOrderResponse).toList(),
+                page.getNextCursor(),
+                page.isHasMore());
+    }
+
     @Override
     @Transactional
     public OrderResponseDTO cancelOrder(String studentId, Long orderId) {
@@ -234,6 +299,15 @@ public class OrderServiceImpl implements OrderService {
             String studentId,
             Long orderId,
             List<OrderItemRequestDTO> rawRequests) {
+        List<Long> requestedItemIds = rawRequests.stream()
+                .map(OrderItemRequestDTO::getMerchVariantItemId)
+                .filter(id -> id != null)
+                .distinct()
+                .toList();
+        Map<Long, CartItem> cartItemsByItemId = requestedItemIds.isEmpty() ? Map.of()
+                : cartItemRepository.findByCartItemIdCartIdAndCartItemIdMerchVariantItemIdIn(studentId, requestedItemIds).stream()
+                        .collect(Collectors.toMap(cartItem -> cartItem.getCartItemId().getMerchVariantItemId(), Function.identity()));
+
         for (OrderItemRequestDTO rawRequest : rawRequests) {
             rawRequest.setOrderId(orderId);
 
@@ -241,19 +315,24 @@ public class OrderServiceImpl implements OrderService {
                 continue;
             }
 
-            try {
-                CartItemResponseDTO cartItem = cartItemService.getCartItemByMerchVariantItemId(studentId, rawRequest.getMerchVariantItemId());
-                rawRequest.setQuantity(cartItem.getQuantity());
-                rawRequest.setFreebieSelections(cartItem.getFreebieSelections() == null ? List.of() : cartItem.getFreebieSelections().stream()
-                        .map(this::toSelectionRequest)
-                        .toList());
-            } catch (CartItemNotFoundException ignored) {
+            CartItem cartItem = cartItemsByItemId.get(rawRequest.getMerchVariantItemId());
+            if (cartItem == null) {
+                continue;
             }
+            rawRequest.setQuantity(cartItem.getQuantity());
+            rawRequest.setFreebieSelections(hasTicketFreebie(cartItem)
+                    ? cartItem.getFreebieSelections().stream().map(this::toSelectionRequest).toList()
+                    : List.of());
         }
 
         return rawRequests;
     }
 
+    private boolean hasTicketFreebie(CartItem cartItem) {
+        var merch = cartItem.getMerchVariantItem().getMerchVariant().getMerch();
+        return merch.getMerchType() == MerchType.TICKET && Boolean.TRUE.equals(merch.getHasFreebie());
+    }
+
     private OrderResponseDTO enrichOrderResponse(OrderResponseDTO response) {
         if (response == null || response.getOrderItems() == null || response.getOrderItems().isEmpty()) {
             return response;
@@ -271,9 +350,9 @@ public class OrderServiceImpl implements OrderService {
         return response;
     }
 
-    private TicketFreebieSelectionRequestDTO toSelectionRequest(CartItemFreebieSelectionItemResponseDTO selection) {
+    private TicketFreebieSelectionRequestDTO toSelectionRequest(CartItemFreebieSelection selection) {
         return TicketFreebieSelectionRequestDTO.builder()
-                .ticketFreebieConfigId(selection.getTicketFreebieConfigId())
+                .ticketFreebieConfigId(selection.getTicketFreebieConfig().getTicketFreebieConfigId())
                 .selectedSize(selection.getSelectedSize())
                 .selectedColor(selection.getSelectedColor())
                 .selectedDesign(selection.getSelectedDesign())
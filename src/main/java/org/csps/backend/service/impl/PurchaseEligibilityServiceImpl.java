@@ -0,0 +1,175 @@
+package org.csps.backend.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+import org.csps.backend.configs.PurchaseEligibilityCacheConfig;
+import org.csps.backend.domain.enums.MerchType;
+import org.csps.backend.domain.enums.OrderStatus;
+import org.csps.backend.repository.PurchaseEligibilityRepository;
+import org.csps.backend.repository.PurchaseEligibilityRepository.PurchaseEligibilityRow;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds a student's eligibility from one UNION query and keeps it for a short, bounded time,
+ * so browsing the catalog costs one round trip per student instead of several existence checks per request.
+ */
+@Service
+@RequiredArgsConstructor
+public class PurchaseEligibilityServiceImpl implements PurchaseEligibilityService {
+
+    private final PurchaseEligibilityRepository purchaseEligibilityRepository;
+    private final PurchaseEligibilityCacheConfig cacheConfig;
+
+    /* invalidation counters striped by student id, so a load racing an invalidation of its student can tell */
+    private static final int GENERATION_STRIPES = 256;
+
+    private final Map<String, CachedEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private record CachedEntry(Eligibility eligibility, Instant expiresAt) {
+    }
+
+    @Override
+    public Eligibility getEligibility(String studentId) {
+        Instant now = Instant.now();
+        CachedEntry entry = entries.get(studentId);
+        if (entry != null && entry.expiresAt().isAfter(now)) {
+            return entry.eligibility();
+        }
+
+        int stripe = stripe(studentId);
+        long loadedGeneration = generations.get(stripe);
+        Eligibility eligibility = loadEligibility(studentId);
+        if (entries.size() >= cacheConfig.getMaxEntries()) {
+            makeRoom(now);
+        }
+        CachedEntry loaded = new CachedEntry(eligibility, now.plus(cacheConfig.getTtl()));
+        entries.put(studentId, loaded);
+        /* an invalidation during the load means the rows may predate the change - use them once but don't keep them */
+        if (generations.get(stripe) != loadedGeneration) {
+            entries.remove(studentId, loaded);
+        }
+        return eligibility;
+    }
+
+    @Override
+    public Eligibility loadEligibility(String studentId) {
+        boolean activeMembership = false;
+        boolean pendingMembershipOrder = false;
+        Set<Long> cartMerchIds = new HashSet<>();
+        Set<MerchType> cartMerchTypes = EnumSet.noneOf(MerchType.class);
+        Set<Long> activeOrderMerchIds = new HashSet<>();
+
+        for (PurchaseEligibilityRow row : purchaseEligibilityRepository.findPurchaseEligibilityRows(studentId)) {
+            switch (row.getSource()) {
+                case "MEMBERSHIP" -> activeMembership = true;
+                case "CART" -> {
+                    cartMerchIds.add(row.getMerchId());
+                    cartMerchTypes.add(MerchType.valueOf(row.getMerchType()));
+                }
+                case "ORDER" -> {
+                    activeOrderMerchIds.add(row.getMerchId());
+                    if (MerchType.MEMBERSHIP.name().equals(row.getMerchType())
+                            && OrderStatus.PENDING.name().equals(row.getOrderStatus())) {
+                        pendingMembershipOrder = true;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        return new Eligibility(
+                activeMembership,
+                pendingMembershipOrder,
+                Set.copyOf(cartMerchIds),
+                Set.copyOf(cartMerchTypes),
+                Set.copyOf(activeOrderMerchIds));
+    }
+
+    @Override
+    public String version(String studentId) {
+        Eligibility eligibility = getEligibility(studentId);
+        /* sorted and spelled out, so the hash does not depend on set order or on this JVM's enum hash codes */
+        String canonical = eligibility.activeMembership()
+                + "|" + eligibility.pendingMembershipOrder()
+                + "|" + sorted(eligibility.cartMerchIds())
+                + "|" + sorted(eligibility.cartMerchTypes())
+                + "|" + sorted(eligibility.activeOrderMerchIds());
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Drop the entry now and again once the surrounding transaction completes,
+     * so a read racing the change cannot re-cache what the student held before it.
+     */
+    @Override
+    public void invalidate(String studentId) {
+        if (studentId == null) {
+            return;
+        }
+
+        evict(studentId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(studentId);
+                }
+            });
+        }
+    }
+
+    private void evict(String studentId) {
+        /* bump first: a load that publishes after this point sees the new generation and withdraws itself */
+        generations.incrementAndGet(stripe(studentId));
+        entries.remove(studentId);
+    }
+
+    private int stripe(String studentId) {
+        return Math.floorMod(studentId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static String sorted(Collection<?> values) {
+        return values.stream().map(String::valueOf).sorted().collect(Collectors.joining(","));
+    }
+
+    /* drop expired entries first, then the ones closest to expiring */
+    private void makeRoom(Instant now) {
+        entries.entrySet().removeIf(entry -> !entry.getValue().expiresAt().isAfter(now));
+        int overflow = entries.size() - cacheConfig.getMaxEntries() + 1;
+        if (overflow <= 0) {
+            return;
+        }
+
+        entries.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().expiresAt()))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+}
@@ -12,6 +12,7 @@ import org.csps.backend.exception.ResourceNotFoundException;
 import org.csps.backend.repository.RecoveryTokenRepository;
 import org.csps.backend.repository.UserAccountRepository;
 import org.csps.backend.repository.UserProfileRepository;
+import org.csps.backend.security.PrincipalCache;
 import org.csps.backend.service.EmailService;
 import org.csps.backend.service.RecoveryTokenService;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,6 +33,7 @@ public class RecoveryTokenServiceImpl implements RecoveryTokenService {
     private final UserProfileRepository userProfileRepository;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Value("${FRONTEND_URL}")
     private String frontendUrl;
@@ -116,6 +118,7 @@ public class RecoveryTokenServiceImpl implements RecoveryTokenService {
         userAccount.setPassword(passwordEncoder.encode(newPassword));
         userAccountRepository.save(userAccount);
         recoveryTokenRepository.markAsUsed(recoveryToken.getRecoveryTokenId());
+        principalCache.invalidate(userAccount.getUserAccountId());
 
         log.info("password reset successfully for user: {}", userAccount.getUserAccountId());
     }
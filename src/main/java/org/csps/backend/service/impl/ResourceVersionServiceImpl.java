@@ -0,0 +1,102 @@
+package org.csps.backend.service.impl;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.csps.backend.domain.enums.VersionedResource;
+import org.csps.backend.repository.ResourceVersionRepository;
+import org.csps.backend.service.ResourceVersionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Version counters for read-mostly resources, used to build ETags without loading the resource.
+ * Counters live in the resource_version table, so every replica tags the same data with the same version.
+ */
+@Service
+@Slf4j
+public class ResourceVersionServiceImpl implements ResourceVersionService {
+
+    private final ResourceVersionRepository resourceVersionRepository;
+    /* bumps run from an afterCompletion callback, so they always get their own transaction */
+    private final TransactionTemplate bumpTransaction;
+    private final MeterRegistry meterRegistry;
+
+    public ResourceVersionServiceImpl(ResourceVersionRepository resourceVersionRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.resourceVersionRepository = resourceVersionRepository;
+        this.meterRegistry = meterRegistry;
+        this.bumpTransaction = new TransactionTemplate(transactionManager);
+        this.bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long currentVersion(VersionedResource resource) {
+        return resourceVersionRepository.findVersionByResource(resource.name()).orElse(0L);
+    }
+
+    @Override
+    public void bump(VersionedResource resource) {
+        // Bump on completion, not commit: a rolled-back hot-stock take was visible to readers while it was held.
+        // Bumping after the data is written also means a racing reader can only tag new data with the old
+        // version, which the next read corrects, never old data with the new one. The increment commits on
+        // its own, so the shared row is locked for one statement rather than for the caller's transaction.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingBumps().resources.add(resource);
+            return;
+        }
+
+        increment(resource);
+    }
+
+    /* one set of pending bumps per transaction, however many times it bumps */
+    private PendingBumps pendingBumps() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBumps pending && pending.owner == this) {
+                return pending;
+            }
+        }
+
+        PendingBumps pending = new PendingBumps(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void increment(VersionedResource resource) {
+        try {
+            bumpTransaction.executeWithoutResult(status -> resourceVersionRepository.increment(resource.name()));
+        } catch (RuntimeException e) {
+            /* the data is already written; a missed bump leaves clients on the old tag until the next one */
+            meterRegistry.counter("resource.version.bump.failures", "resource", resource.name()).increment();
+            log.warn("failed to bump {} version: {}", resource, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resources a transaction bumped, each incremented once after it completes, so a transaction
+     * touching many rows costs one upsert per resource rather than one per change.
+     */
+    private static final class PendingBumps implements TransactionSynchronization {
+
+        private final ResourceVersionServiceImpl owner;
+        private final Set<VersionedResource> resources = EnumSet.noneOf(VersionedResource.class);
+
+        private PendingBumps(ResourceVersionServiceImpl owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            resources.forEach(owner::increment);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.csps.backend.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.csps.backend.domain.dtos.response.sales.OrderRevenueDTO;
+import org.csps.backend.domain.entities.DailyRevenueRollup;
+import org.csps.backend.domain.entities.Order;
+import org.csps.backend.domain.entities.OrderItem;
+import org.csps.backend.domain.enums.MerchType;
+import org.csps.backend.domain.enums.OrderStatus;
+import org.csps.backend.repository.DailyRevenueRollupRepository;
+import org.csps.backend.repository.OrderRepository;
+import org.csps.backend.repository.StudentMembershipRepository;
+import org.csps.backend.service.RevenueRollupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the per-day revenue rollup behind sales statistics.
+ * Writes join the caller's transaction so a rollup delta commits or rolls back together
+ * with the order or membership change that produced it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+
+    private static final List<OrderStatus> FINANCE_REVENUE_STATUSES =
+            List.of(OrderStatus.TO_BE_CLAIMED, OrderStatus.CLAIMED);
+
+    private final DailyRevenueRollupRepository dailyRevenueRollupRepository;
+    private final OrderRepository orderRepository;
+    private final StudentMembershipRepository studentMembershipRepository;
+
+    @Value("${csps.currentAcademicYear.start}")
+    private int currentYearStart;
+
+    @Value("${csps.currentAcademicYear.end}")
+    private int currentYearEnd;
+
+    @Override
+    public BigDecimal calculateRecognizedRevenue(Order order) {
+        if (order == null
+                || !FINANCE_REVENUE_STATUSES.contains(order.getOrderStatus())
+                || order.getOrderItems() == null
+                || order.getOrderItems().isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        return order.getOrderItems().stream()
+                .filter(this::isFinanceRevenueItem)
+                .filter(item -> !isMembershipItem(item))
+                .map(this::calculateLineTotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public BigDecimal calculateRecognizedRevenue(OrderItem item) {
+        if (item == null
+                || item.getOrder() == null
+                || !FINANCE_REVENUE_STATUSES.contains(item.getOrder().getOrderStatus())
+                || !isFinanceRevenueItem(item)
+                || isMembershipItem(item)) {
+            return BigDecimal.ZERO;
+        }
+
+        return calculateLineTotal(item);
+    }
+
+    @Override
+    @Transactional
+    public void recordOrderRevenueChange(Order order, BigDecimal previousRevenue) {
+        if (order == null || order.getOrderDate() == null) {
+            return;
+        }
+
+        BigDecimal before = previousRevenue == null ? BigDecimal.ZERO : previousRevenue;
+        recordRevenueDelta(order.getOrderDate().toLocalDate(), calculateRecognizedRevenue(order).subtract(before));
+    }
+
+    @Override
+    @Transactional
+    public void recordRevenueDelta(LocalDate day, BigDecimal delta) {
+        if (day == null || delta == null || delta.signum() == 0) {
+            return;
+        }
+
+        dailyRevenueRollupRepository.addToDay(
+                day,
+                delta.setScale(2, RoundingMode.HALF_UP),
+                0L,
+                LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void recordMembershipChange(List<LocalDateTime> joinDates, int delta) {
+        if (joinDates == null || joinDates.isEmpty() || delta == 0) {
+            return;
+        }
+
+        /* collapse to one upsert per day so bulk membership creation stays a handful of statements */
+        Map<LocalDate, Long> countsByDay = new TreeMap<>();
+        for (LocalDateTime joinDate : joinDates) {
+            if (joinDate != null) {
+                countsByDay.merge(joinDate.toLocalDate(), (long) delta, Long::sum);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        countsByDay.forEach((day, count) ->
+                dailyRevenueRollupRepository.addToDay(day, BigDecimal.ZERO, count, now));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyRevenueRollup> getDailyRollups() {
+        return dailyRevenueRollupRepository.findAllByOrderByRevenueDateAsc();
+    }
+
+    @Override
+    @Transactional
+    public int rebuildRollups() {
+        /*
+         * take the table lock before the first plain read: incremental upserts already holding a row
+         * commit first and land in this transaction's snapshot, later ones block until the rebuilt rows
+         * are committed and then add their delta on top, so no increment is lost or counted twice
+         */
+        dailyRevenueRollupRepository.lockAllForRebuild();
+
+        Map<LocalDate, BigDecimal> revenueByDay = new TreeMap<>();
+        Map<LocalDate, Long> membershipsByDay = new TreeMap<>();
+
+        /* one tuple per order instead of the full item/merch graph */
+        for (OrderRevenueDTO orderRevenue : orderRepository.sumRevenueByOrder(FINANCE_REVENUE_STATUSES, MerchType.MEMBERSHIP)) {
+            if (orderRevenue.getOrderDate() == null || orderRevenue.getRevenue() == null) {
+                continue;
+            }
+            revenueByDay.merge(
+                    orderRevenue.getOrderDate().toLocalDate(),
+                    BigDecimal.valueOf(orderRevenue.getRevenue()),
+                    BigDecimal::add);
+        }
+
+        for (LocalDateTime dateJoined : studentMembershipRepository.findDateJoinedByYearStartAndYearEnd(currentYearStart, currentYearEnd)) {
+            if (dateJoined != null) {
+                membershipsByDay.merge(dateJoined.toLocalDate(), 1L, Long::sum);
+            }
+        }
+
+        Map<LocalDate, DailyRevenueRollup> rollups = new TreeMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        revenueByDay.forEach((day, revenue) -> rollups.computeIfAbsent(day, d -> emptyRollup(d, now))
+                .setMerchRevenue(revenue.setScale(2, RoundingMode.HALF_UP)));
+        membershipsByDay.forEach((day, count) -> rollups.computeIfAbsent(day, d -> emptyRollup(d, now))
+                .setMembershipCount(count));
+
+        dailyRevenueRollupRepository.deleteAllInBatch();
+        dailyRevenueRollupRepository.saveAll(rollups.values());
+
+        log.info("rebuilt daily revenue rollup with {} day rows", rollups.size());
+        return rollups.size();
+    }
+
+    private DailyRevenueRollup emptyRollup(LocalDate day, LocalDateTime now) {
+        return DailyRevenueRollup.builder()
+                .revenueDate(day)
+                .merchRevenue(BigDecimal.ZERO)
+                .membershipCount(0L)
+                .updatedAt(now)
+                .build();
+    }
+
+    private boolean isFinanceRevenueItem(OrderItem item) {
+        return item != null
+                && item.getOrderStatus() != null
+                && FINANCE_REVENUE_STATUSES.contains(item.getOrderStatus());
+    }
+
+    private boolean isMembershipItem(OrderItem item) {
+        return item != null
+                && item.getMerchVariantItem() != null
+                && item.getMerchVariantItem().getMerchVariant() != null
+                && item.getMerchVariantItem().getMerchVariant().getMerch() != null
+                && item.getMerchVariantItem().getMerchVariant().getMerch().getMerchType() == MerchType.MEMBERSHIP;
+    }
+
+    private BigDecimal calculateLineTotal(OrderItem item) {
+        if (item == null || item.getPriceAtPurchase() == null || item.getQuantity() == null) {
+            return BigDecimal.ZERO;
+        }
+
+        return BigDecimal.valueOf(item.getPriceAtPurchase())
+                .multiply(BigDecimal.valueOf(item.getQuantity().longValue()));
+    }
+}
@@ -0,0 +1,139 @@
+package org.csps.backend.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.csps.backend.configs.StorageConfig;
+import org.csps.backend.service.ObjectStore;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * Amazon S3 object store. Small objects are streamed in one PUT with their known length;
+ * large ones go up part by part through a single reusable part buffer.
+ */
+public class S3ObjectStore implements ObjectStore {
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final StorageConfig storageConfig;
+
+    public S3ObjectStore(S3Client s3Client, String bucketName, StorageConfig storageConfig) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.storageConfig = storageConfig;
+    }
+
+    @Override
+    public void put(String key, String contentType, InputStream content, long contentLength) throws IOException {
+        if (contentLength < storageConfig.getMultipartThreshold()) {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .contentDisposition("inline")   // <<< makes browser view instead of download
+                    .build();
+            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(content, contentLength));
+            return;
+        }
+        putMultipart(key, contentType, content);
+    }
+
+    @Override
+    public InputStream get(String key) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        return s3Client.getObject(getObjectRequest);
+    }
+
+    @Override
+    public void delete(String key) {
+        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        s3Client.deleteObject(deleteObjectRequest);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    /* a failed upload is aborted so S3 does not keep billing for orphaned parts */
+    private void putMultipart(String key, String contentType, InputStream content) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentDisposition("inline")
+                .build()).uploadId();
+
+        try {
+            byte[] buffer = new byte[storageConfig.getPartSize()];
+            List<CompletedPart> parts = new ArrayList<>();
+            int read;
+            while ((read = content.readNBytes(buffer, 0, buffer.length)) > 0) {
+                int partNumber = parts.size() + 1;
+                /* a byte array stream can be reset, so SDK retries resend the part without another copy */
+                String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) read)
+                                .build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, read), read)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(eTag).build());
+            }
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            /* a cancelled upload fails on its interrupt, so the flag is cleared for the abort call and restored after */
+            boolean interrupted = Thread.interrupted();
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            throw e;
+        }
+    }
+}
@@ -12,12 +12,14 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.csps.backend.domain.dtos.request.OrderSearchDTO;
+import org.csps.backend.domain.dtos.response.CursorPageDTO;
 import org.csps.backend.domain.dtos.response.sales.ChartPointDTO;
 import org.csps.backend.domain.dtos.response.sales.SalesStatsDTO;
 import org.csps.backend.domain.dtos.response.sales.TransactionDTO;
+import org.csps.backend.domain.entities.DailyRevenueRollup;
 import org.csps.backend.domain.entities.Order;
 import org.csps.backend.domain.entities.OrderItem;
-import org.csps.backend.domain.entities.StudentMembership;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.domain.enums.MerchType;
 import org.csps.backend.domain.enums.OrderStatus;
 import org.csps.backend.domain.enums.SalesPeriod;
@@ -27,11 +29,13 @@ import org.csps.backend.repository.OrderItemRepository;
 import org.csps.backend.repository.OrderRepository;
 import org.csps.backend.repository.StudentMembershipRepository;
 import org.csps.backend.repository.specification.OrderSpecification;
+import org.csps.backend.service.FinanceDashboardService;
 import org.csps.backend.service.OrderLifecycleService;
 import org.csps.backend.service.OrderNotificationService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.RevenueRollupService;
 import org.csps.backend.service.SalesService;
 import org.csps.backend.service.StudentMembershipService;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -45,32 +49,23 @@ import lombok.RequiredArgsConstructor;
 public class SalesServiceImpl implements SalesService {
 
     private static final BigDecimal MEMBERSHIP_REVENUE_PER_MEMBER = BigDecimal.valueOf(100);
-    private static final List<OrderStatus> FINANCE_REVENUE_STATUSES =
-            List.of(OrderStatus.TO_BE_CLAIMED, OrderStatus.CLAIMED);
-
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderLifecycleService orderLifecycleService;
     private final StudentMembershipService studentMembershipService;
     private final StudentMembershipRepository studentMembershipRepository;
     private final OrderNotificationService orderNotificationService;
-
-    @Value("${csps.currentAcademicYear.start}")
-    private int currentYearStart;
-
-    @Value("${csps.currentAcademicYear.end}")
-    private int currentYearEnd;
+    private final RevenueRollupService revenueRollupService;
+    private final FinanceDashboardService financeDashboardService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
 
     // Deployment date - set to today (February 8, 2026) as dummy data
     private static final LocalDate DEPLOYMENT_DATE = LocalDate.of(2026, 2, 25);
 
     @Override
     public SalesStatsDTO getSalesStats(SalesPeriod period) {
-        List<Order> financeOrders = orderRepository.findByOrderStatusIn(FINANCE_REVENUE_STATUSES);
-        List<StudentMembership> currentYearMemberships =
-                studentMembershipRepository.findByYearStartAndYearEnd(currentYearStart, currentYearEnd);
-
-        List<ChartPointDTO> chartData = generateChartData(financeOrders, currentYearMemberships, period);
+        /* read the pre-aggregated daily rollup - one row per day instead of the full order history */
+        List<ChartPointDTO> chartData = generateChartData(revenueRollupService.getDailyRollups(), period);
 
         // Calculate total sales from chart data (sum of all chart values)
         BigDecimal totalSales = chartData.stream()
@@ -84,20 +79,44 @@ public class SalesServiceImpl implements SalesService {
                 .build();
     }
 
+    @Override
+    public int rebuildRevenueRollup() {
+        return revenueRollupService.rebuildRollups();
+    }
+
     @Override
     public Page<TransactionDTO> getTransactions(Pageable pageable, OrderSearchDTO searchDTO) {
         /* build specification for database-level filtering to prevent loading all orders into memory */
         OrderSearchDTO normalizedSearch = normalizeAndValidateSearch(searchDTO);
         Specification<Order> spec = OrderSpecification.withFilters(normalizedSearch);
         
-        /* fetch paginated results with eager loading via @EntityGraph in OrderRepository.findAll(pageable) */
-        Page<Order> orders = orderRepository.findAll(spec, pageable);
+        /* page the order ids in the database, then load items and student details for that page only */
+        Page<Order> orders = orderRepository.findPageWithItems(spec, pageable);
         Set<String> activeMembershipStudentIds = resolveActiveMembershipStudentIds(orders.getContent());
 
         /* map orders to DTOs */
         return orders.map(order -> mapToTransactionDTO(order, activeMembershipStudentIds.contains(order.getStudent().getStudentId())));
     }
 
+    @Override
+    public CursorPageDTO<TransactionDTO> getTransactionsByCursor(String cursor, int limit, OrderSearchDTO searchDTO) {
+        OrderSearchDTO normalizedSearch = normalizeAndValidateSearch(searchDTO);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Specification<Order> spec = OrderSpecification.withFilters(normalizedSearch)
+                .and(OrderSpecification.before(after.timestamp(), after.id()));
+
+        /* seek past the cursor on the (order_date, order_id) index instead of skipping earlier rows */
+        List<Order> orders = orderRepository.findSliceWithItems(spec, KeysetCursor.probe(limit, OrderSpecification.NEWEST_FIRST));
+        CursorPageDTO<Order> page = KeysetCursor.page(orders, limit,
+                order -> new KeysetCursor(order.getOrderDate(), order.getOrderId()));
+        Set<String> activeMembershipStudentIds = resolveActiveMembershipStudentIds(page.getItems());
+
+        List<TransactionDTO> items = page.getItems().stream()
+                .map(order -> mapToTransactionDTO(order, activeMembershipStudentIds.contains(order.getStudent().getStudentId())))
+                .toList();
+        return new CursorPageDTO<>(items, page.getNextCursor(), page.isHasMore());
+    }
+
 
 
     @Override
@@ -118,6 +137,8 @@ public class SalesServiceImpl implements SalesService {
             throw new InvalidOrderStatusTransitionException("Only orders with pending items can be approved");
         }
 
+        BigDecimal previousRevenue = revenueRollupService.calculateRecognizedRevenue(order);
+
         if (containsMembershipItem(order.getOrderItems())) {
             studentMembershipService.ensureMembershipForCurrentAcademicYear(order.getStudent().getStudentId());
         }
@@ -131,6 +152,10 @@ public class SalesServiceImpl implements SalesService {
         order.setOrderStatus(resolveOrderStatusAfterApproval(order));
         order.setUpdatedAt(LocalDateTime.now());
         Order savedOrder = orderRepository.save(order);
+        revenueRollupService.recordOrderRevenueChange(savedOrder, previousRevenue);
+        financeDashboardService.invalidateSections(
+                FinanceDashboardSection.RECENT_ORDERS, FinanceDashboardSection.CHART_DATA);
+        purchaseEligibilityService.invalidate(savedOrder.getStudent().getStudentId());
         sendApprovedItemNotifications(savedOrder.getOrderId());
 
         return mapToTransactionDTO(savedOrder, isActiveMember(savedOrder.getStudent().getStudentId()));
@@ -223,36 +248,18 @@ public class SalesServiceImpl implements SalesService {
         return studentMembershipRepository.hasActiveMembership(studentId);
     }
 
-    private List<ChartPointDTO> generateChartData(
-            List<Order> orders,
-            List<StudentMembership> memberships,
-            SalesPeriod period) {
+    private List<ChartPointDTO> generateChartData(List<DailyRevenueRollup> rollups, SalesPeriod period) {
         Map<String, BigDecimal> groupedData = new LinkedHashMap<>();
 
-        orders.forEach(order -> {
-            if (order.getOrderDate() == null) {
-                return;
-            }
-
-            LocalDate orderDate = order.getOrderDate().toLocalDate();
-            BigDecimal merchRevenue = calculateFinanceMerchRevenue(order);
-            if (merchRevenue.signum() == 0) {
+        rollups.forEach(rollup -> {
+            BigDecimal dayRevenue = rollup.getMerchRevenue()
+                    .add(MEMBERSHIP_REVENUE_PER_MEMBER.multiply(BigDecimal.valueOf(rollup.getMembershipCount())));
+            if (dayRevenue.signum() == 0) {
                 return;
             }
 
-            String key = resolveChartKey(orderDate, period);
-            groupedData.put(key, groupedData.getOrDefault(key, BigDecimal.ZERO).add(merchRevenue));
-        });
-
-        memberships.forEach(membership -> {
-            if (membership.getDateJoined() == null) {
-                return;
-            }
-
-            String key = resolveChartKey(membership.getDateJoined().toLocalDate(), period);
-            groupedData.put(
-                    key,
-                    groupedData.getOrDefault(key, BigDecimal.ZERO).add(MEMBERSHIP_REVENUE_PER_MEMBER));
+            String key = resolveChartKey(rollup.getRevenueDate(), period);
+            groupedData.put(key, groupedData.getOrDefault(key, BigDecimal.ZERO).add(dayRevenue));
         });
 
         return groupedData.entrySet().stream()
@@ -263,41 +270,6 @@ public class SalesServiceImpl implements SalesService {
                 .collect(Collectors.toList());
     }
 
-    private BigDecimal calculateFinanceMerchRevenue(Order order) {
-        if (order == null || order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        return order.getOrderItems().stream()
-                .filter(this::isFinanceRevenueItem)
-                .filter(item -> !isMembershipItem(item))
-                .map(this::calculateLineTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private boolean isFinanceRevenueItem(OrderItem item) {
-        return item != null
-                && item.getOrderStatus() != null
-                && FINANCE_REVENUE_STATUSES.contains(item.getOrderStatus());
-    }
-
-    private boolean isMembershipItem(OrderItem item) {
-        return item != null
-                && item.getMerchVariantItem() != null
-                && item.getMerchVariantItem().getMerchVariant() != null
-                && item.getMerchVariantItem().getMerchVariant().getMerch() != null
-                && item.getMerchVariantItem().getMerchVariant().getMerch().getMerchType() == MerchType.MEMBERSHIP;
-    }
-
-    private BigDecimal calculateLineTotal(OrderItem item) {
-        if (item == null || item.getPriceAtPurchase() == null || item.getQuantity() == null) {
-            return BigDecimal.ZERO;
-        }
-
-        return BigDecimal.valueOf(item.getPriceAtPurchase())
-                .multiply(BigDecimal.valueOf(item.getQuantity().longValue()));
-    }
-
     private String resolveChartKey(LocalDate date, SalesPeriod period) {
         return switch (period) {
             case DAILY -> date.toString();
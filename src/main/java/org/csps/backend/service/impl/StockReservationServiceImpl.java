@@ -0,0 +1,195 @@
+package org.csps.backend.service.impl;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.csps.backend.configs.StockReservationConfig;
+import org.csps.backend.domain.entities.MerchVariantItem;
+import org.csps.backend.domain.enums.StockReservationMode;
+import org.csps.backend.exception.InvalidRequestException;
+import org.csps.backend.repository.MerchVariantItemRepository;
+import org.csps.backend.service.HotStockService;
+import org.csps.backend.service.StockReservationService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final MerchVariantItemRepository merchVariantItemRepository;
+    private final StockReservationConfig stockReservationConfig;
+    private final HotStockService hotStockService;
+
+    @Override
+    @Transactional
+    public MerchVariantItem reserve(Long merchVariantItemId, int quantity) {
+        if (quantity <= 0) {
+            throw new InvalidRequestException("Quantity must be greater than 0");
+        }
+
+        if (hotStockService.isHot(merchVariantItemId)) {
+            MerchVariantItem item = merchVariantItemRepository.findById(merchVariantItemId)
+                    .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found"));
+            if (hotStockService.reserve(merchVariantItemId, quantity)) {
+                return item;
+            }
+            /* the item was switched out of hot mode meanwhile, fall through to the database */
+        }
+
+        /* no stock eviction: checkout would empty the cache on every order, so the stock ttl bounds staleness instead */
+        return stockReservationConfig.getMode() == StockReservationMode.ATOMIC
+                ? reserveAtomically(merchVariantItemId, quantity)
+                : reserveWithLock(merchVariantItemId, quantity);
+    }
+
+    @Override
+    @Transactional
+    public void release(Long merchVariantItemId, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+
+        if (hotStockService.release(merchVariantItemId, quantity)) {
+            return;
+        }
+
+        if (stockReservationConfig.getMode() == StockReservationMode.ATOMIC) {
+            if (merchVariantItemRepository.incrementStock(merchVariantItemId, quantity) == 0) {
+                if (isFlaggedHot(merchVariantItemId)) {
+                    releaseToLedger(merchVariantItemId, quantity);
+                    return;
+                }
+                throw new InvalidRequestException("MerchVariantItem not found during stock restoration");
+            }
+            return;
+        }
+
+        MerchVariantItem lockedItem = merchVariantItemRepository.findByIdWithLock(merchVariantItemId)
+                .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found during stock restoration"));
+        if (isFlaggedHot(merchVariantItemId)) {
+            releaseToLedger(merchVariantItemId, quantity);
+            return;
+        }
+        lockedItem.setStockQuantity(lockedItem.getStockQuantity() + quantity);
+        merchVariantItemRepository.save(lockedItem);
+    }
+
+    private MerchVariantItem reserveWithLock(Long merchVariantItemId, int quantity) {
+        MerchVariantItem lockedItem = merchVariantItemRepository.findByIdWithLock(merchVariantItemId)
+                .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found"));
+        if (isFlaggedHot(merchVariantItemId)) {
+            return reserveFromLedger(lockedItem, quantity);
+        }
+
+        if (quantity > lockedItem.getStockQuantity()) {
+            throw insufficientStock(lockedItem.getStockQuantity(), quantity);
+        }
+
+        lockedItem.setStockQuantity(lockedItem.getStockQuantity() - quantity);
+        return merchVariantItemRepository.save(lockedItem);
+    }
+
+    private MerchVariantItem reserveAtomically(Long merchVariantItemId, int quantity) {
+        MerchVariantItem item = merchVariantItemRepository.findById(merchVariantItemId)
+                .orElseThrow(() -> new InvalidRequestException("MerchVariantItem not found"));
+
+        /* cheap early exit on a snapshot that is already short; the conditional update is the real guard */
+        if (quantity > item.getStockQuantity()) {
+            throw insufficientStock(item.getStockQuantity(), quantity);
+        }
+
+        // The conditional update takes the row's X-lock until commit, so it is held back to just before
+        // the commit instead of running here at the start of a long checkout. The managed entity is
+        // deliberately left untouched: writing the snapshot value back would overwrite concurrent decrements.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingDecrements().add(item, quantity);
+        } else {
+            decrementOrFail(item, quantity);
+        }
+        return item;
+    }
+
+    private void decrementOrFail(MerchVariantItem item, int quantity) {
+        Long merchVariantItemId = item.getMerchVariantItemId();
+        if (merchVariantItemRepository.decrementStockIfAvailable(merchVariantItemId, quantity) == 0) {
+            if (isFlaggedHot(merchVariantItemId)) {
+                reserveFromLedger(item, quantity);
+                return;
+            }
+            int available = merchVariantItemRepository.findStockQuantityById(merchVariantItemId).orElse(0);
+            throw insufficientStock(available, quantity);
+        }
+    }
+
+    /* one set of deferred decrements per transaction, registered on the first atomic reservation */
+    private PendingDecrements pendingDecrements() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingDecrements pending && pending.owner == this) {
+                return pending;
+            }
+        }
+
+        PendingDecrements pending = new PendingDecrements(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * Atomic decrements of one transaction, applied in beforeCommit so each stock row is locked only
+     * for the commit rather than for the whole checkout. A short item fails the commit, which rolls
+     * the order back and reaches the caller as the usual insufficient stock error.
+     */
+    private static final class PendingDecrements implements TransactionSynchronization {
+
+        private final StockReservationServiceImpl owner;
+        /* ascending id order so concurrent commits lock shared rows in the same sequence */
+        private final Map<Long, MerchVariantItem> items = new TreeMap<>();
+        private final Map<Long, Integer> quantities = new TreeMap<>();
+
+        private PendingDecrements(StockReservationServiceImpl owner) {
+            this.owner = owner;
+        }
+
+        private void add(MerchVariantItem item, int quantity) {
+            items.putIfAbsent(item.getMerchVariantItemId(), item);
+            quantities.merge(item.getMerchVariantItemId(), quantity, Integer::sum);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            quantities.forEach((merchVariantItemId, quantity) -> owner.decrementOrFail(items.get(merchVariantItemId), quantity));
+        }
+    }
+
+    /* the stored flag is authoritative; it can be set while this node has not seeded the ledger yet */
+    private boolean isFlaggedHot(Long merchVariantItemId) {
+        return merchVariantItemRepository.findHotStockById(merchVariantItemId).orElse(false);
+    }
+
+    private MerchVariantItem reserveFromLedger(MerchVariantItem item, int quantity) {
+        if (!hotStockService.reserve(item.getMerchVariantItemId(), quantity)) {
+            throw stockRebalancing();
+        }
+        return item;
+    }
+
+    private void releaseToLedger(Long merchVariantItemId, int quantity) {
+        /* without a local allocation the units belong to the unclaimed stored stock */
+        if (!hotStockService.release(merchVariantItemId, quantity)) {
+            merchVariantItemRepository.applyStockDelta(merchVariantItemId, quantity);
+        }
+    }
+
+    private InvalidRequestException stockRebalancing() {
+        return new InvalidRequestException("Stock for this item is being switched between modes, please try again");
+    }
+
+    private InvalidRequestException insufficientStock(Integer available, int requested) {
+        return new InvalidRequestException("Insufficient stock. Available: " + available + ", Requested: " + requested);
+    }
+}
@@ -1,5 +1,6 @@
 package org.csps.backend.service.impl;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -15,6 +16,8 @@ import org.csps.backend.domain.dtos.response.StudentNonMemberResponseDTO;
 import org.csps.backend.domain.dtos.response.StudentResponseDTO;
 import org.csps.backend.domain.entities.Student;
 import org.csps.backend.domain.entities.StudentMembership;
+import org.csps.backend.domain.entities.UserProfile;
+import org.csps.backend.domain.enums.FinanceDashboardSection;
 import org.csps.backend.exception.InvalidRequestException;
 import org.csps.backend.exception.MemberNotFoundException;
 import org.csps.backend.exception.StudentNotFoundException;
@@ -23,14 +26,18 @@ import org.csps.backend.mapper.StudentMembershipMapper;
 import org.csps.backend.repository.StudentMembershipRepository;
 import org.csps.backend.repository.StudentRepository;
 import org.csps.backend.repository.specification.StudentMembershipSpecification;
+import org.csps.backend.service.FinanceDashboardService;
+import org.csps.backend.service.PurchaseEligibilityService;
+import org.csps.backend.service.RevenueRollupService;
 import org.csps.backend.service.StudentMembershipService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -46,6 +53,13 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
     private final StudentMembershipRepository studentMembershipRepository;
     private final StudentRepository studentRepository;
     private final StudentMapper studentMapper;
+    private final RevenueRollupService revenueRollupService;
+    private final FinanceDashboardService financeDashboardService;
+    private final PurchaseEligibilityService purchaseEligibilityService;
+    private final EntityManager entityManager;
+
+    /* rows handed to the writer between flushes; also the cursor fetch size on the repository queries */
+    private static final int EXPORT_CHUNK_SIZE = 500;
 
     @Value("${csps.currentAcademicYear.start}")   
     private int currentYearStart;
@@ -95,6 +109,14 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
 
         // save
         StudentMembership saved = studentMembershipRepository.save(membership);
+        purchaseEligibilityService.invalidate(studentId);
+        if (activeFlag) {
+            revenueRollupService.recordMembershipChange(List.of(saved.getDateJoined()), 1);
+        }
+        financeDashboardService.invalidateSections(
+                FinanceDashboardSection.RECENT_MEMBERSHIPS,
+                FinanceDashboardSection.MEMBERSHIP_RATIO,
+                FinanceDashboardSection.CHART_DATA);
 
         // return DTO
         return studentMembershipMapper.toResponseDTO(saved);
@@ -179,6 +201,7 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
     public StudentMembershipResponseDTO updateStudentMembership(Long membershipId, @Valid StudentMembershipRequestDTO requestDTO) {
         StudentMembership existing = studentMembershipRepository.findById(membershipId)
                 .orElseThrow(() -> new MemberNotFoundException("Membership not found with ID: " + membershipId));
+        boolean wasCurrentYear = isCurrentAcademicYear(existing);
 
         /* update year range if provided */
         if (requestDTO.getYearStart() != null) {
@@ -189,7 +212,8 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
         }
 
         /* if student changed, update it */
-        if (!existing.getStudent().getStudentId().equals(requestDTO.getStudentId())) {
+        String previousStudentId = existing.getStudent().getStudentId();
+        if (!previousStudentId.equals(requestDTO.getStudentId())) {
             String newStudentId = requestDTO.getStudentId();
             Student newStudent = studentRepository.findByStudentId(newStudentId)
                     .orElseThrow(() -> new StudentNotFoundException("Student not found with ID: " + newStudentId));
@@ -197,6 +221,18 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
         }
 
         StudentMembership saved = studentMembershipRepository.save(existing);
+        purchaseEligibilityService.invalidate(previousStudentId);
+        purchaseEligibilityService.invalidate(saved.getStudent().getStudentId());
+
+        /* moving a membership into or out of the current academic year changes its revenue day count */
+        boolean isCurrentYear = isCurrentAcademicYear(saved);
+        if (wasCurrentYear != isCurrentYear) {
+            revenueRollupService.recordMembershipChange(List.of(saved.getDateJoined()), isCurrentYear ? 1 : -1);
+        }
+        financeDashboardService.invalidateSections(
+                FinanceDashboardSection.RECENT_MEMBERSHIPS,
+                FinanceDashboardSection.MEMBERSHIP_RATIO,
+                FinanceDashboardSection.CHART_DATA);
         return studentMembershipMapper.toResponseDTO(saved);
     }
 
@@ -259,7 +295,7 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
 
     /**
      * Retrieves all students who do NOT have an active membership (non-members).
-     * Delegates to StudentRepository's NOT IN subquery with EntityGraph.
+     * Delegates to StudentRepository's NOT EXISTS anti-join with EntityGraph.
      *
      * @param pageable the pagination details
      * @return paginated list of inactive non-member DTOs
@@ -314,8 +350,8 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
     public Page<?> searchMemberships(StudentMembershipSearchDTO searchDTO, Pageable pageable) {
         if (isInactiveSearch(searchDTO)) {
             Page<Student> nonMembers = studentRepository.searchStudentsWithoutActiveMembership(
-                    normalizeSearchValue(searchDTO.getSearch()),
-                    normalizeSearchValue(searchDTO.getStudentName()),
+                    UserProfile.normalizeNameSearchTerm(searchDTO.getSearch()),
+                    UserProfile.normalizeNameSearchTerm(searchDTO.getStudentName()),
                     normalizeSearchValue(searchDTO.getStudentId()),
                     pageable);
             return nonMembers.map(this::toNonMemberResponseDTO);
@@ -354,6 +390,58 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportActiveMembersCsv(OutputStream outputStream) {
+        CsvExportWriter csv = new CsvExportWriter(outputStream);
+        csv.writeRow("Membership ID", "Student ID", "Full Name", "Academic Year", "Date Joined");
+        csv.flush();
+
+        try (Stream<StudentMembership> memberships = studentMembershipRepository.streamByActiveTrue()) {
+            int written = 0;
+            for (StudentMembership membership : (Iterable<StudentMembership>) memberships::iterator) {
+                StudentMembershipResponseDTO member = studentMembershipMapper.toResponseDTO(membership);
+                csv.writeRow(member.getMembershipId(), member.getStudentId(), member.getFullName(),
+                        member.getAcademicYearRange(), member.getDateJoined());
+                if (++written % EXPORT_CHUNK_SIZE == 0) {
+                    finishExportChunk(csv);
+                }
+            }
+        }
+        csv.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportNonMembersCsv(OutputStream outputStream) {
+        CsvExportWriter csv = new CsvExportWriter(outputStream);
+        csv.writeRow("Student ID", "First Name", "Middle Name", "Last Name", "Email", "Year Level");
+        csv.flush();
+
+        try (Stream<Student> students = studentRepository.streamAllStudentsWithoutActiveMembership()) {
+            int written = 0;
+            for (Student student : (Iterable<Student>) students::iterator) {
+                var userProfile = student.getUserAccount() != null ? student.getUserAccount().getUserProfile() : null;
+                csv.writeRow(student.getStudentId(),
+                        userProfile != null ? userProfile.getFirstName() : null,
+                        userProfile != null ? userProfile.getMiddleName() : null,
+                        userProfile != null ? userProfile.getLastName() : null,
+                        userProfile != null ? userProfile.getEmail() : null,
+                        student.getYearLevel());
+                if (++written % EXPORT_CHUNK_SIZE == 0) {
+                    finishExportChunk(csv);
+                }
+            }
+        }
+        csv.flush();
+    }
+
+    /* push the chunk to the client and detach its rows so the persistence context does not grow with the export */
+    private void finishExportChunk(CsvExportWriter csv) {
+        csv.flush();
+        entityManager.clear();
+    }
+
     /**
      * Bulk create memberships for multiple students in a single academic year.
      * Deduplicates student IDs and skips non-existent students.
@@ -416,6 +504,15 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
 
         /* bulk save all memberships at once (avoids N+1 queries) */
         List<StudentMembership> savedMemberships = studentMembershipRepository.saveAll(membershipsToCreate);
+        savedMemberships.forEach(saved -> purchaseEligibilityService.invalidate(saved.getStudent().getStudentId()));
+        if (shouldBeActive) {
+            revenueRollupService.recordMembershipChange(
+                    savedMemberships.stream().map(StudentMembership::getDateJoined).toList(), 1);
+        }
+        financeDashboardService.invalidateSections(
+                FinanceDashboardSection.RECENT_MEMBERSHIPS,
+                FinanceDashboardSection.MEMBERSHIP_RATIO,
+                FinanceDashboardSection.CHART_DATA);
 
         /* map to response DTOs */
         return savedMemberships.stream()
@@ -423,6 +520,10 @@ public class StudentMembershipServiceImpl implements StudentMembershipService {
                 .toList();
     }
 
+    private boolean isCurrentAcademicYear(StudentMembership membership) {
+        return membership.getYearStart() == currentYearStart && membership.getYearEnd() == currentYearEnd;
+    }
+
     private boolean isInactiveSearch(StudentMembershipSearchDTO searchDTO) {
         return searchDTO != null
                 && searchDTO.getActiveStatus() != null
@@ -95,7 +95,7 @@ public class StudentServiceImpl implements StudentService {
    // Search Students by ID or name with optional year level filter
    @Override
    public Page<StudentResponseDTO> searchStudents(String search, Byte yearLevel, Pageable pageable) {
-       return studentRepository.searchStudents(search, yearLevel, pageable)
+       return studentRepository.searchStudents(search, UserProfile.normalizeNameSearchTerm(search), yearLevel, pageable)
                .map(studentMapper::toResponseDTO);
    }
 
@@ -55,6 +55,35 @@ public class TicketFreebieAssignmentServiceImpl implements TicketFreebieAssignme
         return upsertAssignmentsInternal(orderItem, ticketContext, requests, true);
     }
 
+    @Override
+    @Transactional
+    public Map<Long, List<TicketFreebieAssignmentResponseDTO>> initializeAssignments(
+            List<OrderItem> newOrderItems,
+            Map<Long, List<TicketFreebieAssignmentRequestDTO>> requestsByOrderItemId) {
+        if (newOrderItems == null || newOrderItems.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<TicketFreebieConfig>> configsByMerchId = loadConfigsByMerchId(newOrderItems);
+        Map<Long, List<TicketFreebieAssignmentResponseDTO>> responseMap = new LinkedHashMap<>();
+        for (OrderItem orderItem : newOrderItems) {
+            Long orderItemId = orderItem.getOrderItemId();
+            List<TicketFreebieAssignmentRequestDTO> requests = requestsByOrderItemId.getOrDefault(orderItemId, List.of());
+            TicketContext ticketContext = resolveTicketContext(orderItem, configsByMerchId);
+            if (!ticketContext.hasFreebie()) {
+                boolean isTicket = orderItem.getMerchVariantItem().getMerchVariant().getMerch().getMerchType() == MerchType.TICKET;
+                if (isTicket && !requests.isEmpty()) {
+                    throw new InvalidRequestException("This order item does not support freebies");
+                }
+                responseMap.put(orderItemId, List.of(buildNoFreebieResponse(orderItemId)));
+                continue;
+            }
+
+            responseMap.put(orderItemId, upsertAssignmentsInternal(orderItem, ticketContext, requests, true, true));
+        }
+        return responseMap;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<TicketFreebieAssignmentResponseDTO> getAssignmentsByOrderItemId(Long orderItemId) {
@@ -125,6 +154,15 @@ public class TicketFreebieAssignmentServiceImpl implements TicketFreebieAssignme
             TicketContext ticketContext,
             List<TicketFreebieAssignmentRequestDTO> requests,
             boolean allowEmptyForInitialize) {
+        return upsertAssignmentsInternal(orderItem, ticketContext, requests, allowEmptyForInitialize, false);
+    }
+
+    private List<TicketFreebieAssignmentResponseDTO> upsertAssignmentsInternal(
+            OrderItem orderItem,
+            TicketContext ticketContext,
+            List<TicketFreebieAssignmentRequestDTO> requests,
+            boolean allowEmptyForInitialize,
+            boolean newOrderItem) {
         List<TicketFreebieAssignmentRequestDTO> normalizedRequests = requests == null ? List.of() : requests;
         Map<Long, TicketFreebieAssignmentRequestDTO> requestByConfigId = new LinkedHashMap<>();
         for (TicketFreebieAssignmentRequestDTO request : normalizedRequests) {
@@ -136,7 +174,11 @@ public class TicketFreebieAssignmentServiceImpl implements TicketFreebieAssignme
             }
         }
 
-        Map<Long, TicketFreebieAssignment> existingByConfigId = ticketFreebieAssignmentRepository.findByOrderItemOrderItemId(orderItem.getOrderItemId()).stream()
+        /* an order item saved in this checkout cannot have assignments yet, skip the lookup */
+        List<TicketFreebieAssignment> existingAssignments = newOrderItem
+                ? List.of()
+                : ticketFreebieAssignmentRepository.findByOrderItemOrderItemId(orderItem.getOrderItemId());
+        Map<Long, TicketFreebieAssignment> existingByConfigId = existingAssignments.stream()
                 .filter(assignment -> assignment.getTicketFreebieConfig() != null && assignment.getTicketFreebieConfig().getTicketFreebieConfigId() != null)
                 .collect(Collectors.toMap(assignment -> assignment.getTicketFreebieConfig().getTicketFreebieConfigId(), assignment -> assignment));
 
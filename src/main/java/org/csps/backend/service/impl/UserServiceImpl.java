@@ -19,6 +19,7 @@ import org.csps.backend.mapper.UserMapper;
 import org.csps.backend.repository.StudentRepository;
 import org.csps.backend.repository.UserAccountRepository;
 import org.csps.backend.repository.UserProfileRepository;
+import org.csps.backend.security.PrincipalCache;
 import org.csps.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,6 +34,7 @@ public class UserServiceImpl implements UserService {
     private final UserAccountRepository userAccountRepository;
     private final UserProfileRepository userProfileRepository;
     private final StudentRepository studentRepository;
+    private final PrincipalCache principalCache;
     
     private final PasswordEncoder passwordEncoder;
     
@@ -145,6 +147,7 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(requestDTO.getNewPassword()));
         userAccountRepository.save(user);
+        principalCache.invalidate(user.getUserAccountId());
     }
 
     @Override
@@ -164,6 +167,7 @@ public class UserServiceImpl implements UserService {
         String defaultPassword = passwordFormat + student.getStudentId();
         userAccount.setPassword(passwordEncoder.encode(defaultPassword));
         userAccountRepository.save(userAccount);
+        principalCache.invalidate(userAccount.getUserAccountId());
     }
 
 }
@@ -0,0 +1,150 @@
+package org.csps.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Opt-in benchmark of the non-member queries on MySQL 8 at 10k, 50k and 100k students:
+ * the old NOT IN subquery next to the NOT EXISTS anti-join, and the paginated list and search
+ * the membership page runs. Half the students hold an active membership, a third an expired one.
+ * Needs Docker; run with {@code mvn test -Dtest=NonMemberQueryBenchmarkTest -Dbenchmarks=true}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class NonMemberQueryBenchmarkTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+    private static final int INSERT_BATCH = 1_000;
+
+    private static final String NOT_IN_COUNT = "SELECT COUNT(*) FROM student s WHERE s.student_id NOT IN "
+            + "(SELECT sm.student_id FROM student_membership sm WHERE sm.active = true)";
+    private static final String NOT_EXISTS_COUNT = "SELECT COUNT(*) FROM student s WHERE NOT EXISTS "
+            + "(SELECT 1 FROM student_membership sm WHERE sm.student_id = s.student_id AND sm.active = true)";
+
+    private static final String[] FIRST_NAMES = {"Andrea", "Juan", "Maria", "Jose", "Angelica", "Mark", "Kristine", "Paolo"};
+    private static final String[] LAST_NAMES = {"Santos", "Reyes", "Cruz", "Bautista", "Garcia", "Mendoza", "Torres", "Flores"};
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /* each size seeds inside the test transaction, which @DataJpaTest rolls back before the next size */
+    @ParameterizedTest(name = "{0} students")
+    @ValueSource(ints = {10_000, 50_000, 100_000})
+    void nonMemberQueries(int students) {
+        seed(students);
+
+        long expected = count(NOT_IN_COUNT);
+        assertEquals(expected, count(NOT_EXISTS_COUNT));
+        assertEquals(expected, studentRepository.findStudentsWithoutActiveMembership(PageRequest.of(0, 20)).getTotalElements());
+
+        measure(students, "count, NOT IN", () -> count(NOT_IN_COUNT));
+        measure(students, "count, NOT EXISTS", () -> count(NOT_EXISTS_COUNT));
+        measure(students, "first page", () -> studentRepository.findStudentsWithoutActiveMembership(PageRequest.of(0, 20)));
+        measure(students, "search \"an\"", () -> studentRepository.searchStudentsWithoutActiveMembership(
+                "an", null, null, PageRequest.of(0, 20)));
+        measure(students, "search \"cruz maria\"", () -> studentRepository.searchStudentsWithoutActiveMembership(
+                null, "cruz maria", null, PageRequest.of(0, 20)));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private void measure(int students, String label, Supplier<?> query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+            entityManager.clear();
+        }
+
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+            entityManager.clear();
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%,9d students  %-24s median %8.2f ms  max %8.2f ms%n",
+                students, label, nanos[MEASURED_RUNS / 2] / 1e6, nanos[MEASURED_RUNS - 1] / 1e6);
+    }
+
+    private void seed(int students) {
+        Timestamp joined = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> profiles = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> accounts = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> studentRows = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> memberships = new ArrayList<>(INSERT_BATCH);
+
+        for (int i = 1; i <= students; i++) {
+            String firstName = FIRST_NAMES[i % FIRST_NAMES.length];
+            String lastName = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            String studentId = String.format("%08d", i);
+            profiles.add(new Object[] {i, firstName, lastName, "student" + i + "@example.com"});
+            accounts.add(new Object[] {i, "student" + i, i});
+            studentRows.add(new Object[] {studentId, (byte) (i % 4 + 1), i});
+            if (i % 2 == 0) {
+                memberships.add(new Object[] {studentId, joined, true, 2025, 2026});
+            }
+            if (i % 3 == 0) {
+                memberships.add(new Object[] {studentId, joined, false, 2024, 2025});
+            }
+
+            if (i % INSERT_BATCH == 0 || i == students) {
+                flush(profiles, accounts, studentRows, memberships);
+            }
+        }
+    }
+
+    private void flush(List<Object[]> profiles, List<Object[]> accounts, List<Object[]> studentRows, List<Object[]> memberships) {
+        jdbcTemplate.batchUpdate("INSERT INTO user_profile "
+                + "(user_profile_id, first_name, last_name, email, is_profile_complete) "
+                + "VALUES (?, ?, ?, ?, true)", profiles);
+        jdbcTemplate.batchUpdate("INSERT INTO user_account "
+                + "(user_account_id, username, password, role, is_verified, user_profile_id) "
+                + "VALUES (?, ?, 'x', 'STUDENT', true, ?)", accounts);
+        jdbcTemplate.batchUpdate("INSERT INTO student (student_id, year_level, user_account_id) VALUES (?, ?, ?)", studentRows);
+        jdbcTemplate.batchUpdate("INSERT INTO student_membership "
+                + "(student_id, date_joined, active, year_start, year_end) VALUES (?, ?, ?, ?, ?)", memberships);
+        profiles.clear();
+        accounts.clear();
+        studentRows.clear();
+        memberships.clear();
+    }
+}
@@ -0,0 +1,206 @@
+package org.csps.backend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.csps.backend.configs.StockReservationConfig;
+import org.csps.backend.domain.entities.Merch;
+import org.csps.backend.domain.entities.MerchVariant;
+import org.csps.backend.domain.entities.MerchVariantItem;
+import org.csps.backend.domain.enums.MerchType;
+import org.csps.backend.domain.enums.StockReservationMode;
+import org.csps.backend.exception.InvalidRequestException;
+import org.csps.backend.service.HotStockService;
+import org.csps.backend.service.StockReservationService;
+import org.csps.backend.service.impl.StockReservationServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Opt-in benchmark of checkout throughput when every buyer takes the same merch variant item on MySQL 8,
+ * driving StockReservationServiceImpl in each StockReservationMode. A checkout is one transaction that
+ * reserves through the service and then does a fixed amount of other work; every tenth one rolls back,
+ * as a failed order insert would. The item is not in hot-stock mode, so the mock HotStockService sends
+ * every reservation down the database path.
+ * Needs Docker; run with {@code mvn test -Dtest=StockReservationContentionBenchmarkTest -Dbenchmarks=true}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({StockReservationServiceImpl.class, StockReservationConfig.class})
+@Testcontainers
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+/* buyers run on their own threads and must see committed stock, so the test itself holds no transaction */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationContentionBenchmarkTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final int BUYERS = 8;
+    private static final int CHECKOUTS_PER_BUYER = 100;
+    /* order, item and freebie inserts of a checkout, stood in for by a server-side sleep */
+    private static final double CHECKOUT_WORK_SECONDS = 0.005;
+    private static final int ROLLBACK_EVERY = 10;
+    private static final int INITIAL_STOCK = BUYERS * CHECKOUTS_PER_BUYER / 2;
+
+    @MockitoBean
+    private HotStockService hotStockService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockReservationConfig stockReservationConfig;
+
+    @Autowired
+    private MerchRepository merchRepository;
+
+    @Autowired
+    private MerchVariantRepository merchVariantRepository;
+
+    @Autowired
+    private MerchVariantItemRepository merchVariantItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(StockReservationMode.class)
+    void singleItemContention(StockReservationMode mode) throws Exception {
+        stockReservationConfig.setMode(mode);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long itemId = transaction.execute(status -> seedItem());
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger rolledBack = new AtomicInteger();
+        AtomicInteger lowestStock = new AtomicInteger(INITIAL_STOCK);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        /* watches the committed stock while buyers run, it must never dip below zero */
+        Thread watcher = new Thread(() -> {
+            while (running.get()) {
+                int stock = merchVariantItemRepository.findStockQuantityById(itemId).orElseThrow();
+                lowestStock.accumulateAndGet(stock, Math::min);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        watcher.start();
+
+        ExecutorService buyers = Executors.newFixedThreadPool(BUYERS);
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int buyer = 0; buyer < BUYERS; buyer++) {
+                int buyerIndex = buyer;
+                Callable<long[]> run = () -> {
+                    long[] nanos = new long[CHECKOUTS_PER_BUYER];
+                    for (int i = 0; i < CHECKOUTS_PER_BUYER; i++) {
+                        boolean rollBack = (buyerIndex * CHECKOUTS_PER_BUYER + i) % ROLLBACK_EVERY == 0;
+                        long checkoutStart = System.nanoTime();
+                        try {
+                            transaction.executeWithoutResult(status -> {
+                                stockReservationService.reserve(itemId, 1);
+                                checkoutWork();
+                                if (rollBack) {
+                                    status.setRollbackOnly();
+                                }
+                            });
+                            (rollBack ? rolledBack : sold).incrementAndGet();
+                        } catch (InvalidRequestException e) {
+                            /* PESSIMISTIC rejects in reserve, ATOMIC when its deferred decrement fails the commit */
+                            rejected.incrementAndGet();
+                        }
+                        nanos[i] = System.nanoTime() - checkoutStart;
+                    }
+                    return nanos;
+                };
+                results.add(buyers.submit(run));
+            }
+
+            long[] all = new long[BUYERS * CHECKOUTS_PER_BUYER];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] nanos = result.get();
+                System.arraycopy(nanos, 0, all, offset, nanos.length);
+                offset += nanos.length;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(all);
+            System.out.printf("%-12s %8.1f checkouts/s  p50 %7.2f ms  p99 %7.2f ms  sold %d  rejected %d  rolled back %d%n",
+                    mode, all.length / (elapsed / 1e9),
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6,
+                    sold.get(), rejected.get(), rolledBack.get());
+        } finally {
+            running.set(false);
+            watcher.join();
+            buyers.shutdown();
+        }
+
+        /* rolled-back checkouts give their unit back, so exactly the initial stock is sold and nothing more */
+        assertTrue(lowestStock.get() >= 0, "stock went negative: " + lowestStock.get());
+        assertEquals(INITIAL_STOCK, sold.get());
+        assertEquals(BUYERS * CHECKOUTS_PER_BUYER, sold.get() + rejected.get() + rolledBack.get());
+        assertEquals(0, merchVariantItemRepository.findStockQuantityById(itemId).orElseThrow());
+    }
+
+    private void checkoutWork() {
+        jdbcTemplate.queryForObject("SELECT SLEEP(?)", Integer.class, CHECKOUT_WORK_SECONDS);
+    }
+
+    private Long seedItem() {
+        Merch merch = merchRepository.save(Merch.builder()
+                .merchName("Flash sale tee " + System.nanoTime())
+                .description("benchmark")
+                .merchType(MerchType.CLOTHING)
+                .basePrice(350.0)
+                .s3ImageKey("merch/benchmark.jpg")
+                .build());
+        MerchVariant variant = merchVariantRepository.save(MerchVariant.builder()
+                .merch(merch)
+                .color("Black")
+                .s3ImageKey("merch/benchmark-black.jpg")
+                .build());
+        return merchVariantItemRepository.save(MerchVariantItem.builder()
+                .merchVariant(variant)
+                .stockQuantity(INITIAL_STOCK)
+                .price(350.0)
+                .build()).getMerchVariantItemId();
+    }
+}
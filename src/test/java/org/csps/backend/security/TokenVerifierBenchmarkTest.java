@@ -0,0 +1,114 @@
+package org.csps.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import javax.crypto.SecretKey;
+
+import org.csps.backend.configs.TokenCacheConfig;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Opt-in benchmark of token verification as the JWT filter and QR check-in run it: a key and parser
+ * built per call (before TokenVerifier), one shared parser, and TokenVerifier's claims cache.
+ * Every thread verifies the same set of live tokens, as concurrent requests from signed-in students do.
+ * Needs no database; run with {@code mvn test -Dtest=TokenVerifierBenchmarkTest -Dbenchmarks=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TokenVerifierBenchmarkTest {
+
+    private static final int TOKENS = 1_000;
+    private static final int VERIFICATIONS_PER_THREAD = 50_000;
+    private static final int WARMUP_ROUNDS = 2;
+
+    private final String secretKey = Base64.getEncoder().encodeToString(Jwts.SIG.HS256.key().build().getEncoded());
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+
+    @ParameterizedTest(name = "{0} threads")
+    @ValueSource(ints = {1, 4, 16})
+    void verifyThroughput(int threads) throws Exception {
+        List<String> tokens = issueTokens();
+        TokenCacheConfig cacheConfig = new TokenCacheConfig();
+        TokenVerifier verifier = new TokenVerifier(secretKey, cacheConfig);
+        var sharedParser = Jwts.parser().verifyWith(signingKey).build();
+
+        measure(threads, tokens, "parser per call", token -> Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload());
+        measure(threads, tokens, "shared parser", token -> sharedParser.parseSignedClaims(token).getPayload());
+        measure(threads, tokens, "TokenVerifier cache", verifier::verify);
+    }
+
+    private void measure(int threads, List<String> tokens, String label, Function<String, Claims> verify) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(threads, tokens, verify);
+        }
+
+        long start = System.nanoTime();
+        long verified = run(threads, tokens, verify);
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals((long) threads * VERIFICATIONS_PER_THREAD, verified);
+        System.out.printf("%2d threads  %-22s %12.0f verifications/s%n", threads, label, verified / (elapsed / 1e9));
+    }
+
+    private long run(int threads, List<String> tokens, Function<String, Claims> verify) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * 7;
+                results.add(pool.submit(() -> {
+                    long verified = 0;
+                    for (int i = 0; i < VERIFICATIONS_PER_THREAD; i++) {
+                        if (verify.apply(tokens.get((offset + i) % tokens.size())).getSubject() != null) {
+                            verified++;
+                        }
+                    }
+                    return verified;
+                }));
+            }
+
+            long verified = 0;
+            for (Future<Long> result : results) {
+                verified += result.get();
+            }
+            return verified;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<String> issueTokens() {
+        Date expiration = new Date(System.currentTimeMillis() + 3_600_000L);
+        List<String> tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            tokens.add(Jwts.builder()
+                    .subject(String.valueOf(i + 1))
+                    .claim("studentId", String.format("%08d", i + 1))
+                    .expiration(expiration)
+                    .signWith(signingKey)
+                    .compact());
+        }
+        return tokens;
+    }
+}